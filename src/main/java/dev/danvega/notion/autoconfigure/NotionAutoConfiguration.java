@@ -1,25 +1,52 @@
 package dev.danvega.notion.autoconfigure;
 
+import dev.danvega.notion.cache.InMemoryNotionCache;
+import dev.danvega.notion.cache.InvalidationBus;
+import dev.danvega.notion.cache.NotionCache;
+import dev.danvega.notion.cache.OffHeapNotionCache;
+import dev.danvega.notion.cache.PersistentNotionCache;
+import dev.danvega.notion.cache.ReplicatedNotionCache;
+import dev.danvega.notion.cache.TcpInvalidationBus;
+import dev.danvega.notion.change.NotionChangeFeed;
+import dev.danvega.notion.change.NotionWebhookController;
+import dev.danvega.notion.cluster.ClusterMembership;
+import dev.danvega.notion.cluster.ShardedSyncCoordinator;
+import dev.danvega.notion.cluster.StaticClusterMembership;
 import dev.danvega.notion.client.NotionClient;
+import dev.danvega.notion.client.NotionRateLimiter;
+import dev.danvega.notion.client.NotionWarmup;
+import dev.danvega.notion.client.RequestHedger;
 import dev.danvega.notion.config.NotionProperties;
+import dev.danvega.notion.gateway.NotionGatewayController;
+import dev.danvega.notion.queue.NotionWriteQueue;
+import dev.danvega.notion.replica.NotionDatabaseReplica;
+import dev.danvega.notion.replica.ReplicaStore;
+import dev.danvega.notion.service.DatabaseSchemaCache;
 import dev.danvega.notion.service.NotionBlockService;
 import dev.danvega.notion.service.NotionDatabaseService;
 import dev.danvega.notion.service.NotionPageService;
 import dev.danvega.notion.service.NotionService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.web.client.RestClient;
 
+import java.nio.file.Path;
+
 /**
  * Auto-configuration for the Notion API integration.
  */
 @Configuration
+@ImportRuntimeHints(NotionRuntimeHints.class)
 @EnableConfigurationProperties(NotionProperties.class)
 @ConditionalOnProperty(prefix = "notion.api", name = "key")
 public class NotionAutoConfiguration {
@@ -48,20 +75,128 @@ public class NotionAutoConfiguration {
         return RestClient.create();
     }
 
+    /**
+     * Creates the response cache when caching is enabled, kept on disk when a
+     * cache directory is configured or outside the heap when the off-heap tier
+     * is enabled. When an invalidation bus is available, invalidations are
+     * shared with the other nodes through it.
+     *
+     * @param properties the Notion API properties
+     * @param bus the bus shared with other nodes, if any
+     * @return the NotionCache bean
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "notion.api.cache", name = "enabled", havingValue = "true")
+    public NotionCache notionCache(NotionProperties properties, ObjectProvider<InvalidationBus> bus) {
+        NotionProperties.Cache cache = properties.getCache();
+        NotionCache local;
+        if (cache.getDirectory() != null) {
+            local = new PersistentNotionCache(Path.of(cache.getDirectory()), cache.getMaxEntries(), cache.getTtl(),
+                    cache.getSegmentSize(), cache.getEncoding());
+        } else if (cache.getOffHeap().isEnabled()) {
+            NotionProperties.OffHeap offHeap = cache.getOffHeap();
+            local = new OffHeapNotionCache(offHeap.getMaxSize(), offHeap.getSlabSize(), cache.getMaxEntries(),
+                    cache.getTtl(), cache.getEncoding(), offHeap.getFile() != null ? Path.of(offHeap.getFile()) : null);
+        } else {
+            local = new InMemoryNotionCache(cache.getMaxEntries(), cache.getTtl(), cache.getEncoding());
+        }
+        InvalidationBus invalidationBus = bus.getIfAvailable();
+        return invalidationBus != null
+                ? new ReplicatedNotionCache(local, invalidationBus, cache.getBus().isReplicatePuts())
+                : local;
+    }
+
+    /**
+     * Creates the TCP invalidation bus when enabled.
+     *
+     * @param properties the Notion API properties
+     * @return the InvalidationBus bean
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "notion.api.cache.bus", name = "enabled", havingValue = "true")
+    public InvalidationBus notionInvalidationBus(NotionProperties properties) {
+        NotionProperties.Bus bus = properties.getCache().getBus();
+        return new TcpInvalidationBus(bus.getPort(), bus.getPeers().stream().map(TcpInvalidationBus::peer).toList());
+    }
+
+    /**
+     * Creates the rate limiter when client-side throttling is enabled.
+     *
+     * @param properties the Notion API properties
+     * @return the NotionRateLimiter bean
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "notion.api.rate-limit", name = "enabled", havingValue = "true")
+    public NotionRateLimiter notionRateLimiter(NotionProperties properties) {
+        NotionProperties.RateLimit rateLimit = properties.getRateLimit();
+        return new NotionRateLimiter(rateLimit.getRequestsPerSecond(), rateLimit.getBurst(), rateLimit.getMaxWait());
+    }
+
+    /**
+     * Creates the request hedger when hedging of idempotent reads is enabled.
+     *
+     * @param properties the Notion API properties
+     * @param rateLimiter the rate limiter hedges are charged against, if enabled
+     * @return the RequestHedger bean
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "notion.api.hedge", name = "enabled", havingValue = "true")
+    public RequestHedger notionRequestHedger(NotionProperties properties,
+                                             ObjectProvider<NotionRateLimiter> rateLimiter) {
+        NotionProperties.Hedge hedge = properties.getHedge();
+        return new RequestHedger(hedge.getPercentile(), hedge.getMinDelay(), hedge.getBudgetRatio(),
+                hedge.getWindowSize(), rateLimiter.getIfAvailable());
+    }
+
     /**
      * Creates the Notion API client.
      *
      * @param properties the Notion API properties
      * @param objectMapper the ObjectMapper for JSON serialization/deserialization
      * @param notionRestClient the RestClient for making HTTP requests
+     * @param cache the response cache, if enabled
+     * @param rateLimiter the rate limiter, if enabled
+     * @param hedger the request hedger, if enabled
      * @return the NotionClient bean
      */
     @Bean
     @ConditionalOnMissingBean
     public NotionClient notionClient(NotionProperties properties,
+                                     ObjectMapper objectMapper,
+                                     RestClient notionRestClient,
+                                     ObjectProvider<NotionCache> cache,
+                                     ObjectProvider<NotionRateLimiter> rateLimiter,
+                                     ObjectProvider<RequestHedger> hedger) {
+        return NotionClient.builder()
+                .properties(properties)
+                .objectMapper(objectMapper)
+                .restClient(notionRestClient)
+                .cache(cache.getIfAvailable())
+                .rateLimiter(rateLimiter.getIfAvailable())
+                .hedger(hedger.getIfAvailable())
+                .build();
+    }
+
+    /**
+     * Creates the startup warm-up when enabled. It runs as an application runner,
+     * so it completes before the application reports readiness.
+     *
+     * @param properties the Notion API properties
+     * @param objectMapper the ObjectMapper used by the Notion client
+     * @param notionRestClient the RestClient used by the Notion client
+     * @return the NotionWarmup bean
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "notion.api.warmup", name = "enabled", havingValue = "true")
+    public NotionWarmup notionWarmup(NotionProperties properties,
                                      ObjectMapper objectMapper,
                                      RestClient notionRestClient) {
-        return new NotionClient(properties, objectMapper, notionRestClient);
+        return new NotionWarmup(properties, objectMapper, notionRestClient);
     }
 
     /**
@@ -76,28 +211,46 @@ public class NotionAutoConfiguration {
         return new NotionService(notionClient);
     }
 
+    /**
+     * Creates the database schema cache shared by the page and database services.
+     *
+     * @param properties the Notion API properties
+     * @param notionClient the Notion API client
+     * @return the DatabaseSchemaCache bean
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public DatabaseSchemaCache databaseSchemaCache(NotionProperties properties, NotionClient notionClient) {
+        NotionProperties.Schema schema = properties.getSchema();
+        return new DatabaseSchemaCache(notionClient, schema.getMaxAge(), schema.isValidate(),
+                schema.isAllowNewOptions());
+    }
+
     /**
      * Creates the Notion page service.
      *
      * @param notionClient the Notion API client
+     * @param databaseSchemaCache the database schema cache
      * @return the NotionPageService bean
      */
     @Bean
     @ConditionalOnMissingBean
-    public NotionPageService notionPageService(NotionClient notionClient) {
-        return new NotionPageService(notionClient);
+    public NotionPageService notionPageService(NotionClient notionClient, DatabaseSchemaCache databaseSchemaCache) {
+        return new NotionPageService(notionClient, databaseSchemaCache);
     }
 
     /**
      * Creates the Notion database service.
      *
      * @param notionClient the Notion API client
+     * @param databaseSchemaCache the database schema cache
      * @return the NotionDatabaseService bean
      */
     @Bean
     @ConditionalOnMissingBean
-    public NotionDatabaseService notionDatabaseService(NotionClient notionClient) {
-        return new NotionDatabaseService(notionClient);
+    public NotionDatabaseService notionDatabaseService(NotionClient notionClient,
+                                                       DatabaseSchemaCache databaseSchemaCache) {
+        return new NotionDatabaseService(notionClient, databaseSchemaCache);
     }
 
     /**
@@ -111,4 +264,162 @@ public class NotionAutoConfiguration {
     public NotionBlockService notionBlockService(NotionClient notionClient) {
         return new NotionBlockService(notionClient);
     }
-}
\ No newline at end of file
+
+    /**
+     * Creates the change feed when enabled. It starts polling as an application
+     * runner and publishes the changes it finds as application events.
+     *
+     * @param properties the Notion API properties
+     * @param notionClient the Notion client whose cache is invalidated for changed objects
+     * @param notionService the Notion service used to search the workspace
+     * @param databaseService the Notion database service used to query watched databases
+     * @param blockService the Notion block service used to list the blocks of changed pages
+     * @param objectMapper the ObjectMapper used by the Notion client
+     * @param publisher the application event publisher
+     * @return the NotionChangeFeed bean
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "notion.api.changes", name = "enabled", havingValue = "true")
+    public NotionChangeFeed notionChangeFeed(NotionProperties properties,
+                                             NotionClient notionClient,
+                                             NotionService notionService,
+                                             NotionDatabaseService databaseService,
+                                             NotionBlockService blockService,
+                                             ObjectMapper objectMapper,
+                                             ApplicationEventPublisher publisher) {
+        NotionProperties.Changes changes = properties.getChanges();
+        NotionChangeFeed feed = new NotionChangeFeed(notionService, databaseService,
+                changes.isBlocks() ? blockService : null, notionClient.getCache(), objectMapper, publisher,
+                changes.getMinInterval(), changes.getMaxInterval());
+        changes.getDatabases().forEach(feed::watch);
+        return feed;
+    }
+
+    /**
+     * Creates the webhook endpoint when enabled in a servlet web application.
+     * Replicas defined as beans are synced when a notification affects their
+     * database.
+     *
+     * @param properties the Notion API properties
+     * @param notionClient the Notion API client whose cache is invalidated
+     * @param pageService the Notion page service
+     * @param databaseService the Notion database service
+     * @param blockService the Notion block service
+     * @param objectMapper the ObjectMapper used by the Notion client
+     * @param publisher the application event publisher
+     * @param replicas the database replicas, if any
+     * @return the NotionWebhookController bean
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    @ConditionalOnProperty(prefix = "notion.api.webhook", name = "enabled", havingValue = "true")
+    public NotionWebhookController notionWebhookController(NotionProperties properties,
+                                                           NotionClient notionClient,
+                                                           NotionPageService pageService,
+                                                           NotionDatabaseService databaseService,
+                                                           NotionBlockService blockService,
+                                                           ObjectMapper objectMapper,
+                                                           ApplicationEventPublisher publisher,
+                                                           ObjectProvider<NotionDatabaseReplica> replicas) {
+        NotionWebhookController controller = new NotionWebhookController(
+                properties.getWebhook().getVerificationToken(), notionClient, pageService, databaseService,
+                blockService, objectMapper, publisher);
+        replicas.orderedStream().forEach(controller::register);
+        return controller;
+    }
+
+    /**
+     * Creates the gateway that proxies the Notion API for other services when
+     * enabled in a servlet web application. It shares the response cache and
+     * rate limiter of this application's client.
+     *
+     * @param properties the Notion API properties
+     * @param notionRestClient the RestClient used to call Notion
+     * @param cache the response cache, if enabled
+     * @param rateLimiter the rate limiter, if enabled
+     * @return the NotionGatewayController bean
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    @ConditionalOnProperty(prefix = "notion.api.gateway", name = "enabled", havingValue = "true")
+    public NotionGatewayController notionGatewayController(NotionProperties properties,
+                                                           RestClient notionRestClient,
+                                                           ObjectProvider<NotionCache> cache,
+                                                           ObjectProvider<NotionRateLimiter> rateLimiter) {
+        NotionProperties.Gateway gateway = properties.getGateway();
+        return new NotionGatewayController(properties, gateway.getPath(), gateway.getToken(), notionRestClient,
+                cache.getIfAvailable(), rateLimiter.getIfAvailable());
+    }
+
+    /**
+     * Creates the cluster membership from the configured list of members when
+     * sharded sync is enabled. Define a {@link ClusterMembership} bean to take
+     * the members from elsewhere.
+     *
+     * @param properties the Notion API properties
+     * @return the ClusterMembership bean
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "notion.api.sync", name = "enabled", havingValue = "true")
+    public ClusterMembership notionClusterMembership(NotionProperties properties) {
+        NotionProperties.Sync sync = properties.getSync();
+        return new StaticClusterMembership(sync.getLocalMember(), sync.getMembers());
+    }
+
+    /**
+     * Creates the coordinator that replicates the configured databases on the
+     * node that owns each of them when sharded sync is enabled. It starts
+     * syncing as an application runner.
+     *
+     * @param properties the Notion API properties
+     * @param membership the cluster membership
+     * @param databaseService the Notion database service used by the replicas
+     * @param cache the response cache, if enabled, used to store replica snapshots
+     * @param objectMapper the ObjectMapper used by the Notion client
+     * @return the ShardedSyncCoordinator bean
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "notion.api.sync", name = "enabled", havingValue = "true")
+    public ShardedSyncCoordinator notionShardedSyncCoordinator(NotionProperties properties,
+                                                               ClusterMembership membership,
+                                                               NotionDatabaseService databaseService,
+                                                               ObjectProvider<NotionCache> cache,
+                                                               ObjectMapper objectMapper) {
+        NotionProperties.Sync sync = properties.getSync();
+        NotionCache snapshots = sync.isStore() ? cache.getIfAvailable() : null;
+        ShardedSyncCoordinator coordinator = new ShardedSyncCoordinator(membership, databaseService,
+                snapshots != null ? new ReplicaStore(snapshots, objectMapper) : null, sync.getInterval());
+        sync.getDatabases().forEach(coordinator::watchDatabase);
+        return coordinator;
+    }
+
+    /**
+     * Creates the write-behind queue when enabled. Mutations left in its
+     * journal by the previous run are replayed once it starts as an
+     * application runner, and pending mutations are drained when the context
+     * is closed.
+     *
+     * @param properties the Notion API properties
+     * @param notionClient the Notion client used to send mutations
+     * @param objectMapper the ObjectMapper used by the Notion client
+     * @param databaseSchemaCache the schema cache used to validate new database pages
+     * @return the NotionWriteQueue bean
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "notion.api.write-queue", name = "enabled", havingValue = "true")
+    public NotionWriteQueue notionWriteQueue(NotionProperties properties,
+                                             NotionClient notionClient,
+                                             ObjectMapper objectMapper,
+                                             DatabaseSchemaCache databaseSchemaCache) {
+        NotionProperties.WriteQueue writeQueue = properties.getWriteQueue();
+        return new NotionWriteQueue(notionClient, objectMapper, databaseSchemaCache,
+                Path.of(writeQueue.getJournal()), writeQueue.getMaxAttempts(), writeQueue.getRetryDelay(),
+                writeQueue.getDrainTimeout());
+    }
+}
@@ -0,0 +1,72 @@
+package dev.danvega.notion.autoconfigure;
+
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.util.ClassUtils;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Registers the reflection hints a GraalVM native image needs for Jackson to bind
+ * the Notion model.
+ * <p>
+ * Every class under {@code dev.danvega.notion.model} is registered for binding,
+ * including nested classes and the {@code @JsonSubTypes} of polymorphic types,
+ * which the native image cannot discover on its own.
+ */
+public class NotionRuntimeHints implements RuntimeHintsRegistrar {
+
+    static final String MODEL_PACKAGE = "dev.danvega.notion.model";
+
+    private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (Class<?> type : modelTypes(classLoader)) {
+            bindingRegistrar.registerReflectionHints(hints.reflection(), type);
+        }
+    }
+
+    /**
+     * Finds every model class, including nested classes and declared subtypes.
+     *
+     * @param classLoader the class loader to use
+     * @return the model classes
+     */
+    static Set<Class<?>> modelTypes(ClassLoader classLoader) {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false) {
+            @Override
+            protected boolean isCandidateComponent(AnnotatedBeanDefinition beanDefinition) {
+                return beanDefinition.getMetadata().isIndependent();
+            }
+        };
+        scanner.addIncludeFilter((metadataReader, metadataReaderFactory) -> true);
+
+        Set<Class<?>> types = new LinkedHashSet<>();
+        for (BeanDefinition candidate : scanner.findCandidateComponents(MODEL_PACKAGE)) {
+            addType(ClassUtils.resolveClassName(candidate.getBeanClassName(), classLoader), types);
+        }
+        return types;
+    }
+
+    private static void addType(Class<?> type, Set<Class<?>> types) {
+        if (!types.add(type)) {
+            return;
+        }
+        for (Class<?> nested : type.getDeclaredClasses()) {
+            addType(nested, types);
+        }
+        JsonSubTypes subTypes = type.getAnnotation(JsonSubTypes.class);
+        if (subTypes != null) {
+            for (JsonSubTypes.Type subType : subTypes.value()) {
+                addType(subType.value(), types);
+            }
+        }
+    }
+}
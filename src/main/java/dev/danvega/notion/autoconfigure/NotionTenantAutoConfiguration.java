@@ -0,0 +1,59 @@
+package dev.danvega.notion.autoconfigure;
+
+import dev.danvega.notion.client.NotionClientRegistry;
+import dev.danvega.notion.client.NotionTenantResolver;
+import dev.danvega.notion.config.NotionProperties;
+import dev.danvega.notion.config.NotionTenantProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Auto-configuration for serving multiple Notion workspaces.
+ */
+@Configuration
+@ImportRuntimeHints(NotionRuntimeHints.class)
+@EnableConfigurationProperties({NotionProperties.class, NotionTenantProperties.class})
+@ConditionalOnProperty(prefix = "notion.tenants", name = "enabled", havingValue = "true")
+public class NotionTenantAutoConfiguration {
+
+    /**
+     * Creates a tenant resolver backed by the statically configured workspaces.
+     *
+     * @param tenantProperties the tenant properties
+     * @return the NotionTenantResolver bean
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public NotionTenantResolver notionTenantResolver(NotionTenantProperties tenantProperties) {
+        return tenantId -> tenantProperties.getWorkspaces().get(tenantId);
+    }
+
+    /**
+     * Creates the registry of per-tenant Notion clients.
+     *
+     * @param properties the settings shared by all tenants
+     * @param tenantProperties the tenant properties
+     * @param objectMapper the ObjectMapper, if one is available
+     * @param resolver the tenant resolver
+     * @return the NotionClientRegistry bean
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public NotionClientRegistry notionClientRegistry(NotionProperties properties,
+                                                     NotionTenantProperties tenantProperties,
+                                                     ObjectProvider<ObjectMapper> objectMapper,
+                                                     NotionTenantResolver resolver) {
+        ObjectMapper mapper = objectMapper.getIfAvailable(() -> Jackson2ObjectMapperBuilder.json()
+                .modules(new JavaTimeModule())
+                .build());
+        return new NotionClientRegistry(properties, tenantProperties, mapper, resolver);
+    }
+}
@@ -0,0 +1,100 @@
+package dev.danvega.notion.cache;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * How a cache stores response bodies.
+ */
+public enum CacheEncoding {
+
+    /**
+     * The JSON text as received.
+     */
+    JSON {
+        @Override
+        public byte[] encode(String json) {
+            return json.getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public String decode(byte[] encoded) {
+            return new String(encoded, StandardCharsets.UTF_8);
+        }
+    },
+
+    /**
+     * Jackson's binary Smile format. Repeated property names and short string
+     * values, such as {@code "type"} and {@code "default"}, are written once
+     * and referenced afterwards, and models can be bound from Smile directly
+     * with the same annotations and deserializers as from JSON.
+     */
+    SMILE {
+        @Override
+        public byte[] encode(String json) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(json.length() / 2);
+            try (JsonParser parser = JSON_FACTORY.createParser(json);
+                 JsonGenerator generator = SMILE_FACTORY.createGenerator(out)) {
+                parser.nextToken();
+                generator.copyCurrentStructure(parser);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to encode response as Smile", e);
+            }
+            return out.toByteArray();
+        }
+
+        @Override
+        public String decode(byte[] encoded) {
+            StringWriter out = new StringWriter(encoded.length * 2);
+            try (JsonParser parser = SMILE_FACTORY.createParser(encoded);
+                 JsonGenerator generator = JSON_FACTORY.createGenerator(out)) {
+                parser.nextToken();
+                generator.copyCurrentStructure(parser);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to decode Smile response", e);
+            }
+            return out.toString();
+        }
+    };
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final SmileFactory SMILE_FACTORY = SmileFactory.builder()
+            .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+            .build();
+
+    /**
+     * Encodes a JSON response body.
+     *
+     * @param json the response body
+     * @return the encoded bytes
+     * @throws UncheckedIOException if the body is not valid JSON
+     */
+    public abstract byte[] encode(String json);
+
+    /**
+     * Decodes bytes produced by {@link #encode(String)} back into JSON text.
+     *
+     * @param encoded the encoded bytes
+     * @return the response body
+     */
+    public abstract String decode(byte[] encoded);
+
+    /**
+     * Gets the factory used for Smile, for binding models from Smile bytes
+     * with {@link com.fasterxml.jackson.databind.ObjectMapper#copyWith(JsonFactory)}.
+     *
+     * @return the Smile factory
+     */
+    public static SmileFactory smileFactory() {
+        return SMILE_FACTORY;
+    }
+}
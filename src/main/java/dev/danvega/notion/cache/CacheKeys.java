@@ -0,0 +1,87 @@
+package dev.danvega.notion.cache;
+
+/**
+ * Helpers for working with cache keys derived from Notion API URLs.
+ */
+public final class CacheKeys {
+
+    private CacheKeys() {
+        // Utility class, no public constructor
+    }
+
+    /**
+     * Checks whether a cache key references an object ID as a path segment.
+     * Dashed and undashed forms of the same ID are treated as equal.
+     *
+     * @param key the cache key
+     * @param objectId the object ID
+     * @return true if the key references the object
+     */
+    public static boolean references(String key, String objectId) {
+        if (key == null || objectId == null || objectId.isEmpty()) {
+            return false;
+        }
+        String normalizedKey = key.replace("-", "");
+        String normalizedId = objectId.replace("-", "");
+        int index = normalizedKey.indexOf("/" + normalizedId);
+        while (index >= 0) {
+            int end = index + normalizedId.length() + 1;
+            if (end == normalizedKey.length() || isSegmentEnd(normalizedKey.charAt(end))) {
+                return true;
+            }
+            index = normalizedKey.indexOf("/" + normalizedId, index + 1);
+        }
+        return false;
+    }
+
+    /**
+     * Extracts the object ID targeted by an endpoint such as
+     * {@code /pages/{id}} or {@code /blocks/{id}/children}.
+     *
+     * @param endpoint the API endpoint
+     * @return the object ID, or null if the endpoint does not target an object
+     */
+    public static String objectId(String endpoint) {
+        if (endpoint == null) {
+            return null;
+        }
+        String[] segments = endpoint.split("[/?]");
+        for (int i = 0; i < segments.length - 1; i++) {
+            String segment = segments[i];
+            if (segment.equals("pages") || segment.equals("blocks") || segment.equals("databases")) {
+                String id = segments[i + 1];
+                return id.isEmpty() ? null : id;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Cuts a request URL such as {@code .../blocks/{id}/children?page_size=100}
+     * down to the URL of the page, block or database it belongs to.
+     *
+     * @param key the cache key
+     * @return the URL of the object, or null if the key does not target an object
+     */
+    public static String objectUrl(String key) {
+        if (key == null) {
+            return null;
+        }
+        for (String type : new String[] {"/pages/", "/blocks/", "/databases/"}) {
+            int start = key.indexOf(type);
+            if (start >= 0) {
+                int idStart = start + type.length();
+                int end = idStart;
+                while (end < key.length() && !isSegmentEnd(key.charAt(end))) {
+                    end++;
+                }
+                return end > idStart ? key.substring(0, end) : null;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isSegmentEnd(char c) {
+        return c == '/' || c == '?' || c == '&';
+    }
+}
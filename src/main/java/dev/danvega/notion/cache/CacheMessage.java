@@ -0,0 +1,92 @@
+package dev.danvega.notion.cache;
+
+import java.util.Objects;
+
+/**
+ * Message sent over an {@link InvalidationBus}: either the invalidation of an
+ * object ID or a response body stored under a cache key.
+ */
+public final class CacheMessage {
+
+    /**
+     * The kind of message.
+     */
+    public enum Type {
+        INVALIDATE,
+        PUT
+    }
+
+    private final Type type;
+    private final String key;
+    private final String value;
+
+    private CacheMessage(Type type, String key, String value) {
+        this.type = type;
+        this.key = key;
+        this.value = value;
+    }
+
+    /**
+     * Creates a message that evicts every entry referencing an object.
+     *
+     * @param objectId the page, block or database ID
+     * @return the message
+     */
+    public static CacheMessage invalidate(String objectId) {
+        return new CacheMessage(Type.INVALIDATE, Objects.requireNonNull(objectId), null);
+    }
+
+    /**
+     * Creates a message that stores a response body.
+     *
+     * @param key the cache key
+     * @param value the response body
+     * @return the message
+     */
+    public static CacheMessage put(String key, String value) {
+        return new CacheMessage(Type.PUT, Objects.requireNonNull(key), Objects.requireNonNull(value));
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Gets the object ID of an invalidation or the cache key of a put.
+     *
+     * @return the object ID or cache key
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Gets the response body of a put.
+     *
+     * @return the response body, or null for an invalidation
+     */
+    public String getValue() {
+        return value;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CacheMessage that = (CacheMessage) o;
+        return type == that.type && key.equals(that.key) && Objects.equals(value, that.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, key, value);
+    }
+
+    @Override
+    public String toString() {
+        return "CacheMessage{" +
+               "type=" + type +
+               ", key='" + key + '\'' +
+               '}';
+    }
+}
@@ -0,0 +1,29 @@
+package dev.danvega.notion.cache;
+
+/**
+ * A cached response body and the time it was stored.
+ */
+public final class CachedResponse {
+
+    private final String value;
+    private final long storedAt;
+
+    /**
+     * Constructs a new CachedResponse.
+     *
+     * @param value the response body
+     * @param storedAt the time the response was stored, in epoch milliseconds
+     */
+    public CachedResponse(String value, long storedAt) {
+        this.value = value;
+        this.storedAt = storedAt;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public long getStoredAt() {
+        return storedAt;
+    }
+}
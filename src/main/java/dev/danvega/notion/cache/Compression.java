@@ -0,0 +1,65 @@
+package dev.danvega.notion.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Deflate helpers for caches that compress response bodies.
+ */
+final class Compression {
+
+    private Compression() {
+        // Utility class, no public constructor
+    }
+
+    /**
+     * Compresses bytes, favouring speed over ratio.
+     *
+     * @param raw the bytes
+     * @return the compressed bytes
+     */
+    static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 4);
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(chunk, 0, deflater.deflate(chunk));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Decompresses bytes produced by {@link #deflate(byte[])}.
+     *
+     * @param stored the compressed bytes
+     * @param rawLength the length of the original bytes
+     * @return the original bytes
+     * @throws DataFormatException if the bytes are corrupt or truncated
+     */
+    static byte[] inflate(byte[] stored, int rawLength) throws DataFormatException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(stored);
+            byte[] raw = new byte[rawLength];
+            int read = 0;
+            while (read < rawLength && !inflater.finished()) {
+                int n = inflater.inflate(raw, read, rawLength - read);
+                if (n == 0 && inflater.needsInput()) {
+                    throw new DataFormatException("Truncated compressed value");
+                }
+                read += n;
+            }
+            return raw;
+        } finally {
+            inflater.end();
+        }
+    }
+}
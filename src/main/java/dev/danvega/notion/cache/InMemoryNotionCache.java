@@ -0,0 +1,175 @@
+package dev.danvega.notion.cache;
+
+import dev.danvega.notion.model.common.NotionId;
+
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bounded in-memory {@link NotionCache} with least-recently-used eviction and a
+ * fixed time to live.
+ * <p>
+ * Keys are indexed by the compact {@link NotionId} of the object their endpoint
+ * targets, so invalidating an object touches only its own entries. IDs that are
+ * not UUIDs fall back to scanning the keys.
+ * <p>
+ * With {@link CacheEncoding#SMILE} bodies are held as Smile bytes, which take
+ * less memory than JSON text and are bound to models without parsing text.
+ */
+public class InMemoryNotionCache implements NotionCache {
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final CacheEncoding encoding;
+    private final LinkedHashMap<String, Entry> entries;
+    private final Map<NotionId, Set<String>> keysByObject = new HashMap<>();
+
+    /**
+     * Constructs a new InMemoryNotionCache.
+     *
+     * @param maxEntries the maximum number of entries
+     * @param ttlMillis the time to live of an entry in milliseconds
+     */
+    public InMemoryNotionCache(int maxEntries, long ttlMillis) {
+        this(maxEntries, ttlMillis, CacheEncoding.JSON);
+    }
+
+    /**
+     * Constructs a new InMemoryNotionCache that holds bodies in an encoding.
+     *
+     * @param maxEntries the maximum number of entries
+     * @param ttlMillis the time to live of an entry in milliseconds
+     * @param encoding the encoding of cached bodies
+     */
+    public InMemoryNotionCache(int maxEntries, long ttlMillis, CacheEncoding encoding) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+        this.encoding = encoding;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > InMemoryNotionCache.this.maxEntries) {
+                    unindex(eldest.getKey());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public String get(String key) {
+        Entry entry = entry(key);
+        if (entry == null) {
+            return null;
+        }
+        return entry.text != null ? entry.text : CacheEncoding.SMILE.decode(entry.smile);
+    }
+
+    @Override
+    public byte[] getSmile(String key) {
+        Entry entry = entry(key);
+        return entry != null ? entry.smile : null;
+    }
+
+    @Override
+    public synchronized void put(String key, String value) {
+        Entry entry;
+        if (encoding == CacheEncoding.SMILE) {
+            try {
+                entry = new Entry(null, CacheEncoding.SMILE.encode(value), System.currentTimeMillis() + ttlMillis);
+            } catch (UncheckedIOException e) {
+                // Not JSON, kept as it is
+                entry = new Entry(value, null, System.currentTimeMillis() + ttlMillis);
+            }
+        } else {
+            entry = new Entry(value, null, System.currentTimeMillis() + ttlMillis);
+        }
+        if (entries.put(key, entry) == null) {
+            NotionId id = objectId(key);
+            if (id != null) {
+                keysByObject.computeIfAbsent(id, k -> new HashSet<>()).add(key);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void invalidate(String objectId) {
+        NotionId id = NotionId.tryParse(objectId);
+        if (id != null) {
+            Set<String> keys = keysByObject.remove(id);
+            if (keys != null) {
+                for (String key : keys) {
+                    entries.remove(key);
+                }
+            }
+            return;
+        }
+        Iterator<String> keys = entries.keySet().iterator();
+        while (keys.hasNext()) {
+            String key = keys.next();
+            if (CacheKeys.references(key, objectId)) {
+                keys.remove();
+                unindex(key);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void clear() {
+        entries.clear();
+        keysByObject.clear();
+    }
+
+    @Override
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private synchronized Entry entry(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt < System.currentTimeMillis()) {
+            entries.remove(key);
+            unindex(key);
+            return null;
+        }
+        return entry;
+    }
+
+    private void unindex(String key) {
+        NotionId id = objectId(key);
+        if (id != null) {
+            Set<String> keys = keysByObject.get(id);
+            if (keys != null && keys.remove(key) && keys.isEmpty()) {
+                keysByObject.remove(id);
+            }
+        }
+    }
+
+    private static NotionId objectId(String key) {
+        return NotionId.tryParse(CacheKeys.objectId(key));
+    }
+
+    private static final class Entry {
+        private final String text;
+        private final byte[] smile;
+        private final long expiresAt;
+
+        private Entry(String text, byte[] smile, long expiresAt) {
+            this.text = text;
+            this.smile = smile;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
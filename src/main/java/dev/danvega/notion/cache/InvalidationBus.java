@@ -0,0 +1,40 @@
+package dev.danvega.notion.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Channel that carries cache invalidations, and optionally fresh response
+ * bodies, between the nodes of a service, so that a change seen by one node
+ * is applied to the caches of all of them.
+ * <p>
+ * Implementations deliver each published message to the listeners of every
+ * other node, but not back to the node that published it. Delivery is best
+ * effort: a message may be lost when a node is unreachable, which the time to
+ * live of cache entries bounds. Implement this interface and define it as a
+ * bean to use another transport, such as an existing message broker.
+ *
+ * @see ReplicatedNotionCache
+ */
+public interface InvalidationBus extends AutoCloseable {
+
+    /**
+     * Sends a message to the other nodes.
+     *
+     * @param message the message
+     */
+    void publish(CacheMessage message);
+
+    /**
+     * Registers a listener for messages published by other nodes.
+     *
+     * @param listener the listener
+     */
+    void subscribe(Consumer<CacheMessage> listener);
+
+    /**
+     * Leaves the bus and releases its resources.
+     */
+    @Override
+    default void close() {
+    }
+}
@@ -0,0 +1,57 @@
+package dev.danvega.notion.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * {@link InvalidationBus} between caches in the same JVM, such as several
+ * application contexts in one process or nodes simulated in a test. Create
+ * the first node with the constructor and further nodes with {@link #join()};
+ * messages are delivered synchronously on the publishing thread.
+ */
+public class LocalInvalidationBus implements InvalidationBus {
+
+    private final List<LocalInvalidationBus> nodes;
+    private final List<Consumer<CacheMessage>> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Constructs the first node of a new bus.
+     */
+    public LocalInvalidationBus() {
+        this(new CopyOnWriteArrayList<>());
+    }
+
+    private LocalInvalidationBus(List<LocalInvalidationBus> nodes) {
+        this.nodes = nodes;
+        nodes.add(this);
+    }
+
+    /**
+     * Adds another node to this bus.
+     *
+     * @return the new node
+     */
+    public LocalInvalidationBus join() {
+        return new LocalInvalidationBus(nodes);
+    }
+
+    @Override
+    public void publish(CacheMessage message) {
+        for (LocalInvalidationBus node : nodes) {
+            if (node != this) {
+                node.listeners.forEach(listener -> listener.accept(message));
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheMessage> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void close() {
+        nodes.remove(this);
+    }
+}
@@ -0,0 +1,79 @@
+package dev.danvega.notion.cache;
+
+/**
+ * Cache for raw Notion API response bodies.
+ * <p>
+ * Entries are keyed by request URL. Invalidation works on object IDs so that a
+ * mutation of a page, block or database evicts every cached response that
+ * references it.
+ */
+public interface NotionCache {
+
+    /**
+     * Gets a cached response body.
+     *
+     * @param key the cache key
+     * @return the cached response body, or null if absent or expired
+     */
+    String get(String key);
+
+    /**
+     * Stores a response body.
+     *
+     * @param key the cache key
+     * @param value the response body
+     */
+    void put(String key, String value);
+
+    /**
+     * Evicts every entry whose key references the given object ID.
+     *
+     * @param objectId the page, block or database ID
+     */
+    void invalidate(String objectId);
+
+    /**
+     * Evicts all entries.
+     */
+    void clear();
+
+    /**
+     * Gets a cached response body in its {@link CacheEncoding#SMILE Smile}
+     * encoding, so that it can be bound to a model without producing JSON text
+     * first. Caches that do not store Smile return null, as does
+     * {@link #get(String)} for entries that are absent or expired.
+     *
+     * @param key the cache key
+     * @return the Smile-encoded response body, or null
+     */
+    default byte[] getSmile(String key) {
+        return null;
+    }
+
+    /**
+     * Gets a cached response body together with the time it was stored, even
+     * if its time to live has passed, so that it can be revalidated instead of
+     * fetched again. Caches that discard expired entries return null.
+     *
+     * @param key the cache key
+     * @return the stored response, or null if absent
+     */
+    default CachedResponse getStored(String key) {
+        return null;
+    }
+
+    /**
+     * Restarts the time to live of an entry that has been revalidated.
+     *
+     * @param key the cache key
+     */
+    default void renew(String key) {
+    }
+
+    /**
+     * Gets the number of cached entries.
+     *
+     * @return the number of entries
+     */
+    int size();
+}
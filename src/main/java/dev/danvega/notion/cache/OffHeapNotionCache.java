@@ -0,0 +1,358 @@
+package dev.danvega.notion.cache;
+
+import dev.danvega.notion.model.common.NotionId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.DataFormatException;
+
+/**
+ * {@link NotionCache} that keeps response bodies compressed outside the Java
+ * heap, for caches of large block trees that would otherwise fill the old
+ * generation and lengthen garbage collection pauses.
+ * <p>
+ * Bodies are encoded, deflated and appended to fixed-size slabs of direct
+ * memory, or of a memory-mapped file when one is given, up to a total size
+ * cap. Slabs are written in turn; once all are full, the oldest slab is
+ * reused and the entries in it are dropped. Only keys and slab positions live
+ * on the heap.
+ * <p>
+ * An entry read a second time while in the off-heap tier is promoted to a
+ * small on-heap tier of uncompressed bodies, bounded by {@code hotEntries}
+ * and evicted least recently used, so hot entries are served without
+ * decompressing them. Invalidation works on object IDs across both tiers,
+ * as in {@link InMemoryNotionCache}.
+ */
+public class OffHeapNotionCache implements NotionCache, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(OffHeapNotionCache.class);
+
+    private final long ttlMillis;
+    private final CacheEncoding encoding;
+    private final int slabSize;
+    private final ByteBuffer[] slabs;
+    private final List<List<String>> keysBySlab = new ArrayList<>();
+    private final FileChannel file;
+    private final Map<String, Location> locations = new HashMap<>();
+    private final LinkedHashMap<String, Body> hot;
+    private final Map<NotionId, Set<String>> keysByObject = new HashMap<>();
+    private int current;
+    private int position;
+    private long storedBytes;
+
+    /**
+     * Constructs a new OffHeapNotionCache in direct memory.
+     *
+     * @param maxBytes the maximum number of compressed bytes held off the heap
+     * @param slabSize the size of one slab in bytes; bodies larger than a slab after compression are not cached
+     * @param hotEntries the maximum number of entries promoted to the heap
+     * @param ttlMillis the time to live of an entry in milliseconds
+     * @param encoding the encoding of cached bodies
+     */
+    public OffHeapNotionCache(long maxBytes, int slabSize, int hotEntries, long ttlMillis, CacheEncoding encoding) {
+        this(maxBytes, slabSize, hotEntries, ttlMillis, encoding, null);
+    }
+
+    /**
+     * Constructs a new OffHeapNotionCache in direct memory or in a memory-mapped
+     * file. The file is overwritten; its contents do not survive a restart.
+     *
+     * @param maxBytes the maximum number of compressed bytes held off the heap
+     * @param slabSize the size of one slab in bytes; bodies larger than a slab after compression are not cached
+     * @param hotEntries the maximum number of entries promoted to the heap
+     * @param ttlMillis the time to live of an entry in milliseconds
+     * @param encoding the encoding of cached bodies
+     * @param file the file to map, or null for direct memory
+     * @throws UncheckedIOException if the file cannot be opened
+     */
+    public OffHeapNotionCache(long maxBytes, int slabSize, int hotEntries, long ttlMillis, CacheEncoding encoding,
+                              Path file) {
+        if (slabSize <= 0 || maxBytes < slabSize) {
+            throw new IllegalArgumentException("maxBytes must be at least one slab of a positive size");
+        }
+        if (hotEntries < 0) {
+            throw new IllegalArgumentException("hotEntries must not be negative");
+        }
+        this.ttlMillis = ttlMillis;
+        this.encoding = encoding;
+        this.slabSize = slabSize;
+        this.slabs = new ByteBuffer[(int) Math.min(Integer.MAX_VALUE, maxBytes / slabSize)];
+        for (int i = 0; i < slabs.length; i++) {
+            keysBySlab.add(new ArrayList<>());
+        }
+        this.hot = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Body> eldest) {
+                return size() > hotEntries;
+            }
+        };
+        try {
+            this.file = file != null ? FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING) : null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open off-heap cache file " + file, e);
+        }
+    }
+
+    @Override
+    public String get(String key) {
+        Body body = body(key);
+        if (body == null) {
+            return null;
+        }
+        return body.smile ? CacheEncoding.SMILE.decode(body.encoded) : CacheEncoding.JSON.decode(body.encoded);
+    }
+
+    @Override
+    public byte[] getSmile(String key) {
+        Body body = body(key);
+        return body != null && body.smile ? body.encoded : null;
+    }
+
+    @Override
+    public void put(String key, String value) {
+        byte[] encoded;
+        boolean smile = encoding == CacheEncoding.SMILE;
+        try {
+            encoded = encoding.encode(value);
+        } catch (UncheckedIOException e) {
+            // Not JSON, kept as text
+            encoded = value.getBytes(StandardCharsets.UTF_8);
+            smile = false;
+        }
+        byte[] compressed = Compression.deflate(encoded);
+        synchronized (this) {
+            remove(key);
+            if (compressed.length > slabSize) {
+                log.debug("Not caching {}: {} compressed bytes exceed the slab size", key, compressed.length);
+                return;
+            }
+            if (position + compressed.length > slabSize || slabs[current] == null) {
+                advance();
+            }
+            slabs[current].put(position, compressed);
+            locations.put(key, new Location(current, position, compressed.length, encoded.length, smile,
+                    System.currentTimeMillis() + ttlMillis));
+            keysBySlab.get(current).add(key);
+            position += compressed.length;
+            storedBytes += compressed.length;
+            index(key);
+        }
+    }
+
+    @Override
+    public synchronized void invalidate(String objectId) {
+        NotionId id = NotionId.tryParse(objectId);
+        if (id != null) {
+            Set<String> keys = keysByObject.get(id);
+            if (keys != null) {
+                for (String key : new ArrayList<>(keys)) {
+                    remove(key);
+                }
+            }
+            return;
+        }
+        for (String key : new ArrayList<>(locations.keySet())) {
+            if (CacheKeys.references(key, objectId)) {
+                remove(key);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void clear() {
+        locations.clear();
+        hot.clear();
+        keysByObject.clear();
+        keysBySlab.forEach(List::clear);
+        storedBytes = 0;
+    }
+
+    @Override
+    public synchronized int size() {
+        return locations.size();
+    }
+
+    /**
+     * Gets the number of compressed bytes of live entries held off the heap.
+     *
+     * @return the number of bytes
+     */
+    public synchronized long getOffHeapBytes() {
+        return storedBytes;
+    }
+
+    /**
+     * Gets the number of entries currently promoted to the heap.
+     *
+     * @return the number of hot entries
+     */
+    public synchronized int getHotSize() {
+        return hot.size();
+    }
+
+    /**
+     * Releases the memory-mapped file, if any. Direct memory is released when
+     * the cache is garbage collected.
+     */
+    @Override
+    public synchronized void close() {
+        clear();
+        if (file != null) {
+            try {
+                file.close();
+            } catch (IOException e) {
+                log.warn("Failed to close off-heap cache file: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Gets the encoded body of a live entry, from the heap when it is hot and
+     * otherwise by copying it out of its slab and decompressing it outside the
+     * lock.
+     */
+    private Body body(String key) {
+        Location location;
+        byte[] compressed;
+        synchronized (this) {
+            location = locations.get(key);
+            if (location == null) {
+                return null;
+            }
+            if (location.expiresAt < System.currentTimeMillis()) {
+                remove(key);
+                return null;
+            }
+            Body promoted = hot.get(key);
+            if (promoted != null) {
+                return promoted;
+            }
+            compressed = new byte[location.length];
+            slabs[location.slab].get(location.position, compressed);
+            location.reads++;
+        }
+        Body body;
+        try {
+            body = new Body(Compression.inflate(compressed, location.rawLength), location.smile);
+        } catch (DataFormatException e) {
+            log.warn("Failed to read {} from the off-heap cache: {}", key, e.getMessage());
+            return null;
+        }
+        synchronized (this) {
+            if (location.reads > 1 && locations.get(key) == location) {
+                hot.put(key, body);
+            }
+        }
+        return body;
+    }
+
+    /**
+     * Moves on to the next slab, allocating it on first use and otherwise
+     * dropping the entries still in it.
+     */
+    private void advance() {
+        if (slabs[current] != null) {
+            current = (current + 1) % slabs.length;
+        }
+        if (slabs[current] == null) {
+            slabs[current] = allocate(current);
+        } else {
+            List<String> keys = keysBySlab.get(current);
+            for (String key : keys) {
+                Location location = locations.get(key);
+                if (location != null && location.slab == current) {
+                    remove(key);
+                }
+            }
+            keys.clear();
+        }
+        position = 0;
+    }
+
+    private ByteBuffer allocate(int slab) {
+        if (file == null) {
+            return ByteBuffer.allocateDirect(slabSize);
+        }
+        try {
+            return file.map(FileChannel.MapMode.READ_WRITE, (long) slab * slabSize, slabSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to map off-heap cache slab " + slab, e);
+        }
+    }
+
+    private void remove(String key) {
+        Location location = locations.remove(key);
+        if (location != null) {
+            storedBytes -= location.length;
+            hot.remove(key);
+            unindex(key);
+        }
+    }
+
+    private void index(String key) {
+        NotionId id = NotionId.tryParse(CacheKeys.objectId(key));
+        if (id != null) {
+            keysByObject.computeIfAbsent(id, k -> new HashSet<>()).add(key);
+        }
+    }
+
+    private void unindex(String key) {
+        NotionId id = NotionId.tryParse(CacheKeys.objectId(key));
+        if (id != null) {
+            Set<String> keys = keysByObject.get(id);
+            if (keys != null && keys.remove(key) && keys.isEmpty()) {
+                keysByObject.remove(id);
+            }
+        }
+    }
+
+    /**
+     * Position of an entry in its slab.
+     */
+    private static final class Location {
+        private final int slab;
+        private final int position;
+        private final int length;
+        private final int rawLength;
+        private final boolean smile;
+        private final long expiresAt;
+        private int reads;
+
+        private Location(int slab, int position, int length, int rawLength, boolean smile, long expiresAt) {
+            this.slab = slab;
+            this.position = position;
+            this.length = length;
+            this.rawLength = rawLength;
+            this.smile = smile;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * An uncompressed body and whether it is Smile.
+     */
+    private static final class Body {
+        private final byte[] encoded;
+        private final boolean smile;
+
+        private Body(byte[] encoded, boolean smile) {
+            this.encoded = encoded;
+            this.smile = smile;
+        }
+    }
+}
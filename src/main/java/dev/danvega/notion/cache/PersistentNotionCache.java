@@ -0,0 +1,612 @@
+package dev.danvega.notion.cache;
+
+import dev.danvega.notion.model.common.NotionId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+
+/**
+ * {@link NotionCache} kept in append-only segment files, so that cached pages,
+ * blocks and databases survive a restart.
+ * <p>
+ * Every put, removal and renewal is appended to the active segment as a
+ * record with a CRC32 checksum. Bodies are written as JSON text or, with
+ * {@link CacheEncoding#SMILE}, as Smile, and deflated when larger than
+ * {@value #COMPRESS_THRESHOLD} bytes. Records of either encoding can be read
+ * whatever the current setting. When the active segment reaches its size limit it is
+ * sealed and memory-mapped for reads, and a new one is started. Once less
+ * than half of the bytes on disk belong to live entries, the live entries are
+ * copied to new segments and the old ones deleted.
+ * <p>
+ * On startup the segments are replayed in order to rebuild the index of keys;
+ * a record torn by a crash ends the replay and is cut off. Entries whose time
+ * to live has passed are not returned by {@link #get(String)} but are kept for
+ * {@link #getStored(String)}, so that {@link dev.danvega.notion.client.NotionClient}
+ * can revalidate them against the {@code last_edited_time} of the object they
+ * belong to instead of fetching them again. When there are more than
+ * {@code maxEntries} entries the least recently used are removed.
+ * <p>
+ * Only one cache instance may use a directory at a time.
+ */
+public class PersistentNotionCache implements NotionCache, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(PersistentNotionCache.class);
+
+    /**
+     * Default size at which a segment is sealed, in bytes.
+     */
+    public static final long DEFAULT_SEGMENT_SIZE = 64L * 1024 * 1024;
+
+    static final int COMPRESS_THRESHOLD = 512;
+
+    // crc, kind, flags, storedAt, key length, stored value length, raw value length
+    private static final int HEADER = 4 + 1 + 1 + 8 + 4 + 4 + 4;
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+    private static final byte RENEW = 3;
+    private static final byte DEFLATED = 1;
+    private static final byte SMILE = 2;
+    private static final String SUFFIX = ".segment";
+
+    private final Path directory;
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final long segmentSize;
+    private final CacheEncoding encoding;
+    private final LinkedHashMap<String, Location> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<NotionId, Set<String>> keysByObject = new HashMap<>();
+    private final List<Segment> segments = new ArrayList<>();
+    private Segment active;
+    private long totalBytes;
+    private long liveBytes;
+    private boolean compacting;
+
+    /**
+     * Constructs a new PersistentNotionCache with the default segment size,
+     * loading the entries already stored in the directory.
+     *
+     * @param directory the directory holding the segment files, created if missing
+     * @param maxEntries the maximum number of entries
+     * @param ttlMillis the time in milliseconds after which an entry must be revalidated
+     */
+    public PersistentNotionCache(Path directory, int maxEntries, long ttlMillis) {
+        this(directory, maxEntries, ttlMillis, DEFAULT_SEGMENT_SIZE, CacheEncoding.JSON);
+    }
+
+    /**
+     * Constructs a new PersistentNotionCache, loading the entries already
+     * stored in the directory.
+     *
+     * @param directory the directory holding the segment files, created if missing
+     * @param maxEntries the maximum number of entries
+     * @param ttlMillis the time in milliseconds after which an entry must be revalidated
+     * @param segmentSize the size in bytes at which a segment is sealed
+     * @param encoding the encoding of bodies written from now on
+     * @throws UncheckedIOException if the directory cannot be read
+     */
+    public PersistentNotionCache(Path directory, int maxEntries, long ttlMillis, long segmentSize,
+                                 CacheEncoding encoding) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        if (segmentSize <= HEADER || segmentSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("segmentSize must be between " + HEADER + " and "
+                    + Integer.MAX_VALUE + " bytes");
+        }
+        this.directory = directory;
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+        this.segmentSize = segmentSize;
+        this.encoding = encoding;
+        try {
+            Files.createDirectories(directory);
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open cache directory " + directory, e);
+        }
+        log.debug("Opened persistent Notion cache in {} with {} entries in {} segment(s)", directory,
+                entries.size(), segments.size());
+    }
+
+    @Override
+    public synchronized String get(String key) {
+        Location location = entries.get(key);
+        if (location == null || System.currentTimeMillis() - location.storedAt > ttlMillis) {
+            return null;
+        }
+        return read(key, location);
+    }
+
+    @Override
+    public synchronized byte[] getSmile(String key) {
+        Location location = entries.get(key);
+        if (location == null || (location.flags & SMILE) == 0
+                || System.currentTimeMillis() - location.storedAt > ttlMillis) {
+            return null;
+        }
+        return readBytes(key, location);
+    }
+
+    @Override
+    public synchronized CachedResponse getStored(String key) {
+        Location location = entries.get(key);
+        if (location == null) {
+            return null;
+        }
+        String value = read(key, location);
+        return value != null ? new CachedResponse(value, location.storedAt) : null;
+    }
+
+    @Override
+    public synchronized void put(String key, String value) {
+        byte[] raw;
+        byte flags = 0;
+        try {
+            raw = encoding.encode(value);
+            flags |= encoding == CacheEncoding.SMILE ? SMILE : 0;
+        } catch (UncheckedIOException e) {
+            // Not JSON, kept as text
+            raw = value.getBytes(StandardCharsets.UTF_8);
+        }
+        byte[] stored = raw.length > COMPRESS_THRESHOLD ? Compression.deflate(raw) : raw;
+        flags |= stored != raw ? DEFLATED : 0;
+        long storedAt = System.currentTimeMillis();
+        try {
+            Location location = append(PUT, key, storedAt, flags, stored, raw.length);
+            Location previous = entries.put(key, location);
+            liveBytes += location.length();
+            if (previous != null) {
+                liveBytes -= previous.length();
+            } else {
+                index(key);
+            }
+        } catch (IOException e) {
+            log.warn("Failed to write {} to the persistent cache: {}", key, e.getMessage());
+            return;
+        }
+        while (entries.size() > maxEntries) {
+            remove(entries.keySet().iterator().next());
+        }
+    }
+
+    @Override
+    public synchronized void renew(String key) {
+        Location location = entries.get(key);
+        if (location == null) {
+            return;
+        }
+        long storedAt = System.currentTimeMillis();
+        try {
+            append(RENEW, key, storedAt, (byte) 0, new byte[0], 0);
+            location.storedAt = storedAt;
+        } catch (IOException e) {
+            log.warn("Failed to renew {} in the persistent cache: {}", key, e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void invalidate(String objectId) {
+        NotionId id = NotionId.tryParse(objectId);
+        if (id != null) {
+            Set<String> keys = keysByObject.get(id);
+            if (keys != null) {
+                for (String key : new ArrayList<>(keys)) {
+                    remove(key);
+                }
+            }
+            return;
+        }
+        for (String key : new ArrayList<>(entries.keySet())) {
+            if (CacheKeys.references(key, objectId)) {
+                remove(key);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void clear() {
+        entries.clear();
+        keysByObject.clear();
+        for (Segment segment : segments) {
+            segment.delete();
+        }
+        segments.clear();
+        active = null;
+        totalBytes = 0;
+        liveBytes = 0;
+    }
+
+    @Override
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Copies the live entries to new segments and deletes the old ones. Runs
+     * on its own once less than half of the bytes on disk are live.
+     */
+    public synchronized void compact() {
+        List<Segment> old = new ArrayList<>(segments);
+        compacting = true;
+        try {
+            seal();
+            for (Map.Entry<String, Location> entry : entries.entrySet()) {
+                Location location = entry.getValue();
+                byte[] stored = location.segment.read(location.valuePosition(), location.valueLength);
+                Location copy = append(PUT, entry.getKey(), location.storedAt, location.flags, stored,
+                        location.rawLength);
+                location.moveTo(copy);
+            }
+            for (Segment segment : old) {
+                segments.remove(segment);
+                totalBytes -= segment.size;
+                segment.delete();
+            }
+            log.debug("Compacted persistent Notion cache in {} to {} bytes", directory, totalBytes);
+        } catch (IOException e) {
+            log.warn("Failed to compact the persistent cache in {}: {}", directory, e.getMessage());
+        } finally {
+            compacting = false;
+        }
+    }
+
+    /**
+     * Gets the number of bytes in the segment files, including records that
+     * are no longer live.
+     *
+     * @return the size on disk
+     */
+    public synchronized long getDiskSize() {
+        return totalBytes;
+    }
+
+    /**
+     * Flushes the active segment and closes the segment files. Entries stay on
+     * disk for the next instance.
+     */
+    @Override
+    public synchronized void close() {
+        for (Segment segment : segments) {
+            if (segment.size == 0) {
+                segment.delete();
+            } else {
+                segment.close();
+            }
+        }
+        segments.clear();
+        entries.clear();
+        keysByObject.clear();
+        active = null;
+    }
+
+    private void remove(String key) {
+        Location location = entries.remove(key);
+        if (location == null) {
+            return;
+        }
+        liveBytes -= location.length();
+        unindex(key);
+        try {
+            append(REMOVE, key, System.currentTimeMillis(), (byte) 0, new byte[0], 0);
+        } catch (IOException e) {
+            log.warn("Failed to remove {} from the persistent cache: {}", key, e.getMessage());
+        }
+    }
+
+    private String read(String key, Location location) {
+        byte[] raw = readBytes(key, location);
+        if (raw == null) {
+            return null;
+        }
+        return (location.flags & SMILE) != 0 ? CacheEncoding.SMILE.decode(raw) : CacheEncoding.JSON.decode(raw);
+    }
+
+    private byte[] readBytes(String key, Location location) {
+        try {
+            byte[] stored = location.segment.read(location.valuePosition(), location.valueLength);
+            return (location.flags & DEFLATED) != 0 ? Compression.inflate(stored, location.rawLength) : stored;
+        } catch (IOException | DataFormatException e) {
+            log.warn("Failed to read {} from the persistent cache: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Appends a record to the active segment, starting a new segment when it
+     * would grow past the segment size.
+     */
+    private Location append(byte kind, String key, long storedAt, byte flags, byte[] value, int rawLength)
+            throws IOException {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        int length = HEADER + keyBytes.length + value.length;
+        ByteBuffer record = ByteBuffer.allocate(length);
+        record.putInt(0)
+                .put(kind)
+                .put(flags)
+                .putLong(storedAt)
+                .putInt(keyBytes.length)
+                .putInt(value.length)
+                .putInt(rawLength)
+                .put(keyBytes)
+                .put(value);
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), 4, length - 4);
+        record.putInt(0, (int) crc.getValue());
+        record.flip();
+
+        if (active != null && active.size > 0 && active.size + length > segmentSize) {
+            seal();
+        }
+        if (active == null) {
+            long id = segments.isEmpty() ? 1 : segments.get(segments.size() - 1).id + 1;
+            active = Segment.create(directory.resolve(String.format("%020d%s", id, SUFFIX)), id);
+            segments.add(active);
+        }
+        long position = active.size;
+        while (record.hasRemaining()) {
+            active.channel.write(record, position + record.position());
+        }
+        active.size += length;
+        totalBytes += length;
+        return new Location(active, position, keyBytes.length, value.length, rawLength, flags, storedAt);
+    }
+
+    private void seal() throws IOException {
+        if (active == null) {
+            return;
+        }
+        Segment sealed = active;
+        active = null;
+        if (sealed.size == 0) {
+            segments.remove(sealed);
+            sealed.delete();
+            return;
+        }
+        sealed.seal();
+        if (!compacting && segments.size() > 2 && totalBytes > 2 * liveBytes) {
+            compact();
+        }
+    }
+
+    private void recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> list = Files.list(directory)) {
+            files = list.filter(path -> path.getFileName().toString().endsWith(SUFFIX)).sorted().toList();
+        }
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            Segment segment = Segment.open(file, Long.parseLong(name.substring(0, name.length() - SUFFIX.length())));
+            long valid = replay(segment);
+            if (valid < segment.size) {
+                log.warn("Cutting off {} bytes of an incomplete record at the end of {}", segment.size - valid, file);
+                segment.truncate(valid);
+            }
+            segments.add(segment);
+            totalBytes += segment.size;
+        }
+    }
+
+    /**
+     * Applies the records of a segment to the index.
+     *
+     * @return the length of the valid records
+     */
+    private long replay(Segment segment) {
+        MappedByteBuffer buffer = segment.mapped;
+        int position = 0;
+        CRC32 crc = new CRC32();
+        while (position + HEADER <= segment.size) {
+            int checksum = buffer.getInt(position);
+            byte kind = buffer.get(position + 4);
+            byte flags = buffer.get(position + 5);
+            long storedAt = buffer.getLong(position + 6);
+            int keyLength = buffer.getInt(position + 14);
+            int valueLength = buffer.getInt(position + 18);
+            int rawLength = buffer.getInt(position + 22);
+            long end = (long) position + HEADER + keyLength + valueLength;
+            if (keyLength < 0 || valueLength < 0 || end > segment.size) {
+                break;
+            }
+            crc.reset();
+            crc.update(buffer.slice(position + 4, (int) end - position - 4));
+            if ((int) crc.getValue() != checksum) {
+                break;
+            }
+            byte[] keyBytes = new byte[keyLength];
+            buffer.get(position + HEADER, keyBytes);
+            String key = new String(keyBytes, StandardCharsets.UTF_8);
+            switch (kind) {
+                case PUT -> {
+                    Location location = new Location(segment, position, keyLength, valueLength, rawLength,
+                            flags, storedAt);
+                    Location previous = entries.put(key, location);
+                    liveBytes += location.length();
+                    if (previous != null) {
+                        liveBytes -= previous.length();
+                    } else {
+                        index(key);
+                    }
+                }
+                case REMOVE -> {
+                    Location previous = entries.remove(key);
+                    if (previous != null) {
+                        liveBytes -= previous.length();
+                        unindex(key);
+                    }
+                }
+                case RENEW -> {
+                    Location location = entries.get(key);
+                    if (location != null) {
+                        location.storedAt = storedAt;
+                    }
+                }
+                default -> {
+                    return position;
+                }
+            }
+            position = (int) end;
+        }
+        return position;
+    }
+
+    private void index(String key) {
+        NotionId id = NotionId.tryParse(CacheKeys.objectId(key));
+        if (id != null) {
+            keysByObject.computeIfAbsent(id, k -> new HashSet<>()).add(key);
+        }
+    }
+
+    private void unindex(String key) {
+        NotionId id = NotionId.tryParse(CacheKeys.objectId(key));
+        if (id != null) {
+            Set<String> keys = keysByObject.get(id);
+            if (keys != null && keys.remove(key) && keys.isEmpty()) {
+                keysByObject.remove(id);
+            }
+        }
+    }
+
+    /**
+     * Position and metadata of the latest put record of a key.
+     */
+    private static final class Location {
+        private Segment segment;
+        private long position;
+        private final int keyLength;
+        private final int valueLength;
+        private final int rawLength;
+        private final byte flags;
+        private long storedAt;
+
+        private Location(Segment segment, long position, int keyLength, int valueLength, int rawLength,
+                         byte flags, long storedAt) {
+            this.segment = segment;
+            this.position = position;
+            this.keyLength = keyLength;
+            this.valueLength = valueLength;
+            this.rawLength = rawLength;
+            this.flags = flags;
+            this.storedAt = storedAt;
+        }
+
+        private long valuePosition() {
+            return position + HEADER + keyLength;
+        }
+
+        private int length() {
+            return HEADER + keyLength + valueLength;
+        }
+
+        private void moveTo(Location copy) {
+            this.segment = copy.segment;
+            this.position = copy.position;
+        }
+    }
+
+    /**
+     * A segment file. The active segment is written and read through its
+     * channel; sealed and recovered segments are read through a read-only
+     * memory mapping.
+     */
+    private static final class Segment {
+        private final Path path;
+        private final long id;
+        private FileChannel channel;
+        private MappedByteBuffer mapped;
+        private long size;
+
+        private Segment(Path path, long id) {
+            this.path = path;
+            this.id = id;
+        }
+
+        private static Segment create(Path path, long id) throws IOException {
+            Segment segment = new Segment(path, id);
+            segment.channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            return segment;
+        }
+
+        private static Segment open(Path path, long id) throws IOException {
+            Segment segment = new Segment(path, id);
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                segment.size = channel.size();
+                segment.mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, segment.size);
+            }
+            return segment;
+        }
+
+        private byte[] read(long position, int length) throws IOException {
+            byte[] bytes = new byte[length];
+            if (mapped != null) {
+                mapped.get((int) position, bytes);
+                return bytes;
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, position + buffer.position()) < 0) {
+                    throw new IOException("Unexpected end of segment " + path);
+                }
+            }
+            return bytes;
+        }
+
+        private void seal() throws IOException {
+            channel.force(false);
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            channel.close();
+            channel = null;
+        }
+
+        private void truncate(long length) throws IOException {
+            try (FileChannel writable = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                writable.truncate(length);
+            }
+            size = length;
+            try (FileChannel readable = FileChannel.open(path, StandardOpenOption.READ)) {
+                mapped = readable.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            }
+        }
+
+        private void close() {
+            if (channel != null) {
+                try {
+                    channel.force(false);
+                    channel.close();
+                } catch (IOException e) {
+                    log.warn("Failed to close cache segment {}: {}", path, e.getMessage());
+                }
+                channel = null;
+            }
+            mapped = null;
+        }
+
+        private void delete() {
+            close();
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                log.warn("Failed to delete cache segment {}: {}", path, e.getMessage());
+            }
+        }
+    }
+}
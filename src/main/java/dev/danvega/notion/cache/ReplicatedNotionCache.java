@@ -0,0 +1,117 @@
+package dev.danvega.notion.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link NotionCache} that shares invalidations with the caches of other
+ * nodes over an {@link InvalidationBus}.
+ * <p>
+ * Every invalidation, whether caused by a write through this node's client
+ * or by a detected change, is applied locally and published, and
+ * invalidations published by other nodes are applied locally. With
+ * {@code replicatePuts}, response bodies fetched from Notion are published
+ * too, so after an object changes only the first node to read it again
+ * fetches it and the others receive the fresh copy. Messages received from
+ * the bus are applied to the wrapped cache only and never published again.
+ */
+public class ReplicatedNotionCache implements NotionCache, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicatedNotionCache.class);
+
+    private final NotionCache delegate;
+    private final InvalidationBus bus;
+    private final boolean replicatePuts;
+
+    /**
+     * Constructs a new ReplicatedNotionCache and subscribes it to the bus.
+     *
+     * @param delegate the local cache
+     * @param bus the bus shared with the other nodes
+     * @param replicatePuts whether stored response bodies are published as well as invalidations
+     */
+    public ReplicatedNotionCache(NotionCache delegate, InvalidationBus bus, boolean replicatePuts) {
+        this.delegate = delegate;
+        this.bus = bus;
+        this.replicatePuts = replicatePuts;
+        bus.subscribe(this::apply);
+    }
+
+    /**
+     * Gets the local cache.
+     *
+     * @return the wrapped cache
+     */
+    public NotionCache getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public String get(String key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public byte[] getSmile(String key) {
+        return delegate.getSmile(key);
+    }
+
+    @Override
+    public CachedResponse getStored(String key) {
+        return delegate.getStored(key);
+    }
+
+    @Override
+    public void renew(String key) {
+        delegate.renew(key);
+    }
+
+    @Override
+    public void put(String key, String value) {
+        delegate.put(key, value);
+        if (replicatePuts) {
+            bus.publish(CacheMessage.put(key, value));
+        }
+    }
+
+    @Override
+    public void invalidate(String objectId) {
+        delegate.invalidate(objectId);
+        bus.publish(CacheMessage.invalidate(objectId));
+    }
+
+    /**
+     * Evicts all local entries. Other nodes are not affected.
+     */
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+
+    /**
+     * Leaves the bus and closes the local cache if it holds resources.
+     *
+     * @throws Exception if the local cache fails to close
+     */
+    @Override
+    public void close() throws Exception {
+        bus.close();
+        if (delegate instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private void apply(CacheMessage message) {
+        log.trace("Applying {} from another node", message);
+        if (message.getType() == CacheMessage.Type.INVALIDATE) {
+            delegate.invalidate(message.getKey());
+        } else {
+            delegate.put(message.getKey(), message.getValue());
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package dev.danvega.notion.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * {@link InvalidationBus} over TCP between a static list of peers.
+ * <p>
+ * Each node listens on a port and keeps one connection open to every peer.
+ * Messages are queued and written to all peers by one background thread, so
+ * publishing never waits for the network; when the queue is full, new
+ * messages are dropped. A connection that fails is reopened for the next
+ * message, and a message that cannot be written after reopening is dropped
+ * for that peer. Every message carries the ID of the node that sent it, so
+ * the peer list may include the node itself and be the same on every node.
+ * <p>
+ * Messages are not authenticated; bind the port to a private network.
+ */
+public class TcpInvalidationBus implements InvalidationBus {
+
+    private static final Logger log = LoggerFactory.getLogger(TcpInvalidationBus.class);
+
+    static final int QUEUE_SIZE = 10_000;
+    static final int CONNECT_TIMEOUT = 2000;
+
+    private final UUID nodeId = UUID.randomUUID();
+    private final ServerSocket serverSocket;
+    private final List<InetSocketAddress> peers = new CopyOnWriteArrayList<>();
+    private final List<Consumer<CacheMessage>> listeners = new CopyOnWriteArrayList<>();
+    private final List<Socket> accepted = new CopyOnWriteArrayList<>();
+    private final Map<InetSocketAddress, Connection> connections = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor sender;
+    private volatile boolean closed;
+
+    /**
+     * Constructs a new TcpInvalidationBus and starts listening.
+     *
+     * @param port the port to listen on, or 0 for any free port
+     * @param peers the addresses of the other nodes
+     * @throws UncheckedIOException if the port cannot be bound
+     */
+    public TcpInvalidationBus(int port, List<InetSocketAddress> peers) {
+        try {
+            this.serverSocket = new ServerSocket(port);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to listen for cache messages on port " + port, e);
+        }
+        this.peers.addAll(peers);
+        this.sender = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(QUEUE_SIZE), runnable -> {
+                    Thread thread = new Thread(runnable, "notion-cache-bus-sender");
+                    thread.setDaemon(true);
+                    return thread;
+                }, (runnable, executor) -> log.warn("Dropped a cache message: the send queue is full"));
+        Thread.ofVirtual().name("notion-cache-bus-acceptor").start(this::accept);
+    }
+
+    /**
+     * Parses a peer address.
+     *
+     * @param hostAndPort the address as {@code host:port}
+     * @return the unresolved address, resolved again on every connection attempt
+     * @throws IllegalArgumentException if the address has no port
+     */
+    public static InetSocketAddress peer(String hostAndPort) {
+        int colon = hostAndPort.lastIndexOf(':');
+        if (colon <= 0 || colon == hostAndPort.length() - 1) {
+            throw new IllegalArgumentException("Peer address must be host:port: " + hostAndPort);
+        }
+        try {
+            return InetSocketAddress.createUnresolved(hostAndPort.substring(0, colon),
+                    Integer.parseInt(hostAndPort.substring(colon + 1)));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Peer address must be host:port: " + hostAndPort, e);
+        }
+    }
+
+    /**
+     * Adds a node to send messages to.
+     *
+     * @param peer the address of the node
+     */
+    public void addPeer(InetSocketAddress peer) {
+        peers.add(peer);
+    }
+
+    /**
+     * Gets the port this node listens on.
+     *
+     * @return the port
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    @Override
+    public void publish(CacheMessage message) {
+        if (!closed) {
+            sender.execute(() -> send(message));
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheMessage> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Stops listening and closes all connections. Queued messages are dropped.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        sender.shutdownNow();
+        closeQuietly(serverSocket);
+        accepted.forEach(TcpInvalidationBus::closeQuietly);
+        connections.values().forEach(connection -> closeQuietly(connection.socket));
+    }
+
+    private void send(CacheMessage message) {
+        for (InetSocketAddress peer : peers) {
+            for (int attempt = 0; attempt < 2; attempt++) {
+                try {
+                    Connection connection = connections.get(peer);
+                    if (connection == null) {
+                        connection = new Connection(peer);
+                        connections.put(peer, connection);
+                    }
+                    connection.write(nodeId, message);
+                    break;
+                } catch (IOException e) {
+                    Connection failed = connections.remove(peer);
+                    if (failed != null) {
+                        closeQuietly(failed.socket);
+                    }
+                    if (attempt == 1) {
+                        log.debug("Failed to send a cache message to {}: {}", peer, e.getMessage());
+                    }
+                }
+            }
+        }
+    }
+
+    private void accept() {
+        while (!closed) {
+            try {
+                Socket socket = serverSocket.accept();
+                accepted.add(socket);
+                Thread.ofVirtual().name("notion-cache-bus-receiver").start(() -> receive(socket));
+            } catch (IOException e) {
+                if (!closed) {
+                    log.warn("Failed to accept a cache bus connection: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void receive(Socket socket) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()))) {
+            while (!closed) {
+                UUID sender = new UUID(in.readLong(), in.readLong());
+                CacheMessage message = read(in);
+                if (!sender.equals(nodeId)) {
+                    for (Consumer<CacheMessage> listener : listeners) {
+                        try {
+                            listener.accept(message);
+                        } catch (RuntimeException e) {
+                            log.warn("Failed to apply {}: {}", message, e.getMessage());
+                        }
+                    }
+                }
+            }
+        } catch (EOFException e) {
+            // Peer closed the connection
+        } catch (IOException e) {
+            if (!closed) {
+                log.debug("Cache bus connection from {} failed: {}", socket.getRemoteSocketAddress(),
+                        e.getMessage());
+            }
+        } finally {
+            accepted.remove(socket);
+            closeQuietly(socket);
+        }
+    }
+
+    private static CacheMessage read(DataInputStream in) throws IOException {
+        int type = in.readUnsignedByte();
+        String key = in.readUTF();
+        if (type == CacheMessage.Type.INVALIDATE.ordinal()) {
+            return CacheMessage.invalidate(key);
+        }
+        if (type == CacheMessage.Type.PUT.ordinal()) {
+            byte[] value = new byte[in.readInt()];
+            in.readFully(value);
+            return CacheMessage.put(key, new String(value, StandardCharsets.UTF_8));
+        }
+        throw new IOException("Unknown cache message type " + type);
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            // Already closed
+        }
+    }
+
+    /**
+     * Outgoing connection to a peer, used only by the sender thread.
+     */
+    private static final class Connection {
+        private final Socket socket;
+        private final DataOutputStream out;
+
+        private Connection(InetSocketAddress peer) throws IOException {
+            socket = new Socket();
+            socket.setTcpNoDelay(true);
+            socket.connect(new InetSocketAddress(peer.getHostString(), peer.getPort()), CONNECT_TIMEOUT);
+            out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        }
+
+        private void write(UUID nodeId, CacheMessage message) throws IOException {
+            out.writeLong(nodeId.getMostSignificantBits());
+            out.writeLong(nodeId.getLeastSignificantBits());
+            out.writeByte(message.getType().ordinal());
+            out.writeUTF(message.getKey());
+            if (message.getType() == CacheMessage.Type.PUT) {
+                byte[] value = message.getValue().getBytes(StandardCharsets.UTF_8);
+                out.writeInt(value.length);
+                out.write(value);
+            }
+            out.flush();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package dev.danvega.notion.change;
+
+import dev.danvega.notion.model.block.Block;
+
+/**
+ * Published when a top-level block of a changed page was created or edited.
+ */
+public class BlockChangedEvent extends NotionChangeEvent {
+
+    private final String pageId;
+    private final Block block;
+
+    /**
+     * Constructs a new BlockChangedEvent.
+     *
+     * @param source the change feed that found the change
+     * @param pageId the ID of the page the block belongs to
+     * @param block the block as of the change
+     */
+    public BlockChangedEvent(Object source, String pageId, Block block) {
+        super(source, block);
+        this.pageId = pageId;
+        this.block = block;
+    }
+
+    public String getPageId() {
+        return pageId;
+    }
+
+    public Block getBlock() {
+        return block;
+    }
+
+    @Override
+    public String toString() {
+        return "BlockChangedEvent{" +
+               "id='" + getObjectId() + '\'' +
+               ", pageId='" + pageId + '\'' +
+               ", lastEditedTime=" + getLastEditedTime() +
+               '}';
+    }
+}
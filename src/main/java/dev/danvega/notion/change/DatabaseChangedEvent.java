@@ -0,0 +1,36 @@
+package dev.danvega.notion.change;
+
+import dev.danvega.notion.model.database.Database;
+
+/**
+ * Published when the title, description or schema of a database was edited,
+ * or the database was created or archived. Changes to the pages of a database
+ * are published as {@link PageChangedEvent}s.
+ */
+public class DatabaseChangedEvent extends NotionChangeEvent {
+
+    private final Database database;
+
+    /**
+     * Constructs a new DatabaseChangedEvent.
+     *
+     * @param source the change feed that found the change
+     * @param database the database as of the change
+     */
+    public DatabaseChangedEvent(Object source, Database database) {
+        super(source, database);
+        this.database = database;
+    }
+
+    public Database getDatabase() {
+        return database;
+    }
+
+    @Override
+    public String toString() {
+        return "DatabaseChangedEvent{" +
+               "id='" + getObjectId() + '\'' +
+               ", lastEditedTime=" + getLastEditedTime() +
+               '}';
+    }
+}
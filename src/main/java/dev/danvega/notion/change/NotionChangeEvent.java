@@ -0,0 +1,43 @@
+package dev.danvega.notion.change;
+
+import dev.danvega.notion.model.common.NotionObject;
+import org.springframework.context.ApplicationEvent;
+
+import java.time.ZonedDateTime;
+
+/**
+ * Base class of the events published by a {@link NotionChangeFeed} for an
+ * object that was created, edited or archived since the previous poll.
+ */
+public abstract class NotionChangeEvent extends ApplicationEvent {
+
+    private final NotionObject object;
+
+    /**
+     * Constructs a new NotionChangeEvent.
+     *
+     * @param source the change feed that found the change
+     * @param object the object as of the change
+     */
+    protected NotionChangeEvent(Object source, NotionObject object) {
+        super(source);
+        this.object = object;
+    }
+
+    public String getObjectId() {
+        return object.getId();
+    }
+
+    public ZonedDateTime getLastEditedTime() {
+        return object.getLastEditedTime();
+    }
+
+    /**
+     * Checks whether the change archived the object.
+     *
+     * @return true if the object is archived
+     */
+    public boolean isArchived() {
+        return Boolean.TRUE.equals(object.getArchived());
+    }
+}
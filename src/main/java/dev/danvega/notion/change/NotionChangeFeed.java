@@ -0,0 +1,375 @@
+package dev.danvega.notion.change;
+
+import dev.danvega.notion.cache.NotionCache;
+import dev.danvega.notion.model.block.Block;
+import dev.danvega.notion.model.common.NotionId;
+import dev.danvega.notion.model.common.NotionObject;
+import dev.danvega.notion.model.database.Database;
+import dev.danvega.notion.model.database.DatabaseQuery;
+import dev.danvega.notion.model.database.Filter;
+import dev.danvega.notion.model.database.Sort;
+import dev.danvega.notion.model.page.Page;
+import dev.danvega.notion.model.response.PaginatedResponse;
+import dev.danvega.notion.service.NotionBlockService;
+import dev.danvega.notion.service.NotionDatabaseService;
+import dev.danvega.notion.service.NotionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Finds pages and databases edited in Notion and publishes them as
+ * {@link PageChangedEvent}s, {@link DatabaseChangedEvent}s and, optionally,
+ * {@link BlockChangedEvent}s.
+ * <p>
+ * Each poll searches the workspace sorted by {@code last_edited_time},
+ * newest first, and stops paging at the watermark left by the previous poll,
+ * so a quiet workspace costs one search request per poll. Watched databases
+ * are polled with incremental queries for pages edited on or after their own
+ * watermark instead; their pages are left out of the search results. The
+ * first poll of each source only sets its watermark. When block events are
+ * enabled, the top-level blocks of every changed page are listed and those
+ * edited since the watermark are published too. Given the client's cache,
+ * the feed invalidates the cached responses of every changed object, so
+ * blocks are not listed from a stale response.
+ * <p>
+ * Events are published in order of {@code last_edited_time} on the polling
+ * thread. A source's watermarks only advance once its events are published,
+ * so if a request fails partway through a source, the next poll finds the
+ * same changes again. Notion reports edits to the minute, so an object edited again
+ * within the minute of its last event is compared with the version already
+ * published and only published again if it differs.
+ * <p>
+ * Started in the background, the feed polls at the minimum interval while it
+ * finds changes and doubles the interval, up to the maximum, after each poll
+ * that finds none or fails.
+ */
+public class NotionChangeFeed implements ApplicationRunner, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(NotionChangeFeed.class);
+
+    static final int PAGE_SIZE = 100;
+
+    private final NotionService notionService;
+    private final NotionDatabaseService databaseService;
+    private final NotionBlockService blockService;
+    private final NotionCache cache;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher publisher;
+    private final long minInterval;
+    private final long maxInterval;
+    private final Source search = new Source(null);
+    private final Map<NotionId, Source> databases = new LinkedHashMap<>();
+    private long interval;
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Constructs a new NotionChangeFeed.
+     *
+     * @param notionService the service used to search the workspace
+     * @param databaseService the service used to query watched databases
+     * @param blockService the service used to list the blocks of changed pages, or null to publish no block events
+     * @param objectMapper the ObjectMapper used to bind search results
+     * @param publisher the publisher of the events
+     * @param minInterval the delay between polls while changes are found, in milliseconds
+     * @param maxInterval the longest delay between polls, in milliseconds
+     */
+    public NotionChangeFeed(NotionService notionService, NotionDatabaseService databaseService,
+                            NotionBlockService blockService, ObjectMapper objectMapper,
+                            ApplicationEventPublisher publisher, long minInterval, long maxInterval) {
+        this(notionService, databaseService, blockService, null, objectMapper, publisher, minInterval, maxInterval);
+    }
+
+    /**
+     * Constructs a new NotionChangeFeed that invalidates the cached responses
+     * of the objects it finds changed.
+     *
+     * @param notionService the service used to search the workspace
+     * @param databaseService the service used to query watched databases
+     * @param blockService the service used to list the blocks of changed pages, or null to publish no block events
+     * @param cache the response cache of the client behind the services, or null
+     * @param objectMapper the ObjectMapper used to bind search results
+     * @param publisher the publisher of the events
+     * @param minInterval the delay between polls while changes are found, in milliseconds
+     * @param maxInterval the longest delay between polls, in milliseconds
+     */
+    public NotionChangeFeed(NotionService notionService, NotionDatabaseService databaseService,
+                            NotionBlockService blockService, NotionCache cache, ObjectMapper objectMapper,
+                            ApplicationEventPublisher publisher, long minInterval, long maxInterval) {
+        if (minInterval <= 0 || maxInterval < minInterval) {
+            throw new IllegalArgumentException("Intervals must be positive and maxInterval at least minInterval");
+        }
+        this.notionService = notionService;
+        this.databaseService = databaseService;
+        this.blockService = blockService;
+        this.cache = cache;
+        this.objectMapper = objectMapper;
+        this.publisher = publisher;
+        this.minInterval = minInterval;
+        this.maxInterval = maxInterval;
+        this.interval = minInterval;
+    }
+
+    /**
+     * Watches a database with incremental queries. Its pages are no longer
+     * taken from the search results.
+     *
+     * @param databaseId the database ID
+     * @throws IllegalArgumentException if the ID is not a Notion ID
+     */
+    public synchronized void watch(String databaseId) {
+        NotionId id = NotionId.tryParse(databaseId);
+        if (id == null) {
+            throw new IllegalArgumentException("Invalid database ID: " + databaseId);
+        }
+        databases.putIfAbsent(id, new Source(databaseId));
+    }
+
+    /**
+     * Polls every source once and publishes the changes found.
+     *
+     * @return the number of events published
+     */
+    public synchronized int poll() {
+        int published = pollSource(search);
+        for (Source database : databases.values()) {
+            published += pollSource(database);
+        }
+        return published;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        start();
+    }
+
+    /**
+     * Polls in the background, starting right away.
+     *
+     * @throws IllegalStateException if the feed has already been started
+     */
+    public synchronized void start() {
+        if (scheduler != null) {
+            throw new IllegalStateException("Change feed is already started");
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "notion-change-feed");
+            thread.setDaemon(true);
+            return thread;
+        });
+        interval = minInterval;
+        scheduler.schedule(this::pollAndReschedule, 0, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Gets the current delay between background polls.
+     *
+     * @return the interval in milliseconds
+     */
+    public synchronized long getInterval() {
+        return interval;
+    }
+
+    /**
+     * Stops background polling.
+     */
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    private void pollAndReschedule() {
+        int published = 0;
+        try {
+            published = poll();
+        } catch (RuntimeException e) {
+            log.warn("Failed to poll Notion for changes: {}", e.getMessage());
+        }
+        synchronized (this) {
+            interval = published > 0 ? minInterval : Math.min(maxInterval, interval * 2);
+            if (scheduler != null) {
+                scheduler.schedule(this::pollAndReschedule, interval, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * Polls one source and publishes its changes before advancing its
+     * watermarks, so that a failure anywhere in the source, including while
+     * listing blocks, leaves it to be polled again from the same point.
+     *
+     * @return the number of events published
+     */
+    private int pollSource(Source source) {
+        ZonedDateTime since = source.objects.getTime();
+        List<NotionObject> found = source == search ? pollSearch(since) : pollDatabase(source, since);
+        List<NotionChangeEvent> events = new ArrayList<>();
+        List<Block> blocks = new ArrayList<>();
+        if (since != null) {
+            collect(source, since, found.stream().filter(source.objects::isNew).toList(), events, blocks);
+        }
+        events.forEach(publisher::publishEvent);
+        found.forEach(source.objects::record);
+        blocks.forEach(source.blocks::record);
+        return events.size();
+    }
+
+    /**
+     * Pages through the search results, newest first, down to the watermark.
+     * The first poll reads one page to set the watermark.
+     */
+    private List<NotionObject> pollSearch(ZonedDateTime since) {
+        boolean initial = since == null;
+        List<NotionObject> found = new ArrayList<>();
+        String cursor = null;
+        paging:
+        do {
+            PaginatedResponse<Object> response = notionService.search(null, null, "descending", cursor, PAGE_SIZE);
+            for (Object result : results(response)) {
+                NotionObject object = bind(result);
+                if (object == null) {
+                    continue;
+                }
+                ZonedDateTime edited = object.getLastEditedTime();
+                if (!initial && edited != null && edited.isBefore(since)) {
+                    break paging;
+                }
+                if (!(object instanceof Page page) || !isWatched(page)) {
+                    found.add(object);
+                }
+            }
+            cursor = !initial && response.isHasMore() ? response.getNextCursor() : null;
+        } while (cursor != null);
+        Collections.reverse(found);
+        return found;
+    }
+
+    /**
+     * Queries a watched database for pages edited on or after its watermark,
+     * oldest first. The first poll reads the most recently edited pages to set
+     * the watermark.
+     */
+    private List<NotionObject> pollDatabase(Source database, ZonedDateTime since) {
+        DatabaseQuery query = DatabaseQuery.builder()
+                .filter(since != null ? Filter.lastEditedTime().onOrAfter(since) : null)
+                .sorts(Sort.lastEditedTime(since != null ? Sort.Direction.ASCENDING : Sort.Direction.DESCENDING))
+                .pageSize(PAGE_SIZE)
+                .build();
+        List<NotionObject> found = new ArrayList<>();
+        String cursor = null;
+        do {
+            query.setStartCursor(cursor);
+            PaginatedResponse<Page> response = databaseService.queryDatabase(database.id, query);
+            found.addAll(results(response));
+            cursor = since != null && response.isHasMore() ? response.getNextCursor() : null;
+        } while (cursor != null);
+        return found;
+    }
+
+    /**
+     * Turns changed objects into events, listing the blocks of changed pages
+     * if enabled. Cached responses of every changed object are invalidated
+     * first, so that its blocks are listed fresh and readers of the cache see
+     * the change.
+     *
+     * @param blocks the blocks listed, to be recorded in the block watermark once the events are published
+     */
+    private void collect(Source source, ZonedDateTime since, List<NotionObject> changed,
+                         List<NotionChangeEvent> events, List<Block> blocks) {
+        if (changed.isEmpty()) {
+            return;
+        }
+        if (cache != null) {
+            changed.forEach(object -> cache.invalidate(object.getId()));
+        }
+        List<Page> pages = new ArrayList<>();
+        for (NotionObject object : changed) {
+            if (object instanceof Page page) {
+                events.add(new PageChangedEvent(this, page));
+                if (!Boolean.TRUE.equals(page.getArchived())) {
+                    pages.add(page);
+                }
+            } else if (object instanceof Database database) {
+                events.add(new DatabaseChangedEvent(this, database));
+            }
+        }
+        if (blockService != null) {
+            // Blocks are new if edited since the watermark before this poll
+            source.blocks.raiseTo(since);
+            for (Page page : pages) {
+                collectBlocks(source, page, events, blocks);
+            }
+        }
+    }
+
+    private void collectBlocks(Source source, Page page, List<NotionChangeEvent> events, List<Block> listed) {
+        List<Block> blocks = new ArrayList<>();
+        String cursor = null;
+        do {
+            PaginatedResponse<Block> response = blockService.getBlockChildren(page.getId(), cursor);
+            blocks.addAll(results(response));
+            cursor = response.isHasMore() ? response.getNextCursor() : null;
+        } while (cursor != null);
+        blocks.sort(Comparator.comparing(Block::getLastEditedTime, Comparator.nullsFirst(Comparator.naturalOrder())));
+        for (Block block : blocks) {
+            if (source.blocks.isNew(block)) {
+                events.add(new BlockChangedEvent(this, page.getId(), block));
+            }
+        }
+        listed.addAll(blocks);
+    }
+
+    private boolean isWatched(Page page) {
+        String databaseId = page.getParent() != null ? page.getParent().getDatabaseId() : null;
+        NotionId id = databaseId != null ? NotionId.tryParse(databaseId) : null;
+        return id != null && databases.containsKey(id);
+    }
+
+    private NotionObject bind(Object result) {
+        if (!(result instanceof Map<?, ?> map)) {
+            return null;
+        }
+        Object type = map.get("object");
+        if ("page".equals(type)) {
+            return objectMapper.convertValue(result, Page.class);
+        }
+        if ("database".equals(type)) {
+            return objectMapper.convertValue(result, Database.class);
+        }
+        return null;
+    }
+
+    private static <T> List<T> results(PaginatedResponse<T> response) {
+        return response.getResults() != null ? response.getResults() : List.of();
+    }
+
+    /**
+     * Watermarks of the search or of one watched database.
+     */
+    private static final class Source {
+        private final String id;
+        private final Watermark objects = new Watermark();
+        private final Watermark blocks = new Watermark();
+
+        private Source(String id) {
+            this.id = id;
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package dev.danvega.notion.change;
+
+import dev.danvega.notion.cache.NotionCache;
+import dev.danvega.notion.client.NotionClient;
+import dev.danvega.notion.model.common.NotionId;
+import dev.danvega.notion.model.page.Page;
+import dev.danvega.notion.replica.NotionDatabaseReplica;
+import dev.danvega.notion.service.NotionBlockService;
+import dev.danvega.notion.service.NotionDatabaseService;
+import dev.danvega.notion.service.NotionPageService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Receives Notion webhook notifications and applies them without polling.
+ * <p>
+ * Each notification is checked against the {@code X-Notion-Signature}
+ * header, an HMAC-SHA256 of the body keyed with the subscription's
+ * verification token. The cache entries of the changed object, its parent
+ * and its updated blocks are invalidated before the response is sent, so the
+ * next read fetches them again. Then, on a background thread and in the order
+ * received, registered replicas of an affected database are synced, and the
+ * changed page, database and updated blocks are retrieved and published as
+ * {@link PageChangedEvent}, {@link DatabaseChangedEvent} and
+ * {@link BlockChangedEvent}. A sync already waiting for a replica covers
+ * later notifications for the same database. Objects that can no longer be
+ * retrieved, such as deleted ones, are not published.
+ * <p>
+ * The verification request Notion sends when a subscription is created is
+ * accepted unsigned and its token logged, so it can be configured.
+ */
+@RestController
+public class NotionWebhookController implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(NotionWebhookController.class);
+
+    static final String SIGNATURE_HEADER = "X-Notion-Signature";
+
+    private final String verificationToken;
+    private final NotionClient notionClient;
+    private final NotionPageService pageService;
+    private final NotionDatabaseService databaseService;
+    private final NotionBlockService blockService;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher publisher;
+    private final Map<NotionId, NotionDatabaseReplica> replicas = new ConcurrentHashMap<>();
+    private final Set<NotionId> pendingSyncs = ConcurrentHashMap.newKeySet();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "notion-webhook");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Constructs a new NotionWebhookController.
+     *
+     * @param verificationToken the verification token of the webhook subscription, or null to accept only verification requests
+     * @param notionClient the Notion client whose cache is invalidated
+     * @param pageService the service used to retrieve changed pages
+     * @param databaseService the service used to retrieve changed databases
+     * @param blockService the service used to retrieve updated blocks
+     * @param objectMapper the ObjectMapper used to read notifications
+     * @param publisher the publisher of the events
+     */
+    public NotionWebhookController(String verificationToken, NotionClient notionClient,
+                                   NotionPageService pageService, NotionDatabaseService databaseService,
+                                   NotionBlockService blockService, ObjectMapper objectMapper,
+                                   ApplicationEventPublisher publisher) {
+        this.verificationToken = verificationToken;
+        this.notionClient = notionClient;
+        this.pageService = pageService;
+        this.databaseService = databaseService;
+        this.blockService = blockService;
+        this.objectMapper = objectMapper;
+        this.publisher = publisher;
+    }
+
+    /**
+     * Syncs a replica whenever a notification affects its database.
+     *
+     * @param replica the replica
+     * @throws IllegalArgumentException if the replica's database ID is not a Notion ID
+     */
+    public void register(NotionDatabaseReplica replica) {
+        NotionId id = NotionId.tryParse(replica.getDatabaseId());
+        if (id == null) {
+            throw new IllegalArgumentException("Invalid database ID: " + replica.getDatabaseId());
+        }
+        replicas.put(id, replica);
+    }
+
+    /**
+     * Receives a notification.
+     *
+     * @param body the raw request body
+     * @param signature the signature header, if any
+     * @return 200 if the notification was accepted, 401 if its signature is
+     *         missing or wrong, 400 if it cannot be read
+     */
+    @PostMapping("${notion.api.webhook.path:/notion/webhook}")
+    public ResponseEntity<Void> receive(@RequestBody byte[] body,
+                                        @RequestHeader(name = SIGNATURE_HEADER, required = false) String signature) {
+        JsonNode notification;
+        try {
+            notification = objectMapper.readTree(body);
+        } catch (IOException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (notification == null || !notification.isObject()) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (notification.hasNonNull("verification_token") && !notification.has("type")) {
+            log.info("Received Notion webhook verification token {}; set notion.api.webhook.verification-token "
+                    + "to it and verify the subscription", notification.get("verification_token").asText());
+            return ResponseEntity.ok().build();
+        }
+        if (!isSigned(body, signature)) {
+            log.warn("Rejected Notion webhook notification with a missing or invalid signature");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        apply(notification);
+        return ResponseEntity.ok().build();
+    }
+
+    /**
+     * Stops handling accepted notifications in the background.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    boolean isSigned(byte[] body, String signature) {
+        if (verificationToken == null || verificationToken.isEmpty() || signature == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(sign(verificationToken, body).getBytes(StandardCharsets.US_ASCII),
+                signature.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Computes the signature header value of a body.
+     *
+     * @param verificationToken the verification token of the subscription
+     * @param body the request body
+     * @return the signature, as {@code sha256=} followed by the hex HMAC
+     */
+    public static String sign(String verificationToken, byte[] body) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(verificationToken.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return "sha256=" + HexFormat.of().formatHex(mac.doFinal(body));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+
+    private void apply(JsonNode notification) {
+        String type = notification.path("type").asText("");
+        JsonNode entity = notification.path("entity");
+        String entityId = entity.path("id").asText(null);
+        String entityType = entity.path("type").asText("");
+        JsonNode parent = notification.path("data").path("parent");
+        String parentId = parent.path("id").asText(null);
+        List<String> blockIds = new ArrayList<>();
+        for (JsonNode block : notification.path("data").path("updated_blocks")) {
+            if (block.hasNonNull("id")) {
+                blockIds.add(block.get("id").asText());
+            }
+        }
+        log.debug("Notion webhook notification {} for {} {}", type, entityType, entityId);
+
+        NotionCache cache = notionClient.getCache();
+        if (cache != null) {
+            Set<String> affected = new LinkedHashSet<>(blockIds);
+            affected.add(entityId);
+            affected.add(parentId);
+            affected.remove(null);
+            affected.forEach(cache::invalidate);
+        }
+
+        if ("database".equals(entityType)) {
+            refresh(entityId);
+        }
+        if ("database".equals(parent.path("type").asText())) {
+            refresh(parentId);
+        }
+        if (entityId != null && ("page".equals(entityType) || "database".equals(entityType))) {
+            executor.execute(() -> publish(entityId, entityType, blockIds));
+        }
+    }
+
+    private void refresh(String databaseId) {
+        NotionId id = databaseId != null ? NotionId.tryParse(databaseId) : null;
+        NotionDatabaseReplica replica = id != null ? replicas.get(id) : null;
+        if (replica == null || !pendingSyncs.add(id)) {
+            return;
+        }
+        executor.execute(() -> {
+            pendingSyncs.remove(id);
+            try {
+                replica.sync();
+            } catch (RuntimeException e) {
+                log.warn("Failed to sync replica of database {}: {}", databaseId, e.getMessage());
+            }
+        });
+    }
+
+    private void publish(String entityId, String entityType, List<String> blockIds) {
+        try {
+            if ("database".equals(entityType)) {
+                publisher.publishEvent(new DatabaseChangedEvent(this, databaseService.getDatabase(entityId)));
+                return;
+            }
+            Page page = pageService.getPage(entityId);
+            publisher.publishEvent(new PageChangedEvent(this, page));
+            for (String blockId : blockIds) {
+                publisher.publishEvent(new BlockChangedEvent(this, page.getId(), blockService.getBlock(blockId)));
+            }
+        } catch (RuntimeException e) {
+            log.debug("Failed to retrieve {} {} after a webhook notification: {}", entityType, entityId,
+                    e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package dev.danvega.notion.change;
+
+import dev.danvega.notion.model.page.Page;
+
+/**
+ * Published when a page was created, edited or archived.
+ */
+public class PageChangedEvent extends NotionChangeEvent {
+
+    private final Page page;
+
+    /**
+     * Constructs a new PageChangedEvent.
+     *
+     * @param source the change feed that found the change
+     * @param page the page as of the change
+     */
+    public PageChangedEvent(Object source, Page page) {
+        super(source, page);
+        this.page = page;
+    }
+
+    public Page getPage() {
+        return page;
+    }
+
+    /**
+     * Gets the database the page belongs to.
+     *
+     * @return the database ID, or null if the page is not in a database
+     */
+    public String getDatabaseId() {
+        return page.getParent() != null ? page.getParent().getDatabaseId() : null;
+    }
+
+    @Override
+    public String toString() {
+        return "PageChangedEvent{" +
+               "id='" + getObjectId() + '\'' +
+               ", lastEditedTime=" + getLastEditedTime() +
+               '}';
+    }
+}
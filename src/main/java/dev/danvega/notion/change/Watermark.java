@@ -0,0 +1,46 @@
+package dev.danvega.notion.change;
+
+import dev.danvega.notion.model.common.NotionObject;
+
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Latest {@code last_edited_time} seen from one source of changes, with the
+ * versions of the objects seen at exactly that time. Notion rounds
+ * {@code last_edited_time} to the minute, so an object at the watermark may
+ * have been edited again within the same minute; it counts as changed when it
+ * differs from the version recorded.
+ */
+final class Watermark {
+
+    private ZonedDateTime time;
+    private final Map<String, NotionObject> atTime = new HashMap<>();
+
+    ZonedDateTime getTime() {
+        return time;
+    }
+
+    boolean isNew(NotionObject object) {
+        ZonedDateTime edited = object.getLastEditedTime();
+        if (time == null || edited == null || edited.isAfter(time)) {
+            return true;
+        }
+        return edited.isEqual(time) && !object.equals(atTime.get(object.getId()));
+    }
+
+    void record(NotionObject object) {
+        raiseTo(object.getLastEditedTime());
+        if (object.getLastEditedTime() != null && object.getLastEditedTime().isEqual(time)) {
+            atTime.put(object.getId(), object);
+        }
+    }
+
+    void raiseTo(ZonedDateTime edited) {
+        if (edited != null && (time == null || edited.isAfter(time))) {
+            time = edited;
+            atTime.clear();
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package dev.danvega.notion.client;
+
+import dev.danvega.notion.exception.NotionApiException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Weighted fair-share admission control for requests from many tenants.
+ * <p>
+ * At most {@code maxConcurrent} requests are in flight across all tenants. When
+ * the limit is reached, waiting requests are admitted using start-time fair
+ * queueing: each request is tagged with a virtual start time that advances by
+ * {@code 1 / weight} per request of its tenant, and the smallest tag is served
+ * first. A tenant with weight 2 therefore receives twice the share of a tenant
+ * with weight 1, and a tenant with a deep backlog cannot starve the others.
+ */
+public class FairShareScheduler {
+
+    private final int maxConcurrent;
+    private final long maxWaitNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, TenantState> tenants = new HashMap<>();
+    private final PriorityQueue<Ticket> waiting = new PriorityQueue<>(
+            Comparator.comparingDouble((Ticket t) -> t.startTag).thenComparingLong(t -> t.sequence));
+
+    private int inFlight;
+    private double virtualTime;
+    private long sequence;
+
+    /**
+     * Constructs a new FairShareScheduler.
+     *
+     * @param maxConcurrent the maximum number of requests in flight across all tenants
+     * @param maxWaitMillis the maximum time a request waits for admission
+     */
+    public FairShareScheduler(int maxConcurrent, long maxWaitMillis) {
+        if (maxConcurrent <= 0) {
+            throw new IllegalArgumentException("maxConcurrent must be positive");
+        }
+        this.maxConcurrent = maxConcurrent;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+    }
+
+    /**
+     * Registers a tenant with the given weight. Re-registering updates the weight.
+     *
+     * @param tenantId the tenant ID
+     * @param weight the tenant's share weight, must be positive
+     */
+    public void register(String tenantId, double weight) {
+        if (weight <= 0) {
+            throw new IllegalArgumentException("weight must be positive");
+        }
+        lock.lock();
+        try {
+            tenants.computeIfAbsent(tenantId, id -> new TenantState()).weight = weight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes a tenant. Requests already queued for it are still served.
+     *
+     * @param tenantId the tenant ID
+     */
+    public void unregister(String tenantId) {
+        lock.lock();
+        try {
+            tenants.remove(tenantId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits until a request of the given tenant may be sent.
+     *
+     * @param tenantId the tenant ID
+     * @throws NotionApiException if the request is not admitted within the maximum wait
+     */
+    public void acquire(String tenantId) {
+        lock.lock();
+        try {
+            TenantState tenant = tenants.computeIfAbsent(tenantId, id -> new TenantState());
+            Ticket ticket = new Ticket(lock.newCondition());
+            ticket.startTag = Math.max(virtualTime, tenant.finishTag);
+            ticket.sequence = sequence++;
+            tenant.finishTag = ticket.startTag + 1.0 / tenant.weight;
+
+            if (inFlight < maxConcurrent && waiting.isEmpty()) {
+                admit(ticket);
+                return;
+            }
+
+            waiting.add(ticket);
+            long remaining = maxWaitNanos;
+            while (!ticket.admitted) {
+                if (remaining <= 0) {
+                    waiting.remove(ticket);
+                    throw new NotionApiException("Timed out waiting for a request slot",
+                            HttpStatus.TOO_MANY_REQUESTS, null);
+                }
+                try {
+                    remaining = ticket.condition.awaitNanos(remaining);
+                } catch (InterruptedException e) {
+                    if (ticket.admitted) {
+                        releaseLocked();
+                    } else {
+                        waiting.remove(ticket);
+                    }
+                    Thread.currentThread().interrupt();
+                    throw new NotionApiException("Interrupted while waiting for a request slot", e);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Releases a slot taken by {@link #acquire(String)} and admits the next waiting request.
+     */
+    public void release() {
+        lock.lock();
+        try {
+            releaseLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of requests currently in flight.
+     *
+     * @return the number of in-flight requests
+     */
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of requests waiting for admission.
+     *
+     * @return the number of queued requests
+     */
+    public int getQueued() {
+        lock.lock();
+        try {
+            return waiting.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Creates an interceptor that admits every request of a tenant through this scheduler.
+     * The slot is held until the response is closed.
+     *
+     * @param tenantId the tenant ID
+     * @return the request interceptor
+     */
+    public ClientHttpRequestInterceptor interceptor(String tenantId) {
+        return (request, body, execution) -> {
+            acquire(tenantId);
+            try {
+                return new SlotReleasingResponse(execution.execute(request, body), this);
+            } catch (IOException | RuntimeException e) {
+                release();
+                throw e;
+            }
+        };
+    }
+
+    private void admit(Ticket ticket) {
+        ticket.admitted = true;
+        virtualTime = Math.max(virtualTime, ticket.startTag);
+        inFlight++;
+    }
+
+    private void releaseLocked() {
+        inFlight--;
+        while (inFlight < maxConcurrent && !waiting.isEmpty()) {
+            Ticket next = waiting.poll();
+            admit(next);
+            next.condition.signal();
+        }
+    }
+
+    private static final class TenantState {
+        private double weight = 1.0;
+        private double finishTag;
+    }
+
+    private static final class Ticket {
+        private final Condition condition;
+        private double startTag;
+        private long sequence;
+        private boolean admitted;
+
+        private Ticket(Condition condition) {
+            this.condition = condition;
+        }
+    }
+
+    /**
+     * Response wrapper that hands the scheduler slot back once the body has been consumed.
+     */
+    private static final class SlotReleasingResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final FairShareScheduler scheduler;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private SlotReleasingResponse(ClientHttpResponse delegate, FairShareScheduler scheduler) {
+            this.delegate = delegate;
+            this.scheduler = scheduler;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public void close() {
+            try {
+                delegate.close();
+            } finally {
+                if (released.compareAndSet(false, true)) {
+                    scheduler.release();
+                }
+            }
+        }
+    }
+}
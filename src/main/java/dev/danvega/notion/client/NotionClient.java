@@ -1,19 +1,34 @@
 package dev.danvega.notion.client;
 
+import dev.danvega.notion.cache.CacheEncoding;
+import dev.danvega.notion.cache.CacheKeys;
+import dev.danvega.notion.cache.CachedResponse;
+import dev.danvega.notion.cache.NotionCache;
 import dev.danvega.notion.config.NotionProperties;
 import dev.danvega.notion.exception.NotionApiException;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.*;
 import org.springframework.web.client.RestClient;
 import org.springframework.web.server.ResponseStatusException;
-import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
 
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * Client for interacting with the Notion API.
@@ -21,10 +36,16 @@ import java.util.Map;
 public class NotionClient {
 
     private static final Logger log = LoggerFactory.getLogger(NotionClient.class);
+
+    private static final Pattern PERCENT_ESCAPE = Pattern.compile("%[0-9A-Fa-f]{2}");
     
     private final NotionProperties properties;
     private final ObjectMapper objectMapper;
     private final RestClient restClient;
+    private final NotionCache cache;
+    private final NotionRateLimiter rateLimiter;
+    private final RequestHedger hedger;
+    private volatile ObjectMapper smileMapper;
 
     /**
      * Constructs a new NotionClient.
@@ -34,9 +55,26 @@ public class NotionClient {
      * @param restClient the RestClient for HTTP requests
      */
     public NotionClient(NotionProperties properties, ObjectMapper objectMapper, RestClient restClient) {
+        this(properties, objectMapper, restClient, null, null, null);
+    }
+
+    private NotionClient(NotionProperties properties, ObjectMapper objectMapper, RestClient restClient,
+                         NotionCache cache, NotionRateLimiter rateLimiter, RequestHedger hedger) {
         this.properties = properties;
         this.objectMapper = objectMapper;
         this.restClient = restClient;
+        this.cache = cache;
+        this.rateLimiter = rateLimiter;
+        this.hedger = hedger;
+    }
+
+    /**
+     * Creates a new builder for NotionClient.
+     *
+     * @return a new builder
+     */
+    public static NotionClientBuilder builder() {
+        return new NotionClientBuilder();
     }
 
     /**
@@ -62,18 +100,12 @@ public class NotionClient {
      */
     public <T> T get(String endpoint, Class<T> responseType, Map<String, Object> queryParams) {
         String url = buildUrl(endpoint, queryParams);
-        
-        try {
-            String responseBody = restClient.get()
-                .uri(url)
-                .headers(headers -> headers.putAll(createHeaders()))
-                .retrieve()
-                .body(String.class);
-            
-            return deserializeResponse(responseBody, responseType);
-        } catch (ResponseStatusException e) {
-            throw handleApiError(e);
+        byte[] smile = cache != null ? cache.getSmile(url) : null;
+        if (smile != null) {
+            return deserializeSmile(smile, objectMapper.constructType(responseType));
         }
+        String responseBody = retrieve(url);
+        return deserializeResponse(responseBody, responseType);
     }
 
     /**
@@ -99,18 +131,12 @@ public class NotionClient {
      */
     public <T> T get(String endpoint, TypeReference<T> typeReference, Map<String, Object> queryParams) {
         String url = buildUrl(endpoint, queryParams);
-
-        try {
-            String responseBody = restClient.get()
-                .uri(url)
-                .headers(headers -> headers.putAll(createHeaders()))
-                .retrieve()
-                .body(String.class);
-            
-            return deserializeResponse(responseBody, typeReference);
-        } catch (ResponseStatusException e) {
-            throw handleApiError(e);
+        byte[] smile = cache != null ? cache.getSmile(url) : null;
+        if (smile != null) {
+            return deserializeSmile(smile, objectMapper.getTypeFactory().constructType(typeReference));
         }
+        String responseBody = retrieve(url);
+        return deserializeResponse(responseBody, typeReference);
     }
 
     /**
@@ -123,20 +149,8 @@ public class NotionClient {
      * @return the API response
      */
     public <T> T post(String endpoint, Object requestBody, Class<T> responseType) {
-        String url = buildUrl(endpoint, null);
-
-        try {
-            String responseBody = restClient.post()
-                .uri(url)
-                .headers(headers -> headers.putAll(createHeaders()))
-                .body(requestBody)
-                .retrieve()
-                .body(String.class);
-            
-            return deserializeResponse(responseBody, responseType);
-        } catch (ResponseStatusException e) {
-            throw handleApiError(e);
-        }
+        String responseBody = send(HttpMethod.POST, endpoint, null, requestBody);
+        return deserializeResponse(responseBody, responseType);
     }
 
     /**
@@ -149,20 +163,23 @@ public class NotionClient {
      * @return the API response
      */
     public <T> T post(String endpoint, Object requestBody, TypeReference<T> typeReference) {
-        String url = buildUrl(endpoint, null);
+        return post(endpoint, requestBody, typeReference, null);
+    }
 
-        try {
-            String responseBody = restClient.post()
-                .uri(url)
-                .headers(headers -> headers.putAll(createHeaders()))
-                .body(requestBody)
-                .retrieve()
-                .body(String.class);
-            
-            return deserializeResponse(responseBody, typeReference);
-        } catch (ResponseStatusException e) {
-            throw handleApiError(e);
-        }
+    /**
+     * Performs a POST request to the Notion API with a TypeReference and query parameters.
+     *
+     * @param endpoint the API endpoint
+     * @param requestBody the request body
+     * @param typeReference the TypeReference for the response
+     * @param queryParams the query parameters
+     * @param <T> the type parameter for the response
+     * @return the API response
+     */
+    public <T> T post(String endpoint, Object requestBody, TypeReference<T> typeReference,
+                      Map<String, Object> queryParams) {
+        String responseBody = send(HttpMethod.POST, endpoint, queryParams, requestBody);
+        return deserializeResponse(responseBody, typeReference);
     }
 
     /**
@@ -175,20 +192,8 @@ public class NotionClient {
      * @return the API response
      */
     public <T> T patch(String endpoint, Object requestBody, Class<T> responseType) {
-        String url = buildUrl(endpoint, null);
-
-        try {
-            String responseBody = restClient.patch()
-                .uri(url)
-                .headers(headers -> headers.putAll(createHeaders()))
-                .body(requestBody)
-                .retrieve()
-                .body(String.class);
-            
-            return deserializeResponse(responseBody, responseType);
-        } catch (ResponseStatusException e) {
-            throw handleApiError(e);
-        }
+        String responseBody = send(HttpMethod.PATCH, endpoint, null, requestBody);
+        return deserializeResponse(responseBody, responseType);
     }
     
     /**
@@ -201,20 +206,8 @@ public class NotionClient {
      * @return the API response
      */
     public <T> T patch(String endpoint, Object requestBody, TypeReference<T> typeReference) {
-        String url = buildUrl(endpoint, null);
-
-        try {
-            String responseBody = restClient.patch()
-                .uri(url)
-                .headers(headers -> headers.putAll(createHeaders()))
-                .body(requestBody)
-                .retrieve()
-                .body(String.class);
-            
-            return deserializeResponse(responseBody, typeReference);
-        } catch (ResponseStatusException e) {
-            throw handleApiError(e);
-        }
+        String responseBody = send(HttpMethod.PATCH, endpoint, null, requestBody);
+        return deserializeResponse(responseBody, typeReference);
     }
 
     /**
@@ -226,40 +219,220 @@ public class NotionClient {
      * @return the API response
      */
     public <T> T delete(String endpoint, Class<T> responseType) {
-        String url = buildUrl(endpoint, null);
+        String responseBody = send(HttpMethod.DELETE, endpoint, null, null);
+        return deserializeResponse(responseBody, responseType);
+    }
+
+    /**
+     * Gets the response cache used by this client.
+     *
+     * @return the cache, or null if caching is disabled
+     */
+    public NotionCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Gets the rate limiter used by this client.
+     *
+     * @return the rate limiter, or null if throttling is disabled
+     */
+    public NotionRateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    /**
+     * Gets the request hedger used by this client.
+     *
+     * @return the hedger, or null if hedging is disabled
+     */
+    public RequestHedger getHedger() {
+        return hedger;
+    }
 
+    /**
+     * Performs a GET request, serving it from the cache when possible and
+     * hedging it when it is slow.
+     *
+     * @param url the full request URL
+     * @return the response body
+     */
+    private String retrieve(String url) {
+        if (cache != null) {
+            String cached = cache.get(url);
+            if (cached != null) {
+                return cached;
+            }
+            String revalidated = revalidate(url);
+            if (revalidated != null) {
+                return revalidated;
+            }
+        }
+
+        acquirePermit();
+        String responseBody = hedger != null ? hedger.execute(() -> fetch(url)) : fetch(url);
+
+        if (cache != null && responseBody != null) {
+            cache.put(url, responseBody);
+        }
+        return responseBody;
+    }
+
+    /**
+     * Serves an expired response for part of an object, such as the children
+     * of a block or a property of a page, if the object has not been edited
+     * since the response was stored. The object itself is retrieved through
+     * the cache, so one request can revalidate every expired response that
+     * belongs to it. Because Notion rounds {@code last_edited_time} down to
+     * the minute, an edit less than a minute before the response was stored
+     * counts as a change.
+     *
+     * @param url the full request URL
+     * @return the expired response body, or null if it has to be fetched again
+     */
+    private String revalidate(String url) {
+        String objectUrl = CacheKeys.objectUrl(url);
+        if (objectUrl == null || objectUrl.equals(url)) {
+            return null;
+        }
+        CachedResponse stored = cache.getStored(url);
+        if (stored == null) {
+            return null;
+        }
+        Instant lastEdited = lastEditedTime(retrieve(objectUrl));
+        if (lastEdited == null || lastEdited.toEpochMilli() + 60_000 > stored.getStoredAt()) {
+            return null;
+        }
+        cache.renew(url);
+        log.debug("Revalidated cached response for {}", url);
+        return stored.getValue();
+    }
+
+    private Instant lastEditedTime(String objectBody) {
+        if (objectBody == null) {
+            return null;
+        }
+        try {
+            String value = objectMapper.readTree(objectBody).path("last_edited_time").asText(null);
+            return value != null ? OffsetDateTime.parse(value).toInstant() : null;
+        } catch (JsonProcessingException | DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Sends a GET request without consulting the cache or the rate limiter.
+     *
+     * @param url the full request URL
+     * @return the response body
+     */
+    private String fetch(String url) {
         try {
-            String responseBody = restClient.delete()
-                .uri(url)
+            return restClient.get()
+                .uri(URI.create(url))
                 .headers(headers -> headers.putAll(createHeaders()))
                 .retrieve()
                 .body(String.class);
-            
-            return deserializeResponse(responseBody, responseType);
         } catch (ResponseStatusException e) {
             throw handleApiError(e);
         }
     }
 
     /**
-     * Builds the full URL for a Notion API request.
+     * Performs a request with a body and evicts cached responses for the targeted object.
+     *
+     * @param method the HTTP method
+     * @param endpoint the API endpoint
+     * @param queryParams the query parameters, or null
+     * @param requestBody the request body, or null
+     * @return the response body
+     */
+    private String send(HttpMethod method, String endpoint, Map<String, Object> queryParams, Object requestBody) {
+        String url = buildUrl(endpoint, queryParams);
+
+        acquirePermit();
+        try {
+            RestClient.RequestBodySpec request = restClient.method(method)
+                .uri(URI.create(url))
+                .headers(headers -> headers.putAll(createHeaders()));
+            if (requestBody != null) {
+                request.body(requestBody);
+            }
+            return request.retrieve().body(String.class);
+        } catch (ResponseStatusException e) {
+            throw handleApiError(e);
+        } finally {
+            invalidate(method, endpoint);
+        }
+    }
+
+    /**
+     * Evicts cached responses affected by a mutation. Queries and searches are
+     * sent as POST requests but do not modify anything.
+     *
+     * @param method the HTTP method
+     * @param endpoint the API endpoint
+     */
+    private void invalidate(HttpMethod method, String endpoint) {
+        if (cache == null || (method == HttpMethod.POST
+                && (endpoint.endsWith("/query") || endpoint.startsWith("/search")))) {
+            return;
+        }
+        String objectId = CacheKeys.objectId(endpoint);
+        if (objectId != null) {
+            cache.invalidate(objectId);
+        }
+    }
+
+    private void acquirePermit() {
+        if (rateLimiter != null) {
+            rateLimiter.acquire();
+        }
+    }
+
+    /**
+     * Builds the full, encoded URL for a Notion API request. Collection values
+     * are sent as a repeated parameter. Percent escapes in the endpoint and
+     * values are kept, because Notion returns some IDs, such as property IDs,
+     * already encoded; any other character that is not allowed is encoded.
      *
      * @param endpoint the API endpoint
      * @param queryParams the query parameters
      * @return the full URL
      */
     private String buildUrl(String endpoint, Map<String, Object> queryParams) {
-        UriComponentsBuilder builder = UriComponentsBuilder.fromHttpUrl(properties.getBaseUrl() + endpoint);
+        StringBuilder url = new StringBuilder(properties.getBaseUrl()).append(encode(endpoint, false));
 
         if (queryParams != null) {
-            queryParams.forEach((key, value) -> {
-                if (value != null) {
-                    builder.queryParam(key, value);
+            char separator = '?';
+            for (Map.Entry<String, Object> param : queryParams.entrySet()) {
+                Collection<?> values = param.getValue() instanceof Collection<?> collection ? collection
+                        : param.getValue() != null ? List.of(param.getValue()) : List.of();
+                for (Object value : values) {
+                    url.append(separator).append(encode(param.getKey(), true))
+                        .append('=').append(encode(String.valueOf(value), true));
+                    separator = '&';
                 }
-            });
+            }
         }
 
-        return builder.build().toUriString();
+        return url.toString();
+    }
+
+    private static String encode(String value, boolean queryParam) {
+        StringBuilder encoded = new StringBuilder(value.length());
+        Matcher escape = PERCENT_ESCAPE.matcher(value);
+        int start = 0;
+        while (escape.find()) {
+            encoded.append(encodeLiteral(value.substring(start, escape.start()), queryParam)).append(escape.group());
+            start = escape.end();
+        }
+        return encoded.append(encodeLiteral(value.substring(start), queryParam)).toString();
+    }
+
+    private static String encodeLiteral(String value, boolean queryParam) {
+        return queryParam ? UriUtils.encodeQueryParam(value, StandardCharsets.UTF_8)
+            : UriUtils.encodePath(value, StandardCharsets.UTF_8);
     }
 
     /**
@@ -309,6 +482,29 @@ public class NotionClient {
         }
     }
 
+    /**
+     * Binds a Smile-encoded cached response with a copy of the ObjectMapper
+     * that reads Smile, so the same modules and deserializers apply.
+     *
+     * @param smile the Smile-encoded response body
+     * @param type the type of the response
+     * @param <T> the type parameter for the response
+     * @return the deserialized response
+     */
+    private <T> T deserializeSmile(byte[] smile, JavaType type) {
+        ObjectMapper mapper = smileMapper;
+        if (mapper == null) {
+            mapper = objectMapper.copyWith(CacheEncoding.smileFactory());
+            smileMapper = mapper;
+        }
+        try {
+            return mapper.readValue(smile, type);
+        } catch (IOException e) {
+            log.error("Failed to deserialize cached response: {}", e.getMessage());
+            throw new NotionApiException("Failed to deserialize response", e);
+        }
+    }
+
     /**
      * Handles API errors.
      *
@@ -333,4 +529,50 @@ public class NotionClient {
                 HttpStatus.valueOf(e.getStatusCode().value()), e);
         }
     }
+
+    /**
+     * Builder for creating NotionClient instances.
+     */
+    public static class NotionClientBuilder {
+        private NotionProperties properties;
+        private ObjectMapper objectMapper;
+        private RestClient restClient;
+        private NotionCache cache;
+        private NotionRateLimiter rateLimiter;
+        private RequestHedger hedger;
+
+        public NotionClientBuilder properties(NotionProperties properties) {
+            this.properties = properties;
+            return this;
+        }
+
+        public NotionClientBuilder objectMapper(ObjectMapper objectMapper) {
+            this.objectMapper = objectMapper;
+            return this;
+        }
+
+        public NotionClientBuilder restClient(RestClient restClient) {
+            this.restClient = restClient;
+            return this;
+        }
+
+        public NotionClientBuilder cache(NotionCache cache) {
+            this.cache = cache;
+            return this;
+        }
+
+        public NotionClientBuilder rateLimiter(NotionRateLimiter rateLimiter) {
+            this.rateLimiter = rateLimiter;
+            return this;
+        }
+
+        public NotionClientBuilder hedger(RequestHedger hedger) {
+            this.hedger = hedger;
+            return this;
+        }
+
+        public NotionClient build() {
+            return new NotionClient(properties, objectMapper, restClient, cache, rateLimiter, hedger);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,279 @@
+package dev.danvega.notion.client;
+
+import dev.danvega.notion.cache.InMemoryNotionCache;
+import dev.danvega.notion.cache.NotionCache;
+import dev.danvega.notion.cache.OffHeapNotionCache;
+import dev.danvega.notion.cache.PersistentNotionCache;
+import dev.danvega.notion.config.NotionProperties;
+import dev.danvega.notion.config.NotionTenantProperties;
+import dev.danvega.notion.exception.NotionApiException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registry of {@link NotionClient} instances for many Notion workspaces.
+ * <p>
+ * Clients are created lazily on first use. Every tenant gets its own HTTP
+ * connection pool, rate limiter and response cache, so one workspace can never
+ * exhaust another's resources. Requests from all tenants share a bounded number
+ * of concurrent slots handed out by a {@link FairShareScheduler}. Tenants that
+ * stay unused for longer than the idle timeout, or the least recently used
+ * tenant when the tenant limit is reached, are evicted and their resources
+ * released.
+ */
+public class NotionClientRegistry implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(NotionClientRegistry.class);
+
+    private final NotionProperties defaults;
+    private final NotionTenantProperties tenantProperties;
+    private final ObjectMapper objectMapper;
+    private final NotionTenantResolver resolver;
+    private final FairShareScheduler scheduler;
+    private final Map<String, TenantHandle> tenants = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService evictor;
+
+    /**
+     * Constructs a new NotionClientRegistry.
+     *
+     * @param defaults the settings shared by all tenants (base URL, version, timeouts, rate limit, cache)
+     * @param tenantProperties the registry settings
+     * @param objectMapper the ObjectMapper for JSON handling
+     * @param resolver the resolver for tenant settings
+     */
+    public NotionClientRegistry(NotionProperties defaults, NotionTenantProperties tenantProperties,
+                                ObjectMapper objectMapper, NotionTenantResolver resolver) {
+        this.defaults = defaults;
+        this.tenantProperties = tenantProperties;
+        this.objectMapper = objectMapper;
+        this.resolver = resolver;
+        this.scheduler = new FairShareScheduler(tenantProperties.getMaxConcurrentRequests(),
+                tenantProperties.getMaxQueueWait());
+        this.evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "notion-tenant-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1000, tenantProperties.getIdleTimeout() / 4);
+        this.evictor.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Gets the client for a tenant, creating it on first use.
+     *
+     * @param tenantId the tenant ID
+     * @return the tenant's client
+     * @throws NotionApiException if the tenant cannot be resolved
+     */
+    public NotionClient getClient(String tenantId) {
+        // Touched under the map's lock, so the evictor cannot release it in between
+        TenantHandle handle = tenants.computeIfPresent(tenantId, (id, existing) -> touch(existing));
+        if (handle == null) {
+            handle = create(tenantId);
+        }
+        return handle.client;
+    }
+
+    /**
+     * Gets the IDs of tenants that currently hold live clients.
+     *
+     * @return the active tenant IDs
+     */
+    public Set<String> getActiveTenants() {
+        return Set.copyOf(tenants.keySet());
+    }
+
+    /**
+     * Gets the scheduler shared by all tenants.
+     *
+     * @return the fair-share scheduler
+     */
+    public FairShareScheduler getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Evicts a tenant and releases its connection pool and cache.
+     *
+     * @param tenantId the tenant ID
+     */
+    public void evict(String tenantId) {
+        TenantHandle handle = tenants.remove(tenantId);
+        if (handle != null) {
+            release(tenantId, handle);
+        }
+    }
+
+    /**
+     * Evicts every tenant that has been idle for longer than the idle timeout.
+     */
+    public void evictIdle() {
+        long cutoff = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(tenantProperties.getIdleTimeout());
+        for (String tenantId : tenants.keySet()) {
+            TenantHandle[] idle = new TenantHandle[1];
+            tenants.computeIfPresent(tenantId, (id, handle) -> {
+                if (handle.lastAccess - cutoff < 0) {
+                    idle[0] = handle;
+                    return null;
+                }
+                return handle;
+            });
+            if (idle[0] != null) {
+                log.debug("Evicting idle Notion tenant {}", tenantId);
+                release(tenantId, idle[0]);
+            }
+        }
+    }
+
+    /**
+     * Evicts all tenants and stops the background evictor.
+     */
+    @Override
+    public void close() {
+        evictor.shutdownNow();
+        tenants.keySet().forEach(this::evict);
+    }
+
+    private synchronized TenantHandle create(String tenantId) {
+        TenantHandle existing = tenants.computeIfPresent(tenantId, (id, handle) -> touch(handle));
+        if (existing != null) {
+            return existing;
+        }
+
+        NotionTenantProperties.Tenant tenant = resolver.resolve(tenantId);
+        if (tenant == null || tenant.getKey() == null) {
+            throw new NotionApiException("Unknown Notion tenant: " + tenantId);
+        }
+
+        while (!tenants.isEmpty() && tenants.size() >= tenantProperties.getMaxTenants()) {
+            tenants.entrySet().stream()
+                    .min(Comparator.comparingLong(entry -> entry.getValue().lastAccess))
+                    .map(Map.Entry::getKey)
+                    .ifPresent(this::evict);
+        }
+
+        TenantHandle handle = new TenantHandle(tenantId, tenant);
+        scheduler.register(tenantId, tenant.getWeight());
+        tenants.put(tenantId, handle);
+        log.debug("Created Notion client for tenant {}", tenantId);
+        return handle;
+    }
+
+    private static TenantHandle touch(TenantHandle handle) {
+        handle.lastAccess = System.nanoTime();
+        return handle;
+    }
+
+    private void release(String tenantId, TenantHandle handle) {
+        scheduler.unregister(tenantId);
+        if (handle.cache instanceof PersistentNotionCache persistent) {
+            // Kept on disk for when the tenant comes back
+            persistent.close();
+        } else if (handle.cache instanceof OffHeapNotionCache offHeap) {
+            offHeap.close();
+        } else if (handle.cache != null) {
+            handle.cache.clear();
+        }
+        if (handle.hedger != null) {
+            handle.hedger.close();
+        }
+        // In-flight requests complete, new requests on the evicted client are rejected
+        handle.httpClient.shutdown();
+    }
+
+    private static String fileName(String tenantId) {
+        return tenantId.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+
+    private NotionProperties tenantProperties(NotionTenantProperties.Tenant tenant) {
+        NotionProperties properties = new NotionProperties();
+        properties.setKey(tenant.getKey());
+        properties.setVersion(defaults.getVersion());
+        properties.setBaseUrl(defaults.getBaseUrl());
+        properties.setConnectionTimeout(defaults.getConnectionTimeout());
+        properties.setReadTimeout(defaults.getReadTimeout());
+        properties.setWriteTimeout(defaults.getWriteTimeout());
+        properties.setRateLimit(defaults.getRateLimit());
+        properties.setCache(defaults.getCache());
+        properties.setHedge(defaults.getHedge());
+        return properties;
+    }
+
+    /**
+     * Resources owned by a single tenant.
+     */
+    private final class TenantHandle {
+        private final HttpClient httpClient;
+        private final NotionCache cache;
+        private final RequestHedger hedger;
+        private final NotionClient client;
+        private volatile long lastAccess = System.nanoTime();
+
+        private TenantHandle(String tenantId, NotionTenantProperties.Tenant tenant) {
+            NotionProperties properties = tenantProperties(tenant);
+
+            this.httpClient = HttpClient.newBuilder()
+                    .connectTimeout(Duration.ofMillis(properties.getConnectionTimeout()))
+                    .build();
+            JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+            requestFactory.setReadTimeout(Duration.ofMillis(properties.getReadTimeout()));
+
+            RestClient restClient = RestClient.builder()
+                    .requestFactory(requestFactory)
+                    .requestInterceptor(scheduler.interceptor(tenantId))
+                    .build();
+
+            NotionProperties.Cache cacheSettings = properties.getCache();
+            if (!cacheSettings.isEnabled()) {
+                this.cache = null;
+            } else if (cacheSettings.getDirectory() != null) {
+                this.cache = new PersistentNotionCache(Path.of(cacheSettings.getDirectory(),
+                        fileName(tenantId)),
+                        cacheSettings.getMaxEntries(), cacheSettings.getTtl(), cacheSettings.getSegmentSize(),
+                        cacheSettings.getEncoding());
+            } else if (cacheSettings.getOffHeap().isEnabled()) {
+                NotionProperties.OffHeap offHeap = cacheSettings.getOffHeap();
+                this.cache = new OffHeapNotionCache(offHeap.getMaxSize(), offHeap.getSlabSize(),
+                        cacheSettings.getMaxEntries(), cacheSettings.getTtl(), cacheSettings.getEncoding(),
+                        offHeap.getFile() != null ? Path.of(offHeap.getFile() + "-" + fileName(tenantId)) : null);
+            } else {
+                this.cache = new InMemoryNotionCache(cacheSettings.getMaxEntries(), cacheSettings.getTtl(),
+                        cacheSettings.getEncoding());
+            }
+
+            // Notion rate limits per integration token, so every tenant is throttled on its own
+            NotionProperties.RateLimit rateLimit = properties.getRateLimit();
+            NotionRateLimiter rateLimiter = new NotionRateLimiter(rateLimit.getRequestsPerSecond(),
+                    rateLimit.getBurst(), rateLimit.getMaxWait());
+
+            NotionProperties.Hedge hedge = properties.getHedge();
+            this.hedger = hedge.isEnabled()
+                    ? new RequestHedger(hedge.getPercentile(), hedge.getMinDelay(), hedge.getBudgetRatio(),
+                            hedge.getWindowSize(), rateLimiter)
+                    : null;
+
+            this.client = NotionClient.builder()
+                    .properties(properties)
+                    .objectMapper(objectMapper)
+                    .restClient(restClient)
+                    .cache(cache)
+                    .rateLimiter(rateLimiter)
+                    .hedger(hedger)
+                    .build();
+        }
+    }
+}
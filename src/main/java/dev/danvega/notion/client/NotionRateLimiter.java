@@ -0,0 +1,111 @@
+package dev.danvega.notion.client;
+
+import dev.danvega.notion.exception.NotionApiException;
+import org.springframework.http.HttpStatus;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket rate limiter for requests sent with a single integration token.
+ * <p>
+ * Notion allows an average of three requests per second per integration. The
+ * bucket refills continuously at the configured rate and holds at most
+ * {@code burst} permits.
+ */
+public class NotionRateLimiter {
+
+    private final double permitsPerNano;
+    private final double capacity;
+    private final long maxWaitNanos;
+
+    private double available;
+    private long lastRefill;
+
+    /**
+     * Constructs a new NotionRateLimiter.
+     *
+     * @param requestsPerSecond the sustained request rate
+     * @param burst the maximum number of permits that can accumulate
+     * @param maxWaitMillis the maximum time {@link #acquire()} waits for a permit
+     */
+    public NotionRateLimiter(double requestsPerSecond, int burst, long maxWaitMillis) {
+        if (requestsPerSecond <= 0) {
+            throw new IllegalArgumentException("requestsPerSecond must be positive");
+        }
+        if (burst <= 0) {
+            throw new IllegalArgumentException("burst must be positive");
+        }
+        this.permitsPerNano = requestsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.capacity = burst;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        this.available = burst;
+        this.lastRefill = System.nanoTime();
+    }
+
+    /**
+     * Takes a permit, waiting until one becomes available.
+     *
+     * @throws NotionApiException if no permit becomes available within the maximum wait
+     */
+    public void acquire() {
+        long waitNanos = reserve();
+        if (waitNanos > maxWaitNanos) {
+            release();
+            throw new NotionApiException("Rate limit wait exceeded", HttpStatus.TOO_MANY_REQUESTS, null);
+        }
+        if (waitNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new NotionApiException("Interrupted while waiting for a rate limit permit", e);
+            }
+        }
+    }
+
+    /**
+     * Takes a permit only if one is available right now.
+     *
+     * @return true if a permit was taken
+     */
+    public synchronized boolean tryAcquire() {
+        refill();
+        if (available >= 1) {
+            available -= 1;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Gets the number of permits currently available.
+     *
+     * @return the available permits
+     */
+    public synchronized double getAvailablePermits() {
+        refill();
+        return Math.max(0, available);
+    }
+
+    /**
+     * Reserves a permit and returns how long the caller must wait before using it.
+     */
+    private synchronized long reserve() {
+        refill();
+        available -= 1;
+        if (available >= 0) {
+            return 0;
+        }
+        return (long) Math.ceil(-available / permitsPerNano);
+    }
+
+    private synchronized void release() {
+        available = Math.min(capacity, available + 1);
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        available = Math.min(capacity, available + (now - lastRefill) * permitsPerNano);
+        lastRefill = now;
+    }
+}
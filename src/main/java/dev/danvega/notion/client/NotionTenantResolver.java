@@ -0,0 +1,21 @@
+package dev.danvega.notion.client;
+
+import dev.danvega.notion.config.NotionTenantProperties;
+
+/**
+ * Resolves the settings of a Notion workspace from a tenant ID.
+ * <p>
+ * Register a bean of this type to look up integration tokens from a database
+ * or secret store instead of static configuration.
+ */
+@FunctionalInterface
+public interface NotionTenantResolver {
+
+    /**
+     * Resolves a tenant.
+     *
+     * @param tenantId the tenant ID
+     * @return the tenant settings, or null if the tenant is unknown
+     */
+    NotionTenantProperties.Tenant resolve(String tenantId);
+}
@@ -0,0 +1,192 @@
+package dev.danvega.notion.client;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.danvega.notion.config.NotionProperties;
+import dev.danvega.notion.model.block.Block;
+import dev.danvega.notion.model.block.BlockType;
+import dev.danvega.notion.model.common.Parent;
+import dev.danvega.notion.model.common.RichText;
+import dev.danvega.notion.model.database.Database;
+import dev.danvega.notion.model.database.DatabaseQuery;
+import dev.danvega.notion.model.page.Page;
+import dev.danvega.notion.model.response.PaginatedResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.web.client.RestClient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Warms up the Notion client before the application reports readiness.
+ * <p>
+ * The first request after a deploy otherwise pays for DNS resolution, the TLS
+ * handshake and Jackson building (de)serializers for the model classes. The
+ * warm-up opens connections to the base URL with concurrent unauthenticated HEAD
+ * requests, which do not count against the integration's rate limit, and resolves the
+ * serializers and deserializers of every model type. Both phases share a time
+ * budget; whatever is unfinished when it runs out is abandoned.
+ */
+public class NotionWarmup implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(NotionWarmup.class);
+
+    private final NotionProperties properties;
+    private final ObjectMapper objectMapper;
+    private final RestClient restClient;
+
+    /**
+     * Constructs a new NotionWarmup.
+     *
+     * @param properties the Notion API properties
+     * @param objectMapper the ObjectMapper used by the Notion client
+     * @param restClient the RestClient used by the Notion client
+     */
+    public NotionWarmup(NotionProperties properties, ObjectMapper objectMapper, RestClient restClient) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.restClient = restClient;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        warmUp();
+    }
+
+    /**
+     * Runs the warm-up within the configured time budget.
+     *
+     * @return the number of connections and model types that were warmed up
+     */
+    public Result warmUp() {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(properties.getWarmup().getTimeBudget());
+
+        int types = primeSerializers(deadline);
+        int connections = openConnections(deadline);
+
+        Result result = new Result(connections, types, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        log.info("Notion warm-up opened {} connection(s) and primed {} model type(s) in {} ms",
+                result.getConnections(), result.getModelTypes(), result.getElapsedMillis());
+        return result;
+    }
+
+    /**
+     * Gets the model types whose (de)serializers are primed.
+     *
+     * @return the model types
+     */
+    public List<JavaType> modelTypes() {
+        List<JavaType> types = new ArrayList<>();
+        for (Class<?> type : List.of(Page.class, Database.class, Block.class, DatabaseQuery.class,
+                Parent.class, RichText.class)) {
+            types.add(objectMapper.constructType(type));
+        }
+        for (BlockType blockType : BlockType.values()) {
+            JavaType contentType = objectMapper.constructType(blockType.getContentClass());
+            if (!types.contains(contentType)) {
+                types.add(contentType);
+            }
+        }
+        for (Class<?> element : List.of(Page.class, Block.class, Object.class)) {
+            types.add(objectMapper.getTypeFactory().constructParametricType(PaginatedResponse.class, element));
+        }
+        return types;
+    }
+
+    private int primeSerializers(long deadline) {
+        int primed = 0;
+        for (JavaType type : modelTypes()) {
+            if (System.nanoTime() - deadline > 0) {
+                break;
+            }
+            try {
+                // Readers and writers eagerly resolve their root (de)serializer into the
+                // mapper's shared caches
+                objectMapper.readerFor(type);
+                objectMapper.writerFor(type);
+                primed++;
+            } catch (RuntimeException e) {
+                log.debug("Failed to prime serializers for {}: {}", type, e.getMessage());
+            }
+        }
+        return primed;
+    }
+
+    private int openConnections(long deadline) {
+        int count = properties.getWarmup().getConnections();
+        if (count <= 0) {
+            return 0;
+        }
+
+        List<Callable<Boolean>> tasks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            tasks.add(() -> restClient.head()
+                    .uri(properties.getBaseUrl())
+                    .exchange((request, response) -> true));
+        }
+
+        int opened = 0;
+        ExecutorService executor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("notion-warmup-", 0).factory());
+        try {
+            long remaining = Math.max(0, deadline - System.nanoTime());
+            for (Future<Boolean> future : executor.invokeAll(tasks, remaining, TimeUnit.NANOSECONDS)) {
+                if (future.state() == Future.State.SUCCESS) {
+                    opened++;
+                } else if (future.state() == Future.State.FAILED) {
+                    log.debug("Warm-up connection to {} failed: {}", properties.getBaseUrl(),
+                            future.exceptionNow().getMessage());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            // Do not wait for connections that missed the budget
+            executor.shutdownNow();
+        }
+        return opened;
+    }
+
+    /**
+     * Outcome of a warm-up run.
+     */
+    public static class Result {
+        private final int connections;
+        private final int modelTypes;
+        private final long elapsedMillis;
+
+        /**
+         * Constructor with fields.
+         *
+         * @param connections the number of connections opened
+         * @param modelTypes the number of model types primed
+         * @param elapsedMillis the time taken in milliseconds
+         */
+        public Result(int connections, int modelTypes, long elapsedMillis) {
+            this.connections = connections;
+            this.modelTypes = modelTypes;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public int getConnections() {
+            return connections;
+        }
+
+        public int getModelTypes() {
+            return modelTypes;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+    }
+}
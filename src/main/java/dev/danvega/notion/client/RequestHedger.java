@@ -0,0 +1,197 @@
+package dev.danvega.notion.client;
+
+import dev.danvega.notion.exception.NotionApiException;
+
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sends a duplicate of a slow idempotent request and returns whichever response arrives first.
+ * <p>
+ * The hedge delay is the configured percentile of recently observed latencies,
+ * so only the slowest requests are duplicated. Every request earns a fraction
+ * of a hedge token and every hedge spends a whole one, which caps hedges at a
+ * fixed share of traffic. A hedge is also only sent when the rate limiter has a
+ * permit available right now, so hedging never queues behind or pushes past the
+ * rate limit. The losing request is cancelled.
+ */
+public class RequestHedger implements AutoCloseable {
+
+    private static final int RECOMPUTE_INTERVAL = 64;
+
+    private final double percentile;
+    private final long minDelayNanos;
+    private final double budgetRatio;
+    private final double maxTokens;
+    private final NotionRateLimiter rateLimiter;
+    private final ExecutorService executor;
+
+    private final long[] samples;
+    private int sampleCount;
+    private int sampleIndex;
+    private volatile long delayNanos;
+
+    private double tokens;
+    private final AtomicLong hedgesSent = new AtomicLong();
+    private final AtomicLong hedgeWins = new AtomicLong();
+
+    /**
+     * Constructs a new RequestHedger.
+     *
+     * @param percentile the latency percentile after which a hedge is sent, between 0 and 100
+     * @param minDelayMillis the lower bound of the hedge delay in milliseconds
+     * @param budgetRatio the fraction of requests that may be hedged
+     * @param windowSize the number of recent latencies used to compute the percentile
+     * @param rateLimiter the rate limiter hedges are charged against, or null
+     */
+    public RequestHedger(double percentile, long minDelayMillis, double budgetRatio, int windowSize,
+                         NotionRateLimiter rateLimiter) {
+        if (percentile <= 0 || percentile > 100) {
+            throw new IllegalArgumentException("percentile must be in (0, 100]");
+        }
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("windowSize must be positive");
+        }
+        this.percentile = percentile;
+        this.minDelayNanos = TimeUnit.MILLISECONDS.toNanos(minDelayMillis);
+        this.budgetRatio = budgetRatio;
+        this.maxTokens = Math.max(1, budgetRatio * windowSize);
+        this.rateLimiter = rateLimiter;
+        this.samples = new long[windowSize];
+        this.delayNanos = minDelayNanos;
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("notion-hedge-", 0).factory());
+    }
+
+    /**
+     * Executes a request, hedging it if it is slower than the current hedge delay.
+     * The request must be idempotent and must not acquire rate limit permits itself.
+     *
+     * @param request the request
+     * @param <T> the type of the response
+     * @return the first successful response
+     */
+    public <T> T execute(Callable<T> request) {
+        CompletionService<T> completion = new ExecutorCompletionService<>(executor);
+        long start = System.nanoTime();
+        earnToken();
+
+        Future<T> primary = completion.submit(request);
+        Future<T> hedge = null;
+        try {
+            Future<T> first = completion.poll(delayNanos, TimeUnit.NANOSECONDS);
+            if (first == null && spendToken()) {
+                hedgesSent.incrementAndGet();
+                hedge = completion.submit(request);
+            }
+            if (first == null) {
+                first = completion.take();
+            }
+
+            try {
+                T result = first.get();
+                // A winning hedge means the primary took at least this long, which still
+                // belongs in the latency distribution
+                record(System.nanoTime() - start);
+                if (first != primary) {
+                    hedgeWins.incrementAndGet();
+                }
+                return result;
+            } catch (ExecutionException e) {
+                if (hedge == null) {
+                    throw unwrap(e);
+                }
+                // One attempt failed, fall back to whichever one is still running
+                return completion.take().get();
+            }
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new NotionApiException("Interrupted while waiting for a response", e);
+        } finally {
+            primary.cancel(true);
+            if (hedge != null) {
+                hedge.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Gets the current hedge delay.
+     *
+     * @return the delay in milliseconds
+     */
+    public long getDelayMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(delayNanos);
+    }
+
+    /**
+     * Gets the number of hedges sent.
+     *
+     * @return the number of hedges
+     */
+    public long getHedgesSent() {
+        return hedgesSent.get();
+    }
+
+    /**
+     * Gets the number of hedges that answered before the original request.
+     *
+     * @return the number of winning hedges
+     */
+    public long getHedgeWins() {
+        return hedgeWins.get();
+    }
+
+    /**
+     * Stops the hedging executor. Running requests are interrupted.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private synchronized void earnToken() {
+        tokens = Math.min(maxTokens, tokens + budgetRatio);
+    }
+
+    private synchronized boolean spendToken() {
+        if (tokens < 1) {
+            return false;
+        }
+        if (rateLimiter != null && !rateLimiter.tryAcquire()) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+
+    private synchronized void record(long latencyNanos) {
+        samples[sampleIndex] = latencyNanos;
+        sampleIndex = (sampleIndex + 1) % samples.length;
+        sampleCount = Math.min(sampleCount + 1, samples.length);
+
+        if (sampleIndex % RECOMPUTE_INTERVAL == 0 || sampleCount < RECOMPUTE_INTERVAL) {
+            long[] sorted = Arrays.copyOf(samples, sampleCount);
+            Arrays.sort(sorted);
+            int rank = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+            delayNanos = Math.max(minDelayNanos, sorted[Math.max(0, rank)]);
+        }
+    }
+
+    private static RuntimeException unwrap(ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        return new NotionApiException("Notion API request failed", cause);
+    }
+}
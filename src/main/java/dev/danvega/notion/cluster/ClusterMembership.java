@@ -0,0 +1,34 @@
+package dev.danvega.notion.cluster;
+
+import java.util.Set;
+
+/**
+ * The nodes that share background sync work, as seen from one of them.
+ * Implement this interface and define it as a bean to take membership from a
+ * discovery service or orchestrator.
+ *
+ * @see ShardedSyncCoordinator
+ */
+public interface ClusterMembership {
+
+    /**
+     * Gets the name of this node.
+     *
+     * @return the local member
+     */
+    String getLocalMember();
+
+    /**
+     * Gets the names of all current nodes, including this one.
+     *
+     * @return the members
+     */
+    Set<String> getMembers();
+
+    /**
+     * Registers a listener called after the members change.
+     *
+     * @param listener the listener
+     */
+    void addListener(Runnable listener);
+}
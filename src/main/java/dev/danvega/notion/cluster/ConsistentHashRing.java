@@ -0,0 +1,59 @@
+package dev.danvega.notion.cluster;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Maps keys to members by consistent hashing. Each member is placed on a
+ * ring of 64-bit hashes at {@value #VIRTUAL_NODES} points, and a key belongs
+ * to the member at the first point at or after its hash. When a member joins
+ * or leaves, only the keys on its arcs of the ring change owner. Rings are
+ * immutable.
+ */
+public final class ConsistentHashRing {
+
+    static final int VIRTUAL_NODES = 160;
+
+    private final TreeMap<Long, String> points = new TreeMap<>();
+
+    /**
+     * Builds a ring over a set of members.
+     *
+     * @param members the members
+     */
+    public ConsistentHashRing(Collection<String> members) {
+        for (String member : members) {
+            for (int i = 0; i < VIRTUAL_NODES; i++) {
+                points.putIfAbsent(hash(member + "#" + i), member);
+            }
+        }
+    }
+
+    /**
+     * Gets the member a key belongs to.
+     *
+     * @param key the key
+     * @return the owning member, or null if the ring has no members
+     */
+    public String owner(String key) {
+        if (points.isEmpty()) {
+            return null;
+        }
+        Map.Entry<Long, String> point = points.ceilingEntry(hash(key));
+        return point != null ? point.getValue() : points.firstEntry().getValue();
+    }
+
+    private static long hash(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(value.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package dev.danvega.notion.cluster;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * {@link ClusterMembership} of nodes in the same JVM, for tests and local
+ * runs. Create the first node with the constructor and further nodes with
+ * {@link #join(String)}; closing a node removes it. Listeners of every
+ * remaining node are called on the thread that joins or leaves.
+ */
+public class InMemoryClusterMembership implements ClusterMembership, AutoCloseable {
+
+    private final Map<String, InMemoryClusterMembership> group;
+    private final String localMember;
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Constructs the first node of a new group.
+     *
+     * @param localMember the name of the node
+     */
+    public InMemoryClusterMembership(String localMember) {
+        this(new LinkedHashMap<>(), localMember);
+    }
+
+    private InMemoryClusterMembership(Map<String, InMemoryClusterMembership> group, String localMember) {
+        this.group = group;
+        this.localMember = localMember;
+        synchronized (group) {
+            if (group.putIfAbsent(localMember, this) != null) {
+                throw new IllegalArgumentException("Member " + localMember + " has already joined");
+            }
+        }
+    }
+
+    /**
+     * Adds a node to this group.
+     *
+     * @param member the name of the new node
+     * @return the new node
+     * @throws IllegalArgumentException if a node of that name is already in the group
+     */
+    public InMemoryClusterMembership join(String member) {
+        InMemoryClusterMembership node = new InMemoryClusterMembership(group, member);
+        node.notifyGroup();
+        return node;
+    }
+
+    @Override
+    public String getLocalMember() {
+        return localMember;
+    }
+
+    @Override
+    public Set<String> getMembers() {
+        synchronized (group) {
+            return Set.copyOf(group.keySet());
+        }
+    }
+
+    @Override
+    public void addListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes this node from the group.
+     */
+    @Override
+    public void close() {
+        boolean removed;
+        synchronized (group) {
+            removed = group.remove(localMember, this);
+        }
+        if (removed) {
+            notifyGroup();
+        }
+    }
+
+    private void notifyGroup() {
+        List<InMemoryClusterMembership> nodes;
+        synchronized (group) {
+            nodes = List.copyOf(group.values());
+        }
+        for (InMemoryClusterMembership node : nodes) {
+            node.listeners.forEach(Runnable::run);
+        }
+    }
+}
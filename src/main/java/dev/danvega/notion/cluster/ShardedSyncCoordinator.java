@@ -0,0 +1,240 @@
+package dev.danvega.notion.cluster;
+
+import dev.danvega.notion.model.common.NotionId;
+import dev.danvega.notion.replica.NotionDatabaseReplica;
+import dev.danvega.notion.replica.ReplicaStore;
+import dev.danvega.notion.service.NotionDatabaseService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Splits background sync work between the nodes of a cluster so that each
+ * watched database or page is synced by exactly one node.
+ * <p>
+ * Every node watches the same databases and keys. Each one is assigned to a
+ * member by a {@link ConsistentHashRing} over the current
+ * {@link ClusterMembership}, and a node only syncs the shards assigned to it:
+ * a {@link NotionDatabaseReplica} per owned database, and the sync task of
+ * every other owned key, such as refreshing a page. When members join or
+ * leave, the ring is rebuilt and only the shards on the arcs that moved
+ * change owner; a node drops the replicas it no longer owns and creates the
+ * ones it gained.
+ * <p>
+ * A {@link ReplicaStore} on a node-local cache only lets a node start again
+ * from its own snapshots. To hand snapshots over, build the store on a
+ * {@link dev.danvega.notion.cache.ReplicatedNotionCache} that replicates
+ * puts: every snapshot the owner stores is then broadcast, whole, to the
+ * other nodes' caches, and a node that gains the database starts from the
+ * last one, so its first sync is incremental. Broadcasting whole databases
+ * costs bandwidth on every sync that changes something, so this suits
+ * databases of moderate size.
+ * <p>
+ * Started in the background, the coordinator syncs the owned shards one
+ * after another with a fixed delay between rounds.
+ */
+public class ShardedSyncCoordinator implements ApplicationRunner, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardedSyncCoordinator.class);
+
+    private final ClusterMembership membership;
+    private final NotionDatabaseService databaseService;
+    private final ReplicaStore store;
+    private final long intervalMillis;
+    private final Set<String> databases = new LinkedHashSet<>();
+    private final Map<String, Runnable> tasks = new LinkedHashMap<>();
+    private final Map<String, NotionDatabaseReplica> replicas = new HashMap<>();
+    private Set<String> owned = new LinkedHashSet<>();
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Constructs a new ShardedSyncCoordinator.
+     *
+     * @param membership the members sharing the work
+     * @param databaseService the database service used by the replicas
+     * @param store the store for replica snapshots, shared between the nodes, or null
+     * @param intervalMillis the delay between the end of one round of syncs and the start of the next, in milliseconds
+     */
+    public ShardedSyncCoordinator(ClusterMembership membership, NotionDatabaseService databaseService,
+                                  ReplicaStore store, long intervalMillis) {
+        this.membership = membership;
+        this.databaseService = databaseService;
+        this.store = store;
+        this.intervalMillis = intervalMillis;
+        membership.addListener(this::rebalance);
+    }
+
+    /**
+     * Adds a database to be replicated by the node that owns it.
+     *
+     * @param databaseId the database ID
+     */
+    public void watchDatabase(String databaseId) {
+        synchronized (this) {
+            databases.add(key(databaseId));
+        }
+        rebalance();
+    }
+
+    /**
+     * Adds a sync task run in each round by the node that owns its key.
+     *
+     * @param key the key the task is assigned by, such as a page ID
+     * @param sync the task
+     */
+    public void watch(String key, Runnable sync) {
+        synchronized (this) {
+            tasks.put(key(key), sync);
+        }
+        rebalance();
+    }
+
+    /**
+     * Tells whether a database or key is assigned to this node.
+     *
+     * @param key the database ID or key
+     * @return true if this node syncs it
+     */
+    public synchronized boolean isOwner(String key) {
+        return owned.contains(key(key));
+    }
+
+    /**
+     * Gets the databases and keys assigned to this node.
+     *
+     * @return the owned keys
+     */
+    public synchronized Set<String> getOwnedKeys() {
+        return Set.copyOf(owned);
+    }
+
+    /**
+     * Gets the replica of a database assigned to this node.
+     *
+     * @param databaseId the database ID
+     * @return the replica, or null if the database is synced by another node or not watched
+     */
+    public synchronized NotionDatabaseReplica getReplica(String databaseId) {
+        return replicas.get(key(databaseId));
+    }
+
+    /**
+     * Reassigns the shards over the current members, creating the replicas
+     * this node gained and closing those it lost. Called whenever the
+     * membership changes.
+     */
+    public synchronized void rebalance() {
+        ConsistentHashRing ring = new ConsistentHashRing(membership.getMembers());
+        String local = membership.getLocalMember();
+        Set<String> next = new LinkedHashSet<>();
+        for (String key : databases) {
+            if (local.equals(ring.owner(key))) {
+                next.add(key);
+            }
+        }
+        for (String key : tasks.keySet()) {
+            if (local.equals(ring.owner(key))) {
+                next.add(key);
+            }
+        }
+        for (String key : owned) {
+            if (!next.contains(key)) {
+                NotionDatabaseReplica replica = replicas.remove(key);
+                if (replica != null) {
+                    replica.close();
+                }
+            }
+        }
+        for (String key : next) {
+            if (databases.contains(key) && !replicas.containsKey(key)) {
+                replicas.put(key, new NotionDatabaseReplica(databaseService, key, store));
+            }
+        }
+        if (!next.equals(owned)) {
+            log.info("Node {} now syncs {} of {} shards across {} members", local, next.size(),
+                    databases.size() + tasks.size(), membership.getMembers().size());
+        }
+        owned = next;
+    }
+
+    /**
+     * Syncs every shard assigned to this node once. A failed sync is logged
+     * and does not stop the others.
+     *
+     * @return the number of shards synced without error
+     */
+    public int syncOwned() {
+        List<Runnable> work = new ArrayList<>();
+        synchronized (this) {
+            for (String key : owned) {
+                NotionDatabaseReplica replica = replicas.get(key);
+                work.add(replica != null ? replica::sync : tasks.get(key));
+            }
+        }
+        int synced = 0;
+        for (Runnable sync : work) {
+            try {
+                sync.run();
+                synced++;
+            } catch (RuntimeException e) {
+                log.warn("Failed to sync shard: {}", e.getMessage());
+            }
+        }
+        return synced;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        start();
+    }
+
+    /**
+     * Syncs the owned shards in the background, starting right away.
+     *
+     * @throws IllegalStateException if the coordinator has already been started
+     */
+    public synchronized void start() {
+        if (scheduler != null) {
+            throw new IllegalStateException("Sync coordinator is already started");
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "notion-sharded-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::syncOwned, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops background syncing and closes the owned replicas.
+     */
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+        replicas.values().forEach(NotionDatabaseReplica::close);
+    }
+
+    /**
+     * Normalizes Notion IDs so that dashed and undashed forms land on the
+     * same shard.
+     */
+    private static String key(String key) {
+        NotionId id = NotionId.tryParse(key);
+        return id != null ? id.toString() : key;
+    }
+}
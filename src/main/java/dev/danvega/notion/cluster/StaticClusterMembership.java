@@ -0,0 +1,49 @@
+package dev.danvega.notion.cluster;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * {@link ClusterMembership} with a fixed list of members, for deployments
+ * whose nodes are known in advance.
+ */
+public class StaticClusterMembership implements ClusterMembership {
+
+    private final String localMember;
+    private final Set<String> members;
+
+    /**
+     * Constructs a new StaticClusterMembership.
+     *
+     * @param localMember the name of this node
+     * @param members the names of all nodes
+     * @throws IllegalArgumentException if this node is not one of the members
+     */
+    public StaticClusterMembership(String localMember, Collection<String> members) {
+        if (localMember == null || !members.contains(localMember)) {
+            throw new IllegalArgumentException("Local member " + localMember + " is not one of " + members);
+        }
+        this.localMember = localMember;
+        this.members = Set.copyOf(new LinkedHashSet<>(members));
+    }
+
+    @Override
+    public String getLocalMember() {
+        return localMember;
+    }
+
+    @Override
+    public Set<String> getMembers() {
+        return members;
+    }
+
+    /**
+     * Does nothing, as the members never change.
+     *
+     * @param listener the listener
+     */
+    @Override
+    public void addListener(Runnable listener) {
+    }
+}
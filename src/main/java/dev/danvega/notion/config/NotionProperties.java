@@ -1,7 +1,11 @@
 package dev.danvega.notion.config;
 
+import dev.danvega.notion.cache.CacheEncoding;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Configuration properties for the Notion API.
  */
@@ -37,7 +41,165 @@ public class NotionProperties {
      * Write timeout in milliseconds.
      */
     private int writeTimeout = 30000;
-    
+
+    /**
+     * Gets the database schema settings.
+     *
+     * @return the schema settings
+     */
+    public Schema getSchema() {
+        return schema;
+    }
+
+    /**
+     * Sets the database schema settings.
+     *
+     * @param schema the schema settings
+     */
+    public void setSchema(Schema schema) {
+        this.schema = schema;
+    }
+
+    /**
+     * Gets the change feed settings.
+     *
+     * @return the change feed settings
+     */
+    public Changes getChanges() {
+        return changes;
+    }
+
+    /**
+     * Sets the change feed settings.
+     *
+     * @param changes the change feed settings
+     */
+    public void setChanges(Changes changes) {
+        this.changes = changes;
+    }
+
+    /**
+     * Gets the webhook receiver settings.
+     *
+     * @return the webhook receiver settings
+     */
+    public Webhook getWebhook() {
+        return webhook;
+    }
+
+    /**
+     * Sets the webhook receiver settings.
+     *
+     * @param webhook the webhook receiver settings
+     */
+    public void setWebhook(Webhook webhook) {
+        this.webhook = webhook;
+    }
+
+    /**
+     * Gets the gateway settings.
+     *
+     * @return the gateway settings
+     */
+    public Gateway getGateway() {
+        return gateway;
+    }
+
+    /**
+     * Sets the gateway settings.
+     *
+     * @param gateway the gateway settings
+     */
+    public void setGateway(Gateway gateway) {
+        this.gateway = gateway;
+    }
+
+    /**
+     * Gets the sharded sync settings.
+     *
+     * @return the sharded sync settings
+     */
+    public Sync getSync() {
+        return sync;
+    }
+
+    /**
+     * Sets the sharded sync settings.
+     *
+     * @param sync the sharded sync settings
+     */
+    public void setSync(Sync sync) {
+        this.sync = sync;
+    }
+
+    /**
+     * Gets the write-behind queue settings.
+     *
+     * @return the write-behind queue settings
+     */
+    public WriteQueue getWriteQueue() {
+        return writeQueue;
+    }
+
+    /**
+     * Sets the write-behind queue settings.
+     *
+     * @param writeQueue the write-behind queue settings
+     */
+    public void setWriteQueue(WriteQueue writeQueue) {
+        this.writeQueue = writeQueue;
+    }
+
+    /**
+     * Client-side rate limiting settings.
+     */
+    private RateLimit rateLimit = new RateLimit();
+
+    /**
+     * Response cache settings.
+     */
+    private Cache cache = new Cache();
+
+    /**
+     * Hedged request settings for idempotent reads.
+     */
+    private Hedge hedge = new Hedge();
+
+    /**
+     * Startup warm-up settings.
+     */
+    private Warmup warmup = new Warmup();
+
+    /**
+     * Database schema cache and validation settings.
+     */
+    private Schema schema = new Schema();
+
+    /**
+     * Change feed settings.
+     */
+    private Changes changes = new Changes();
+
+    /**
+     * Webhook receiver settings.
+     */
+    private Webhook webhook = new Webhook();
+
+    /**
+     * Gateway settings.
+     */
+    private Gateway gateway = new Gateway();
+
+    /**
+     * Sharded sync settings.
+     */
+    private Sync sync = new Sync();
+
+    /**
+     * Write-behind queue settings.
+     */
+    private WriteQueue writeQueue = new WriteQueue();
+
     /**
      * Gets the API key.
      *
@@ -145,4 +307,840 @@ public class NotionProperties {
     public void setWriteTimeout(int writeTimeout) {
         this.writeTimeout = writeTimeout;
     }
-}
\ No newline at end of file
+
+    /**
+     * Gets the rate limit settings.
+     *
+     * @return the rate limit settings
+     */
+    public RateLimit getRateLimit() {
+        return rateLimit;
+    }
+
+    /**
+     * Sets the rate limit settings.
+     *
+     * @param rateLimit the rate limit settings
+     */
+    public void setRateLimit(RateLimit rateLimit) {
+        this.rateLimit = rateLimit;
+    }
+
+    /**
+     * Gets the cache settings.
+     *
+     * @return the cache settings
+     */
+    public Cache getCache() {
+        return cache;
+    }
+
+    /**
+     * Sets the cache settings.
+     *
+     * @param cache the cache settings
+     */
+    public void setCache(Cache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Gets the hedging settings.
+     *
+     * @return the hedging settings
+     */
+    public Hedge getHedge() {
+        return hedge;
+    }
+
+    /**
+     * Sets the hedging settings.
+     *
+     * @param hedge the hedging settings
+     */
+    public void setHedge(Hedge hedge) {
+        this.hedge = hedge;
+    }
+
+    /**
+     * Gets the warm-up settings.
+     *
+     * @return the warm-up settings
+     */
+    public Warmup getWarmup() {
+        return warmup;
+    }
+
+    /**
+     * Sets the warm-up settings.
+     *
+     * @param warmup the warm-up settings
+     */
+    public void setWarmup(Warmup warmup) {
+        this.warmup = warmup;
+    }
+
+    /**
+     * Client-side rate limiting settings.
+     */
+    public static class RateLimit {
+
+        /**
+         * Whether requests are throttled before they are sent.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Average number of requests per second allowed for the integration.
+         */
+        private double requestsPerSecond = 3.0;
+
+        /**
+         * Maximum number of requests that can be sent in a burst.
+         */
+        private int burst = 3;
+
+        /**
+         * Maximum time in milliseconds a request waits for a permit.
+         */
+        private long maxWait = 30000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public double getRequestsPerSecond() {
+            return requestsPerSecond;
+        }
+
+        public void setRequestsPerSecond(double requestsPerSecond) {
+            this.requestsPerSecond = requestsPerSecond;
+        }
+
+        public int getBurst() {
+            return burst;
+        }
+
+        public void setBurst(int burst) {
+            this.burst = burst;
+        }
+
+        public long getMaxWait() {
+            return maxWait;
+        }
+
+        public void setMaxWait(long maxWait) {
+            this.maxWait = maxWait;
+        }
+    }
+
+    /**
+     * Response cache settings.
+     */
+    public static class Cache {
+
+        /**
+         * Whether GET responses are cached.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Maximum number of cached responses.
+         */
+        private int maxEntries = 1000;
+
+        /**
+         * Time to live of a cached response in milliseconds.
+         */
+        private long ttl = 60000;
+
+        /**
+         * Directory for a persistent cache that survives restarts. Responses are
+         * only cached in memory when not set.
+         */
+        private String directory;
+
+        /**
+         * Size in bytes at which a segment file of the persistent cache is sealed.
+         */
+        private long segmentSize = 64 * 1024 * 1024;
+
+        /**
+         * Encoding of cached response bodies, in memory and on disk.
+         */
+        private CacheEncoding encoding = CacheEncoding.JSON;
+
+        /**
+         * Off-heap tier settings, used when no directory is set.
+         */
+        private OffHeap offHeap = new OffHeap();
+
+        /**
+         * Settings of the bus that shares invalidations with other nodes.
+         */
+        private Bus bus = new Bus();
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        public long getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(long ttl) {
+            this.ttl = ttl;
+        }
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+
+        public long getSegmentSize() {
+            return segmentSize;
+        }
+
+        public void setSegmentSize(long segmentSize) {
+            this.segmentSize = segmentSize;
+        }
+
+        public CacheEncoding getEncoding() {
+            return encoding;
+        }
+
+        public void setEncoding(CacheEncoding encoding) {
+            this.encoding = encoding;
+        }
+
+        public OffHeap getOffHeap() {
+            return offHeap;
+        }
+
+        public void setOffHeap(OffHeap offHeap) {
+            this.offHeap = offHeap;
+        }
+
+        public Bus getBus() {
+            return bus;
+        }
+
+        public void setBus(Bus bus) {
+            this.bus = bus;
+        }
+    }
+
+    /**
+     * Settings of the TCP bus that shares cache invalidations between nodes.
+     */
+    public static class Bus {
+
+        /**
+         * Whether invalidations are exchanged with the peers over TCP.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Port to listen on for messages from the peers.
+         */
+        private int port = 7450;
+
+        /**
+         * Addresses of the other nodes as host:port. May include this node.
+         */
+        private List<String> peers = new ArrayList<>();
+
+        /**
+         * Whether response bodies fetched by one node are sent to the others as well.
+         */
+        private boolean replicatePuts = false;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getPort() {
+            return port;
+        }
+
+        public void setPort(int port) {
+            this.port = port;
+        }
+
+        public List<String> getPeers() {
+            return peers;
+        }
+
+        public void setPeers(List<String> peers) {
+            this.peers = peers;
+        }
+
+        public boolean isReplicatePuts() {
+            return replicatePuts;
+        }
+
+        public void setReplicatePuts(boolean replicatePuts) {
+            this.replicatePuts = replicatePuts;
+        }
+    }
+
+    /**
+     * Off-heap response cache settings. Only the most recently read
+     * {@code max-entries} responses are kept on the heap.
+     */
+    public static class OffHeap {
+
+        /**
+         * Whether responses are kept compressed outside the heap.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Maximum number of compressed bytes held outside the heap.
+         */
+        private long maxSize = 256L * 1024 * 1024;
+
+        /**
+         * Size in bytes of one slab of off-heap memory. Larger responses are not cached.
+         */
+        private int slabSize = 16 * 1024 * 1024;
+
+        /**
+         * File to memory-map instead of allocating direct memory.
+         */
+        private String file;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(long maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public int getSlabSize() {
+            return slabSize;
+        }
+
+        public void setSlabSize(int slabSize) {
+            this.slabSize = slabSize;
+        }
+
+        public String getFile() {
+            return file;
+        }
+
+        public void setFile(String file) {
+            this.file = file;
+        }
+    }
+
+    /**
+     * Hedged request settings for idempotent reads.
+     */
+    public static class Hedge {
+
+        /**
+         * Whether slow GET requests are duplicated.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Latency percentile after which a duplicate request is sent.
+         */
+        private double percentile = 95.0;
+
+        /**
+         * Minimum delay in milliseconds before a duplicate request is sent.
+         */
+        private long minDelay = 50;
+
+        /**
+         * Maximum fraction of requests that may be duplicated.
+         */
+        private double budgetRatio = 0.05;
+
+        /**
+         * Number of recent latencies used to compute the percentile.
+         */
+        private int windowSize = 1000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public double getPercentile() {
+            return percentile;
+        }
+
+        public void setPercentile(double percentile) {
+            this.percentile = percentile;
+        }
+
+        public long getMinDelay() {
+            return minDelay;
+        }
+
+        public void setMinDelay(long minDelay) {
+            this.minDelay = minDelay;
+        }
+
+        public double getBudgetRatio() {
+            return budgetRatio;
+        }
+
+        public void setBudgetRatio(double budgetRatio) {
+            this.budgetRatio = budgetRatio;
+        }
+
+        public int getWindowSize() {
+            return windowSize;
+        }
+
+        public void setWindowSize(int windowSize) {
+            this.windowSize = windowSize;
+        }
+    }
+
+    /**
+     * Startup warm-up settings.
+     */
+    public static class Warmup {
+
+        /**
+         * Whether connections and serializers are warmed up before the application reports readiness.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Number of connections to open to the base URL.
+         */
+        private int connections = 4;
+
+        /**
+         * Maximum time in milliseconds the warm-up may take.
+         */
+        private long timeBudget = 5000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getConnections() {
+            return connections;
+        }
+
+        public void setConnections(int connections) {
+            this.connections = connections;
+        }
+
+        public long getTimeBudget() {
+            return timeBudget;
+        }
+
+        public void setTimeBudget(long timeBudget) {
+            this.timeBudget = timeBudget;
+        }
+    }
+
+    /**
+     * Database schema cache and validation settings.
+     */
+    public static class Schema {
+
+        /**
+         * Whether queries and page writes are checked against the cached database schema.
+         */
+        private boolean validate = true;
+
+        /**
+         * Time in milliseconds after which a cached schema is checked for changes.
+         */
+        private long maxAge = 300000;
+
+        /**
+         * Whether unknown select and multi-select option names are accepted in page writes.
+         */
+        private boolean allowNewOptions = false;
+
+        public boolean isValidate() {
+            return validate;
+        }
+
+        public void setValidate(boolean validate) {
+            this.validate = validate;
+        }
+
+        public long getMaxAge() {
+            return maxAge;
+        }
+
+        public void setMaxAge(long maxAge) {
+            this.maxAge = maxAge;
+        }
+
+        public boolean isAllowNewOptions() {
+            return allowNewOptions;
+        }
+
+        public void setAllowNewOptions(boolean allowNewOptions) {
+            this.allowNewOptions = allowNewOptions;
+        }
+    }
+
+    /**
+     * Change feed settings.
+     */
+    public static class Changes {
+
+        /**
+         * Whether edits in Notion are polled for and published as application events.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Delay in milliseconds between polls while changes are found.
+         */
+        private long minInterval = 10000;
+
+        /**
+         * Longest delay in milliseconds between polls once no changes are found.
+         */
+        private long maxInterval = 60000;
+
+        /**
+         * IDs of databases polled with incremental queries instead of the search.
+         */
+        private List<String> databases = new ArrayList<>();
+
+        /**
+         * Whether the top-level blocks of changed pages are listed and published as block events.
+         */
+        private boolean blocks = false;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getMinInterval() {
+            return minInterval;
+        }
+
+        public void setMinInterval(long minInterval) {
+            this.minInterval = minInterval;
+        }
+
+        public long getMaxInterval() {
+            return maxInterval;
+        }
+
+        public void setMaxInterval(long maxInterval) {
+            this.maxInterval = maxInterval;
+        }
+
+        public List<String> getDatabases() {
+            return databases;
+        }
+
+        public void setDatabases(List<String> databases) {
+            this.databases = databases;
+        }
+
+        public boolean isBlocks() {
+            return blocks;
+        }
+
+        public void setBlocks(boolean blocks) {
+            this.blocks = blocks;
+        }
+    }
+
+    /**
+     * Webhook receiver settings.
+     */
+    public static class Webhook {
+
+        /**
+         * Whether an endpoint that receives Notion webhook notifications is registered.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Path of the endpoint.
+         */
+        private String path = "/notion/webhook";
+
+        /**
+         * Verification token of the webhook subscription, used to check the signature of notifications.
+         */
+        private String verificationToken;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public String getVerificationToken() {
+            return verificationToken;
+        }
+
+        public void setVerificationToken(String verificationToken) {
+            this.verificationToken = verificationToken;
+        }
+    }
+
+    /**
+     * Gateway settings.
+     */
+    public static class Gateway {
+
+        /**
+         * Whether the Notion API is proxied for other services under the gateway path.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Path the gateway is mapped to; services use it, with the host, as their base URL.
+         */
+        private String path = "/notion/v1";
+
+        /**
+         * Token services must send as their API key. Every request is rejected when unset.
+         */
+        private String token;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public String getToken() {
+            return token;
+        }
+
+        public void setToken(String token) {
+            this.token = token;
+        }
+    }
+
+    /**
+     * Sharded sync settings.
+     */
+    public static class Sync {
+
+        /**
+         * Whether watched databases are synced by one node of the cluster each.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Name of this node; must be one of the members.
+         */
+        private String localMember;
+
+        /**
+         * Names of all nodes of the cluster.
+         */
+        private List<String> members = new ArrayList<>();
+
+        /**
+         * IDs of databases replicated by the node that owns them.
+         */
+        private List<String> databases = new ArrayList<>();
+
+        /**
+         * Delay in milliseconds between rounds of syncs.
+         */
+        private long interval = 60000;
+
+        /**
+         * Whether replica snapshots are stored in the Notion cache. With the cache bus enabled and replicating puts,
+         * snapshots reach the other nodes, so a node gaining a database starts from its previous owner's snapshot.
+         */
+        private boolean store = false;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getLocalMember() {
+            return localMember;
+        }
+
+        public void setLocalMember(String localMember) {
+            this.localMember = localMember;
+        }
+
+        public List<String> getMembers() {
+            return members;
+        }
+
+        public void setMembers(List<String> members) {
+            this.members = members;
+        }
+
+        public List<String> getDatabases() {
+            return databases;
+        }
+
+        public void setDatabases(List<String> databases) {
+            this.databases = databases;
+        }
+
+        public long getInterval() {
+            return interval;
+        }
+
+        public void setInterval(long interval) {
+            this.interval = interval;
+        }
+
+        public boolean isStore() {
+            return store;
+        }
+
+        public void setStore(boolean store) {
+            this.store = store;
+        }
+    }
+
+    /**
+     * Write-behind queue settings.
+     */
+    public static class WriteQueue {
+
+        /**
+         * Whether page creations, page updates and block appends can be queued and sent in the background.
+         */
+        private boolean enabled = false;
+
+        /**
+         * File of the journal that keeps queued mutations across restarts.
+         */
+        private String journal = "notion-write-queue.journal";
+
+        /**
+         * Maximum number of attempts to send a mutation.
+         */
+        private int maxAttempts = 10;
+
+        /**
+         * Delay in milliseconds before the first retry, doubled after each further attempt.
+         */
+        private long retryDelay = 1000;
+
+        /**
+         * Maximum time in milliseconds to wait for pending mutations on shutdown.
+         */
+        private long drainTimeout = 30000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getJournal() {
+            return journal;
+        }
+
+        public void setJournal(String journal) {
+            this.journal = journal;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public long getRetryDelay() {
+            return retryDelay;
+        }
+
+        public void setRetryDelay(long retryDelay) {
+            this.retryDelay = retryDelay;
+        }
+
+        public long getDrainTimeout() {
+            return drainTimeout;
+        }
+
+        public void setDrainTimeout(long drainTimeout) {
+            this.drainTimeout = drainTimeout;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package dev.danvega.notion.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configuration properties for serving multiple Notion workspaces.
+ */
+@ConfigurationProperties(prefix = "notion.tenants")
+public class NotionTenantProperties {
+
+    /**
+     * Whether the multi-workspace client registry is enabled.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Maximum number of tenants with live clients. The least recently used
+     * tenant is evicted when the limit is exceeded.
+     */
+    private int maxTenants = 100;
+
+    /**
+     * Maximum number of requests in flight across all tenants.
+     */
+    private int maxConcurrentRequests = 16;
+
+    /**
+     * Maximum time in milliseconds a request waits for a slot.
+     */
+    private long maxQueueWait = 30000;
+
+    /**
+     * Time in milliseconds after which an unused tenant's resources are released.
+     */
+    private long idleTimeout = 1800000;
+
+    /**
+     * Statically configured workspaces, keyed by tenant ID.
+     */
+    private Map<String, Tenant> workspaces = new LinkedHashMap<>();
+
+    /**
+     * Gets whether the registry is enabled.
+     *
+     * @return true if enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets whether the registry is enabled.
+     *
+     * @param enabled true to enable
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Gets the maximum number of live tenants.
+     *
+     * @return the maximum number of tenants
+     */
+    public int getMaxTenants() {
+        return maxTenants;
+    }
+
+    /**
+     * Sets the maximum number of live tenants.
+     *
+     * @param maxTenants the maximum number of tenants
+     */
+    public void setMaxTenants(int maxTenants) {
+        this.maxTenants = maxTenants;
+    }
+
+    /**
+     * Gets the maximum number of concurrent requests across all tenants.
+     *
+     * @return the maximum number of concurrent requests
+     */
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    /**
+     * Sets the maximum number of concurrent requests across all tenants.
+     *
+     * @param maxConcurrentRequests the maximum number of concurrent requests
+     */
+    public void setMaxConcurrentRequests(int maxConcurrentRequests) {
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
+
+    /**
+     * Gets the maximum queue wait.
+     *
+     * @return the maximum queue wait in milliseconds
+     */
+    public long getMaxQueueWait() {
+        return maxQueueWait;
+    }
+
+    /**
+     * Sets the maximum queue wait.
+     *
+     * @param maxQueueWait the maximum queue wait in milliseconds
+     */
+    public void setMaxQueueWait(long maxQueueWait) {
+        this.maxQueueWait = maxQueueWait;
+    }
+
+    /**
+     * Gets the idle timeout.
+     *
+     * @return the idle timeout in milliseconds
+     */
+    public long getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    /**
+     * Sets the idle timeout.
+     *
+     * @param idleTimeout the idle timeout in milliseconds
+     */
+    public void setIdleTimeout(long idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+
+    /**
+     * Gets the statically configured workspaces.
+     *
+     * @return the workspaces keyed by tenant ID
+     */
+    public Map<String, Tenant> getWorkspaces() {
+        return workspaces;
+    }
+
+    /**
+     * Sets the statically configured workspaces.
+     *
+     * @param workspaces the workspaces keyed by tenant ID
+     */
+    public void setWorkspaces(Map<String, Tenant> workspaces) {
+        this.workspaces = workspaces;
+    }
+
+    /**
+     * Settings for a single workspace.
+     */
+    public static class Tenant {
+
+        /**
+         * The integration token for the workspace.
+         */
+        private String key;
+
+        /**
+         * The share of request capacity relative to other tenants.
+         */
+        private double weight = 1.0;
+
+        /**
+         * Default constructor.
+         */
+        public Tenant() {
+        }
+
+        /**
+         * Constructor with fields.
+         *
+         * @param key the integration token
+         * @param weight the share weight
+         */
+        public Tenant(String key, double weight) {
+            this.key = key;
+            this.weight = weight;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public void setKey(String key) {
+            this.key = key;
+        }
+
+        public double getWeight() {
+            return weight;
+        }
+
+        public void setWeight(double weight) {
+            this.weight = weight;
+        }
+    }
+}
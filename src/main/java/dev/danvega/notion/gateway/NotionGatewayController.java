@@ -0,0 +1,277 @@
+package dev.danvega.notion.gateway;
+
+import dev.danvega.notion.cache.CacheKeys;
+import dev.danvega.notion.cache.NotionCache;
+import dev.danvega.notion.client.NotionRateLimiter;
+import dev.danvega.notion.config.NotionProperties;
+import dev.danvega.notion.exception.NotionApiException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Proxies the Notion REST API for other services, so that they share one
+ * integration token, rate limit and response cache.
+ * <p>
+ * Services point {@code notion.api.base-url} at the gateway path and use the
+ * gateway token as their API key. Without a token every request is
+ * rejected, as the gateway would otherwise lend its key to anyone who can
+ * reach it. Requests are
+ * forwarded to the configured base URL with the gateway's own key, with the
+ * path and query exactly as the service encoded them:
+ * <ul>
+ *   <li>GET requests are answered from the response cache when possible,
+ *       under the same keys the gateway's own {@code NotionClient} uses</li>
+ *   <li>identical GET requests, queries and searches that arrive while one is
+ *       in flight wait for its response instead of being sent again</li>
+ *   <li>other requests are streamed to Notion and back, and invalidate the
+ *       cached responses of the object they target</li>
+ * </ul>
+ * Every request sent to Notion first takes a permit from the rate limiter,
+ * if enabled. Bodies are passed through as bytes and never parsed. The
+ * {@code X-Notion-Gateway} response header tells whether a response was a
+ * cache {@code hit}, {@code shared} with a request in flight or a
+ * {@code miss}.
+ */
+@RestController
+public class NotionGatewayController {
+
+    private static final Logger log = LoggerFactory.getLogger(NotionGatewayController.class);
+
+    static final String GATEWAY_HEADER = "X-Notion-Gateway";
+
+    private final NotionProperties properties;
+    private final String path;
+    private final String token;
+    private final RestClient restClient;
+    private final NotionCache cache;
+    private final NotionRateLimiter rateLimiter;
+    private final Map<String, CompletableFuture<Upstream>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new NotionGatewayController.
+     *
+     * @param properties the Notion API properties with the base URL and key requests are forwarded with
+     * @param path the path the gateway is mapped to
+     * @param token the token services must present as their API key, or null to reject every request
+     * @param restClient the RestClient used to call Notion
+     * @param cache the response cache, or null
+     * @param rateLimiter the rate limiter, or null
+     */
+    public NotionGatewayController(NotionProperties properties, String path, String token, RestClient restClient,
+                                   NotionCache cache, NotionRateLimiter rateLimiter) {
+        this.properties = properties;
+        this.path = path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+        this.token = token != null && !token.isBlank() ? token : null;
+        this.restClient = restClient;
+        this.cache = cache;
+        this.rateLimiter = rateLimiter;
+        if (this.token == null) {
+            log.warn("Notion gateway has no token configured; every request will be rejected");
+        }
+    }
+
+    /**
+     * Forwards a request to Notion.
+     *
+     * @param request the request from a service
+     * @param response the response to the service
+     * @throws IOException if the response cannot be written
+     */
+    @RequestMapping("${notion.api.gateway.path:/notion/v1}/**")
+    public void proxy(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (token == null || !MessageDigest.isEqual(("Bearer " + token).getBytes(StandardCharsets.UTF_8),
+                String.valueOf(request.getHeader(HttpHeaders.AUTHORIZATION)).getBytes(StandardCharsets.UTF_8))) {
+            error(response, 401, "unauthorized", "API token is invalid.");
+            return;
+        }
+        String endpoint = request.getRequestURI().substring(request.getContextPath().length() + path.length());
+        if (request.getQueryString() != null) {
+            endpoint += "?" + request.getQueryString();
+        }
+        HttpMethod method = HttpMethod.valueOf(request.getMethod());
+        String url = properties.getBaseUrl() + endpoint;
+        String version = request.getHeader("Notion-Version");
+
+        try {
+            if (method == HttpMethod.GET) {
+                String cached = cache != null ? cache.get(url) : null;
+                if (cached != null) {
+                    write(response, new Upstream(200, MediaType.APPLICATION_JSON_VALUE, null,
+                            cached.getBytes(StandardCharsets.UTF_8)), "hit");
+                    return;
+                }
+                shared(response, "GET " + url, () -> {
+                    Upstream upstream = exchange(method, url, version, null);
+                    if (cache != null && upstream.status == 200) {
+                        cache.put(url, new String(upstream.body, StandardCharsets.UTF_8));
+                    }
+                    return upstream;
+                });
+            } else if (isRead(method, endpoint)) {
+                byte[] body = request.getInputStream().readAllBytes();
+                shared(response, method + " " + url + " " + new String(body, StandardCharsets.UTF_8),
+                        () -> exchange(method, url, version, body));
+            } else {
+                stream(request, response, method, url, version);
+            }
+        } catch (NotionApiException e) {
+            error(response, 429, "rate_limited", "Gateway rate limit wait exceeded.");
+        } catch (UncheckedIOException | ResourceAccessException e) {
+            log.warn("Notion gateway failed to reach {}: {}", url, e.getMessage());
+            error(response, 502, "bad_gateway", "Failed to reach the Notion API.");
+        }
+    }
+
+    /**
+     * Sends a request unless an identical one is already in flight, and writes
+     * the response of whichever request went out.
+     */
+    private void shared(HttpServletResponse response, String key, Supplier<Upstream> call) throws IOException {
+        CompletableFuture<Upstream> future = new CompletableFuture<>();
+        CompletableFuture<Upstream> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            write(response, await(existing), "shared");
+            return;
+        }
+        try {
+            future.complete(call.get());
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+        write(response, future.join(), "miss");
+    }
+
+    private Upstream exchange(HttpMethod method, String url, String version, byte[] body) {
+        acquirePermit();
+        RestClient.RequestBodySpec spec = restClient.method(method).uri(URI.create(url))
+                .headers(headers -> upstreamHeaders(headers, version));
+        if (body != null) {
+            spec.contentType(MediaType.APPLICATION_JSON).body(body);
+        }
+        return spec.exchange((req, res) -> new Upstream(res.getStatusCode().value(),
+                res.getHeaders().getFirst(HttpHeaders.CONTENT_TYPE),
+                res.getHeaders().getFirst(HttpHeaders.RETRY_AFTER),
+                res.getBody().readAllBytes()));
+    }
+
+    /**
+     * Streams a mutation to Notion and its response back, then invalidates the
+     * cached responses of the targeted object.
+     */
+    private void stream(HttpServletRequest request, HttpServletResponse response, HttpMethod method, String url,
+                        String version) {
+        acquirePermit();
+        RestClient.RequestBodySpec spec = restClient.method(method).uri(URI.create(url))
+                .headers(headers -> upstreamHeaders(headers, version));
+        if (request.getContentType() != null) {
+            spec.contentType(MediaType.parseMediaType(request.getContentType()))
+                    .body(out -> request.getInputStream().transferTo(out));
+        }
+        spec.exchange((req, res) -> {
+            response.setStatus(res.getStatusCode().value());
+            copyHeaders(response, res.getHeaders().getFirst(HttpHeaders.CONTENT_TYPE),
+                    res.getHeaders().getFirst(HttpHeaders.RETRY_AFTER), "miss");
+            res.getBody().transferTo(response.getOutputStream());
+            return null;
+        });
+        String objectId = CacheKeys.objectId(url.substring(properties.getBaseUrl().length()));
+        if (cache != null && objectId != null) {
+            cache.invalidate(objectId);
+        }
+    }
+
+    private void upstreamHeaders(HttpHeaders headers, String version) {
+        headers.setBearerAuth(properties.getKey());
+        headers.set("Notion-Version", version != null ? version : properties.getVersion());
+    }
+
+    private void acquirePermit() {
+        if (rateLimiter != null) {
+            rateLimiter.acquire();
+        }
+    }
+
+    private static boolean isRead(HttpMethod method, String endpoint) {
+        return method == HttpMethod.POST && (endpoint.startsWith("/search")
+                || endpoint.split("\\?")[0].endsWith("/query"));
+    }
+
+    private static Upstream await(CompletableFuture<Upstream> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new NotionApiException("Interrupted while waiting for a shared request", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new NotionApiException("Shared request failed", e.getCause());
+        }
+    }
+
+    private static void write(HttpServletResponse response, Upstream upstream, String source) throws IOException {
+        response.setStatus(upstream.status);
+        copyHeaders(response, upstream.contentType, upstream.retryAfter, source);
+        response.setContentLength(upstream.body.length);
+        response.getOutputStream().write(upstream.body);
+    }
+
+    private static void copyHeaders(HttpServletResponse response, String contentType, String retryAfter,
+                                    String source) {
+        if (contentType != null) {
+            response.setContentType(contentType);
+        }
+        if (retryAfter != null) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfter);
+        }
+        response.setHeader(GATEWAY_HEADER, source);
+    }
+
+    private static void error(HttpServletResponse response, int status, String code, String message)
+            throws IOException {
+        byte[] body = ("{\"object\": \"error\", \"status\": " + status + ", \"code\": \"" + code
+                + "\", \"message\": \"" + message + "\"}").getBytes(StandardCharsets.UTF_8);
+        write(response, new Upstream(status, MediaType.APPLICATION_JSON_VALUE, null, body), "error");
+    }
+
+    /**
+     * Buffered response from Notion.
+     */
+    private static final class Upstream {
+        private final int status;
+        private final String contentType;
+        private final String retryAfter;
+        private final byte[] body;
+
+        private Upstream(int status, String contentType, String retryAfter, byte[] body) {
+            this.status = status;
+            this.contentType = contentType;
+            this.retryAfter = retryAfter;
+            this.body = body;
+        }
+    }
+}
@@ -1,16 +1,23 @@
 package dev.danvega.notion.model.block;
 
-import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import com.fasterxml.jackson.annotation.JsonInclude;
-import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import dev.danvega.notion.model.block.content.BlockContent;
+import dev.danvega.notion.model.block.content.BookmarkContent;
 import dev.danvega.notion.model.block.content.BulletedListItemContent;
+import dev.danvega.notion.model.block.content.CalloutContent;
 import dev.danvega.notion.model.block.content.CodeContent;
+import dev.danvega.notion.model.block.content.DividerContent;
+import dev.danvega.notion.model.block.content.EquationContent;
 import dev.danvega.notion.model.block.content.HeadingContent;
 import dev.danvega.notion.model.block.content.ImageContent;
 import dev.danvega.notion.model.block.content.NumberedListItemContent;
 import dev.danvega.notion.model.block.content.ParagraphContent;
+import dev.danvega.notion.model.block.content.QuoteContent;
+import dev.danvega.notion.model.block.content.TemplateContent;
 import dev.danvega.notion.model.block.content.ToDoContent;
+import dev.danvega.notion.model.block.content.ToggleContent;
 import dev.danvega.notion.model.common.NotionObject;
 import dev.danvega.notion.model.common.RichText;
 
@@ -19,9 +26,13 @@ import java.util.Objects;
 
 /**
  * Represents a Notion block.
+ * <p>
+ * The typed content is held in a single slot. JSON binding is done by
+ * {@link BlockDeserializer} and {@link BlockSerializer}, which read the block
+ * type first and decode the content straight into its content class.
  */
-@JsonIgnoreProperties(ignoreUnknown = true)
-@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonDeserialize(using = BlockDeserializer.class)
+@JsonSerialize(using = BlockSerializer.class)
 public class Block extends NotionObject {
 
     /**
@@ -32,32 +43,23 @@ public class Block extends NotionObject {
     /**
      * The parent ID of the block.
      */
-    @JsonProperty("parent_id")
     private String parentId;
 
     /**
      * Whether the block has children.
      */
-    @JsonProperty("has_children")
     private Boolean hasChildren;
 
     /**
      * The content of the block, based on its type.
-     * This is populated during deserialization based on the block type.
      */
     private BlockContent content;
-    
-    // Specific block type fields that map to the BlockContent field
-    // These are used by Jackson for serialization/deserialization
-    private ParagraphContent paragraph;
-    private HeadingContent heading_1;
-    private HeadingContent heading_2;
-    private HeadingContent heading_3;
-    private BulletedListItemContent bulleted_list_item;
-    private NumberedListItemContent numbered_list_item;
-    private ToDoContent to_do;
-    private CodeContent code;
-    private ImageContent image;
+
+    /**
+     * The undecoded content of a block type this library does not model yet,
+     * kept so the block can be written back unchanged.
+     */
+    private TokenBuffer rawContent;
     
     /**
      * Default constructor.
@@ -78,39 +80,6 @@ public class Block extends NotionObject {
         this.parentId = parentId;
         this.hasChildren = hasChildren;
         this.content = content;
-        
-        // Set the specific type field based on the block type
-        if (type != null && content != null) {
-            switch (BlockType.valueOf(type.toUpperCase())) {
-                case PARAGRAPH:
-                    this.paragraph = (ParagraphContent) content;
-                    break;
-                case HEADING_1:
-                    this.heading_1 = (HeadingContent) content;
-                    break;
-                case HEADING_2:
-                    this.heading_2 = (HeadingContent) content;
-                    break;
-                case HEADING_3:
-                    this.heading_3 = (HeadingContent) content;
-                    break;
-                case BULLETED_LIST_ITEM:
-                    this.bulleted_list_item = (BulletedListItemContent) content;
-                    break;
-                case NUMBERED_LIST_ITEM:
-                    this.numbered_list_item = (NumberedListItemContent) content;
-                    break;
-                case TO_DO:
-                    this.to_do = (ToDoContent) content;
-                    break;
-                case CODE:
-                    this.code = (CodeContent) content;
-                    break;
-                case IMAGE:
-                    this.image = (ImageContent) content;
-                    break;
-            }
-        }
     }
     
     /**
@@ -198,6 +167,66 @@ public class Block extends NotionObject {
         return new Block("image", null, false, content);
     }
 
+    /**
+     * Factory method to create a toggle block.
+     *
+     * @param text the toggle text
+     * @return a new toggle block
+     */
+    public static Block toggle(String text) {
+        return new Block("toggle", null, false, ToggleContent.of(text));
+    }
+
+    /**
+     * Factory method to create a quote block.
+     *
+     * @param text the quoted text
+     * @return a new quote block
+     */
+    public static Block quote(String text) {
+        return new Block("quote", null, false, QuoteContent.of(text));
+    }
+
+    /**
+     * Factory method to create a callout block.
+     *
+     * @param text the callout text
+     * @param emoji the emoji icon, or null for none
+     * @return a new callout block
+     */
+    public static Block callout(String text, String emoji) {
+        return new Block("callout", null, false, CalloutContent.of(text, emoji));
+    }
+
+    /**
+     * Factory method to create a divider block.
+     *
+     * @return a new divider block
+     */
+    public static Block divider() {
+        return new Block("divider", null, false, new DividerContent());
+    }
+
+    /**
+     * Factory method to create a bookmark block.
+     *
+     * @param url the URL to bookmark
+     * @return a new bookmark block
+     */
+    public static Block bookmark(String url) {
+        return new Block("bookmark", null, false, BookmarkContent.of(url));
+    }
+
+    /**
+     * Factory method to create an equation block.
+     *
+     * @param expression the KaTeX expression
+     * @return a new equation block
+     */
+    public static Block equation(String expression) {
+        return new Block("equation", null, false, EquationContent.of(expression));
+    }
+
     public String getType() {
         // If content is set, get the type from there to ensure consistency
         if (content != null) {
@@ -227,183 +256,103 @@ public class Block extends NotionObject {
     }
 
     public BlockContent getContent() {
-        if (content != null) {
-            return content;
-        }
-        
-        // Return the content based on the block type
-        if (type != null) {
-            switch (type) {
-                case "paragraph":
-                    return paragraph;
-                case "heading_1":
-                    return heading_1;
-                case "heading_2":
-                    return heading_2;
-                case "heading_3":
-                    return heading_3;
-                case "bulleted_list_item":
-                    return bulleted_list_item;
-                case "numbered_list_item":
-                    return numbered_list_item;
-                case "to_do":
-                    return to_do;
-                case "code":
-                    return code;
-                case "image":
-                    return image;
-            }
-        }
-        
-        return null;
+        return content;
     }
 
     public void setContent(BlockContent content) {
         this.content = content;
         
-        // Also set the specific type field for proper serialization
+        // Set the type string to match the content type
         if (content != null) {
-            switch (content.getType()) {
-                case PARAGRAPH:
-                    this.paragraph = (ParagraphContent) content;
-                    break;
-                case HEADING_1:
-                    this.heading_1 = (HeadingContent) content;
-                    break;
-                case HEADING_2:
-                    this.heading_2 = (HeadingContent) content;
-                    break;
-                case HEADING_3:
-                    this.heading_3 = (HeadingContent) content;
-                    break;
-                case BULLETED_LIST_ITEM:
-                    this.bulleted_list_item = (BulletedListItemContent) content;
-                    break;
-                case NUMBERED_LIST_ITEM:
-                    this.numbered_list_item = (NumberedListItemContent) content;
-                    break;
-                case TO_DO:
-                    this.to_do = (ToDoContent) content;
-                    break;
-                case CODE:
-                    this.code = (CodeContent) content;
-                    break;
-                case IMAGE:
-                    this.image = (ImageContent) content;
-                    break;
-            }
-            
-            // Set the type string to match the content type
             this.type = content.getType().getValue();
         }
     }
     
+    /**
+     * Gets the undecoded content of a block whose type is not in {@link BlockType}.
+     * It is written back verbatim when the block is serialized, so such blocks
+     * can be copied without loss.
+     *
+     * @return the raw content, or null if the type is known or has no content
+     */
+    public TokenBuffer getRawContent() {
+        return rawContent;
+    }
+
+    public void setRawContent(TokenBuffer rawContent) {
+        this.rawContent = rawContent;
+    }
+
     public ParagraphContent getParagraph() {
-        return paragraph;
+        return content instanceof ParagraphContent paragraph ? paragraph : null;
     }
 
     public void setParagraph(ParagraphContent paragraph) {
-        this.paragraph = paragraph;
-        this.content = paragraph;
-        if (this.type == null) {
-            this.type = "paragraph";
-        }
+        setTypedContent(paragraph, "paragraph");
     }
 
     public HeadingContent getHeading_1() {
-        return heading_1;
+        return heading(1);
     }
 
     public void setHeading_1(HeadingContent heading_1) {
-        this.heading_1 = heading_1;
-        this.content = heading_1;
-        if (this.type == null) {
-            this.type = "heading_1";
-        }
+        setHeading(heading_1, 1);
     }
 
     public HeadingContent getHeading_2() {
-        return heading_2;
+        return heading(2);
     }
 
     public void setHeading_2(HeadingContent heading_2) {
-        this.heading_2 = heading_2;
-        this.content = heading_2;
-        if (this.type == null) {
-            this.type = "heading_2";
-        }
+        setHeading(heading_2, 2);
     }
 
     public HeadingContent getHeading_3() {
-        return heading_3;
+        return heading(3);
     }
 
     public void setHeading_3(HeadingContent heading_3) {
-        this.heading_3 = heading_3;
-        this.content = heading_3;
-        if (this.type == null) {
-            this.type = "heading_3";
-        }
+        setHeading(heading_3, 3);
     }
 
     public BulletedListItemContent getBulleted_list_item() {
-        return bulleted_list_item;
+        return content instanceof BulletedListItemContent item ? item : null;
     }
 
     public void setBulleted_list_item(BulletedListItemContent bulleted_list_item) {
-        this.bulleted_list_item = bulleted_list_item;
-        this.content = bulleted_list_item;
-        if (this.type == null) {
-            this.type = "bulleted_list_item";
-        }
+        setTypedContent(bulleted_list_item, "bulleted_list_item");
     }
 
     public NumberedListItemContent getNumbered_list_item() {
-        return numbered_list_item;
+        return content instanceof NumberedListItemContent item ? item : null;
     }
 
     public void setNumbered_list_item(NumberedListItemContent numbered_list_item) {
-        this.numbered_list_item = numbered_list_item;
-        this.content = numbered_list_item;
-        if (this.type == null) {
-            this.type = "numbered_list_item";
-        }
+        setTypedContent(numbered_list_item, "numbered_list_item");
     }
 
     public ToDoContent getTo_do() {
-        return to_do;
+        return content instanceof ToDoContent toDo ? toDo : null;
     }
 
     public void setTo_do(ToDoContent to_do) {
-        this.to_do = to_do;
-        this.content = to_do;
-        if (this.type == null) {
-            this.type = "to_do";
-        }
+        setTypedContent(to_do, "to_do");
     }
 
     public CodeContent getCode() {
-        return code;
+        return content instanceof CodeContent code ? code : null;
     }
 
     public void setCode(CodeContent code) {
-        this.code = code;
-        this.content = code;
-        if (this.type == null) {
-            this.type = "code";
-        }
+        setTypedContent(code, "code");
     }
 
     public ImageContent getImage() {
-        return image;
+        return content instanceof ImageContent image ? image : null;
     }
 
     public void setImage(ImageContent image) {
-        this.image = image;
-        this.content = image;
-        if (this.type == null) {
-            this.type = "image";
-        }
+        setTypedContent(image, "image");
     }
 
     /**
@@ -412,7 +361,7 @@ public class Block extends NotionObject {
      * @return the paragraph content, or null if this is not a paragraph block
      */
     public ParagraphContent getParagraphContent() {
-        return type != null && type.equals("paragraph") ? paragraph : null;
+        return getParagraph();
     }
     
     /**
@@ -421,14 +370,7 @@ public class Block extends NotionObject {
      * @return the heading content, or null if this is not a heading block
      */
     public HeadingContent getHeadingContent() {
-        if (type == null) return null;
-        
-        switch (type) {
-            case "heading_1": return heading_1;
-            case "heading_2": return heading_2;
-            case "heading_3": return heading_3;
-            default: return null;
-        }
+        return content instanceof HeadingContent heading ? heading : null;
     }
     
     /**
@@ -437,7 +379,7 @@ public class Block extends NotionObject {
      * @return the bulleted list item content, or null if this is not a bulleted list item block
      */
     public BulletedListItemContent getBulletedListItemContent() {
-        return type != null && type.equals("bulleted_list_item") ? bulleted_list_item : null;
+        return getBulleted_list_item();
     }
     
     /**
@@ -446,7 +388,7 @@ public class Block extends NotionObject {
      * @return the numbered list item content, or null if this is not a numbered list item block
      */
     public NumberedListItemContent getNumberedListItemContent() {
-        return type != null && type.equals("numbered_list_item") ? numbered_list_item : null;
+        return getNumbered_list_item();
     }
     
     /**
@@ -455,7 +397,7 @@ public class Block extends NotionObject {
      * @return the to-do content, or null if this is not a to-do block
      */
     public ToDoContent getToDoContent() {
-        return type != null && type.equals("to_do") ? to_do : null;
+        return getTo_do();
     }
     
     /**
@@ -464,7 +406,7 @@ public class Block extends NotionObject {
      * @return the code content, or null if this is not a code block
      */
     public CodeContent getCodeContent() {
-        return type != null && type.equals("code") ? code : null;
+        return getCode();
     }
     
     /**
@@ -473,16 +415,26 @@ public class Block extends NotionObject {
      * @return the image content, or null if this is not an image block
      */
     public ImageContent getImageContent() {
-        return type != null && type.equals("image") ? image : null;
+        return getImage();
     }
     
+    /**
+     * Type-safe method to get the content of any block type.
+     *
+     * @param contentType the expected content class, e.g. {@code CalloutContent.class}
+     * @param <T> the content type
+     * @return the content, or null if this block's content is not of the given class
+     */
+    public <T extends BlockContent> T getContent(Class<T> contentType) {
+        return contentType.isInstance(content) ? contentType.cast(content) : null;
+    }
+
     /**
      * Type-safe method to get rich text for any block type.
      *
      * @return the rich text, or null if this block doesn't have rich text
      */
     public List<RichText> getRichText() {
-        BlockContent content = getContent();
         if (content instanceof ParagraphContent) {
             return ((ParagraphContent) content).getRichText();
         } else if (content instanceof HeadingContent) {
@@ -495,10 +447,36 @@ public class Block extends NotionObject {
             return ((ToDoContent) content).getRichText();
         } else if (content instanceof CodeContent) {
             return ((CodeContent) content).getRichText();
+        } else if (content instanceof ToggleContent) {
+            return ((ToggleContent) content).getRichText();
+        } else if (content instanceof QuoteContent) {
+            return ((QuoteContent) content).getRichText();
+        } else if (content instanceof CalloutContent) {
+            return ((CalloutContent) content).getRichText();
+        } else if (content instanceof TemplateContent) {
+            return ((TemplateContent) content).getRichText();
         }
         return null;
     }
 
+    private HeadingContent heading(int level) {
+        return content instanceof HeadingContent heading && heading.getLevel() == level ? heading : null;
+    }
+
+    private void setHeading(HeadingContent heading, int level) {
+        if (heading != null && heading.getLevel() == 0) {
+            heading.setLevel(level);
+        }
+        setTypedContent(heading, "heading_" + level);
+    }
+
+    private void setTypedContent(BlockContent content, String type) {
+        this.content = content;
+        if (this.type == null) {
+            this.type = type;
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -523,6 +501,7 @@ public class Block extends NotionObject {
                ", parentId='" + parentId + '\'' +
                ", hasChildren=" + hasChildren +
                ", content=" + getContent() +
+               ", rawContent=" + (rawContent != null) +
                ", " + super.toString() +
                '}';
     }
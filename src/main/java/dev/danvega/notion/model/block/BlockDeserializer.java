@@ -0,0 +1,156 @@
+package dev.danvega.notion.model.block;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.ResolvableDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import dev.danvega.notion.model.block.content.BlockContent;
+import dev.danvega.notion.model.block.content.HeadingContent;
+import dev.danvega.notion.model.common.StringInterner;
+
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Streaming deserializer for {@link Block}.
+ * <p>
+ * The block's {@code type} names the field that holds its content. The API
+ * sends {@code type} before the content, so the content is decoded in a single
+ * pass straight into the class registered on the {@link BlockType}. If the
+ * content comes first it is buffered until the type is known. Content of a
+ * type missing from {@link BlockType} is kept undecoded as
+ * {@link Block#getRawContent() raw content}.
+ */
+public class BlockDeserializer extends StdDeserializer<Block> implements ResolvableDeserializer {
+
+    /**
+     * Object-valued block fields that never hold content and are not buffered
+     * while the type is still unknown.
+     */
+    private static final Set<String> NON_CONTENT_OBJECTS = Set.of("parent", "created_by", "last_edited_by");
+
+    private final Map<BlockType, JsonDeserializer<Object>> contentDeserializers = new EnumMap<>(BlockType.class);
+
+    public BlockDeserializer() {
+        super(Block.class);
+    }
+
+    @Override
+    public void resolve(DeserializationContext ctxt) throws JsonMappingException {
+        for (BlockType blockType : BlockType.values()) {
+            contentDeserializers.put(blockType,
+                    ctxt.findRootValueDeserializer(ctxt.constructType(blockType.getContentClass())));
+        }
+    }
+
+    @Override
+    public Block deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            token = p.nextToken();
+        } else if (token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT) {
+            return (Block) ctxt.handleUnexpectedToken(Block.class, p);
+        }
+
+        Block block = new Block();
+        String type = null;
+        BlockType blockType = null;
+        String bufferedName = null;
+        TokenBuffer buffered = null;
+
+        for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+            String name = p.currentName();
+            token = p.nextToken();
+            switch (name) {
+                case "object" -> block.setObjectType(StringInterner.intern(p));
+                case "id" -> block.setId(p.getValueAsString());
+                case "created_time", "createdTime" -> block.setCreatedTime(readTime(p));
+                case "last_edited_time", "lastEditedTime" -> block.setLastEditedTime(readTime(p));
+                case "archived" -> block.setArchived(readBoolean(p));
+                case "parent_id" -> block.setParentId(p.getValueAsString());
+                case "has_children" -> block.setHasChildren(readBoolean(p));
+                case "type" -> {
+                    type = StringInterner.intern(p);
+                    block.setType(type);
+                    blockType = BlockType.fromValue(type);
+                }
+                default -> {
+                    if (token != JsonToken.START_OBJECT) {
+                        p.skipChildren();
+                    } else if (type != null && name.equals(type)) {
+                        if (blockType != null) {
+                            block.setContent(readContent(p, ctxt, blockType));
+                        } else {
+                            block.setRawContent(ctxt.bufferAsCopyOfValue(p));
+                        }
+                    } else if (type == null && !NON_CONTENT_OBJECTS.contains(name)) {
+                        bufferedName = name;
+                        buffered = ctxt.bufferAsCopyOfValue(p);
+                    } else {
+                        p.skipChildren();
+                    }
+                }
+            }
+        }
+
+        if (buffered != null && bufferedName.equals(type)) {
+            if (blockType == null) {
+                block.setRawContent(buffered);
+            } else {
+                try (JsonParser bufferedParser = buffered.asParserOnFirstToken()) {
+                    block.setContent(readContent(bufferedParser, ctxt, blockType));
+                }
+            }
+        }
+        return block;
+    }
+
+    private BlockContent readContent(JsonParser p, DeserializationContext ctxt, BlockType blockType) throws IOException {
+        BlockContent content = (BlockContent) contentDeserializers.get(blockType).deserialize(p, ctxt);
+        if (content instanceof HeadingContent heading) {
+            heading.setLevel(switch (blockType) {
+                case HEADING_1 -> 1;
+                case HEADING_2 -> 2;
+                default -> 3;
+            });
+        }
+        return content;
+    }
+
+    private static ZonedDateTime readTime(JsonParser p) throws IOException {
+        String text = p.getValueAsString();
+        return text == null ? null : parseTime(text);
+    }
+
+    /**
+     * Parses an ISO-8601 timestamp, with a fast path for the fixed
+     * {@code 2023-01-01T00:00:00.000Z} shape the API uses.
+     */
+    static ZonedDateTime parseTime(String text) {
+        if (text.length() == 24 && text.charAt(10) == 'T' && text.charAt(19) == '.' && text.charAt(23) == 'Z') {
+            try {
+                return ZonedDateTime.of(
+                        Integer.parseInt(text, 0, 4, 10), Integer.parseInt(text, 5, 7, 10),
+                        Integer.parseInt(text, 8, 10, 10), Integer.parseInt(text, 11, 13, 10),
+                        Integer.parseInt(text, 14, 16, 10), Integer.parseInt(text, 17, 19, 10),
+                        Integer.parseInt(text, 20, 23, 10) * 1_000_000, ZoneOffset.UTC);
+            } catch (NumberFormatException | DateTimeException e) {
+                // Fall through to the full parser, which reports the error
+            }
+        }
+        return ZonedDateTime.parse(text);
+    }
+
+    private static Boolean readBoolean(JsonParser p) throws IOException {
+        return p.currentToken() == JsonToken.VALUE_NULL ? null : p.getValueAsBoolean();
+    }
+}
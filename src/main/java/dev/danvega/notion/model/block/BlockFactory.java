@@ -6,7 +6,9 @@ import dev.danvega.notion.model.block.content.HeadingContent;
 import dev.danvega.notion.model.block.content.ImageContent;
 import dev.danvega.notion.model.block.content.NumberedListItemContent;
 import dev.danvega.notion.model.block.content.ParagraphContent;
+import dev.danvega.notion.model.block.content.QuoteContent;
 import dev.danvega.notion.model.block.content.ToDoContent;
+import dev.danvega.notion.model.block.content.ToggleContent;
 import dev.danvega.notion.model.common.RichText;
 
 import java.util.List;
@@ -174,4 +176,84 @@ public class BlockFactory {
         content.setCaption(caption);
         return new Block("image", null, false, content);
     }
-}
\ No newline at end of file
+
+    /**
+     * Creates a toggle block with plain text.
+     *
+     * @param text the text content
+     * @return the toggle block
+     */
+    public static Block toggle(String text) {
+        return Block.toggle(text);
+    }
+
+    /**
+     * Creates a toggle block with rich text.
+     *
+     * @param richText the rich text content
+     * @return the toggle block
+     */
+    public static Block toggle(List<RichText> richText) {
+        return new Block("toggle", null, false, new ToggleContent(richText));
+    }
+
+    /**
+     * Creates a quote block with plain text.
+     *
+     * @param text the text content
+     * @return the quote block
+     */
+    public static Block quote(String text) {
+        return Block.quote(text);
+    }
+
+    /**
+     * Creates a quote block with rich text.
+     *
+     * @param richText the rich text content
+     * @return the quote block
+     */
+    public static Block quote(List<RichText> richText) {
+        return new Block("quote", null, false, new QuoteContent(richText));
+    }
+
+    /**
+     * Creates a callout block with plain text.
+     *
+     * @param text the text content
+     * @param emoji the emoji icon, or null for none
+     * @return the callout block
+     */
+    public static Block callout(String text, String emoji) {
+        return Block.callout(text, emoji);
+    }
+
+    /**
+     * Creates a divider block.
+     *
+     * @return the divider block
+     */
+    public static Block divider() {
+        return Block.divider();
+    }
+
+    /**
+     * Creates a bookmark block.
+     *
+     * @param url the URL to bookmark
+     * @return the bookmark block
+     */
+    public static Block bookmark(String url) {
+        return Block.bookmark(url);
+    }
+
+    /**
+     * Creates an equation block.
+     *
+     * @param expression the KaTeX expression
+     * @return the equation block
+     */
+    public static Block equation(String expression) {
+        return Block.equation(expression);
+    }
+}
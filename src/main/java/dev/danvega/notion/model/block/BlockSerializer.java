@@ -0,0 +1,59 @@
+package dev.danvega.notion.model.block;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Serializer for {@link Block} that writes the API shape directly: the common
+ * object fields, the {@code type}, and the content under a field named after
+ * the type. Raw content of unknown block types is replayed verbatim. Null
+ * values are omitted.
+ */
+public class BlockSerializer extends StdSerializer<Block> {
+
+    public BlockSerializer() {
+        super(Block.class);
+    }
+
+    @Override
+    public void serialize(Block block, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(block);
+        writeString(gen, "object", block.getObjectType());
+        writeString(gen, "id", block.getId());
+        writeTime(gen, "created_time", block.getCreatedTime());
+        writeTime(gen, "last_edited_time", block.getLastEditedTime());
+        if (block.getArchived() != null) {
+            gen.writeBooleanField("archived", block.getArchived());
+        }
+        String type = block.getType();
+        writeString(gen, "type", type);
+        writeString(gen, "parent_id", block.getParentId());
+        if (block.getHasChildren() != null) {
+            gen.writeBooleanField("has_children", block.getHasChildren());
+        }
+        if (type != null && block.getContent() != null) {
+            provider.defaultSerializeField(type, block.getContent(), gen);
+        } else if (type != null && block.getRawContent() != null) {
+            gen.writeFieldName(type);
+            block.getRawContent().serialize(gen);
+        }
+        gen.writeEndObject();
+    }
+
+    private static void writeString(JsonGenerator gen, String name, String value) throws IOException {
+        if (value != null) {
+            gen.writeStringField(name, value);
+        }
+    }
+
+    private static void writeTime(JsonGenerator gen, String name, ZonedDateTime value) throws IOException {
+        if (value != null) {
+            gen.writeStringField(name, DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(value));
+        }
+    }
+}
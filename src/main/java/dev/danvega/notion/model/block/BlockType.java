@@ -1,48 +1,82 @@
 package dev.danvega.notion.model.block;
 
+import dev.danvega.notion.model.block.content.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Enum of Notion block types.
  */
 public enum BlockType {
-    PARAGRAPH("paragraph"),
-    HEADING_1("heading_1"),
-    HEADING_2("heading_2"),
-    HEADING_3("heading_3"),
-    BULLETED_LIST_ITEM("bulleted_list_item"),
-    NUMBERED_LIST_ITEM("numbered_list_item"),
-    TO_DO("to_do"),
-    TOGGLE("toggle"),
-    CODE("code"),
-    CHILD_PAGE("child_page"),
-    CHILD_DATABASE("child_database"),
-    EMBED("embed"),
-    IMAGE("image"),
-    VIDEO("video"),
-    FILE("file"),
-    PDF("pdf"),
-    BOOKMARK("bookmark"),
-    CALLOUT("callout"),
-    QUOTE("quote"),
-    EQUATION("equation"),
-    DIVIDER("divider"),
-    TABLE_OF_CONTENTS("table_of_contents"),
-    COLUMN("column"),
-    COLUMN_LIST("column_list"),
-    LINK_PREVIEW("link_preview"),
-    SYNCED_BLOCK("synced_block"),
-    TEMPLATE("template"),
-    LINK_TO_PAGE("link_to_page"),
-    TABLE("table"),
-    TABLE_ROW("table_row"),
-    UNSUPPORTED("unsupported");
+    PARAGRAPH("paragraph", ParagraphContent.class),
+    HEADING_1("heading_1", HeadingContent.class),
+    HEADING_2("heading_2", HeadingContent.class),
+    HEADING_3("heading_3", HeadingContent.class),
+    BULLETED_LIST_ITEM("bulleted_list_item", BulletedListItemContent.class),
+    NUMBERED_LIST_ITEM("numbered_list_item", NumberedListItemContent.class),
+    TO_DO("to_do", ToDoContent.class),
+    TOGGLE("toggle", ToggleContent.class),
+    CODE("code", CodeContent.class),
+    CHILD_PAGE("child_page", ChildPageContent.class),
+    CHILD_DATABASE("child_database", ChildDatabaseContent.class),
+    EMBED("embed", EmbedContent.class),
+    IMAGE("image", ImageContent.class),
+    VIDEO("video", VideoContent.class),
+    FILE("file", FileContent.class),
+    PDF("pdf", PdfContent.class),
+    BOOKMARK("bookmark", BookmarkContent.class),
+    CALLOUT("callout", CalloutContent.class),
+    QUOTE("quote", QuoteContent.class),
+    EQUATION("equation", EquationContent.class),
+    DIVIDER("divider", DividerContent.class),
+    TABLE_OF_CONTENTS("table_of_contents", TableOfContentsContent.class),
+    COLUMN("column", ColumnContent.class),
+    COLUMN_LIST("column_list", ColumnListContent.class),
+    LINK_PREVIEW("link_preview", LinkPreviewContent.class),
+    SYNCED_BLOCK("synced_block", SyncedBlockContent.class),
+    TEMPLATE("template", TemplateContent.class),
+    LINK_TO_PAGE("link_to_page", LinkToPageContent.class),
+    TABLE("table", TableContent.class),
+    TABLE_ROW("table_row", TableRowContent.class),
+    UNSUPPORTED("unsupported", UnsupportedContent.class);
+
+    private static final Map<String, BlockType> BY_VALUE = new HashMap<>();
+
+    static {
+        for (BlockType blockType : values()) {
+            BY_VALUE.put(blockType.value, blockType);
+        }
+    }
 
     private final String value;
+    private final Class<? extends BlockContent> contentClass;
 
-    BlockType(String value) {
+    BlockType(String value, Class<? extends BlockContent> contentClass) {
         this.value = value;
+        this.contentClass = contentClass;
     }
 
     public String getValue() {
         return value;
     }
-}
\ No newline at end of file
+
+    /**
+     * Gets the class that models the content of this block type.
+     *
+     * @return the content class
+     */
+    public Class<? extends BlockContent> getContentClass() {
+        return contentClass;
+    }
+
+    /**
+     * Looks up a block type by its API value.
+     *
+     * @param value the API value, e.g. {@code "heading_1"}
+     * @return the block type, or null if the value is unknown
+     */
+    public static BlockType fromValue(String value) {
+        return value == null ? null : BY_VALUE.get(value);
+    }
+}
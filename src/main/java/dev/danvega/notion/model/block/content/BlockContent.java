@@ -1,33 +1,20 @@
 package dev.danvega.notion.model.block.content;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonInclude;
-import com.fasterxml.jackson.annotation.JsonSubTypes;
-import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import dev.danvega.notion.model.block.BlockType;
 
 /**
  * Base class for all Notion block content types.
+ * <p>
+ * The content of a block is stored under a key named after the block type, so
+ * the concrete content class is chosen by the {@link dev.danvega.notion.model.block.Block}
+ * deserializer from {@link BlockType#getContentClass()} rather than by Jackson
+ * type information.
  */
 @JsonIgnoreProperties(ignoreUnknown = true)
 @JsonInclude(JsonInclude.Include.NON_NULL)
-@JsonTypeInfo(
-    use = JsonTypeInfo.Id.NAME,
-    include = JsonTypeInfo.As.EXTERNAL_PROPERTY,
-    property = "type"
-)
-@JsonSubTypes({
-    @JsonSubTypes.Type(value = ParagraphContent.class, name = "paragraph"),
-    @JsonSubTypes.Type(value = HeadingContent.class, name = "heading_1"),
-    @JsonSubTypes.Type(value = HeadingContent.class, name = "heading_2"),
-    @JsonSubTypes.Type(value = HeadingContent.class, name = "heading_3"),
-    @JsonSubTypes.Type(value = BulletedListItemContent.class, name = "bulleted_list_item"),
-    @JsonSubTypes.Type(value = NumberedListItemContent.class, name = "numbered_list_item"),
-    @JsonSubTypes.Type(value = ToDoContent.class, name = "to_do"),
-    @JsonSubTypes.Type(value = CodeContent.class, name = "code"),
-    @JsonSubTypes.Type(value = ImageContent.class, name = "image")
-    // Add other block types as needed
-})
 public abstract class BlockContent {
     
     /**
@@ -35,5 +22,6 @@ public abstract class BlockContent {
      * 
      * @return the block type
      */
+    @JsonIgnore
     public abstract BlockType getType();
-}
\ No newline at end of file
+}
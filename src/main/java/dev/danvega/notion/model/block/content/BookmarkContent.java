@@ -0,0 +1,88 @@
+package dev.danvega.notion.model.block.content;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import dev.danvega.notion.model.block.BlockType;
+import dev.danvega.notion.model.common.RichText;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Content for a bookmark block.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BookmarkContent extends BlockContent {
+
+    /**
+     * Bookmarked URL.
+     */
+    private String url;
+
+    /**
+     * Caption for the bookmark.
+     */
+    private List<RichText> caption;
+
+    /**
+     * Default constructor.
+     */
+    public BookmarkContent() {
+    }
+
+    /**
+     * Factory method to create bookmark content for a URL.
+     *
+     * @param url the URL to bookmark
+     * @return the bookmark content
+     */
+    public static BookmarkContent of(String url) {
+        BookmarkContent content = new BookmarkContent();
+        content.setUrl(url);
+        return content;
+    }
+
+    @Override
+    public BlockType getType() {
+        return BlockType.BOOKMARK;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public List<RichText> getCaption() {
+        return caption;
+    }
+
+    public void setCaption(List<RichText> caption) {
+        this.caption = caption;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BookmarkContent that = (BookmarkContent) o;
+        return Objects.equals(url, that.url) &&
+                Objects.equals(caption, that.caption);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(url, caption);
+    }
+
+    @Override
+    public String toString() {
+        return "BookmarkContent{" +
+                "url='" + url + '\'' +
+                ", caption=" + caption +
+                '}';
+    }
+}
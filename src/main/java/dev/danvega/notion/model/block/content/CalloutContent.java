@@ -0,0 +1,195 @@
+package dev.danvega.notion.model.block.content;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import dev.danvega.notion.model.block.BlockType;
+import dev.danvega.notion.model.common.InternedStringDeserializer;
+import dev.danvega.notion.model.common.RichText;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Content for a callout block.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CalloutContent extends BlockContent {
+
+    /**
+     * Rich text elements.
+     */
+    @JsonProperty("rich_text")
+    private List<RichText> richText;
+
+    /**
+     * Icon shown next to the callout.
+     */
+    private Icon icon;
+
+    /**
+     * Color of the callout.
+     */
+    @JsonDeserialize(using = InternedStringDeserializer.class)
+    private String color;
+
+    /**
+     * Default constructor.
+     */
+    public CalloutContent() {
+    }
+
+    /**
+     * Factory method to create callout content from plain text and an emoji icon.
+     *
+     * @param text the plain text
+     * @param emoji the emoji icon, or null for none
+     * @return the callout content
+     */
+    public static CalloutContent of(String text, String emoji) {
+        CalloutContent content = new CalloutContent();
+        content.setRichText(RichText.listOf(text));
+        if (emoji != null) {
+            content.setIcon(Icon.emoji(emoji));
+        }
+        return content;
+    }
+
+    @Override
+    public BlockType getType() {
+        return BlockType.CALLOUT;
+    }
+
+    public List<RichText> getRichText() {
+        return richText;
+    }
+
+    public void setRichText(List<RichText> richText) {
+        this.richText = richText;
+    }
+
+    public Icon getIcon() {
+        return icon;
+    }
+
+    public void setIcon(Icon icon) {
+        this.icon = icon;
+    }
+
+    public String getColor() {
+        return color;
+    }
+
+    public void setColor(String color) {
+        this.color = color;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CalloutContent that = (CalloutContent) o;
+        return Objects.equals(richText, that.richText) &&
+                Objects.equals(icon, that.icon) &&
+                Objects.equals(color, that.color);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(richText, icon, color);
+    }
+
+    @Override
+    public String toString() {
+        return "CalloutContent{" +
+                "richText=" + richText +
+                ", icon=" + icon +
+                ", color='" + color + '\'' +
+                '}';
+    }
+
+    /**
+     * Represents the icon of a callout, either an emoji or an image.
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Icon {
+        private String type;
+        private String emoji;
+        private ImageContent.ExternalObject external;
+        private ImageContent.FileObject file;
+
+        /**
+         * Factory method to create an emoji icon.
+         *
+         * @param emoji the emoji
+         * @return the icon
+         */
+        public static Icon emoji(String emoji) {
+            Icon icon = new Icon();
+            icon.setType("emoji");
+            icon.setEmoji(emoji);
+            return icon;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public void setType(String type) {
+            this.type = type;
+        }
+
+        public String getEmoji() {
+            return emoji;
+        }
+
+        public void setEmoji(String emoji) {
+            this.emoji = emoji;
+        }
+
+        public ImageContent.ExternalObject getExternal() {
+            return external;
+        }
+
+        public void setExternal(ImageContent.ExternalObject external) {
+            this.external = external;
+        }
+
+        public ImageContent.FileObject getFile() {
+            return file;
+        }
+
+        public void setFile(ImageContent.FileObject file) {
+            this.file = file;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Icon that = (Icon) o;
+            return Objects.equals(type, that.type) &&
+                    Objects.equals(emoji, that.emoji) &&
+                    Objects.equals(external, that.external) &&
+                    Objects.equals(file, that.file);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, emoji, external, file);
+        }
+
+        @Override
+        public String toString() {
+            return "Icon{" +
+                    "type='" + type + '\'' +
+                    ", emoji='" + emoji + '\'' +
+                    ", external=" + external +
+                    ", file=" + file +
+                    '}';
+        }
+    }
+}
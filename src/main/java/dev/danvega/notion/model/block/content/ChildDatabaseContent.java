@@ -0,0 +1,59 @@
+package dev.danvega.notion.model.block.content;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import dev.danvega.notion.model.block.BlockType;
+
+import java.util.Objects;
+
+/**
+ * Content for a child database block.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ChildDatabaseContent extends BlockContent {
+
+    /**
+     * Title of the child database.
+     */
+    private String title;
+
+    /**
+     * Default constructor.
+     */
+    public ChildDatabaseContent() {
+    }
+
+    @Override
+    public BlockType getType() {
+        return BlockType.CHILD_DATABASE;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ChildDatabaseContent that = (ChildDatabaseContent) o;
+        return Objects.equals(title, that.title);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(title);
+    }
+
+    @Override
+    public String toString() {
+        return "ChildDatabaseContent{" +
+                "title='" + title + '\'' +
+                '}';
+    }
+}
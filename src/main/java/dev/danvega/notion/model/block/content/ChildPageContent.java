@@ -0,0 +1,59 @@
+package dev.danvega.notion.model.block.content;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import dev.danvega.notion.model.block.BlockType;
+
+import java.util.Objects;
+
+/**
+ * Content for a child page block.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ChildPageContent extends BlockContent {
+
+    /**
+     * Title of the child page.
+     */
+    private String title;
+
+    /**
+     * Default constructor.
+     */
+    public ChildPageContent() {
+    }
+
+    @Override
+    public BlockType getType() {
+        return BlockType.CHILD_PAGE;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ChildPageContent that = (ChildPageContent) o;
+        return Objects.equals(title, that.title);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(title);
+    }
+
+    @Override
+    public String toString() {
+        return "ChildPageContent{" +
+                "title='" + title + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,42 @@
+package dev.danvega.notion.model.block.content;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import dev.danvega.notion.model.block.BlockType;
+
+import java.util.Objects;
+
+/**
+ * Content for a column block. The column's blocks are its children.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ColumnContent extends BlockContent {
+
+    /**
+     * Default constructor.
+     */
+    public ColumnContent() {
+    }
+
+    @Override
+    public BlockType getType() {
+        return BlockType.COLUMN;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        return o != null && getClass() == o.getClass();
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getType());
+    }
+
+    @Override
+    public String toString() {
+        return "ColumnContent{}";
+    }
+}
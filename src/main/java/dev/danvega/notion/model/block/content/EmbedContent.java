@@ -0,0 +1,88 @@
+package dev.danvega.notion.model.block.content;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import dev.danvega.notion.model.block.BlockType;
+import dev.danvega.notion.model.common.RichText;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Content for an embed block.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EmbedContent extends BlockContent {
+
+    /**
+     * URL of the embedded content.
+     */
+    private String url;
+
+    /**
+     * Caption for the embed.
+     */
+    private List<RichText> caption;
+
+    /**
+     * Default constructor.
+     */
+    public EmbedContent() {
+    }
+
+    /**
+     * Factory method to create embed content for a URL.
+     *
+     * @param url the URL to embed
+     * @return the embed content
+     */
+    public static EmbedContent of(String url) {
+        EmbedContent content = new EmbedContent();
+        content.setUrl(url);
+        return content;
+    }
+
+    @Override
+    public BlockType getType() {
+        return BlockType.EMBED;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public List<RichText> getCaption() {
+        return caption;
+    }
+
+    public void setCaption(List<RichText> caption) {
+        this.caption = caption;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        EmbedContent that = (EmbedContent) o;
+        return Objects.equals(url, that.url) &&
+                Objects.equals(caption, that.caption);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(url, caption);
+    }
+
+    @Override
+    public String toString() {
+        return "EmbedContent{" +
+                "url='" + url + '\'' +
+                ", caption=" + caption +
+                '}';
+    }
+}
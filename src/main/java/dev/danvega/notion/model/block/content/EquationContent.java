@@ -0,0 +1,78 @@
+package dev.danvega.notion.model.block.content;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import dev.danvega.notion.model.block.BlockType;
+
+import java.util.Objects;
+
+/**
+ * Content for an equation block.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EquationContent extends BlockContent {
+
+    /**
+     * KaTeX compatible expression.
+     */
+    private String expression;
+
+    /**
+     * Default constructor.
+     */
+    public EquationContent() {
+    }
+
+    /**
+     * Constructor with expression.
+     *
+     * @param expression the KaTeX expression
+     */
+    public EquationContent(String expression) {
+        this.expression = expression;
+    }
+
+    /**
+     * Factory method to create equation content from a KaTeX expression.
+     *
+     * @param expression the KaTeX expression
+     * @return the equation content
+     */
+    public static EquationContent of(String expression) {
+        return new EquationContent(expression);
+    }
+
+    @Override
+    public BlockType getType() {
+        return BlockType.EQUATION;
+    }
+
+    public String getExpression() {
+        return expression;
+    }
+
+    public void setExpression(String expression) {
+        this.expression = expression;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        EquationContent that = (EquationContent) o;
+        return Objects.equals(expression, that.expression);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(expression);
+    }
+
+    @Override
+    public String toString() {
+        return "EquationContent{" +
+                "expression='" + expression + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,120 @@
+package dev.danvega.notion.model.block.content;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import dev.danvega.notion.model.block.BlockType;
+import dev.danvega.notion.model.common.RichText;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Content for a file block.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class FileContent extends BlockContent {
+
+    /**
+     * File information, used when the file is hosted by Notion.
+     */
+    private ImageContent.FileObject file;
+
+    /**
+     * External information, used when the file is externally hosted.
+     */
+    private ImageContent.ExternalObject external;
+
+    /**
+     * Caption for the file.
+     */
+    private List<RichText> caption;
+
+    /**
+     * Name of the file.
+     */
+    private String name;
+
+    /**
+     * Default constructor.
+     */
+    public FileContent() {
+    }
+
+    /**
+     * Factory method to create a file content with an external URL.
+     *
+     * @param url the external URL
+     * @return the file content
+     */
+    public static FileContent ofExternal(String url) {
+        FileContent content = new FileContent();
+        ImageContent.ExternalObject external = new ImageContent.ExternalObject();
+        external.setUrl(url);
+        content.setExternal(external);
+        return content;
+    }
+
+    @Override
+    public BlockType getType() {
+        return BlockType.FILE;
+    }
+
+    public ImageContent.FileObject getFile() {
+        return file;
+    }
+
+    public void setFile(ImageContent.FileObject file) {
+        this.file = file;
+    }
+
+    public ImageContent.ExternalObject getExternal() {
+        return external;
+    }
+
+    public void setExternal(ImageContent.ExternalObject external) {
+        this.external = external;
+    }
+
+    public List<RichText> getCaption() {
+        return caption;
+    }
+
+    public void setCaption(List<RichText> caption) {
+        this.caption = caption;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        FileContent that = (FileContent) o;
+        return Objects.equals(file, that.file) &&
+                Objects.equals(external, that.external) &&
+                Objects.equals(caption, that.caption) &&
+                Objects.equals(name, that.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(file, external, caption, name);
+    }
+
+    @Override
+    public String toString() {
+        return "FileContent{" +
+                "file=" + file +
+                ", external=" + external +
+                ", caption=" + caption +
+                ", name='" + name + '\'' +
+                '}';
+    }
+}
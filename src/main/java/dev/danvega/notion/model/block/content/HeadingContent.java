@@ -1,11 +1,14 @@
 package dev.danvega.notion.model.block.content;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import dev.danvega.notion.model.block.BlockType;
+import dev.danvega.notion.model.common.InternedStringDeserializer;
 import dev.danvega.notion.model.common.RichText;
 
 import java.util.List;
@@ -27,6 +30,7 @@ public class HeadingContent extends BlockContent {
     /**
      * Color of the heading.
      */
+    @JsonDeserialize(using = InternedStringDeserializer.class)
     private String color;
 
     /**
@@ -36,8 +40,10 @@ public class HeadingContent extends BlockContent {
     private Boolean isToggleable;
 
     /**
-     * The level of the heading (1, 2, or 3).
+     * The level of the heading (1, 2, or 3). Not part of the API payload, it is
+     * derived from the block type.
      */
+    @JsonIgnore
     private int level;
 
     /**
@@ -0,0 +1,59 @@
+package dev.danvega.notion.model.block.content;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import dev.danvega.notion.model.block.BlockType;
+
+import java.util.Objects;
+
+/**
+ * Content for a link preview block. Link previews can be read but not created through the API.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LinkPreviewContent extends BlockContent {
+
+    /**
+     * URL of the previewed link.
+     */
+    private String url;
+
+    /**
+     * Default constructor.
+     */
+    public LinkPreviewContent() {
+    }
+
+    @Override
+    public BlockType getType() {
+        return BlockType.LINK_PREVIEW;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        LinkPreviewContent that = (LinkPreviewContent) o;
+        return Objects.equals(url, that.url);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(url);
+    }
+
+    @Override
+    public String toString() {
+        return "LinkPreviewContent{" +
+                "url='" + url + '\'' +
+                '}';
+    }
+}
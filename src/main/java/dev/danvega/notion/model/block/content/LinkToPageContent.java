@@ -0,0 +1,93 @@
+package dev.danvega.notion.model.block.content;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import dev.danvega.notion.model.block.BlockType;
+
+import java.util.Objects;
+
+/**
+ * Content for a link to page block.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LinkToPageContent extends BlockContent {
+
+    /**
+     * Type of the link target, {@code page_id} or {@code database_id}.
+     */
+    @JsonProperty("type")
+    private String linkType;
+
+    /**
+     * ID of the linked page.
+     */
+    @JsonProperty("page_id")
+    private String pageId;
+
+    /**
+     * ID of the linked database.
+     */
+    @JsonProperty("database_id")
+    private String databaseId;
+
+    /**
+     * Default constructor.
+     */
+    public LinkToPageContent() {
+    }
+
+    @Override
+    public BlockType getType() {
+        return BlockType.LINK_TO_PAGE;
+    }
+
+    public String getLinkType() {
+        return linkType;
+    }
+
+    public void setLinkType(String linkType) {
+        this.linkType = linkType;
+    }
+
+    public String getPageId() {
+        return pageId;
+    }
+
+    public void setPageId(String pageId) {
+        this.pageId = pageId;
+    }
+
+    public String getDatabaseId() {
+        return databaseId;
+    }
+
+    public void setDatabaseId(String databaseId) {
+        this.databaseId = databaseId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        LinkToPageContent that = (LinkToPageContent) o;
+        return Objects.equals(linkType, that.linkType) &&
+                Objects.equals(pageId, that.pageId) &&
+                Objects.equals(databaseId, that.databaseId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(linkType, pageId, databaseId);
+    }
+
+    @Override
+    public String toString() {
+        return "LinkToPageContent{" +
+                "linkType='" + linkType + '\'' +
+                ", pageId='" + pageId + '\'' +
+                ", databaseId='" + databaseId + '\'' +
+                '}';
+    }
+}
@@ -3,7 +3,9 @@ package dev.danvega.notion.model.block.content;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import dev.danvega.notion.model.block.BlockType;
+import dev.danvega.notion.model.common.InternedStringDeserializer;
 import dev.danvega.notion.model.common.RichText;
 
 import java.util.List;
@@ -25,6 +27,7 @@ public class ParagraphContent extends BlockContent {
     /**
      * Color of the paragraph.
      */
+    @JsonDeserialize(using = InternedStringDeserializer.class)
     private String color;
 
     /**
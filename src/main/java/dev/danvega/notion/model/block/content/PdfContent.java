@@ -0,0 +1,105 @@
+package dev.danvega.notion.model.block.content;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import dev.danvega.notion.model.block.BlockType;
+import dev.danvega.notion.model.common.RichText;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Content for a PDF block.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PdfContent extends BlockContent {
+
+    /**
+     * File information, used when the PDF is hosted by Notion.
+     */
+    private ImageContent.FileObject file;
+
+    /**
+     * External information, used when the PDF is externally hosted.
+     */
+    private ImageContent.ExternalObject external;
+
+    /**
+     * Caption for the PDF.
+     */
+    private List<RichText> caption;
+
+    /**
+     * Default constructor.
+     */
+    public PdfContent() {
+    }
+
+    /**
+     * Factory method to create a PDF content with an external URL.
+     *
+     * @param url the external URL
+     * @return the PDF content
+     */
+    public static PdfContent ofExternal(String url) {
+        PdfContent content = new PdfContent();
+        ImageContent.ExternalObject external = new ImageContent.ExternalObject();
+        external.setUrl(url);
+        content.setExternal(external);
+        return content;
+    }
+
+    @Override
+    public BlockType getType() {
+        return BlockType.PDF;
+    }
+
+    public ImageContent.FileObject getFile() {
+        return file;
+    }
+
+    public void setFile(ImageContent.FileObject file) {
+        this.file = file;
+    }
+
+    public ImageContent.ExternalObject getExternal() {
+        return external;
+    }
+
+    public void setExternal(ImageContent.ExternalObject external) {
+        this.external = external;
+    }
+
+    public List<RichText> getCaption() {
+        return caption;
+    }
+
+    public void setCaption(List<RichText> caption) {
+        this.caption = caption;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PdfContent that = (PdfContent) o;
+        return Objects.equals(file, that.file) &&
+                Objects.equals(external, that.external) &&
+                Objects.equals(caption, that.caption);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(file, external, caption);
+    }
+
+    @Override
+    public String toString() {
+        return "PdfContent{" +
+                "file=" + file +
+                ", external=" + external +
+                ", caption=" + caption +
+                '}';
+    }
+}
@@ -0,0 +1,101 @@
+package dev.danvega.notion.model.block.content;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import dev.danvega.notion.model.block.BlockType;
+import dev.danvega.notion.model.common.InternedStringDeserializer;
+import dev.danvega.notion.model.common.RichText;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Content for a quote block.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class QuoteContent extends BlockContent {
+
+    /**
+     * Rich text elements.
+     */
+    @JsonProperty("rich_text")
+    private List<RichText> richText;
+
+    /**
+     * Color of the quote.
+     */
+    @JsonDeserialize(using = InternedStringDeserializer.class)
+    private String color;
+
+    /**
+     * Default constructor.
+     */
+    public QuoteContent() {
+    }
+
+    /**
+     * Constructor with rich text.
+     *
+     * @param richText the rich text elements
+     */
+    public QuoteContent(List<RichText> richText) {
+        this.richText = richText;
+    }
+
+    /**
+     * Factory method to create quote content from plain text.
+     *
+     * @param text the plain text
+     * @return the quote content
+     */
+    public static QuoteContent of(String text) {
+        List<RichText> richText = RichText.listOf(text);
+        return new QuoteContent(richText);
+    }
+
+    @Override
+    public BlockType getType() {
+        return BlockType.QUOTE;
+    }
+
+    public List<RichText> getRichText() {
+        return richText;
+    }
+
+    public void setRichText(List<RichText> richText) {
+        this.richText = richText;
+    }
+
+    public String getColor() {
+        return color;
+    }
+
+    public void setColor(String color) {
+        this.color = color;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        QuoteContent that = (QuoteContent) o;
+        return Objects.equals(richText, that.richText) &&
+                Objects.equals(color, that.color);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(richText, color);
+    }
+
+    @Override
+    public String toString() {
+        return "QuoteContent{" +
+                "richText=" + richText +
+                ", color='" + color + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,111 @@
+package dev.danvega.notion.model.block.content;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import dev.danvega.notion.model.block.BlockType;
+
+import java.util.Objects;
+
+/**
+ * Content for a synced block.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SyncedBlockContent extends BlockContent {
+
+    /**
+     * Reference to the original synced block, or null if this block is the original.
+     */
+    @JsonProperty("synced_from")
+    private SyncedFrom syncedFrom;
+
+    /**
+     * Default constructor.
+     */
+    public SyncedBlockContent() {
+    }
+
+    @Override
+    public BlockType getType() {
+        return BlockType.SYNCED_BLOCK;
+    }
+
+    public SyncedFrom getSyncedFrom() {
+        return syncedFrom;
+    }
+
+    public void setSyncedFrom(SyncedFrom syncedFrom) {
+        this.syncedFrom = syncedFrom;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SyncedBlockContent that = (SyncedBlockContent) o;
+        return Objects.equals(syncedFrom, that.syncedFrom);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(syncedFrom);
+    }
+
+    @Override
+    public String toString() {
+        return "SyncedBlockContent{" +
+                "syncedFrom=" + syncedFrom +
+                '}';
+    }
+
+    /**
+     * Reference to the original block of a synced block copy.
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class SyncedFrom {
+        private String type;
+
+        @JsonProperty("block_id")
+        private String blockId;
+
+        public String getType() {
+            return type;
+        }
+
+        public void setType(String type) {
+            this.type = type;
+        }
+
+        public String getBlockId() {
+            return blockId;
+        }
+
+        public void setBlockId(String blockId) {
+            this.blockId = blockId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            SyncedFrom that = (SyncedFrom) o;
+            return Objects.equals(type, that.type) &&
+                    Objects.equals(blockId, that.blockId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, blockId);
+        }
+
+        @Override
+        public String toString() {
+            return "SyncedFrom{" +
+                    "type='" + type + '\'' +
+                    ", blockId='" + blockId + '\'' +
+                    '}';
+        }
+    }
+}
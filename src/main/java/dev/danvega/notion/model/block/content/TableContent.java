@@ -0,0 +1,93 @@
+package dev.danvega.notion.model.block.content;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import dev.danvega.notion.model.block.BlockType;
+
+import java.util.Objects;
+
+/**
+ * Content for a table block. The rows are its children.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TableContent extends BlockContent {
+
+    /**
+     * Number of columns in the table.
+     */
+    @JsonProperty("table_width")
+    private Integer tableWidth;
+
+    /**
+     * Whether the first row is a header.
+     */
+    @JsonProperty("has_column_header")
+    private Boolean hasColumnHeader;
+
+    /**
+     * Whether the first column is a header.
+     */
+    @JsonProperty("has_row_header")
+    private Boolean hasRowHeader;
+
+    /**
+     * Default constructor.
+     */
+    public TableContent() {
+    }
+
+    @Override
+    public BlockType getType() {
+        return BlockType.TABLE;
+    }
+
+    public Integer getTableWidth() {
+        return tableWidth;
+    }
+
+    public void setTableWidth(Integer tableWidth) {
+        this.tableWidth = tableWidth;
+    }
+
+    public Boolean getHasColumnHeader() {
+        return hasColumnHeader;
+    }
+
+    public void setHasColumnHeader(Boolean hasColumnHeader) {
+        this.hasColumnHeader = hasColumnHeader;
+    }
+
+    public Boolean getHasRowHeader() {
+        return hasRowHeader;
+    }
+
+    public void setHasRowHeader(Boolean hasRowHeader) {
+        this.hasRowHeader = hasRowHeader;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TableContent that = (TableContent) o;
+        return Objects.equals(tableWidth, that.tableWidth) &&
+                Objects.equals(hasColumnHeader, that.hasColumnHeader) &&
+                Objects.equals(hasRowHeader, that.hasRowHeader);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(tableWidth, hasColumnHeader, hasRowHeader);
+    }
+
+    @Override
+    public String toString() {
+        return "TableContent{" +
+                "tableWidth=" + tableWidth +
+                ", hasColumnHeader=" + hasColumnHeader +
+                ", hasRowHeader=" + hasRowHeader +
+                '}';
+    }
+}
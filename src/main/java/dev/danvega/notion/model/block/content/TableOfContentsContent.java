@@ -0,0 +1,62 @@
+package dev.danvega.notion.model.block.content;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import dev.danvega.notion.model.block.BlockType;
+import dev.danvega.notion.model.common.InternedStringDeserializer;
+
+import java.util.Objects;
+
+/**
+ * Content for a table of contents block.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TableOfContentsContent extends BlockContent {
+
+    /**
+     * Color of the table of contents.
+     */
+    @JsonDeserialize(using = InternedStringDeserializer.class)
+    private String color;
+
+    /**
+     * Default constructor.
+     */
+    public TableOfContentsContent() {
+    }
+
+    @Override
+    public BlockType getType() {
+        return BlockType.TABLE_OF_CONTENTS;
+    }
+
+    public String getColor() {
+        return color;
+    }
+
+    public void setColor(String color) {
+        this.color = color;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TableOfContentsContent that = (TableOfContentsContent) o;
+        return Objects.equals(color, that.color);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(color);
+    }
+
+    @Override
+    public String toString() {
+        return "TableOfContentsContent{" +
+                "color='" + color + '\'' +
+                '}';
+    }
+}
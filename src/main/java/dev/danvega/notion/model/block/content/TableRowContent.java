@@ -0,0 +1,61 @@
+package dev.danvega.notion.model.block.content;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import dev.danvega.notion.model.block.BlockType;
+import dev.danvega.notion.model.common.RichText;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Content for a table row block.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TableRowContent extends BlockContent {
+
+    /**
+     * Cells of the row, each a list of rich text elements.
+     */
+    private List<List<RichText>> cells;
+
+    /**
+     * Default constructor.
+     */
+    public TableRowContent() {
+    }
+
+    @Override
+    public BlockType getType() {
+        return BlockType.TABLE_ROW;
+    }
+
+    public List<List<RichText>> getCells() {
+        return cells;
+    }
+
+    public void setCells(List<List<RichText>> cells) {
+        this.cells = cells;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TableRowContent that = (TableRowContent) o;
+        return Objects.equals(cells, that.cells);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(cells);
+    }
+
+    @Override
+    public String toString() {
+        return "TableRowContent{" +
+                "cells=" + cells +
+                '}';
+    }
+}
@@ -0,0 +1,63 @@
+package dev.danvega.notion.model.block.content;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import dev.danvega.notion.model.block.BlockType;
+import dev.danvega.notion.model.common.RichText;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Content for a template block.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TemplateContent extends BlockContent {
+
+    /**
+     * Rich text elements, the title of the template button.
+     */
+    @JsonProperty("rich_text")
+    private List<RichText> richText;
+
+    /**
+     * Default constructor.
+     */
+    public TemplateContent() {
+    }
+
+    @Override
+    public BlockType getType() {
+        return BlockType.TEMPLATE;
+    }
+
+    public List<RichText> getRichText() {
+        return richText;
+    }
+
+    public void setRichText(List<RichText> richText) {
+        this.richText = richText;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TemplateContent that = (TemplateContent) o;
+        return Objects.equals(richText, that.richText);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(richText);
+    }
+
+    @Override
+    public String toString() {
+        return "TemplateContent{" +
+                "richText=" + richText +
+                '}';
+    }
+}
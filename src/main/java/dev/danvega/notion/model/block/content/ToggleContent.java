@@ -0,0 +1,101 @@
+package dev.danvega.notion.model.block.content;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import dev.danvega.notion.model.block.BlockType;
+import dev.danvega.notion.model.common.InternedStringDeserializer;
+import dev.danvega.notion.model.common.RichText;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Content for a toggle block.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ToggleContent extends BlockContent {
+
+    /**
+     * Rich text elements.
+     */
+    @JsonProperty("rich_text")
+    private List<RichText> richText;
+
+    /**
+     * Color of the toggle.
+     */
+    @JsonDeserialize(using = InternedStringDeserializer.class)
+    private String color;
+
+    /**
+     * Default constructor.
+     */
+    public ToggleContent() {
+    }
+
+    /**
+     * Constructor with rich text.
+     *
+     * @param richText the rich text elements
+     */
+    public ToggleContent(List<RichText> richText) {
+        this.richText = richText;
+    }
+
+    /**
+     * Factory method to create toggle content from plain text.
+     *
+     * @param text the plain text
+     * @return the toggle content
+     */
+    public static ToggleContent of(String text) {
+        List<RichText> richText = RichText.listOf(text);
+        return new ToggleContent(richText);
+    }
+
+    @Override
+    public BlockType getType() {
+        return BlockType.TOGGLE;
+    }
+
+    public List<RichText> getRichText() {
+        return richText;
+    }
+
+    public void setRichText(List<RichText> richText) {
+        this.richText = richText;
+    }
+
+    public String getColor() {
+        return color;
+    }
+
+    public void setColor(String color) {
+        this.color = color;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ToggleContent that = (ToggleContent) o;
+        return Objects.equals(richText, that.richText) &&
+                Objects.equals(color, that.color);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(richText, color);
+    }
+
+    @Override
+    public String toString() {
+        return "ToggleContent{" +
+                "richText=" + richText +
+                ", color='" + color + '\'' +
+                '}';
+    }
+}
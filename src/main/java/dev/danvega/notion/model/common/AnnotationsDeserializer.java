@@ -0,0 +1,56 @@
+package dev.danvega.notion.model.common;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+
+/**
+ * Streaming deserializer for {@link RichText.Annotations} that reads the styles
+ * into locals and returns the shared instance from
+ * {@link RichText.Annotations#of}, so decoding a text run allocates no
+ * annotations object.
+ */
+public class AnnotationsDeserializer extends StdDeserializer<RichText.Annotations> {
+
+    public AnnotationsDeserializer() {
+        super(RichText.Annotations.class);
+    }
+
+    @Override
+    public RichText.Annotations deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            token = p.nextToken();
+        } else if (token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT) {
+            return (RichText.Annotations) ctxt.handleUnexpectedToken(RichText.Annotations.class, p);
+        }
+
+        Boolean bold = null;
+        Boolean italic = null;
+        Boolean strikethrough = null;
+        Boolean underline = null;
+        Boolean code = null;
+        String color = null;
+        for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+            String name = p.currentName();
+            p.nextToken();
+            switch (name) {
+                case "bold" -> bold = readBoolean(p);
+                case "italic" -> italic = readBoolean(p);
+                case "strikethrough" -> strikethrough = readBoolean(p);
+                case "underline" -> underline = readBoolean(p);
+                case "code" -> code = readBoolean(p);
+                case "color" -> color = StringInterner.intern(p);
+                default -> p.skipChildren();
+            }
+        }
+        return RichText.Annotations.of(bold, italic, strikethrough, underline, code, color);
+    }
+
+    private static Boolean readBoolean(JsonParser p) throws IOException {
+        return p.currentToken() == JsonToken.VALUE_NULL ? null : p.getValueAsBoolean();
+    }
+}
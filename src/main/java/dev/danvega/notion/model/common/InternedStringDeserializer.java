@@ -0,0 +1,23 @@
+package dev.danvega.notion.model.common;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+
+import java.io.IOException;
+
+/**
+ * Deserializes a low-cardinality string, such as a {@code type} or {@code color},
+ * to its canonical instance from {@link StringInterner}.
+ */
+public class InternedStringDeserializer extends StdScalarDeserializer<String> {
+
+    public InternedStringDeserializer() {
+        super(String.class);
+    }
+
+    @Override
+    public String deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        return StringInterner.intern(p);
+    }
+}
@@ -0,0 +1,400 @@
+package dev.danvega.notion.model.common;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Page or database properties that are decoded only when read.
+ * <p>
+ * Each property is kept as an undecoded {@link TokenBuffer} until it is first
+ * accessed. {@link #get(Object)} then decodes it into the same maps and lists
+ * an eager {@code Map<String, Object>} would hold, and keeps the result. The
+ * typed accessors, such as {@link #getText(String)}, stream the value out of the
+ * buffer without building those maps at all. Undecoded properties are written
+ * back verbatim when serialized.
+ * <p>
+ * Decoding is safe from several threads; modifying the map is not.
+ */
+@JsonSerialize(using = LazyPropertiesSerializer.class)
+public class LazyProperties extends AbstractMap<String, Object> {
+
+    private static final ObjectMapper DEFAULT_CODEC = new ObjectMapper();
+
+    private final LinkedHashMap<String, Slot> slots = new LinkedHashMap<>();
+    private final ObjectCodec codec;
+
+    /**
+     * Constructs an empty LazyProperties.
+     *
+     * @param codec the codec used to decode properties, or null for a default one
+     */
+    public LazyProperties(ObjectCodec codec) {
+        this.codec = codec != null ? codec : DEFAULT_CODEC;
+    }
+
+    /**
+     * Views any properties map as LazyProperties, for its typed accessors.
+     *
+     * @param properties the properties, may be null
+     * @return the same instance if it already is LazyProperties, otherwise a copy
+     */
+    public static LazyProperties of(Map<String, Object> properties) {
+        if (properties instanceof LazyProperties lazy) {
+            return lazy;
+        }
+        LazyProperties lazy = new LazyProperties(null);
+        if (properties != null) {
+            lazy.putAll(properties);
+        }
+        return lazy;
+    }
+
+    /**
+     * Adds a property in undecoded form.
+     *
+     * @param name the property name
+     * @param raw the property value as buffered tokens
+     */
+    public void putRaw(String name, TokenBuffer raw) {
+        slots.put(name, new Slot(raw, null));
+    }
+
+    /**
+     * Checks whether a property has been decoded into maps and lists.
+     *
+     * @param name the property name
+     * @return true if the property exists and has been decoded
+     */
+    public boolean isDecoded(String name) {
+        Slot slot = slots.get(name);
+        return slot != null && slot.raw == null;
+    }
+
+    /**
+     * Gets the ID of a property.
+     *
+     * @param name the property name
+     * @return the property ID, or null if absent
+     */
+    public String getPropertyId(String name) {
+        return readField(name, "id");
+    }
+
+    /**
+     * Gets the type of a property, e.g. {@code title} or {@code select}.
+     *
+     * @param name the property name
+     * @return the property type, or null if absent
+     */
+    public String getPropertyType(String name) {
+        return readField(name, "type");
+    }
+
+    /**
+     * Gets a property as text: the plain text of title and rich text
+     * properties, the option name of select and status properties, or the value
+     * of url, email, phone number and number properties.
+     *
+     * @param name the property name
+     * @return the text, or null if absent, empty or of another type
+     */
+    public String getText(String name) {
+        return readValue(name, (type, p) -> switch (type) {
+            case "title", "rich_text" -> readPlainText(p);
+            case "select", "status" -> readObjectField(p, "name");
+            case "url", "email", "phone_number", "number" -> p.currentToken() == JsonToken.VALUE_NULL ? null : p.getText();
+            default -> null;
+        });
+    }
+
+    /**
+     * Gets the value of a number property.
+     *
+     * @param name the property name
+     * @return the number, or null if absent, empty or of another type
+     */
+    public Number getNumber(String name) {
+        return readValue(name, (type, p) -> type.equals("number") && p.currentToken().isNumeric()
+                ? p.getNumberValue() : null);
+    }
+
+    /**
+     * Gets the value of a checkbox property.
+     *
+     * @param name the property name
+     * @return the checkbox value, or null if absent or of another type
+     */
+    public Boolean getCheckbox(String name) {
+        return readValue(name, (type, p) -> type.equals("checkbox") && p.currentToken().isBoolean()
+                ? p.getBooleanValue() : null);
+    }
+
+    /**
+     * Gets the start of a date property as the ISO-8601 string sent by the API.
+     *
+     * @param name the property name
+     * @return the start date, or null if absent, empty or of another type
+     */
+    public String getDateStart(String name) {
+        return readValue(name, (type, p) -> type.equals("date") ? readObjectField(p, "start") : null);
+    }
+
+    /**
+     * Gets the option names of a multi-select property.
+     *
+     * @param name the property name
+     * @return the option names, or null if absent or of another type
+     */
+    public List<String> getMultiSelect(String name) {
+        return readValue(name, (type, p) -> {
+            if (!type.equals("multi_select") || p.currentToken() != JsonToken.START_ARRAY) {
+                return null;
+            }
+            List<String> names = new ArrayList<>();
+            while (p.nextToken() == JsonToken.START_OBJECT) {
+                String option = readObjectField(p, "name");
+                if (option != null) {
+                    names.add(option);
+                }
+            }
+            return names;
+        });
+    }
+
+    /**
+     * Decodes a whole property into a type of the caller's choice.
+     *
+     * @param name the property name
+     * @param type the target type
+     * @param <T> the target type
+     * @return the decoded property, or null if absent
+     */
+    public <T> T get(String name, Class<T> type) {
+        Slot slot = slots.get(name);
+        if (slot == null) {
+            return null;
+        }
+        try (JsonParser p = slot.parser(codec)) {
+            p.nextToken();
+            return codec.readValue(p, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode property " + name, e);
+        }
+    }
+
+    @Override
+    public Object get(Object key) {
+        Slot slot = slots.get(key);
+        return slot != null ? slot.value(codec, (String) key) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return slots.containsKey(key);
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        Slot previous = slots.put(key, new Slot(null, value));
+        return previous != null ? previous.value(codec, key) : null;
+    }
+
+    @Override
+    public Object remove(Object key) {
+        Slot previous = slots.remove(key);
+        return previous != null ? previous.value(codec, (String) key) : null;
+    }
+
+    @Override
+    public int size() {
+        return slots.size();
+    }
+
+    @Override
+    public void clear() {
+        slots.clear();
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return slots.keySet();
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                Iterator<Entry<String, Slot>> iterator = slots.entrySet().iterator();
+                return new Iterator<>() {
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public Entry<String, Object> next() {
+                        Entry<String, Slot> entry = iterator.next();
+                        return new SimpleImmutableEntry<>(entry.getKey(), entry.getValue().value(codec, entry.getKey()));
+                    }
+
+                    @Override
+                    public void remove() {
+                        iterator.remove();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return slots.size();
+            }
+        };
+    }
+
+    /**
+     * Gets the undecoded tokens of a property, for the serializer.
+     *
+     * @return the raw property, or null if it is absent or decoded
+     */
+    TokenBuffer getRaw(String name) {
+        Slot slot = slots.get(name);
+        return slot != null ? slot.raw : null;
+    }
+
+    private String readField(String name, String field) {
+        Slot slot = slots.get(name);
+        if (slot == null) {
+            return null;
+        }
+        try (JsonParser p = slot.parser(codec)) {
+            p.nextToken();
+            return p.currentToken() == JsonToken.START_OBJECT ? readObjectField(p, field) : null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read property " + name, e);
+        }
+    }
+
+    private <T> T readValue(String name, ValueReader<T> reader) {
+        Slot slot = slots.get(name);
+        if (slot == null) {
+            return null;
+        }
+        try (JsonParser p = slot.parser(codec)) {
+            if (p.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            String type = null;
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                p.nextToken();
+                if (field.equals("type")) {
+                    type = p.getText();
+                } else if (type != null && field.equals(type)) {
+                    return reader.read(type, p);
+                } else {
+                    p.skipChildren();
+                }
+            }
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read property " + name, e);
+        }
+    }
+
+    /**
+     * Reads one scalar field of the object the parser is positioned on,
+     * leaving the parser at the end of the object.
+     */
+    private static String readObjectField(JsonParser p, String field) throws IOException {
+        if (p.currentToken() != JsonToken.START_OBJECT) {
+            p.skipChildren();
+            return null;
+        }
+        String value = null;
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String name = p.currentName();
+            JsonToken token = p.nextToken();
+            if (name.equals(field) && token.isScalarValue() && token != JsonToken.VALUE_NULL) {
+                value = p.getText();
+            } else {
+                p.skipChildren();
+            }
+        }
+        return value;
+    }
+
+    private static String readPlainText(JsonParser p) throws IOException {
+        if (p.currentToken() != JsonToken.START_ARRAY) {
+            p.skipChildren();
+            return null;
+        }
+        StringBuilder text = new StringBuilder();
+        while (p.nextToken() == JsonToken.START_OBJECT) {
+            String run = readObjectField(p, "plain_text");
+            if (run != null) {
+                text.append(run);
+            }
+        }
+        return text.toString();
+    }
+
+    @FunctionalInterface
+    private interface ValueReader<T> {
+        T read(String type, JsonParser p) throws IOException;
+    }
+
+    /**
+     * A property, either still undecoded or decoded.
+     */
+    private static final class Slot {
+        private volatile TokenBuffer raw;
+        private volatile Object value;
+
+        private Slot(TokenBuffer raw, Object value) {
+            this.raw = raw;
+            this.value = value;
+        }
+
+        private Object value(ObjectCodec codec, String name) {
+            TokenBuffer buffer = raw;
+            if (buffer == null) {
+                return value;
+            }
+            try (JsonParser p = buffer.asParser(codec)) {
+                p.nextToken();
+                Object decoded = codec.readValue(p, Object.class);
+                value = decoded;
+                raw = null;
+                return decoded;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to decode property " + name, e);
+            }
+        }
+
+        private JsonParser parser(ObjectCodec codec) throws IOException {
+            TokenBuffer buffer = raw;
+            if (buffer != null) {
+                return buffer.asParser(codec);
+            }
+            TokenBuffer copy = new TokenBuffer(codec, false);
+            codec.writeValue(copy, value);
+            return copy.asParser(codec);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package dev.danvega.notion.model.common;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Deserializer for page and database properties that buffers each property's
+ * tokens into a {@link LazyProperties} instead of decoding them into maps.
+ */
+public class LazyPropertiesDeserializer extends StdDeserializer<Map<String, Object>> {
+
+    public LazyPropertiesDeserializer() {
+        super(Map.class);
+    }
+
+    @Override
+    public Map<String, Object> deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            token = p.nextToken();
+        } else if (token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT) {
+            return (LazyProperties) ctxt.handleUnexpectedToken(Map.class, p);
+        }
+
+        LazyProperties properties = new LazyProperties(p.getCodec());
+        for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+            String name = p.currentName();
+            p.nextToken();
+            properties.putRaw(name, ctxt.bufferAsCopyOfValue(p));
+        }
+        return properties;
+    }
+}
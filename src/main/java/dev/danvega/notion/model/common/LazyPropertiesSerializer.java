@@ -0,0 +1,40 @@
+package dev.danvega.notion.model.common;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Serializer for {@link LazyProperties} that replays undecoded properties
+ * verbatim and serializes decoded or replaced ones as usual.
+ */
+public class LazyPropertiesSerializer extends StdSerializer<LazyProperties> {
+
+    public LazyPropertiesSerializer() {
+        super(LazyProperties.class);
+    }
+
+    @Override
+    public boolean isEmpty(SerializerProvider provider, LazyProperties value) {
+        return value.isEmpty();
+    }
+
+    @Override
+    public void serialize(LazyProperties properties, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(properties);
+        for (String name : properties.keySet()) {
+            TokenBuffer raw = properties.getRaw(name);
+            if (raw != null) {
+                gen.writeFieldName(name);
+                raw.serialize(gen);
+            } else {
+                provider.defaultSerializeField(name, properties.get(name), gen);
+            }
+        }
+        gen.writeEndObject();
+    }
+}
@@ -0,0 +1,213 @@
+package dev.danvega.notion.model.common;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.UUID;
+
+/**
+ * Compact representation of a Notion ID, held as two {@code long}s instead of
+ * a 36 character string.
+ * <p>
+ * The model keeps IDs as strings; this type is meant for caches and tree
+ * structures that hold many IDs. Both the dashed and the undashed forms parse
+ * to the same value, equality and hashing do not allocate, and the string
+ * form is only built when {@link #toString()} is first called.
+ */
+public final class NotionId implements Comparable<NotionId> {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final long mostSignificantBits;
+    private final long leastSignificantBits;
+
+    /**
+     * Dashed string form, created on first use.
+     */
+    private String string;
+
+    private NotionId(long mostSignificantBits, long leastSignificantBits) {
+        this.mostSignificantBits = mostSignificantBits;
+        this.leastSignificantBits = leastSignificantBits;
+    }
+
+    /**
+     * Creates an ID from its two halves.
+     *
+     * @param mostSignificantBits the first 64 bits
+     * @param leastSignificantBits the last 64 bits
+     * @return the ID
+     */
+    public static NotionId of(long mostSignificantBits, long leastSignificantBits) {
+        return new NotionId(mostSignificantBits, leastSignificantBits);
+    }
+
+    /**
+     * Creates an ID from a UUID.
+     *
+     * @param uuid the UUID
+     * @return the ID
+     */
+    public static NotionId of(UUID uuid) {
+        return new NotionId(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+
+    /**
+     * Parses an ID in dashed ({@code 8-4-4-4-12}) or undashed (32 hex digits) form.
+     *
+     * @param text the ID
+     * @return the ID
+     * @throws IllegalArgumentException if the text is not a Notion ID
+     */
+    public static NotionId parse(CharSequence text) {
+        NotionId id = tryParse(text);
+        if (id == null) {
+            throw new IllegalArgumentException("Not a Notion ID: " + text);
+        }
+        return id;
+    }
+
+    /**
+     * Parses an ID in dashed or undashed form.
+     *
+     * @param text the ID
+     * @return the ID, or null if the text is null or not a Notion ID
+     */
+    public static NotionId tryParse(CharSequence text) {
+        if (text == null) {
+            return null;
+        }
+        int length = text.length();
+        boolean dashed = length == 36;
+        if (!dashed && length != 32) {
+            return null;
+        }
+        long msb = 0;
+        long lsb = 0;
+        int digits = 0;
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (dashed && (i == 8 || i == 13 || i == 18 || i == 23)) {
+                if (c != '-') {
+                    return null;
+                }
+                continue;
+            }
+            int value = hexValue(c);
+            if (value < 0) {
+                return null;
+            }
+            if (digits < 16) {
+                msb = (msb << 4) | value;
+            } else {
+                lsb = (lsb << 4) | value;
+            }
+            digits++;
+        }
+        return new NotionId(msb, lsb);
+    }
+
+    @JsonCreator
+    private static NotionId fromJson(String text) {
+        return parse(text);
+    }
+
+    public long getMostSignificantBits() {
+        return mostSignificantBits;
+    }
+
+    public long getLeastSignificantBits() {
+        return leastSignificantBits;
+    }
+
+    /**
+     * Converts this ID to a UUID.
+     *
+     * @return the UUID
+     */
+    public UUID toUuid() {
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+
+    /**
+     * Gets the 32 digit form without dashes, as used in Notion URLs.
+     *
+     * @return the undashed ID
+     */
+    public String toUndashedString() {
+        char[] chars = new char[32];
+        writeHex(chars, 0, mostSignificantBits >>> 32, 8);
+        writeHex(chars, 8, mostSignificantBits, 8);
+        writeHex(chars, 16, leastSignificantBits >>> 32, 8);
+        writeHex(chars, 24, leastSignificantBits, 8);
+        return new String(chars);
+    }
+
+    /**
+     * Gets the dashed form returned by the API. The string is created on first
+     * call and reused afterwards.
+     *
+     * @return the dashed ID
+     */
+    @JsonValue
+    @Override
+    public String toString() {
+        String result = string;
+        if (result == null) {
+            char[] chars = new char[36];
+            writeHex(chars, 0, mostSignificantBits >>> 32, 8);
+            chars[8] = '-';
+            writeHex(chars, 9, mostSignificantBits >>> 16, 4);
+            chars[13] = '-';
+            writeHex(chars, 14, mostSignificantBits, 4);
+            chars[18] = '-';
+            writeHex(chars, 19, leastSignificantBits >>> 48, 4);
+            chars[23] = '-';
+            writeHex(chars, 24, leastSignificantBits, 12);
+            result = new String(chars);
+            string = result;
+        }
+        return result;
+    }
+
+    @Override
+    public int compareTo(NotionId other) {
+        int result = Long.compareUnsigned(mostSignificantBits, other.mostSignificantBits);
+        return result != 0 ? result : Long.compareUnsigned(leastSignificantBits, other.leastSignificantBits);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        NotionId that = (NotionId) o;
+        return mostSignificantBits == that.mostSignificantBits &&
+               leastSignificantBits == that.leastSignificantBits;
+    }
+
+    @Override
+    public int hashCode() {
+        long hash = mostSignificantBits ^ leastSignificantBits;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    private static int hexValue(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        }
+        if (c >= 'A' && c <= 'F') {
+            return c - 'A' + 10;
+        }
+        return -1;
+    }
+
+    private static void writeHex(char[] chars, int offset, long value, int digits) {
+        for (int i = offset + digits - 1; i >= offset; i--) {
+            chars[i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+}
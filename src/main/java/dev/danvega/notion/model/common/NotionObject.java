@@ -1,7 +1,9 @@
 package dev.danvega.notion.model.common;
 
+import com.fasterxml.jackson.annotation.JsonAlias;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 
 import java.time.ZonedDateTime;
 import java.util.Objects;
@@ -21,16 +23,21 @@ public abstract class NotionObject {
      * The type of the object.
      */
     @JsonProperty("object")
+    @JsonDeserialize(using = InternedStringDeserializer.class)
     private String objectType;
 
     /**
      * The time when the object was created.
      */
+    @JsonProperty("created_time")
+    @JsonAlias("createdTime")
     private ZonedDateTime createdTime;
 
     /**
      * The time when the object was last updated.
      */
+    @JsonProperty("last_edited_time")
+    @JsonAlias("lastEditedTime")
     private ZonedDateTime lastEditedTime;
 
     /**
@@ -2,6 +2,7 @@ package dev.danvega.notion.model.common;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 
 import java.util.Objects;
 
@@ -14,6 +15,7 @@ public class Parent {
     /**
      * The type of the parent.
      */
+    @JsonDeserialize(using = InternedStringDeserializer.class)
     private String type;
 
     /**
@@ -1,10 +1,13 @@
 package dev.danvega.notion.model.common;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * Represents rich text content in Notion.
@@ -15,6 +18,7 @@ public class RichText {
     /**
      * The type of the rich text.
      */
+    @JsonDeserialize(using = InternedStringDeserializer.class)
     private String type;
 
     /**
@@ -30,6 +34,7 @@ public class RichText {
     /**
      * The plain text content.
      */
+    @JsonProperty("plain_text")
     private String plainText;
 
     /**
@@ -331,47 +336,63 @@ public class RichText {
 
     /**
      * Represents text annotations.
+     * <p>
+     * Annotations are immutable and shared: {@link #of}, the builder and
+     * deserialization return one canonical instance per combination of styles
+     * and standard color, so a document with thousands of text runs holds only
+     * a handful of them.
      */
     @JsonIgnoreProperties(ignoreUnknown = true)
-    public static class Annotations {
+    @JsonDeserialize(using = AnnotationsDeserializer.class)
+    public static final class Annotations {
+
+        /**
+         * Standard colors, in the order used to index the canonical instances.
+         */
+        private static final String[] COLORS = StringInterner.COLORS;
+
+        /**
+         * Canonical instances, indexed by the five flags (null, false or true
+         * each) and the color (standard colors plus null).
+         */
+        private static final AtomicReferenceArray<Annotations> CANONICAL =
+                new AtomicReferenceArray<>(243 * (COLORS.length + 1));
+
+        private static final Annotations DEFAULT = of(false, false, false, false, false, "default");
+
         /**
          * Whether the text is bold.
          */
-        private Boolean bold;
+        private final Boolean bold;
 
         /**
          * Whether the text is italic.
          */
-        private Boolean italic;
+        private final Boolean italic;
 
         /**
          * Whether the text is strikethrough.
          */
-        private Boolean strikethrough;
+        private final Boolean strikethrough;
 
         /**
          * Whether the text is underlined.
          */
-        private Boolean underline;
+        private final Boolean underline;
 
         /**
          * Whether the text is code.
          */
-        private Boolean code;
+        private final Boolean code;
 
         /**
          * The color of the text.
          */
-        private String color;
+        private final String color;
 
         /**
-         * Default constructor.
-         */
-        public Annotations() {
-        }
-
-        /**
-         * Constructor with all fields.
+         * Constructor with all fields. Prefer {@link #of}, which returns a
+         * shared instance.
          *
          * @param bold whether text is bold
          * @param italic whether text is italic
@@ -390,70 +411,86 @@ public class RichText {
             this.color = color;
         }
 
+        /**
+         * Gets the shared annotations for the given styles. Combinations with a
+         * non-standard color get a new instance.
+         *
+         * @param bold whether text is bold
+         * @param italic whether text is italic
+         * @param strikethrough whether text has strikethrough
+         * @param underline whether text is underlined
+         * @param code whether text is code
+         * @param color text color
+         * @return the annotations
+         */
+        public static Annotations of(Boolean bold, Boolean italic, Boolean strikethrough,
+                                     Boolean underline, Boolean code, String color) {
+            int colorIndex = colorIndex(color);
+            if (colorIndex < 0) {
+                return new Annotations(bold, italic, strikethrough, underline, code, color);
+            }
+            int index = ((((flag(bold) * 3 + flag(italic)) * 3 + flag(strikethrough)) * 3
+                    + flag(underline)) * 3 + flag(code)) * (COLORS.length + 1) + colorIndex;
+            Annotations annotations = CANONICAL.get(index);
+            if (annotations == null) {
+                annotations = new Annotations(bold, italic, strikethrough, underline, code,
+                        colorIndex < COLORS.length ? COLORS[colorIndex] : null);
+                if (!CANONICAL.compareAndSet(index, null, annotations)) {
+                    annotations = CANONICAL.get(index);
+                }
+            }
+            return annotations;
+        }
+
         /**
          * Gets default annotations.
          *
          * @return default annotations
          */
         public static Annotations getDefault() {
-            return new AnnotationsBuilder()
-                    .bold(false)
-                    .italic(false)
-                    .strikethrough(false)
-                    .underline(false)
-                    .code(false)
-                    .color("default")
-                    .build();
+            return DEFAULT;
         }
 
-        public Boolean getBold() {
-            return bold;
+        private static int flag(Boolean value) {
+            return value == null ? 0 : value ? 2 : 1;
         }
 
-        public void setBold(Boolean bold) {
-            this.bold = bold;
+        private static int colorIndex(String color) {
+            if (color == null) {
+                return COLORS.length;
+            }
+            for (int i = 0; i < COLORS.length; i++) {
+                if (COLORS[i].equals(color)) {
+                    return i;
+                }
+            }
+            return -1;
         }
 
-        public Boolean getItalic() {
-            return italic;
+        public Boolean getBold() {
+            return bold;
         }
 
-        public void setItalic(Boolean italic) {
-            this.italic = italic;
+        public Boolean getItalic() {
+            return italic;
         }
 
         public Boolean getStrikethrough() {
             return strikethrough;
         }
 
-        public void setStrikethrough(Boolean strikethrough) {
-            this.strikethrough = strikethrough;
-        }
-
         public Boolean getUnderline() {
             return underline;
         }
 
-        public void setUnderline(Boolean underline) {
-            this.underline = underline;
-        }
-
         public Boolean getCode() {
             return code;
         }
 
-        public void setCode(Boolean code) {
-            this.code = code;
-        }
-
         public String getColor() {
             return color;
         }
 
-        public void setColor(String color) {
-            this.color = color;
-        }
-
         @Override
         public boolean equals(Object o) {
             if (this == o) return true;
@@ -526,8 +563,8 @@ public class RichText {
             }
 
             public Annotations build() {
-                return new Annotations(bold, italic, strikethrough, underline, code, color);
+                return Annotations.of(bold, italic, strikethrough, underline, code, color);
             }
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,148 @@
+package dev.danvega.notion.model.common;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import dev.danvega.notion.model.block.BlockType;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Canonical instances for the low-cardinality strings the API repeats in every
+ * object, such as {@code object}, {@code type} and {@code color} values.
+ * <p>
+ * Well-known values are matched straight from the parser's character buffer,
+ * so decoding them allocates nothing. Other values are interned in a bounded
+ * map, so at most {@value #MAX_DYNAMIC} of them are retained.
+ */
+public final class StringInterner {
+
+    static final int MAX_DYNAMIC = 1024;
+
+    /**
+     * Standard Notion colors. {@link RichText.Annotations} indexes its canonical
+     * instances by position in this array.
+     */
+    static final String[] COLORS = {
+            "default", "gray", "brown", "orange", "yellow", "green", "blue", "purple", "pink", "red",
+            "gray_background", "brown_background", "orange_background", "yellow_background", "green_background",
+            "blue_background", "purple_background", "pink_background", "red_background"
+    };
+
+    private static final String[] OTHER = {
+            // object
+            "block", "page", "database", "list", "user", "comment", "property_item", "page_or_database",
+            // rich text, parent, file and icon types
+            "text", "mention", "equation", "database_id", "page_id", "block_id", "workspace",
+            "external", "file", "emoji"
+    };
+
+    private static final String[] TABLE;
+    private static final int MASK;
+    private static final Map<String, String> DYNAMIC = new ConcurrentHashMap<>();
+
+    static {
+        List<String> known = new ArrayList<>(List.of(COLORS));
+        known.addAll(List.of(OTHER));
+        for (BlockType blockType : BlockType.values()) {
+            known.add(blockType.getValue());
+        }
+        int size = Integer.highestOneBit(known.size() * 4);
+        TABLE = new String[size];
+        MASK = size - 1;
+        for (String value : known) {
+            int slot = hash(value) & MASK;
+            while (TABLE[slot] != null && !TABLE[slot].equals(value)) {
+                slot = (slot + 1) & MASK;
+            }
+            TABLE[slot] = value;
+        }
+    }
+
+    private StringInterner() {
+        // Utility class, no public constructor
+    }
+
+    /**
+     * Reads the current string value of the parser as a canonical instance.
+     *
+     * @param p the parser, positioned on a value
+     * @return the canonical string, or null for a JSON null
+     * @throws IOException if the value cannot be read
+     */
+    public static String intern(JsonParser p) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_STRING) {
+            char[] chars = p.getTextCharacters();
+            int offset = p.getTextOffset();
+            int length = p.getTextLength();
+            String known = lookup(chars, offset, length);
+            return known != null ? known : internDynamic(new String(chars, offset, length));
+        }
+        return token == JsonToken.VALUE_NULL ? null : intern(p.getValueAsString());
+    }
+
+    /**
+     * Returns the canonical instance of a string.
+     *
+     * @param value the string
+     * @return the canonical string, or null if the value is null
+     */
+    public static String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        for (int slot = hash(value) & MASK; TABLE[slot] != null; slot = (slot + 1) & MASK) {
+            if (TABLE[slot].equals(value)) {
+                return TABLE[slot];
+            }
+        }
+        return internDynamic(value);
+    }
+
+    private static String lookup(char[] chars, int offset, int length) {
+        int hash = 0;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + chars[offset + i];
+        }
+        for (int slot = spread(hash) & MASK; TABLE[slot] != null; slot = (slot + 1) & MASK) {
+            String candidate = TABLE[slot];
+            if (candidate.length() == length && matches(candidate, chars, offset)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private static boolean matches(String candidate, char[] chars, int offset) {
+        for (int i = 0; i < candidate.length(); i++) {
+            if (candidate.charAt(i) != chars[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String internDynamic(String value) {
+        String existing = DYNAMIC.get(value);
+        if (existing != null) {
+            return existing;
+        }
+        if (DYNAMIC.size() >= MAX_DYNAMIC) {
+            return value;
+        }
+        existing = DYNAMIC.putIfAbsent(value, value);
+        return existing != null ? existing : value;
+    }
+
+    private static int hash(String value) {
+        return spread(value.hashCode());
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
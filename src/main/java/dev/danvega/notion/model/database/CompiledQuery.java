@@ -0,0 +1,92 @@
+package dev.danvega.notion.model.database;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * A database query that has been validated against a schema and serialized
+ * once. Sending it again only appends the pagination cursor to the stored
+ * request body.
+ * <p>
+ * Instances are immutable and are created by {@link DatabaseQuery#compile}.
+ */
+public final class CompiledQuery {
+
+    private static final byte[] START_CURSOR = "\"start_cursor\":".getBytes(StandardCharsets.UTF_8);
+
+    private final DatabaseSchema schema;
+    private final byte[] body;
+    private final List<String> filterProperties;
+
+    CompiledQuery(DatabaseSchema schema, byte[] body, List<String> filterProperties) {
+        this.schema = schema;
+        this.body = body;
+        this.filterProperties = List.copyOf(filterProperties);
+    }
+
+    /**
+     * Gets the schema the query was validated against.
+     *
+     * @return the schema
+     */
+    public DatabaseSchema getSchema() {
+        return schema;
+    }
+
+    /**
+     * Gets the IDs of the properties to return, for the {@code filter_properties}
+     * query parameter.
+     *
+     * @return the property IDs, empty to return all properties
+     */
+    public List<String> getFilterProperties() {
+        return filterProperties;
+    }
+
+    /**
+     * Gets the JSON request body for the first page of results.
+     *
+     * @return the body; callers must not modify it
+     */
+    public byte[] body() {
+        return body;
+    }
+
+    /**
+     * Gets the JSON request body for the page of results at a cursor.
+     *
+     * @param startCursor the pagination cursor, or null for the first page
+     * @return the body; callers must not modify it
+     */
+    public byte[] body(String startCursor) {
+        if (startCursor == null) {
+            return body;
+        }
+        byte[] cursor = JsonStringEncoder.getInstance().quoteAsUTF8(startCursor);
+        boolean empty = body.length == 2;
+        byte[] result = new byte[body.length + (empty ? 0 : 1) + START_CURSOR.length + cursor.length + 2];
+        int position = body.length - 1;
+        System.arraycopy(body, 0, result, 0, position);
+        if (!empty) {
+            result[position++] = ',';
+        }
+        System.arraycopy(START_CURSOR, 0, result, position, START_CURSOR.length);
+        position += START_CURSOR.length;
+        result[position++] = '"';
+        System.arraycopy(cursor, 0, result, position, cursor.length);
+        position += cursor.length;
+        result[position++] = '"';
+        result[position] = '}';
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "CompiledQuery{" +
+               "body=" + new String(body, StandardCharsets.UTF_8) +
+               ", filterProperties=" + filterProperties +
+               '}';
+    }
+}
@@ -1,9 +1,13 @@
 package dev.danvega.notion.model.database;
 
+import dev.danvega.notion.model.common.LazyProperties;
+import dev.danvega.notion.model.common.LazyPropertiesDeserializer;
 import dev.danvega.notion.model.common.NotionObject;
 import dev.danvega.notion.model.common.Parent;
 import dev.danvega.notion.model.common.RichText;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 
 import java.util.List;
 import java.util.Map;
@@ -23,6 +27,7 @@ public class Database extends NotionObject {
     /**
      * The properties (columns) of the database.
      */
+    @JsonDeserialize(using = LazyPropertiesDeserializer.class)
     private Map<String, Object> properties;
 
     /**
@@ -72,6 +77,17 @@ public class Database extends NotionObject {
         this.properties = properties;
     }
 
+    /**
+     * Gets the properties with typed accessors that read a property without
+     * decoding the others.
+     *
+     * @return the properties, never null
+     */
+    @JsonIgnore
+    public LazyProperties getLazyProperties() {
+        return LazyProperties.of(properties);
+    }
+
     public Parent getParent() {
         return parent;
     }
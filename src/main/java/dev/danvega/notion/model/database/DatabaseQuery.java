@@ -1,17 +1,30 @@
 package dev.danvega.notion.model.database;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
 /**
  * Represents a query for a Notion database.
+ * <p>
+ * Filters and sorts can be given as raw maps, or as typed {@link Filter} and
+ * {@link Sort} instances. A query with typed parts is validated against the
+ * database schema and serialized once by {@link #compile(DatabaseSchema)}.
  */
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class DatabaseQuery {
 
+    private static final ObjectMapper COMPILER = new ObjectMapper();
+
     /**
      * Filter conditions.
      */
@@ -25,12 +38,39 @@ public class DatabaseQuery {
     /**
      * The pagination cursor.
      */
+    @JsonProperty("start_cursor")
     private String startCursor;
 
     /**
      * The number of results per page.
      */
+    @JsonProperty("page_size")
     private Integer pageSize;
+
+    /**
+     * The properties to return, by name or ID. Sent as the
+     * {@code filter_properties} query parameter rather than in the body.
+     */
+    @JsonIgnore
+    private List<String> filterProperties;
+
+    /**
+     * Typed filter, used instead of the raw filter map.
+     */
+    @JsonIgnore
+    private Filter typedFilter;
+
+    /**
+     * Typed sorts, used instead of the raw sort maps.
+     */
+    @JsonIgnore
+    private List<Sort> typedSorts;
+
+    /**
+     * The last compiled form, reused while the schema is unchanged.
+     */
+    @JsonIgnore
+    private volatile CompiledQuery compiled;
     
     /**
      * Default constructor.
@@ -60,6 +100,7 @@ public class DatabaseQuery {
 
     public void setFilter(Map<String, Object> filter) {
         this.filter = filter;
+        this.compiled = null;
     }
 
     public List<Map<String, Object>> getSorts() {
@@ -68,6 +109,7 @@ public class DatabaseQuery {
 
     public void setSorts(List<Map<String, Object>> sorts) {
         this.sorts = sorts;
+        this.compiled = null;
     }
 
     public String getStartCursor() {
@@ -84,6 +126,101 @@ public class DatabaseQuery {
 
     public void setPageSize(Integer pageSize) {
         this.pageSize = pageSize;
+        this.compiled = null;
+    }
+
+    public Filter getTypedFilter() {
+        return typedFilter;
+    }
+
+    public void setTypedFilter(Filter typedFilter) {
+        this.typedFilter = typedFilter;
+        this.compiled = null;
+    }
+
+    public List<Sort> getTypedSorts() {
+        return typedSorts;
+    }
+
+    public void setTypedSorts(List<Sort> typedSorts) {
+        this.typedSorts = typedSorts;
+        this.compiled = null;
+    }
+
+    /**
+     * Checks whether the query uses a typed filter or typed sorts.
+     *
+     * @return true if the query has typed parts
+     */
+    @JsonIgnore
+    public boolean isTyped() {
+        return typedFilter != null || typedSorts != null;
+    }
+
+    /**
+     * Validates the query against a database schema and serializes it. The
+     * result is kept and returned again while the schema instance and the
+     * query are unchanged, so repeated queries skip validation and
+     * serialization. The start cursor is not part of the compiled body.
+     *
+     * @param schema the database schema
+     * @return the compiled query
+     * @throws IllegalArgumentException if a property is unknown or of another type
+     */
+    public CompiledQuery compile(DatabaseSchema schema) {
+        CompiledQuery result = compiled;
+        if (result != null && result.getSchema() == schema) {
+            return result;
+        }
+        if (typedFilter != null) {
+            typedFilter.validate(schema);
+        }
+        if (typedSorts != null) {
+            typedSorts.forEach(sort -> sort.validate(schema));
+        }
+        List<String> propertyIds = filterProperties != null
+                ? schema.resolvePropertyIds(filterProperties) : List.of();
+        result = new CompiledQuery(schema, writeBody(), propertyIds);
+        compiled = result;
+        return result;
+    }
+
+    private byte[] writeBody() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        try (JsonGenerator gen = COMPILER.createGenerator(out)) {
+            gen.writeStartObject();
+            if (typedFilter != null) {
+                gen.writeFieldName("filter");
+                typedFilter.writeTo(gen);
+            } else if (filter != null) {
+                gen.writeObjectField("filter", filter);
+            }
+            if (typedSorts != null) {
+                gen.writeArrayFieldStart("sorts");
+                for (Sort sort : typedSorts) {
+                    sort.writeTo(gen);
+                }
+                gen.writeEndArray();
+            } else if (sorts != null) {
+                gen.writeObjectField("sorts", sorts);
+            }
+            if (pageSize != null) {
+                gen.writeNumberField("page_size", pageSize);
+            }
+            gen.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to compile query", e);
+        }
+        return out.toByteArray();
+    }
+
+    public List<String> getFilterProperties() {
+        return filterProperties;
+    }
+
+    public void setFilterProperties(List<String> filterProperties) {
+        this.filterProperties = filterProperties;
+        this.compiled = null;
     }
 
     @Override
@@ -94,12 +231,15 @@ public class DatabaseQuery {
         return Objects.equals(filter, that.filter) &&
                Objects.equals(sorts, that.sorts) &&
                Objects.equals(startCursor, that.startCursor) &&
-               Objects.equals(pageSize, that.pageSize);
+               Objects.equals(pageSize, that.pageSize) &&
+               Objects.equals(filterProperties, that.filterProperties) &&
+               Objects.equals(typedFilter, that.typedFilter) &&
+               Objects.equals(typedSorts, that.typedSorts);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(filter, sorts, startCursor, pageSize);
+        return Objects.hash(filter, sorts, startCursor, pageSize, filterProperties, typedFilter, typedSorts);
     }
 
     @Override
@@ -109,6 +249,9 @@ public class DatabaseQuery {
                ", sorts=" + sorts +
                ", startCursor='" + startCursor + '\'' +
                ", pageSize=" + pageSize +
+               ", filterProperties=" + filterProperties +
+               ", typedFilter=" + typedFilter +
+               ", typedSorts=" + typedSorts +
                '}';
     }
     
@@ -120,6 +263,9 @@ public class DatabaseQuery {
         private List<Map<String, Object>> sorts;
         private String startCursor;
         private Integer pageSize;
+        private List<String> filterProperties;
+        private Filter typedFilter;
+        private List<Sort> typedSorts;
 
         public DatabaseQueryBuilder filter(Map<String, Object> filter) {
             this.filter = filter;
@@ -131,6 +277,28 @@ public class DatabaseQuery {
             return this;
         }
 
+        /**
+         * Sets a typed filter, which is validated against the database schema.
+         *
+         * @param filter the filter
+         * @return this builder
+         */
+        public DatabaseQueryBuilder filter(Filter filter) {
+            this.typedFilter = filter;
+            return this;
+        }
+
+        /**
+         * Sets typed sorts, which are validated against the database schema.
+         *
+         * @param sorts the sorts, applied in order
+         * @return this builder
+         */
+        public DatabaseQueryBuilder sorts(Sort... sorts) {
+            this.typedSorts = List.of(sorts);
+            return this;
+        }
+
         public DatabaseQueryBuilder startCursor(String startCursor) {
             this.startCursor = startCursor;
             return this;
@@ -141,8 +309,39 @@ public class DatabaseQuery {
             return this;
         }
 
+        /**
+         * Limits the returned properties to the given names or IDs.
+         *
+         * @param filterProperties the property names or IDs
+         * @return this builder
+         */
+        public DatabaseQueryBuilder filterProperties(List<String> filterProperties) {
+            this.filterProperties = filterProperties;
+            return this;
+        }
+
+        /**
+         * Limits the returned properties to the given names or IDs.
+         *
+         * @param filterProperties the property names or IDs
+         * @return this builder
+         */
+        public DatabaseQueryBuilder filterProperties(String... filterProperties) {
+            return filterProperties(List.of(filterProperties));
+        }
+
         public DatabaseQuery build() {
-            return new DatabaseQuery(filter, sorts, startCursor, pageSize);
+            DatabaseQuery query = new DatabaseQuery(filter, sorts, startCursor, pageSize);
+            if (typedFilter != null && filter != null) {
+                throw new IllegalStateException("Set either a Filter or a filter map, not both");
+            }
+            if (typedSorts != null && sorts != null) {
+                throw new IllegalStateException("Set either Sort instances or sort maps, not both");
+            }
+            query.setFilterProperties(filterProperties);
+            query.setTypedFilter(typedFilter);
+            query.setTypedSorts(typedSorts);
+            return query;
         }
     }
     
@@ -0,0 +1,416 @@
+package dev.danvega.notion.model.database;
+
+import dev.danvega.notion.model.common.LazyProperties;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The property definitions of a database, indexed by name and by ID.
+ * <p>
+ * Instances are immutable snapshots taken from a {@link Database}. They check
+ * filters, sorts and page property values locally, so malformed requests
+ * fail before they are sent.
+ */
+public final class DatabaseSchema {
+
+    private static final Set<String> OPTION_TYPES = Set.of("select", "multi_select", "status");
+
+    private static final Set<String> READ_ONLY_TYPES = Set.of(
+            "formula", "rollup", "created_time", "created_by", "last_edited_time", "last_edited_by", "unique_id");
+
+    private static final Set<String> OPTION_OPERATORS = Set.of("equals", "does_not_equal", "contains", "does_not_contain");
+
+    private final String databaseId;
+    private final ZonedDateTime lastEditedTime;
+    private final Map<String, PropertySchema> propertiesByName;
+    private final Map<String, PropertySchema> propertiesById;
+
+    private DatabaseSchema(String databaseId, ZonedDateTime lastEditedTime,
+                           Map<String, PropertySchema> propertiesByName) {
+        this.databaseId = databaseId;
+        this.lastEditedTime = lastEditedTime;
+        this.propertiesByName = Collections.unmodifiableMap(propertiesByName);
+        Map<String, PropertySchema> byId = new HashMap<>();
+        for (PropertySchema property : propertiesByName.values()) {
+            if (property.getId() != null) {
+                byId.put(property.getId(), property);
+            }
+        }
+        this.propertiesById = Collections.unmodifiableMap(byId);
+    }
+
+    /**
+     * Creates a schema from a retrieved database.
+     *
+     * @param database the database
+     * @return the schema
+     */
+    public static DatabaseSchema of(Database database) {
+        LazyProperties properties = database.getLazyProperties();
+        Map<String, PropertySchema> byName = new LinkedHashMap<>();
+        for (String name : properties.keySet()) {
+            String type = properties.getPropertyType(name);
+            Map<String, String> options = OPTION_TYPES.contains(type)
+                    ? readOptions(properties.get(name), type) : Map.of();
+            byName.put(name, new PropertySchema(properties.getPropertyId(name), name, type, options));
+        }
+        return new DatabaseSchema(database.getId(), database.getLastEditedTime(), byName);
+    }
+
+    public String getDatabaseId() {
+        return databaseId;
+    }
+
+    public ZonedDateTime getLastEditedTime() {
+        return lastEditedTime;
+    }
+
+    /**
+     * Gets the property definitions in the order the API returned them.
+     *
+     * @return the properties by name
+     */
+    public Map<String, PropertySchema> getProperties() {
+        return propertiesByName;
+    }
+
+    /**
+     * Gets a property by name.
+     *
+     * @param name the property name
+     * @return the property, or null if the database has no such property
+     */
+    public PropertySchema getProperty(String name) {
+        return propertiesByName.get(name);
+    }
+
+    /**
+     * Gets a property by ID.
+     *
+     * @param id the property ID
+     * @return the property, or null if the database has no such property
+     */
+    public PropertySchema getPropertyById(String id) {
+        return propertiesById.get(id);
+    }
+
+    /**
+     * Finds a property by name, falling back to its ID.
+     *
+     * @param nameOrId the property name or ID
+     * @return the property, or null if neither matches
+     */
+    public PropertySchema findProperty(String nameOrId) {
+        PropertySchema property = propertiesByName.get(nameOrId);
+        return property != null ? property : propertiesById.get(nameOrId);
+    }
+
+    /**
+     * Gets a property by name, falling back to its ID.
+     *
+     * @param nameOrId the property name or ID
+     * @return the property
+     * @throws IllegalArgumentException if neither matches
+     */
+    public PropertySchema requireProperty(String nameOrId) {
+        PropertySchema property = findProperty(nameOrId);
+        if (property == null) {
+            throw new IllegalArgumentException("Unknown property '" + nameOrId + "' in database " + databaseId);
+        }
+        return property;
+    }
+
+    /**
+     * Resolves property names, or IDs, to property IDs.
+     *
+     * @param namesOrIds the property names or IDs
+     * @return the property IDs, in the given order
+     * @throws IllegalArgumentException if a property is not part of the schema
+     */
+    public List<String> resolvePropertyIds(Collection<String> namesOrIds) {
+        List<String> ids = new ArrayList<>(namesOrIds.size());
+        for (String nameOrId : namesOrIds) {
+            ids.add(requireProperty(nameOrId).getId());
+        }
+        return ids;
+    }
+
+    /**
+     * Checks a raw query filter: property names, the condition type of each
+     * property, and the options compared against select, multi-select and
+     * status properties.
+     *
+     * @param filter the filter, may be null
+     * @throws IllegalArgumentException if the filter does not match the schema
+     */
+    public void validateFilter(Map<String, Object> filter) {
+        if (filter != null) {
+            validateFilter(filter, 0);
+        }
+    }
+
+    /**
+     * Checks the properties named by raw query sorts.
+     *
+     * @param sorts the sorts, may be null
+     * @throws IllegalArgumentException if a property is unknown
+     */
+    public void validateSorts(List<Map<String, Object>> sorts) {
+        if (sorts == null) {
+            return;
+        }
+        for (Map<String, Object> sort : sorts) {
+            if (sort.get("property") instanceof String property) {
+                requireProperty(property);
+            }
+        }
+    }
+
+    /**
+     * Checks property values written to a page of this database: property
+     * names, value types, that the property can be written, and select,
+     * multi-select and status options.
+     *
+     * @param properties the property values, may be null
+     * @param allowNewOptions whether unknown select and multi-select option names
+     *                        are accepted, as the API creates them on write
+     * @throws IllegalArgumentException if a value does not match the schema
+     */
+    public void validatePageProperties(Map<String, Object> properties, boolean allowNewOptions) {
+        if (properties == null) {
+            return;
+        }
+        for (Map.Entry<String, Object> entry : properties.entrySet()) {
+            PropertySchema property = requireProperty(entry.getKey());
+            if (READ_ONLY_TYPES.contains(property.getType())) {
+                throw new IllegalArgumentException("Property '" + entry.getKey() + "' of type "
+                        + property.getType() + " cannot be written");
+            }
+            if (!(entry.getValue() instanceof Map<?, ?> value)) {
+                continue;
+            }
+            String type = valueType(value);
+            if (type != null && !type.equals(property.getType())) {
+                throw new IllegalArgumentException("Property '" + entry.getKey() + "' is of type "
+                        + property.getType() + ", not " + type);
+            }
+            if (OPTION_TYPES.contains(property.getType())) {
+                boolean allowNew = allowNewOptions && !property.getType().equals("status");
+                Object selected = value.get(property.getType());
+                if (selected instanceof List<?> list) {
+                    for (Object option : list) {
+                        validateOptionValue(property, option, allowNew);
+                    }
+                } else {
+                    validateOptionValue(property, selected, allowNew);
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks that an option name exists on a select, multi-select or status property.
+     *
+     * @param property the property
+     * @param option the option name
+     * @throws IllegalArgumentException if the property has no such option
+     */
+    void requireOption(PropertySchema property, String option) {
+        if (!property.getOptions().isEmpty() && !property.getOptions().containsKey(option)) {
+            throw new IllegalArgumentException("Property '" + property.getName() + "' has no option '"
+                    + option + "'");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void validateFilter(Map<String, Object> filter, int depth) {
+        for (String operator : List.of("and", "or")) {
+            if (filter.get(operator) instanceof List<?> filters) {
+                if (depth >= Filter.MAX_COMPOUND_DEPTH) {
+                    throw new IllegalArgumentException("Compound filters can be nested at most "
+                            + Filter.MAX_COMPOUND_DEPTH + " levels deep");
+                }
+                for (Object child : filters) {
+                    if (child instanceof Map<?, ?> map) {
+                        validateFilter((Map<String, Object>) map, depth + 1);
+                    }
+                }
+                return;
+            }
+        }
+        if (!(filter.get("property") instanceof String name)) {
+            return;
+        }
+        PropertySchema property = requireProperty(name);
+        for (Map.Entry<String, Object> entry : filter.entrySet()) {
+            String type = entry.getKey();
+            if (type.equals("property")) {
+                continue;
+            }
+            if (!type.equals(property.getType())) {
+                throw new IllegalArgumentException("Property '" + name + "' is of type "
+                        + property.getType() + ", not " + type);
+            }
+            if (entry.getValue() instanceof Map<?, ?> condition) {
+                for (Map.Entry<?, ?> operator : condition.entrySet()) {
+                    if (OPTION_OPERATORS.contains(operator.getKey()) && operator.getValue() instanceof String option
+                            && OPTION_TYPES.contains(type)) {
+                        requireOption(property, option);
+                    }
+                }
+            }
+        }
+    }
+
+    private void validateOptionValue(PropertySchema property, Object option, boolean allowNew) {
+        if (!(option instanceof Map<?, ?> map) || property.getOptions().isEmpty()) {
+            return;
+        }
+        if (map.get("id") instanceof String id) {
+            if (!property.getOptions().containsValue(id)) {
+                throw new IllegalArgumentException("Property '" + property.getName() + "' has no option with ID '"
+                        + id + "'");
+            }
+        } else if (map.get("name") instanceof String name && !allowNew) {
+            requireOption(property, name);
+        }
+    }
+
+    /**
+     * Finds the type of a page property value: its {@code type} field, or
+     * else its only key besides {@code id}.
+     */
+    private static String valueType(Map<?, ?> value) {
+        if (value.get("type") instanceof String type) {
+            return type;
+        }
+        for (Object key : value.keySet()) {
+            if (!"id".equals(key) && !"type".equals(key)) {
+                return String.valueOf(key);
+            }
+        }
+        return null;
+    }
+
+    private static Map<String, String> readOptions(Object definition, String type) {
+        Map<String, String> options = new LinkedHashMap<>();
+        if (definition instanceof Map<?, ?> map && map.get(type) instanceof Map<?, ?> config
+                && config.get("options") instanceof List<?> list) {
+            for (Object item : list) {
+                if (item instanceof Map<?, ?> option && option.get("name") instanceof String name) {
+                    options.put(name, option.get("id") instanceof String id ? id : null);
+                }
+            }
+        }
+        return options;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        DatabaseSchema that = (DatabaseSchema) o;
+        return Objects.equals(databaseId, that.databaseId) &&
+               Objects.equals(lastEditedTime, that.lastEditedTime) &&
+               Objects.equals(propertiesByName, that.propertiesByName);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(databaseId, lastEditedTime, propertiesByName);
+    }
+
+    @Override
+    public String toString() {
+        return "DatabaseSchema{" +
+               "databaseId='" + databaseId + '\'' +
+               ", lastEditedTime=" + lastEditedTime +
+               ", properties=" + propertiesByName.values() +
+               '}';
+    }
+
+    /**
+     * The definition of a single database property.
+     */
+    public static final class PropertySchema {
+
+        private final String id;
+        private final String name;
+        private final String type;
+        private final Map<String, String> options;
+
+        public PropertySchema(String id, String name, String type) {
+            this(id, name, type, Map.of());
+        }
+
+        /**
+         * Constructs a property with options.
+         *
+         * @param id the property ID
+         * @param name the property name
+         * @param type the property type
+         * @param options the option IDs of select, multi-select and status properties, by option name
+         */
+        public PropertySchema(String id, String name, String type, Map<String, String> options) {
+            this.id = id;
+            this.name = name;
+            this.type = type;
+            this.options = Collections.unmodifiableMap(new LinkedHashMap<>(options));
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        /**
+         * Gets the options of a select, multi-select or status property.
+         *
+         * @return the option IDs by option name, empty for other types
+         */
+        public Map<String, String> getOptions() {
+            return options;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            PropertySchema that = (PropertySchema) o;
+            return Objects.equals(id, that.id) &&
+                   Objects.equals(name, that.name) &&
+                   Objects.equals(type, that.type) &&
+                   Objects.equals(options, that.options);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(id, name, type, options);
+        }
+
+        @Override
+        public String toString() {
+            return "PropertySchema{" +
+                   "id='" + id + '\'' +
+                   ", name='" + name + '\'' +
+                   ", type='" + type + '\'' +
+                   '}';
+        }
+    }
+}
@@ -0,0 +1,779 @@
+package dev.danvega.notion.model.database;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+/**
+ * Typed filter for database queries.
+ * <p>
+ * Filters are built from property conditions, timestamp conditions and
+ * compound {@code and}/{@code or} groups:
+ * <pre>
+ * Filter filter = Filter.and(
+ *     Filter.property("Status").status().equalTo("Done"),
+ *     Filter.property("Price").number().greaterThan(10),
+ *     Filter.lastEditedTime().after(LocalDate.of(2024, 1, 1)));
+ * </pre>
+ * Filters are immutable. They are checked against a {@link DatabaseSchema}
+ * and written to JSON when a {@link DatabaseQuery} is compiled, and can be
+ * walked with a {@link Visitor} to evaluate them elsewhere.
+ */
+public abstract class Filter {
+
+    /**
+     * The API allows compound filters to be nested two levels deep.
+     */
+    static final int MAX_COMPOUND_DEPTH = 2;
+
+    private static final Object EMPTY_OBJECT = new Object();
+
+    private static final Set<String> OPTION_TYPES = Set.of("select", "multi_select", "status");
+
+    Filter() {
+    }
+
+    /**
+     * Starts a condition on a database property.
+     *
+     * @param nameOrId the property name or ID
+     * @return the conditions available for the property, by type
+     */
+    public static PropertyConditions property(String nameOrId) {
+        return new PropertyConditions(Objects.requireNonNull(nameOrId, "nameOrId"));
+    }
+
+    /**
+     * Starts a condition on the time pages were created.
+     *
+     * @return the date conditions
+     */
+    public static DateCondition createdTime() {
+        return new DateCondition((operator, value) -> new TimestampFilter("created_time", operator, value));
+    }
+
+    /**
+     * Starts a condition on the time pages were last edited.
+     *
+     * @return the date conditions
+     */
+    public static DateCondition lastEditedTime() {
+        return new DateCondition((operator, value) -> new TimestampFilter("last_edited_time", operator, value));
+    }
+
+    /**
+     * Matches pages that satisfy all of the given filters.
+     *
+     * @param filters the filters
+     * @return the compound filter
+     */
+    public static Filter and(Filter... filters) {
+        return new CompoundFilter("and", List.of(filters));
+    }
+
+    /**
+     * Matches pages that satisfy any of the given filters.
+     *
+     * @param filters the filters
+     * @return the compound filter
+     */
+    public static Filter or(Filter... filters) {
+        return new CompoundFilter("or", List.of(filters));
+    }
+
+    /**
+     * Parses a raw filter map, in the form sent to the API, into a typed filter.
+     *
+     * @param filter the filter map
+     * @return the typed filter
+     * @throws IllegalArgumentException if the map is not a valid filter
+     */
+    @SuppressWarnings("unchecked")
+    public static Filter of(Map<String, Object> filter) {
+        for (String operator : List.of("and", "or")) {
+            if (filter.get(operator) instanceof List<?> children) {
+                List<Filter> filters = new ArrayList<>(children.size());
+                for (Object child : children) {
+                    if (!(child instanceof Map<?, ?> map)) {
+                        throw new IllegalArgumentException("Expected a filter object in '" + operator
+                                + "' but got " + child);
+                    }
+                    filters.add(of((Map<String, Object>) map));
+                }
+                return new CompoundFilter(operator, List.copyOf(filters));
+            }
+        }
+        if (filter.get("property") instanceof String property) {
+            for (Map.Entry<String, Object> entry : filter.entrySet()) {
+                if (!entry.getKey().equals("property") && entry.getValue() instanceof Map<?, ?> condition) {
+                    Map.Entry<String, Object> only = singleCondition(filter, (Map<String, Object>) condition);
+                    return new PropertyFilter(property, entry.getKey(), only.getKey(), only.getValue());
+                }
+            }
+        } else if (filter.get("timestamp") instanceof String timestamp
+                && filter.get(timestamp) instanceof Map<?, ?> condition) {
+            Map.Entry<String, Object> only = singleCondition(filter, (Map<String, Object>) condition);
+            return new TimestampFilter(timestamp, only.getKey(), only.getValue());
+        }
+        throw new IllegalArgumentException("Not a valid filter: " + filter);
+    }
+
+    private static Map.Entry<String, Object> singleCondition(Map<String, Object> filter,
+                                                             Map<String, Object> condition) {
+        if (condition.size() != 1) {
+            throw new IllegalArgumentException("Expected exactly one condition in " + filter);
+        }
+        Map.Entry<String, Object> entry = condition.entrySet().iterator().next();
+        Object value = entry.getValue() instanceof Map<?, ?> map && map.isEmpty() ? EMPTY_OBJECT : entry.getValue();
+        if (value == null) {
+            throw new IllegalArgumentException("Missing value for '" + entry.getKey() + "' in " + filter);
+        }
+        return Map.entry(entry.getKey(), value);
+    }
+
+    /**
+     * Checks the filter against a database schema.
+     *
+     * @param schema the schema
+     * @throws IllegalArgumentException if a property is unknown or of another type,
+     *                                  or a compared option does not exist
+     */
+    public abstract void validate(DatabaseSchema schema);
+
+    /**
+     * Writes the filter as JSON.
+     *
+     * @param gen the generator
+     * @throws IOException if writing fails
+     */
+    public abstract void writeTo(JsonGenerator gen) throws IOException;
+
+    /**
+     * Passes the filter to the visitor method for its kind.
+     *
+     * @param visitor the visitor
+     * @param <R> the result type
+     * @return the result of the visitor
+     */
+    public abstract <R> R accept(Visitor<R> visitor);
+
+    /**
+     * Gets the nesting depth of compound filters, 0 for a single condition.
+     */
+    abstract int depth();
+
+    /**
+     * Visitor over the three kinds of filter. Values are strings, numbers or
+     * booleans, as written to JSON; relative date conditions such as
+     * {@code past_week} have a null value.
+     *
+     * @param <R> the result type
+     */
+    public interface Visitor<R> {
+
+        /**
+         * Visits a condition on a property.
+         *
+         * @param property the property name or ID
+         * @param type the property type, such as {@code number}
+         * @param operator the operator, such as {@code greater_than}
+         * @param value the compared value
+         * @return the result
+         */
+        R visitProperty(String property, String type, String operator, Object value);
+
+        /**
+         * Visits a condition on {@code created_time} or {@code last_edited_time}.
+         *
+         * @param timestamp the timestamp
+         * @param operator the operator, such as {@code on_or_after}
+         * @param value the compared value
+         * @return the result
+         */
+        R visitTimestamp(String timestamp, String operator, Object value);
+
+        /**
+         * Visits an {@code and} or {@code or} group.
+         *
+         * @param operator {@code and} or {@code or}
+         * @param filters the grouped filters
+         * @return the result
+         */
+        R visitCompound(String operator, List<Filter> filters);
+    }
+
+    private static void writeCondition(JsonGenerator gen, String key, String operator, Object value)
+            throws IOException {
+        gen.writeObjectFieldStart(key);
+        gen.writeFieldName(operator);
+        if (value == EMPTY_OBJECT) {
+            gen.writeStartObject();
+            gen.writeEndObject();
+        } else if (value instanceof String string) {
+            gen.writeString(string);
+        } else if (value instanceof Boolean bool) {
+            gen.writeBoolean(bool);
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short
+                || value instanceof Byte) {
+            gen.writeNumber(((Number) value).longValue());
+        } else if (value instanceof BigDecimal decimal) {
+            gen.writeNumber(decimal);
+        } else if (value instanceof BigInteger integer) {
+            gen.writeNumber(integer);
+        } else {
+            gen.writeNumber(((Number) value).doubleValue());
+        }
+        gen.writeEndObject();
+    }
+
+    /**
+     * A condition on a single property.
+     */
+    static final class PropertyFilter extends Filter {
+
+        private final String property;
+        private final String type;
+        private final String operator;
+        private final Object value;
+
+        PropertyFilter(String property, String type, String operator, Object value) {
+            this.property = property;
+            this.type = type;
+            this.operator = operator;
+            this.value = value;
+        }
+
+        String getProperty() {
+            return property;
+        }
+
+        String getType() {
+            return type;
+        }
+
+        String getOperator() {
+            return operator;
+        }
+
+        Object getValue() {
+            return value == EMPTY_OBJECT ? null : value;
+        }
+
+        @Override
+        public void validate(DatabaseSchema schema) {
+            DatabaseSchema.PropertySchema definition = schema.requireProperty(property);
+            if (!type.equals(definition.getType())) {
+                throw new IllegalArgumentException("Property '" + property + "' is of type "
+                        + definition.getType() + ", not " + type);
+            }
+            if (value instanceof String option && OPTION_TYPES.contains(type)) {
+                schema.requireOption(definition, option);
+            }
+        }
+
+        @Override
+        public void writeTo(JsonGenerator gen) throws IOException {
+            gen.writeStartObject();
+            gen.writeStringField("property", property);
+            writeCondition(gen, type, operator, value);
+            gen.writeEndObject();
+        }
+
+        @Override
+        public <R> R accept(Visitor<R> visitor) {
+            return visitor.visitProperty(property, type, operator, getValue());
+        }
+
+        @Override
+        int depth() {
+            return 0;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            PropertyFilter that = (PropertyFilter) o;
+            return Objects.equals(property, that.property) &&
+                   Objects.equals(type, that.type) &&
+                   Objects.equals(operator, that.operator) &&
+                   Objects.equals(value, that.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(property, type, operator, value);
+        }
+
+        @Override
+        public String toString() {
+            return property + " " + type + "." + operator + (value == EMPTY_OBJECT ? "" : " " + value);
+        }
+    }
+
+    /**
+     * A condition on the created or last edited time of pages.
+     */
+    static final class TimestampFilter extends Filter {
+
+        private final String timestamp;
+        private final String operator;
+        private final Object value;
+
+        TimestampFilter(String timestamp, String operator, Object value) {
+            this.timestamp = timestamp;
+            this.operator = operator;
+            this.value = value;
+        }
+
+        @Override
+        public void validate(DatabaseSchema schema) {
+            // Timestamps exist on every database
+        }
+
+        @Override
+        public void writeTo(JsonGenerator gen) throws IOException {
+            gen.writeStartObject();
+            gen.writeStringField("timestamp", timestamp);
+            writeCondition(gen, timestamp, operator, value);
+            gen.writeEndObject();
+        }
+
+        @Override
+        public <R> R accept(Visitor<R> visitor) {
+            return visitor.visitTimestamp(timestamp, operator, value == EMPTY_OBJECT ? null : value);
+        }
+
+        @Override
+        int depth() {
+            return 0;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            TimestampFilter that = (TimestampFilter) o;
+            return Objects.equals(timestamp, that.timestamp) &&
+                   Objects.equals(operator, that.operator) &&
+                   Objects.equals(value, that.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(timestamp, operator, value);
+        }
+
+        @Override
+        public String toString() {
+            return timestamp + "." + operator + (value == EMPTY_OBJECT ? "" : " " + value);
+        }
+    }
+
+    /**
+     * An {@code and} or {@code or} group of filters.
+     */
+    static final class CompoundFilter extends Filter {
+
+        private final String operator;
+        private final List<Filter> filters;
+
+        CompoundFilter(String operator, List<Filter> filters) {
+            if (filters.isEmpty()) {
+                throw new IllegalArgumentException("A compound filter needs at least one filter");
+            }
+            this.operator = operator;
+            this.filters = filters;
+            if (depth() > MAX_COMPOUND_DEPTH) {
+                throw new IllegalArgumentException("Compound filters can be nested at most "
+                        + MAX_COMPOUND_DEPTH + " levels deep");
+            }
+        }
+
+        String getOperator() {
+            return operator;
+        }
+
+        List<Filter> getFilters() {
+            return filters;
+        }
+
+        @Override
+        public void validate(DatabaseSchema schema) {
+            for (Filter filter : filters) {
+                filter.validate(schema);
+            }
+        }
+
+        @Override
+        public void writeTo(JsonGenerator gen) throws IOException {
+            gen.writeStartObject();
+            gen.writeArrayFieldStart(operator);
+            for (Filter filter : filters) {
+                filter.writeTo(gen);
+            }
+            gen.writeEndArray();
+            gen.writeEndObject();
+        }
+
+        @Override
+        public <R> R accept(Visitor<R> visitor) {
+            return visitor.visitCompound(operator, filters);
+        }
+
+        @Override
+        int depth() {
+            int depth = 0;
+            for (Filter filter : filters) {
+                depth = Math.max(depth, filter.depth());
+            }
+            return depth + 1;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            CompoundFilter that = (CompoundFilter) o;
+            return Objects.equals(operator, that.operator) &&
+                   Objects.equals(filters, that.filters);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(operator, filters);
+        }
+
+        @Override
+        public String toString() {
+            return operator + filters;
+        }
+    }
+
+    /**
+     * The conditions available for a property, one entry point per property type.
+     */
+    public static final class PropertyConditions {
+
+        private final String property;
+
+        private PropertyConditions(String property) {
+            this.property = property;
+        }
+
+        public TextCondition title() {
+            return new TextCondition(factory("title"));
+        }
+
+        public TextCondition richText() {
+            return new TextCondition(factory("rich_text"));
+        }
+
+        public TextCondition url() {
+            return new TextCondition(factory("url"));
+        }
+
+        public TextCondition email() {
+            return new TextCondition(factory("email"));
+        }
+
+        public TextCondition phoneNumber() {
+            return new TextCondition(factory("phone_number"));
+        }
+
+        public NumberCondition number() {
+            return new NumberCondition(factory("number"));
+        }
+
+        public CheckboxCondition checkbox() {
+            return new CheckboxCondition(factory("checkbox"));
+        }
+
+        public SelectCondition select() {
+            return new SelectCondition(factory("select"));
+        }
+
+        public SelectCondition status() {
+            return new SelectCondition(factory("status"));
+        }
+
+        public ContainsCondition multiSelect() {
+            return new ContainsCondition(factory("multi_select"));
+        }
+
+        public ContainsCondition people() {
+            return new ContainsCondition(factory("people"));
+        }
+
+        public ContainsCondition relation() {
+            return new ContainsCondition(factory("relation"));
+        }
+
+        public DateCondition date() {
+            return new DateCondition(factory("date"));
+        }
+
+        public EmptyCondition files() {
+            return new EmptyCondition(factory("files"));
+        }
+
+        private BiFunction<String, Object, Filter> factory(String type) {
+            return (operator, value) -> new PropertyFilter(property, type, operator, value);
+        }
+    }
+
+    /**
+     * Base class of the typed condition builders.
+     */
+    abstract static class Condition {
+
+        private final BiFunction<String, Object, Filter> factory;
+
+        Condition(BiFunction<String, Object, Filter> factory) {
+            this.factory = factory;
+        }
+
+        Filter create(String operator, Object value) {
+            return factory.apply(operator, Objects.requireNonNull(value, operator));
+        }
+
+        public Filter isEmpty() {
+            return create("is_empty", true);
+        }
+
+        public Filter isNotEmpty() {
+            return create("is_not_empty", true);
+        }
+    }
+
+    /**
+     * Conditions for properties that can only be empty or not, such as files.
+     */
+    public static final class EmptyCondition extends Condition {
+        EmptyCondition(BiFunction<String, Object, Filter> factory) {
+            super(factory);
+        }
+    }
+
+    /**
+     * Conditions for title, rich text, url, email and phone number properties.
+     */
+    public static final class TextCondition extends Condition {
+
+        TextCondition(BiFunction<String, Object, Filter> factory) {
+            super(factory);
+        }
+
+        public Filter equalTo(String value) {
+            return create("equals", value);
+        }
+
+        public Filter doesNotEqual(String value) {
+            return create("does_not_equal", value);
+        }
+
+        public Filter contains(String value) {
+            return create("contains", value);
+        }
+
+        public Filter doesNotContain(String value) {
+            return create("does_not_contain", value);
+        }
+
+        public Filter startsWith(String value) {
+            return create("starts_with", value);
+        }
+
+        public Filter endsWith(String value) {
+            return create("ends_with", value);
+        }
+    }
+
+    /**
+     * Conditions for number properties.
+     */
+    public static final class NumberCondition extends Condition {
+
+        NumberCondition(BiFunction<String, Object, Filter> factory) {
+            super(factory);
+        }
+
+        public Filter equalTo(Number value) {
+            return create("equals", value);
+        }
+
+        public Filter doesNotEqual(Number value) {
+            return create("does_not_equal", value);
+        }
+
+        public Filter greaterThan(Number value) {
+            return create("greater_than", value);
+        }
+
+        public Filter lessThan(Number value) {
+            return create("less_than", value);
+        }
+
+        public Filter greaterThanOrEqualTo(Number value) {
+            return create("greater_than_or_equal_to", value);
+        }
+
+        public Filter lessThanOrEqualTo(Number value) {
+            return create("less_than_or_equal_to", value);
+        }
+    }
+
+    /**
+     * Conditions for checkbox properties.
+     */
+    public static final class CheckboxCondition {
+
+        private final BiFunction<String, Object, Filter> factory;
+
+        CheckboxCondition(BiFunction<String, Object, Filter> factory) {
+            this.factory = factory;
+        }
+
+        public Filter equalTo(boolean value) {
+            return factory.apply("equals", value);
+        }
+
+        public Filter doesNotEqual(boolean value) {
+            return factory.apply("does_not_equal", value);
+        }
+    }
+
+    /**
+     * Conditions for select and status properties.
+     */
+    public static final class SelectCondition extends Condition {
+
+        SelectCondition(BiFunction<String, Object, Filter> factory) {
+            super(factory);
+        }
+
+        public Filter equalTo(String option) {
+            return create("equals", option);
+        }
+
+        public Filter doesNotEqual(String option) {
+            return create("does_not_equal", option);
+        }
+    }
+
+    /**
+     * Conditions for multi-select, people and relation properties.
+     */
+    public static final class ContainsCondition extends Condition {
+
+        ContainsCondition(BiFunction<String, Object, Filter> factory) {
+            super(factory);
+        }
+
+        public Filter contains(String value) {
+            return create("contains", value);
+        }
+
+        public Filter doesNotContain(String value) {
+            return create("does_not_contain", value);
+        }
+    }
+
+    /**
+     * Conditions for date properties and page timestamps. Dates are sent as
+     * ISO-8601 strings.
+     */
+    public static final class DateCondition extends Condition {
+
+        private static final Set<String> RELATIVE = Set.of(
+                "past_week", "past_month", "past_year", "this_week", "next_week", "next_month", "next_year");
+
+        DateCondition(BiFunction<String, Object, Filter> factory) {
+            super(factory);
+        }
+
+        public Filter equalTo(String date) {
+            return create("equals", date);
+        }
+
+        public Filter equalTo(LocalDate date) {
+            return equalTo(date.toString());
+        }
+
+        public Filter before(String date) {
+            return create("before", date);
+        }
+
+        public Filter before(LocalDate date) {
+            return before(date.toString());
+        }
+
+        public Filter before(ZonedDateTime dateTime) {
+            return before(format(dateTime));
+        }
+
+        public Filter after(String date) {
+            return create("after", date);
+        }
+
+        public Filter after(LocalDate date) {
+            return after(date.toString());
+        }
+
+        public Filter after(ZonedDateTime dateTime) {
+            return after(format(dateTime));
+        }
+
+        public Filter onOrBefore(String date) {
+            return create("on_or_before", date);
+        }
+
+        public Filter onOrBefore(LocalDate date) {
+            return onOrBefore(date.toString());
+        }
+
+        public Filter onOrBefore(ZonedDateTime dateTime) {
+            return onOrBefore(format(dateTime));
+        }
+
+        public Filter onOrAfter(String date) {
+            return create("on_or_after", date);
+        }
+
+        public Filter onOrAfter(LocalDate date) {
+            return onOrAfter(date.toString());
+        }
+
+        public Filter onOrAfter(ZonedDateTime dateTime) {
+            return onOrAfter(format(dateTime));
+        }
+
+        /**
+         * Matches a relative range such as {@code past_week} or {@code next_month}.
+         *
+         * @param range the relative range
+         * @return the filter
+         */
+        public Filter within(String range) {
+            if (!RELATIVE.contains(range)) {
+                throw new IllegalArgumentException("Unknown relative date range: " + range);
+            }
+            return create(range, EMPTY_OBJECT);
+        }
+
+        private static String format(ZonedDateTime dateTime) {
+            return DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(dateTime);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package dev.danvega.notion.model.database;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Typed sort for database queries, either on a property or on the created or
+ * last edited time of pages. Sorts are immutable.
+ */
+public final class Sort {
+
+    /**
+     * The direction of a sort.
+     */
+    public enum Direction {
+        ASCENDING("ascending"),
+        DESCENDING("descending");
+
+        private final String value;
+
+        Direction(String value) {
+            this.value = value;
+        }
+
+        public String getValue() {
+            return value;
+        }
+    }
+
+    private final String property;
+    private final String timestamp;
+    private final Direction direction;
+
+    private Sort(String property, String timestamp, Direction direction) {
+        this.property = property;
+        this.timestamp = timestamp;
+        this.direction = Objects.requireNonNull(direction, "direction");
+    }
+
+    /**
+     * Sorts by a property.
+     *
+     * @param nameOrId the property name or ID
+     * @param direction the direction
+     * @return the sort
+     */
+    public static Sort property(String nameOrId, Direction direction) {
+        return new Sort(Objects.requireNonNull(nameOrId, "nameOrId"), null, direction);
+    }
+
+    public static Sort ascending(String nameOrId) {
+        return property(nameOrId, Direction.ASCENDING);
+    }
+
+    public static Sort descending(String nameOrId) {
+        return property(nameOrId, Direction.DESCENDING);
+    }
+
+    public static Sort createdTime(Direction direction) {
+        return new Sort(null, "created_time", direction);
+    }
+
+    public static Sort lastEditedTime(Direction direction) {
+        return new Sort(null, "last_edited_time", direction);
+    }
+
+    /**
+     * Parses a raw sort map, in the form sent to the API, into a typed sort.
+     *
+     * @param sort the sort map
+     * @return the typed sort
+     * @throws IllegalArgumentException if the map is not a valid sort
+     */
+    public static Sort of(Map<String, Object> sort) {
+        Direction direction = "descending".equals(sort.get("direction")) ? Direction.DESCENDING : Direction.ASCENDING;
+        if (sort.get("property") instanceof String property) {
+            return new Sort(property, null, direction);
+        }
+        if (sort.get("timestamp") instanceof String timestamp) {
+            return new Sort(null, timestamp, direction);
+        }
+        throw new IllegalArgumentException("Not a valid sort: " + sort);
+    }
+
+    /**
+     * Gets the property sorted by.
+     *
+     * @return the property name or ID, or null for a timestamp sort
+     */
+    public String getProperty() {
+        return property;
+    }
+
+    /**
+     * Gets the timestamp sorted by.
+     *
+     * @return {@code created_time} or {@code last_edited_time}, or null for a property sort
+     */
+    public String getTimestamp() {
+        return timestamp;
+    }
+
+    public Direction getDirection() {
+        return direction;
+    }
+
+    /**
+     * Checks the sort against a database schema.
+     *
+     * @param schema the schema
+     * @throws IllegalArgumentException if the property is unknown
+     */
+    public void validate(DatabaseSchema schema) {
+        if (property != null) {
+            schema.requireProperty(property);
+        }
+    }
+
+    /**
+     * Writes the sort as JSON.
+     *
+     * @param gen the generator
+     * @throws IOException if writing fails
+     */
+    public void writeTo(JsonGenerator gen) throws IOException {
+        gen.writeStartObject();
+        if (property != null) {
+            gen.writeStringField("property", property);
+        } else {
+            gen.writeStringField("timestamp", timestamp);
+        }
+        gen.writeStringField("direction", direction.getValue());
+        gen.writeEndObject();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Sort sort = (Sort) o;
+        return Objects.equals(property, sort.property) &&
+               Objects.equals(timestamp, sort.timestamp) &&
+               direction == sort.direction;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(property, timestamp, direction);
+    }
+
+    @Override
+    public String toString() {
+        return (property != null ? property : timestamp) + " " + direction.getValue();
+    }
+}
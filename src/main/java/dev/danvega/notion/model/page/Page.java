@@ -1,8 +1,12 @@
 package dev.danvega.notion.model.page;
 
+import dev.danvega.notion.model.common.LazyProperties;
+import dev.danvega.notion.model.common.LazyPropertiesDeserializer;
 import dev.danvega.notion.model.common.NotionObject;
 import dev.danvega.notion.model.common.Parent;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 
 import java.util.Map;
 import java.util.Objects;
@@ -21,6 +25,7 @@ public class Page extends NotionObject {
     /**
      * The properties of the page.
      */
+    @JsonDeserialize(using = LazyPropertiesDeserializer.class)
     private Map<String, Object> properties;
 
     /**
@@ -63,6 +68,17 @@ public class Page extends NotionObject {
         this.properties = properties;
     }
 
+    /**
+     * Gets the properties with typed accessors that read a property without
+     * decoding the others.
+     *
+     * @return the properties, never null
+     */
+    @JsonIgnore
+    public LazyProperties getLazyProperties() {
+        return LazyProperties.of(properties);
+    }
+
     public String getUrl() {
         return url;
     }
@@ -1,6 +1,8 @@
 package dev.danvega.notion.model.response;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import dev.danvega.notion.model.common.InternedStringDeserializer;
 
 import java.util.Objects;
 
@@ -13,6 +15,7 @@ public class NotionResponse {
     /**
      * The type of the object.
      */
+    @JsonDeserialize(using = InternedStringDeserializer.class)
     private String object;
     
     /**
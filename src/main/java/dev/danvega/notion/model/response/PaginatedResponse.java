@@ -1,6 +1,7 @@
 package dev.danvega.notion.model.response;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 
 import java.util.List;
 import java.util.Objects;
@@ -21,11 +22,13 @@ public class PaginatedResponse<T> extends NotionResponse {
     /**
      * Whether there are more results available.
      */
+    @JsonProperty("has_more")
     private boolean hasMore;
 
     /**
      * The cursor for the next page, if available.
      */
+    @JsonProperty("next_cursor")
     private String nextCursor;
     
     /**
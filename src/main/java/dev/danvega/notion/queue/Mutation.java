@@ -0,0 +1,38 @@
+package dev.danvega.notion.queue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A create, update or append request waiting in a {@link NotionWriteQueue},
+ * with its retry state.
+ */
+final class Mutation {
+
+    /**
+     * The kinds of request the queue accepts.
+     */
+    enum Operation {
+        CREATE_PAGE,
+        UPDATE_PAGE,
+        APPEND_BLOCK_CHILDREN
+    }
+
+    final long sequence;
+    final Operation operation;
+    final String target;
+    final String path;
+    final JsonNode body;
+    final CompletableFuture<Object> result = new CompletableFuture<>();
+    int attempts;
+    long notBefore;
+
+    Mutation(long sequence, Operation operation, String target, String path, JsonNode body) {
+        this.sequence = sequence;
+        this.operation = operation;
+        this.target = target;
+        this.path = path;
+        this.body = body;
+    }
+}
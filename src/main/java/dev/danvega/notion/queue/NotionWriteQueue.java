@@ -0,0 +1,476 @@
+package dev.danvega.notion.queue;
+
+import dev.danvega.notion.client.NotionClient;
+import dev.danvega.notion.exception.NotionApiException;
+import dev.danvega.notion.model.block.Block;
+import dev.danvega.notion.model.common.NotionId;
+import dev.danvega.notion.model.common.Parent;
+import dev.danvega.notion.model.page.Page;
+import dev.danvega.notion.model.response.PaginatedResponse;
+import dev.danvega.notion.service.DatabaseSchemaCache;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Durable write-behind queue for page creations, page updates and block
+ * appends, so that bursts of writes neither block request threads behind the
+ * rate limiter nor fail with 429 responses.
+ * <p>
+ * A mutation is validated, written to an append-only {@link WriteJournal} on
+ * disk and acknowledged with a future right away. A single background worker
+ * sends the mutations through the {@link NotionClient}, so they share its rate
+ * limiter and cache invalidation. Mutations to the same target, the page or
+ * block written to or the parent of a new page, are sent one at a time in the
+ * order they were accepted; targets take turns. A request that fails with a
+ * 409, 429 or 5xx status or does not reach Notion is retried with exponential
+ * backoff, and a 429 response pauses the whole queue for its
+ * {@code Retry-After} time. Other failures, and mutations that run out of
+ * attempts, are given up: their futures fail and the next mutation to the
+ * same target is sent. That includes a successful response that cannot be
+ * read, as Notion has already applied the write.
+ * <p>
+ * Mutations left unfinished by a crash or an unclean shutdown are replayed
+ * from the journal when the queue is created again, so delivery is at least
+ * once: a mutation whose request was sent just before a crash may be sent
+ * twice. Closing the queue stops accepting mutations and waits up to the
+ * drain timeout for the pending ones to be sent. A mutation whose request is
+ * still in flight then is left to finish, and the journal is closed once it
+ * has.
+ */
+public class NotionWriteQueue implements ApplicationRunner, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(NotionWriteQueue.class);
+
+    static final long MAX_RETRY_DELAY = 60_000;
+
+    private static final TypeReference<PaginatedResponse<Block>> BLOCK_LIST = new TypeReference<>() {};
+
+    private final NotionClient notionClient;
+    private final ObjectMapper objectMapper;
+    private final DatabaseSchemaCache schemaCache;
+    private final WriteJournal journal;
+    private final int maxAttempts;
+    private final long retryDelayMillis;
+    private final long drainTimeoutMillis;
+    private final LinkedHashMap<String, ArrayDeque<Mutation>> lanes = new LinkedHashMap<>();
+    private long nextSequence = 1;
+    private int pending;
+    private long pausedUntil;
+    private boolean accepting = true;
+    private boolean running;
+    private boolean journalClosed;
+    private Mutation inFlight;
+    private Thread worker;
+
+    /**
+     * Constructs a new NotionWriteQueue and recovers the mutations left in its
+     * journal. Nothing is sent until the queue is started.
+     *
+     * @param notionClient the Notion client used to send mutations
+     * @param objectMapper the ObjectMapper used for the journal
+     * @param schemaCache the schema cache used to validate new database pages, or null
+     * @param journal the journal file
+     * @param maxAttempts the maximum number of attempts per mutation
+     * @param retryDelayMillis the delay before the first retry, doubled after each further attempt, in milliseconds
+     * @param drainTimeoutMillis the maximum time {@link #close()} waits for pending mutations, in milliseconds
+     * @throws java.io.UncheckedIOException if the journal cannot be read or written
+     */
+    public NotionWriteQueue(NotionClient notionClient, ObjectMapper objectMapper, DatabaseSchemaCache schemaCache,
+                            Path journal, int maxAttempts, long retryDelayMillis, long drainTimeoutMillis) {
+        if (maxAttempts <= 0) {
+            throw new IllegalArgumentException("maxAttempts must be positive");
+        }
+        this.notionClient = notionClient;
+        this.objectMapper = objectMapper;
+        this.schemaCache = schemaCache;
+        this.journal = new WriteJournal(journal, objectMapper);
+        this.maxAttempts = maxAttempts;
+        this.retryDelayMillis = retryDelayMillis;
+        this.drainTimeoutMillis = drainTimeoutMillis;
+        for (Mutation mutation : this.journal.getRecovered()) {
+            lanes.computeIfAbsent(mutation.target, target -> new ArrayDeque<>()).add(mutation);
+            nextSequence = Math.max(nextSequence, mutation.sequence + 1);
+            pending++;
+        }
+    }
+
+    /**
+     * Queues a new page.
+     *
+     * @param parent the parent of the page
+     * @param properties the page properties
+     * @return a future completed with the created page once it is sent
+     * @throws IllegalArgumentException if a property does not match the database schema
+     * @throws IllegalStateException if the queue is closed
+     */
+    public CompletableFuture<Page> createPage(Parent parent, Map<String, Object> properties) {
+        return createPage(parent, properties, List.of());
+    }
+
+    /**
+     * Queues a new page with content.
+     *
+     * @param parent the parent of the page
+     * @param properties the page properties
+     * @param children the content blocks
+     * @return a future completed with the created page once it is sent
+     * @throws IllegalArgumentException if a property does not match the database schema
+     * @throws IllegalStateException if the queue is closed
+     */
+    public CompletableFuture<Page> createPage(Parent parent, Map<String, Object> properties, List<Block> children) {
+        if (schemaCache != null && parent != null && parent.getDatabaseId() != null) {
+            schemaCache.validatePageProperties(parent.getDatabaseId(), properties);
+        }
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("parent", parent);
+        requestBody.put("properties", properties);
+        if (children != null && !children.isEmpty()) {
+            requestBody.put("children", children);
+        }
+        return enqueue(Mutation.Operation.CREATE_PAGE, target(parent), "/pages", requestBody);
+    }
+
+    /**
+     * Queues an update of the properties of a page.
+     *
+     * @param pageId the page ID
+     * @param properties the properties to update
+     * @return a future completed with the updated page once it is sent
+     * @throws IllegalStateException if the queue is closed
+     */
+    public CompletableFuture<Page> updatePage(String pageId, Map<String, Object> properties) {
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("properties", properties);
+        return enqueue(Mutation.Operation.UPDATE_PAGE, pageId, "/pages/" + pageId, requestBody);
+    }
+
+    /**
+     * Queues blocks to append to a block or page.
+     *
+     * @param blockId the parent block ID
+     * @param children the blocks to append
+     * @return a future completed with the created blocks once they are sent
+     * @throws IllegalStateException if the queue is closed
+     */
+    public CompletableFuture<PaginatedResponse<Block>> appendBlockChildren(String blockId, List<Block> children) {
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("children", children);
+        return enqueue(Mutation.Operation.APPEND_BLOCK_CHILDREN, blockId, "/blocks/" + blockId + "/children",
+                requestBody);
+    }
+
+    /**
+     * Gets the number of mutations not yet sent or given up.
+     *
+     * @return the number of pending mutations
+     */
+    public synchronized int getPendingCount() {
+        return pending;
+    }
+
+    /**
+     * Waits until every pending mutation has been sent or given up.
+     *
+     * @param timeoutMillis the maximum time to wait, in milliseconds
+     * @return true if the queue is empty
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public synchronized boolean drain(long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (pending > 0) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return false;
+            }
+            wait(remaining);
+        }
+        return true;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        start();
+    }
+
+    /**
+     * Starts sending mutations in the background, recovered ones first.
+     *
+     * @throws IllegalStateException if the queue has already been started or is closed
+     */
+    public synchronized void start() {
+        if (worker != null || !accepting) {
+            throw new IllegalStateException("Write queue is already started or closed");
+        }
+        running = true;
+        worker = new Thread(this::work, "notion-write-queue");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Stops accepting mutations, waits up to the drain timeout for the pending
+     * ones to be sent and stops the worker. Mutations still pending stay in the
+     * journal and are replayed when the queue is created again; their futures
+     * fail. A mutation that is being sent is not failed: the worker completes
+     * it when its response arrives and closes the journal afterwards.
+     */
+    @Override
+    public void close() {
+        Thread stopping;
+        synchronized (this) {
+            if (!accepting) {
+                return;
+            }
+            accepting = false;
+        }
+        try {
+            if (worker != null && !drain(drainTimeoutMillis)) {
+                log.warn("Closed write queue with {} mutations pending; they will be replayed on restart",
+                        getPendingCount());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            running = false;
+            stopping = worker;
+            notifyAll();
+            for (ArrayDeque<Mutation> lane : lanes.values()) {
+                lane.stream().filter(mutation -> mutation != inFlight).forEach(NotionWriteQueue::failClosed);
+            }
+        }
+        if (stopping != null) {
+            try {
+                stopping.join(Math.max(1, drainTimeoutMillis));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (stopping.isAlive()) {
+                log.warn("Write queue worker is still sending a mutation; its journal is closed once it finishes");
+                return;
+            }
+        }
+        closeJournal();
+    }
+
+    @SuppressWarnings("unchecked")
+    private synchronized <T> CompletableFuture<T> enqueue(Mutation.Operation operation, String target, String path,
+                                                       Map<String, Object> requestBody) {
+        if (!accepting) {
+            throw new IllegalStateException("Write queue is closed");
+        }
+        Mutation mutation = new Mutation(nextSequence++, operation, key(target), path,
+                objectMapper.valueToTree(requestBody));
+        journal.append(mutation);
+        lanes.computeIfAbsent(mutation.target, t -> new ArrayDeque<>()).add(mutation);
+        pending++;
+        notifyAll();
+        return (CompletableFuture<T>) mutation.result;
+    }
+
+    private void work() {
+        try {
+            Mutation mutation;
+            while ((mutation = take()) != null) {
+                Object result;
+                try {
+                    result = send(mutation);
+                } catch (RuntimeException e) {
+                    retryOrGiveUp(mutation, e);
+                    continue;
+                }
+                finish(mutation);
+                mutation.result.complete(result);
+            }
+        } finally {
+            // close() leaves the journal open while a mutation is in flight
+            closeJournal();
+        }
+    }
+
+    /**
+     * Waits for the head of a lane that is due, taking the lanes in turn.
+     * The mutation stays at the head of its lane until it is finished, so the
+     * lane's next mutation is not sent before it.
+     *
+     * @return the mutation to send, or null once the queue is stopped
+     */
+    private synchronized Mutation take() {
+        while (running) {
+            long now = System.currentTimeMillis();
+            long wakeUp = Long.MAX_VALUE;
+            if (pausedUntil > now) {
+                wakeUp = pausedUntil;
+            } else {
+                Iterator<Map.Entry<String, ArrayDeque<Mutation>>> it = lanes.entrySet().iterator();
+                while (it.hasNext()) {
+                    Map.Entry<String, ArrayDeque<Mutation>> lane = it.next();
+                    Mutation head = lane.getValue().peek();
+                    if (head.notBefore <= now) {
+                        // Move the lane to the back so the other targets get a turn
+                        it.remove();
+                        lanes.put(lane.getKey(), lane.getValue());
+                        inFlight = head;
+                        return head;
+                    }
+                    wakeUp = Math.min(wakeUp, head.notBefore);
+                }
+            }
+            try {
+                if (wakeUp == Long.MAX_VALUE) {
+                    wait();
+                } else {
+                    wait(Math.max(1, wakeUp - now));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private Object send(Mutation mutation) {
+        return switch (mutation.operation) {
+            case CREATE_PAGE -> notionClient.post(mutation.path, mutation.body, Page.class);
+            case UPDATE_PAGE -> notionClient.patch(mutation.path, mutation.body, Page.class);
+            case APPEND_BLOCK_CHILDREN -> notionClient.patch(mutation.path, mutation.body, BLOCK_LIST);
+        };
+    }
+
+    private void retryOrGiveUp(Mutation mutation, RuntimeException e) {
+        long delay = retryDelay(e, ++mutation.attempts);
+        if (delay >= 0 && mutation.attempts < maxAttempts) {
+            log.debug("Retrying {} {} in {} ms: {}", mutation.operation, mutation.target, delay, e.getMessage());
+            synchronized (this) {
+                inFlight = null;
+                mutation.notBefore = System.currentTimeMillis() + delay;
+                if (isRateLimited(e)) {
+                    pausedUntil = mutation.notBefore;
+                }
+                if (!running) {
+                    failClosed(mutation);
+                }
+            }
+            return;
+        }
+        log.error("Giving up {} {} after {} attempts: {}", mutation.operation, mutation.target,
+                mutation.attempts, e.getMessage());
+        finish(mutation);
+        mutation.result.completeExceptionally(e);
+    }
+
+    /**
+     * Marks a mutation done in the journal and removes it from its lane. Once
+     * the journal is closed the mutation stays in it and is replayed.
+     */
+    private synchronized void finish(Mutation mutation) {
+        inFlight = null;
+        if (!journalClosed) {
+            journal.complete(mutation);
+        }
+        ArrayDeque<Mutation> lane = lanes.get(mutation.target);
+        lane.poll();
+        if (lane.isEmpty()) {
+            lanes.remove(mutation.target);
+        }
+        if (--pending == 0 && !journalClosed) {
+            journal.reset();
+        }
+        notifyAll();
+    }
+
+    private synchronized void closeJournal() {
+        if (!journalClosed) {
+            journalClosed = true;
+            journal.close();
+        }
+    }
+
+    private static void failClosed(Mutation mutation) {
+        mutation.result.completeExceptionally(
+                new IllegalStateException("Write queue closed before the mutation was sent"));
+    }
+
+    /**
+     * Gets the delay before retrying a failed request: the
+     * {@code Retry-After} time of a 429 response, otherwise exponential
+     * backoff.
+     *
+     * @return the delay in milliseconds, or -1 if the failure is not worth retrying
+     */
+    private long retryDelay(RuntimeException e, int attempts) {
+        // Anything else, such as a response that cannot be read, may follow a write Notion has applied
+        HttpStatusCode status = status(e);
+        boolean retryable = status == null
+                ? e instanceof ResourceAccessException
+                : status.value() == 409 || status.value() == 429 || status.is5xxServerError();
+        if (!retryable) {
+            return -1;
+        }
+        if (e instanceof RestClientResponseException response && response.getResponseHeaders() != null) {
+            String retryAfter = response.getResponseHeaders().getFirst("Retry-After");
+            if (retryAfter != null) {
+                try {
+                    return Math.min(MAX_RETRY_DELAY, Long.parseLong(retryAfter.trim()) * 1000);
+                } catch (NumberFormatException ignored) {
+                    // An HTTP date, fall back to backoff
+                }
+            }
+        }
+        return Math.min(MAX_RETRY_DELAY, retryDelayMillis << Math.min(attempts - 1, 20));
+    }
+
+    private static boolean isRateLimited(RuntimeException e) {
+        HttpStatusCode status = status(e);
+        return status != null && status.value() == 429;
+    }
+
+    private static HttpStatusCode status(RuntimeException e) {
+        if (e instanceof RestClientResponseException response) {
+            return response.getStatusCode();
+        }
+        if (e instanceof NotionApiException api) {
+            return api.getStatusCode();
+        }
+        return null;
+    }
+
+    /**
+     * Normalizes Notion IDs so that dashed and undashed forms of a target
+     * share one lane.
+     */
+    private static String key(String target) {
+        NotionId id = NotionId.tryParse(target);
+        return id != null ? id.toString() : target;
+    }
+
+    private static String target(Parent parent) {
+        if (parent == null) {
+            return "workspace";
+        }
+        if (parent.getDatabaseId() != null) {
+            return parent.getDatabaseId();
+        }
+        if (parent.getPageId() != null) {
+            return parent.getPageId();
+        }
+        return parent.getBlockId() != null ? parent.getBlockId() : "workspace";
+    }
+}
@@ -0,0 +1,172 @@
+package dev.danvega.notion.queue;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only file of the mutations in a {@link NotionWriteQueue}, one JSON
+ * record per line: an entry when a mutation is accepted and a completion
+ * marker when it is sent or given up. Every record is forced to disk before
+ * the call returns.
+ * <p>
+ * On opening, the mutations without a completion marker are recovered and
+ * the file is rewritten with only those; a torn last line left by a crash is
+ * skipped. The file is truncated whenever nothing is pending, so it stays
+ * small in steady state.
+ */
+final class WriteJournal implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteJournal.class);
+
+    private final Path file;
+    private final ObjectMapper objectMapper;
+    private final List<Mutation> recovered;
+    private final FileChannel channel;
+
+    /**
+     * Opens a journal, creating it if it does not exist.
+     *
+     * @param file the journal file
+     * @param objectMapper the ObjectMapper used for records
+     * @throws UncheckedIOException if the file cannot be read or written
+     */
+    WriteJournal(Path file, ObjectMapper objectMapper) {
+        this.file = file;
+        this.objectMapper = objectMapper;
+        try {
+            this.recovered = recover();
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open write queue journal " + file, e);
+        }
+    }
+
+    /**
+     * Gets the mutations left unfinished by the previous run, in the order they
+     * were accepted.
+     */
+    List<Mutation> getRecovered() {
+        return recovered;
+    }
+
+    void append(Mutation mutation) {
+        write(entry(mutation));
+    }
+
+    void complete(Mutation mutation) {
+        write(objectMapper.createObjectNode().put("done", mutation.sequence));
+    }
+
+    /**
+     * Empties the file. Only called when no mutation is pending.
+     */
+    void reset() {
+        try {
+            channel.truncate(0);
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to truncate write queue journal " + file, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.warn("Failed to close write queue journal {}: {}", file, e.getMessage());
+        }
+    }
+
+    private void write(JsonNode record) {
+        try {
+            ByteBuffer line = line(record);
+            while (line.hasRemaining()) {
+                channel.write(line);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write to write queue journal " + file, e);
+        }
+    }
+
+    /**
+     * Reads the pending mutations and rewrites the file with only those.
+     */
+    private List<Mutation> recover() throws IOException {
+        if (!Files.exists(file)) {
+            return List.of();
+        }
+        Map<Long, Mutation> pending = new LinkedHashMap<>();
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            if (line.isBlank()) {
+                continue;
+            }
+            JsonNode record;
+            try {
+                record = objectMapper.readTree(line);
+            } catch (JsonProcessingException e) {
+                log.warn("Skipping unreadable record in write queue journal {}", file);
+                continue;
+            }
+            if (record.has("done")) {
+                pending.remove(record.get("done").asLong());
+            } else {
+                long sequence = record.path("sequence").asLong();
+                pending.put(sequence, new Mutation(sequence,
+                        Mutation.Operation.valueOf(record.path("operation").asText()),
+                        record.path("target").asText(), record.path("path").asText(), record.get("body")));
+            }
+        }
+        List<Mutation> mutations = new ArrayList<>(pending.values());
+        Path compacted = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(compacted, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (Mutation mutation : mutations) {
+                ByteBuffer line = line(entry(mutation));
+                while (line.hasRemaining()) {
+                    out.write(line);
+                }
+            }
+            out.force(false);
+        }
+        Files.move(compacted, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        if (!mutations.isEmpty()) {
+            log.info("Recovered {} unfinished mutations from write queue journal {}", mutations.size(), file);
+        }
+        return mutations;
+    }
+
+    private ObjectNode entry(Mutation mutation) {
+        ObjectNode record = objectMapper.createObjectNode();
+        record.put("sequence", mutation.sequence);
+        record.put("operation", mutation.operation.name());
+        record.put("target", mutation.target);
+        record.put("path", mutation.path);
+        record.set("body", mutation.body);
+        return record;
+    }
+
+    private ByteBuffer line(JsonNode record) throws JsonProcessingException {
+        return ByteBuffer.wrap((objectMapper.writeValueAsString(record) + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,189 @@
+package dev.danvega.notion.replica;
+
+import dev.danvega.notion.model.common.LazyProperties;
+import dev.danvega.notion.model.common.NotionId;
+import dev.danvega.notion.model.page.Page;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The values of one property, or one page timestamp, across the rows of an
+ * {@link IndexedSnapshot}, decoded once into plain comparable values:
+ * <ul>
+ *   <li>text, select and status properties as {@link String}</li>
+ *   <li>number properties as {@link Double}</li>
+ *   <li>checkbox properties as {@link Boolean}</li>
+ *   <li>date properties and timestamps as epoch milliseconds in a {@link Long}</li>
+ *   <li>multi-select, people, relation and files properties as a list of
+ *       option names, IDs or file names</li>
+ * </ul>
+ * Empty values are null. Values of other property types are not decoded.
+ */
+final class Column {
+
+    static final Set<String> TEXT_TYPES = Set.of("title", "rich_text", "url", "email", "phone_number");
+    static final Set<String> LIST_TYPES = Set.of("multi_select", "people", "relation", "files");
+    static final Set<String> TIMESTAMPS = Set.of("created_time", "last_edited_time");
+
+    private final String name;
+    private final String type;
+    private final Object[] values;
+
+    private Column(String name, String type, Object[] values) {
+        this.name = name;
+        this.type = type;
+        this.values = values;
+    }
+
+    /**
+     * Decodes a property of every row.
+     *
+     * @param name the property name
+     * @param rows the rows
+     * @return the column, typed after the first row that has the property
+     */
+    static Column ofProperty(String name, Page[] rows) {
+        Object[] values = new Object[rows.length];
+        String type = null;
+        for (int i = 0; i < rows.length; i++) {
+            LazyProperties properties = rows[i].getLazyProperties();
+            String rowType = properties.getPropertyType(name);
+            if (rowType == null) {
+                continue;
+            }
+            if (type == null) {
+                type = rowType;
+            }
+            values[i] = decode(properties, name, rowType);
+        }
+        return new Column(name, type, values);
+    }
+
+    /**
+     * Reads a timestamp of every row.
+     *
+     * @param timestamp {@code created_time} or {@code last_edited_time}
+     * @param rows the rows
+     * @return the column
+     */
+    static Column ofTimestamp(String timestamp, Page[] rows) {
+        if (!TIMESTAMPS.contains(timestamp)) {
+            throw new IllegalArgumentException("Unknown timestamp '" + timestamp + "'");
+        }
+        Object[] values = new Object[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            ZonedDateTime time = timestamp.equals("created_time")
+                    ? rows[i].getCreatedTime() : rows[i].getLastEditedTime();
+            values[i] = time != null ? time.toInstant().toEpochMilli() : null;
+        }
+        return new Column(timestamp, timestamp, values);
+    }
+
+    String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the property type, or the timestamp name for timestamp columns.
+     *
+     * @return the type, or null if no row has the property
+     */
+    String getType() {
+        return type;
+    }
+
+    Object get(int row) {
+        return values[row];
+    }
+
+    int size() {
+        return values.length;
+    }
+
+    boolean isList() {
+        return type != null && LIST_TYPES.contains(type);
+    }
+
+    /**
+     * Parses an ISO-8601 date or date-time into epoch milliseconds. Dates and
+     * date-times without an offset are taken as UTC.
+     *
+     * @param value the date
+     * @return the epoch milliseconds
+     * @throws IllegalArgumentException if the value is not a date
+     */
+    static long toMillis(String value) {
+        try {
+            if (value.length() == 10) {
+                return LocalDate.parse(value).atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+            }
+            if (value.endsWith("Z") || value.lastIndexOf('+') > 9 || value.lastIndexOf('-') > 9) {
+                return OffsetDateTime.parse(value).toInstant().toEpochMilli();
+            }
+            return LocalDateTime.parse(value).toInstant(ZoneOffset.UTC).toEpochMilli();
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Not a date: " + value, e);
+        }
+    }
+
+    private static Object decode(LazyProperties properties, String name, String type) {
+        if (TEXT_TYPES.contains(type) || type.equals("select") || type.equals("status")) {
+            String text = properties.getText(name);
+            return text == null || text.isEmpty() ? null : text;
+        }
+        switch (type) {
+            case "number" -> {
+                Number number = properties.getNumber(name);
+                return number != null ? number.doubleValue() : null;
+            }
+            case "checkbox" -> {
+                return Boolean.TRUE.equals(properties.getCheckbox(name));
+            }
+            case "date" -> {
+                String start = properties.getDateStart(name);
+                return start != null ? toMillis(start) : null;
+            }
+            case "multi_select" -> {
+                List<String> names = properties.getMultiSelect(name);
+                return names == null || names.isEmpty() ? null : List.copyOf(names);
+            }
+            case "people", "relation" -> {
+                return listField(properties, name, type, "id");
+            }
+            case "files" -> {
+                return listField(properties, name, type, "name");
+            }
+            default -> {
+                return null;
+            }
+        }
+    }
+
+    private static List<String> listField(LazyProperties properties, String name, String type, String field) {
+        if (!(properties.get(name, Map.class) instanceof Map<?, ?> property)
+                || !(property.get(type) instanceof List<?> items)) {
+            return null;
+        }
+        List<String> values = new ArrayList<>(items.size());
+        for (Object item : items) {
+            if (item instanceof Map<?, ?> map && map.get(field) instanceof String value) {
+                values.add(field.equals("id") ? normalizeId(value) : value);
+            }
+        }
+        return values.isEmpty() ? null : List.copyOf(values);
+    }
+
+    static String normalizeId(String id) {
+        NotionId parsed = NotionId.tryParse(id);
+        return parsed != null ? parsed.toString() : id;
+    }
+}
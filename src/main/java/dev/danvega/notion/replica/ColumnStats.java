@@ -0,0 +1,105 @@
+package dev.danvega.notion.replica;
+
+import java.time.Instant;
+
+/**
+ * Count, sum, minimum and maximum of the non-empty values of a number or
+ * date property. Date values are epoch milliseconds.
+ */
+public final class ColumnStats {
+
+    private long count;
+    private double sum;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    ColumnStats() {
+    }
+
+    void accept(double value) {
+        count++;
+        sum += value;
+        if (value < min) {
+            min = value;
+        }
+        if (value > max) {
+            max = value;
+        }
+    }
+
+    ColumnStats merge(ColumnStats other) {
+        count += other.count;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        return this;
+    }
+
+    /**
+     * Gets the number of non-empty values.
+     *
+     * @return the count
+     */
+    public long getCount() {
+        return count;
+    }
+
+    public double getSum() {
+        return sum;
+    }
+
+    /**
+     * Gets the smallest value.
+     *
+     * @return the minimum, or NaN if there are no values
+     */
+    public double getMin() {
+        return count > 0 ? min : Double.NaN;
+    }
+
+    /**
+     * Gets the largest value.
+     *
+     * @return the maximum, or NaN if there are no values
+     */
+    public double getMax() {
+        return count > 0 ? max : Double.NaN;
+    }
+
+    /**
+     * Gets the mean value.
+     *
+     * @return the average, or NaN if there are no values
+     */
+    public double getAverage() {
+        return count > 0 ? sum / count : Double.NaN;
+    }
+
+    /**
+     * Gets the earliest value of a date property.
+     *
+     * @return the earliest date, or null if there are no values
+     */
+    public Instant getMinInstant() {
+        return count > 0 ? Instant.ofEpochMilli((long) min) : null;
+    }
+
+    /**
+     * Gets the latest value of a date property.
+     *
+     * @return the latest date, or null if there are no values
+     */
+    public Instant getMaxInstant() {
+        return count > 0 ? Instant.ofEpochMilli((long) max) : null;
+    }
+
+    @Override
+    public String toString() {
+        return "ColumnStats{" +
+               "count=" + count +
+               ", sum=" + sum +
+               ", min=" + getMin() +
+               ", max=" + getMax() +
+               '}';
+    }
+}
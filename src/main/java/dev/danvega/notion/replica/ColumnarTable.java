@@ -0,0 +1,382 @@
+package dev.danvega.notion.replica;
+
+import dev.danvega.notion.model.common.LazyProperties;
+import dev.danvega.notion.model.page.Page;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Number, date, checkbox, select and status properties of a set of pages,
+ * stored column by column in primitive arrays for aggregation:
+ * <ul>
+ *   <li>number properties as a {@code double[]} and date properties as a
+ *       {@code long[]} of epoch milliseconds, each with a bitset of the rows
+ *       that have a value</li>
+ *   <li>checkbox properties as a bitset of the checked rows</li>
+ *   <li>select and status properties as an {@code int[]} of codes into a
+ *       dictionary of option names</li>
+ * </ul>
+ * Aggregations read each column once without boxing. Tables larger than one
+ * segment of {@value #SEGMENT_ROWS} rows are aggregated segment by segment in
+ * parallel and the partial results merged. Tables are immutable.
+ */
+public final class ColumnarTable {
+
+    static final int SEGMENT_ROWS = 16_384;
+
+    /**
+     * Column of a property whose type is unknown because there are no rows;
+     * every aggregation of it is empty.
+     */
+    private static final Object UNTYPED = new Object();
+
+    private final int rows;
+    private final int segmentRows;
+    private final Map<String, Object> columns;
+
+    private ColumnarTable(int rows, int segmentRows, Map<String, Object> columns) {
+        this.rows = rows;
+        this.segmentRows = segmentRows;
+        this.columns = columns;
+    }
+
+    /**
+     * Builds a table from pages, such as the results of a query.
+     *
+     * Property types are taken from the pages, so a table of no pages accepts
+     * any property and aggregates it as empty; build it with
+     * {@link ReplicaQueryEngine#aggregate} to keep the types of the database.
+     *
+     * @param pages the pages
+     * @param properties the properties to store
+     * @return the table
+     * @throws IllegalArgumentException if no page has a property or it is of a type that cannot be stored
+     */
+    public static ColumnarTable of(Collection<Page> pages, String... properties) {
+        return of(pages, SEGMENT_ROWS, properties);
+    }
+
+    /**
+     * Builds a table from the pages of a replica snapshot.
+     *
+     * @param snapshot the snapshot
+     * @param properties the properties to store
+     * @return the table
+     * @throws IllegalArgumentException if a property is unknown or of a type that cannot be stored
+     */
+    public static ColumnarTable of(ReplicaSnapshot snapshot, String... properties) {
+        return of(snapshot.getPages(), SEGMENT_ROWS, new IndexedSnapshot(snapshot, List.of(), List.of()),
+                properties);
+    }
+
+    static ColumnarTable of(Collection<Page> pages, int segmentRows, String... properties) {
+        return of(pages, segmentRows, null, properties);
+    }
+
+    /**
+     * Builds a table from a subset of the pages of a snapshot, resolving
+     * property names or IDs and their types through the whole snapshot, so
+     * that an unknown property fails and a property keeps its type when no
+     * page matched.
+     *
+     * @param schema the snapshot the pages come from, or null to take types from the pages
+     */
+    static ColumnarTable of(Collection<Page> pages, int segmentRows, IndexedSnapshot schema,
+                            String... properties) {
+        LazyProperties[] rows = pages.stream().map(Page::getLazyProperties).toArray(LazyProperties[]::new);
+        Map<String, Object> columns = new LinkedHashMap<>();
+        for (String property : properties) {
+            String name = schema != null ? schema.resolve(property) : property;
+            columns.put(property, column(name, schema != null ? schema.type(name) : null, rows));
+        }
+        return new ColumnarTable(rows.length, segmentRows, columns);
+    }
+
+    public int size() {
+        return rows;
+    }
+
+    /**
+     * Aggregates a number or date property.
+     *
+     * @param property the property
+     * @return the count, sum, minimum and maximum of its values
+     * @throws IllegalArgumentException if the property is not a stored number or date
+     */
+    public ColumnStats stats(String property) {
+        Object column = column(property);
+        if (column instanceof NumberColumn numbers) {
+            return reduce(segment -> numbers.stats(segment.from, segment.to), ColumnStats::merge);
+        }
+        if (column instanceof DateColumn dates) {
+            return reduce(segment -> dates.stats(segment.from, segment.to), ColumnStats::merge);
+        }
+        if (column == UNTYPED) {
+            return new ColumnStats();
+        }
+        throw new IllegalArgumentException("Property '" + property + "' is not a number or date");
+    }
+
+    /**
+     * Counts the rows whose checkbox is checked.
+     *
+     * @param property the checkbox property
+     * @return the number of checked rows
+     * @throws IllegalArgumentException if the property is not a stored checkbox
+     */
+    public int countChecked(String property) {
+        Object column = column(property);
+        if (column instanceof CheckboxColumn checkbox) {
+            return checkbox.checked.cardinality();
+        }
+        if (column == UNTYPED) {
+            return 0;
+        }
+        throw new IllegalArgumentException("Property '" + property + "' is not a checkbox");
+    }
+
+    /**
+     * Counts the rows per option of a select or status property, or per
+     * value of a checkbox.
+     *
+     * @param key the property to group by
+     * @return the counts by option name, in order of first appearance; rows
+     *         without an option are counted under a null key
+     */
+    public Map<String, Long> countBy(String key) {
+        Map<String, ColumnStats> groups = groupBy(key, null);
+        Map<String, Long> counts = new LinkedHashMap<>();
+        groups.forEach((name, stats) -> counts.put(name, stats.getCount()));
+        return counts;
+    }
+
+    /**
+     * Aggregates a number or date property per option of a select or status
+     * property, or per value of a checkbox, in one pass.
+     *
+     * @param key the property to group by
+     * @param value the number or date property to aggregate
+     * @return the statistics by option name, in order of first appearance; rows
+     *         without an option are grouped under a null key
+     * @throws IllegalArgumentException if the properties are not stored or of the wrong types
+     */
+    public Map<String, ColumnStats> groupBy(String key, String value) {
+        Object keyColumn = column(key);
+        int[] codes;
+        String[] names;
+        if (keyColumn instanceof OptionColumn options) {
+            codes = options.codes;
+            names = options.names;
+        } else if (keyColumn instanceof CheckboxColumn checkbox) {
+            codes = new int[rows];
+            for (int row = checkbox.checked.nextSetBit(0); row >= 0; row = checkbox.checked.nextSetBit(row + 1)) {
+                codes[row] = 1;
+            }
+            names = new String[] {"false", "true"};
+        } else if (keyColumn == UNTYPED) {
+            codes = new int[0];
+            names = new String[0];
+        } else {
+            throw new IllegalArgumentException("Property '" + key + "' is not a select, status or checkbox");
+        }
+        Object valueColumn = value != null ? column(value) : null;
+        if (valueColumn != null && !(valueColumn instanceof NumberColumn) && !(valueColumn instanceof DateColumn)
+                && valueColumn != UNTYPED) {
+            throw new IllegalArgumentException("Property '" + value + "' is not a number or date");
+        }
+        double[] numbers = valueColumn instanceof NumberColumn column ? column.values : null;
+        long[] dates = valueColumn instanceof DateColumn column ? column.values : null;
+        BitSet present = numbers != null ? ((NumberColumn) valueColumn).present
+                : dates != null ? ((DateColumn) valueColumn).present : null;
+        Groups groups = reduce(segment -> {
+            Groups partial = new Groups(names.length + 1);
+            for (int row = segment.from; row < segment.to; row++) {
+                ColumnStats stats = partial.stats[codes[row] + 1];
+                if (present == null) {
+                    stats.accept(0);
+                } else if (present.get(row)) {
+                    stats.accept(numbers != null ? numbers[row] : dates[row]);
+                }
+            }
+            return partial;
+        }, Groups::merge);
+        Map<String, ColumnStats> result = new LinkedHashMap<>();
+        for (int code = 0; code < names.length; code++) {
+            if (groups.stats[code + 1].getCount() > 0 || valueColumn != null) {
+                result.put(names[code], groups.stats[code + 1]);
+            }
+        }
+        if (groups.stats[0].getCount() > 0) {
+            result.put(null, groups.stats[0]);
+        }
+        return result;
+    }
+
+    private Object column(String property) {
+        Object column = columns.get(property);
+        if (column == null) {
+            throw new IllegalArgumentException("Property '" + property + "' is not part of the table");
+        }
+        return column;
+    }
+
+    /**
+     * Computes a partial result per segment, in parallel when there is more
+     * than one, and merges them.
+     */
+    private <T> T reduce(Function<Segment, T> partial, BinaryOperator<T> merge) {
+        int segments = Math.max(1, (rows + segmentRows - 1) / segmentRows);
+        IntFunction<T> compute = index -> partial.apply(
+                new Segment(index * segmentRows, Math.min(rows, (index + 1) * segmentRows)));
+        if (segments == 1) {
+            return compute.apply(0);
+        }
+        return IntStream.range(0, segments).parallel().mapToObj(compute).reduce(merge).orElseThrow();
+    }
+
+    private static Object column(String property, String type, LazyProperties[] rows) {
+        for (int i = 0; type == null && i < rows.length; i++) {
+            type = rows[i].getPropertyType(property);
+        }
+        if (type == null) {
+            if (rows.length > 0) {
+                throw new IllegalArgumentException("Unknown property '" + property + "'");
+            }
+            return UNTYPED;
+        }
+        switch (type) {
+            case "number" -> {
+                double[] values = new double[rows.length];
+                BitSet present = new BitSet(rows.length);
+                for (int i = 0; i < rows.length; i++) {
+                    Number number = rows[i].getNumber(property);
+                    if (number != null) {
+                        values[i] = number.doubleValue();
+                        present.set(i);
+                    }
+                }
+                return new NumberColumn(values, present);
+            }
+            case "date" -> {
+                long[] values = new long[rows.length];
+                BitSet present = new BitSet(rows.length);
+                for (int i = 0; i < rows.length; i++) {
+                    String start = rows[i].getDateStart(property);
+                    if (start != null) {
+                        values[i] = Column.toMillis(start);
+                        present.set(i);
+                    }
+                }
+                return new DateColumn(values, present);
+            }
+            case "checkbox" -> {
+                BitSet checked = new BitSet(rows.length);
+                for (int i = 0; i < rows.length; i++) {
+                    if (Boolean.TRUE.equals(rows[i].getCheckbox(property))) {
+                        checked.set(i);
+                    }
+                }
+                return new CheckboxColumn(checked);
+            }
+            case "select", "status" -> {
+                int[] codes = new int[rows.length];
+                Map<String, Integer> dictionary = new HashMap<>();
+                for (int i = 0; i < rows.length; i++) {
+                    String name = rows[i].getText(property);
+                    codes[i] = name == null ? -1 : dictionary.computeIfAbsent(name, n -> dictionary.size());
+                }
+                String[] names = new String[dictionary.size()];
+                dictionary.forEach((name, code) -> names[code] = name);
+                return new OptionColumn(codes, names);
+            }
+            default -> throw new IllegalArgumentException("Property '" + property + "' of type " + type
+                    + " cannot be stored in a columnar table");
+        }
+    }
+
+    private record Segment(int from, int to) {
+    }
+
+    private static final class NumberColumn {
+        private final double[] values;
+        private final BitSet present;
+
+        private NumberColumn(double[] values, BitSet present) {
+            this.values = values;
+            this.present = present;
+        }
+
+        private ColumnStats stats(int from, int to) {
+            ColumnStats stats = new ColumnStats();
+            for (int row = present.nextSetBit(from); row >= 0 && row < to; row = present.nextSetBit(row + 1)) {
+                stats.accept(values[row]);
+            }
+            return stats;
+        }
+    }
+
+    private static final class DateColumn {
+        private final long[] values;
+        private final BitSet present;
+
+        private DateColumn(long[] values, BitSet present) {
+            this.values = values;
+            this.present = present;
+        }
+
+        private ColumnStats stats(int from, int to) {
+            ColumnStats stats = new ColumnStats();
+            for (int row = present.nextSetBit(from); row >= 0 && row < to; row = present.nextSetBit(row + 1)) {
+                stats.accept(values[row]);
+            }
+            return stats;
+        }
+    }
+
+    private static final class CheckboxColumn {
+        private final BitSet checked;
+
+        private CheckboxColumn(BitSet checked) {
+            this.checked = checked;
+        }
+    }
+
+    private static final class OptionColumn {
+        private final int[] codes;
+        private final String[] names;
+
+        private OptionColumn(int[] codes, String[] names) {
+            this.codes = codes;
+            this.names = names;
+        }
+    }
+
+    /**
+     * Statistics per group, index 0 holding the rows without a key.
+     */
+    private static final class Groups {
+        private final ColumnStats[] stats;
+
+        private Groups(int size) {
+            stats = new ColumnStats[size];
+            Arrays.setAll(stats, i -> new ColumnStats());
+        }
+
+        private Groups merge(Groups other) {
+            for (int i = 0; i < stats.length; i++) {
+                stats[i].merge(other.stats[i]);
+            }
+            return this;
+        }
+    }
+}
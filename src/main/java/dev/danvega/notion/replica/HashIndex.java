@@ -0,0 +1,83 @@
+package dev.danvega.notion.replica;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index from the values of a column to the rows holding them. Rows of list
+ * columns are indexed under each of their elements, so the index answers
+ * {@code equals} on scalar properties and {@code contains} on multi-select,
+ * people and relation properties.
+ */
+final class HashIndex {
+
+    private final Column column;
+    private final Map<Object, int[]> rows;
+
+    HashIndex(Column column) {
+        this.column = column;
+        Map<Object, RowList> lists = new HashMap<>();
+        for (int row = 0; row < column.size(); row++) {
+            for (Object key : keys(column.get(row))) {
+                lists.computeIfAbsent(key, k -> new RowList()).add(row);
+            }
+        }
+        Map<Object, int[]> index = new HashMap<>(lists.size() * 4 / 3 + 1);
+        lists.forEach((key, list) -> index.put(key, Arrays.copyOf(list.rows, list.size)));
+        this.rows = index;
+    }
+
+    Column getColumn() {
+        return column;
+    }
+
+    /**
+     * Gets the rows holding a value.
+     *
+     * @param key the value, normalized as in the column
+     * @return the rows
+     */
+    BitSet lookup(Object key) {
+        BitSet result = new BitSet(column.size());
+        int[] matches = rows.get(key);
+        if (matches != null) {
+            for (int row : matches) {
+                result.set(row);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Counts the rows holding a value, without collecting them.
+     *
+     * @param key the value, normalized as in the column
+     * @return the number of rows
+     */
+    int count(Object key) {
+        int[] matches = rows.get(key);
+        return matches != null ? matches.length : 0;
+    }
+
+    private static List<?> keys(Object value) {
+        if (value == null) {
+            return List.of();
+        }
+        return value instanceof List<?> list ? list : List.of(value);
+    }
+
+    private static final class RowList {
+        private int[] rows = new int[4];
+        private int size;
+
+        private void add(int row) {
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size * 2);
+            }
+            rows[size++] = row;
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package dev.danvega.notion.replica;
+
+import dev.danvega.notion.model.common.LazyProperties;
+import dev.danvega.notion.model.database.Filter;
+import dev.danvega.notion.model.database.Sort;
+import dev.danvega.notion.model.page.Page;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.util.UriUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@link ReplicaSnapshot} laid out for querying: its pages as numbered rows,
+ * property values decoded into {@link Column}s on first use, and the
+ * configured indexes built up front.
+ */
+final class IndexedSnapshot {
+
+    private static final Logger log = LoggerFactory.getLogger(IndexedSnapshot.class);
+
+    private final ReplicaSnapshot snapshot;
+    private final Page[] rows;
+    private final Map<String, String> namesById = new HashMap<>();
+    private final Map<String, Column> columns = new ConcurrentHashMap<>();
+    private final Map<String, HashIndex> hashIndexes = new HashMap<>();
+    private final Map<String, SortedIndex> sortedIndexes = new HashMap<>();
+
+    IndexedSnapshot(ReplicaSnapshot snapshot, Collection<String> hashIndexed, Collection<String> sortedIndexed) {
+        this.snapshot = snapshot;
+        this.rows = snapshot.getPages().toArray(new Page[0]);
+        if (rows.length > 0) {
+            LazyProperties properties = rows[0].getLazyProperties();
+            for (String name : properties.keySet()) {
+                String id = properties.getPropertyId(name);
+                if (id != null) {
+                    namesById.put(id, name);
+                    namesById.put(UriUtils.decode(id, StandardCharsets.UTF_8), name);
+                }
+            }
+        }
+        for (String property : hashIndexed) {
+            try {
+                Column column = column(property);
+                hashIndexes.put(column.getName(), new HashIndex(column));
+            } catch (IllegalArgumentException e) {
+                log.warn("Skipping hash index on database {}: {}", snapshot.getDatabaseId(), e.getMessage());
+            }
+        }
+        for (String property : sortedIndexed) {
+            try {
+                Column column = column(property);
+                sortedIndexes.put(column.getName(), new SortedIndex(column));
+            } catch (IllegalArgumentException e) {
+                log.warn("Skipping sorted index on database {}: {}", snapshot.getDatabaseId(), e.getMessage());
+            }
+        }
+    }
+
+    ReplicaSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    int size() {
+        return rows.length;
+    }
+
+    Page row(int row) {
+        return rows[row];
+    }
+
+    /**
+     * Resolves a property name or ID to the name the pages use.
+     *
+     * @param nameOrId the property name or ID
+     * @return the property name
+     * @throws IllegalArgumentException if no page has the property
+     */
+    String resolve(String nameOrId) {
+        if (rows.length == 0 || rows[0].getLazyProperties().containsKey(nameOrId)) {
+            return nameOrId;
+        }
+        String name = namesById.get(nameOrId);
+        if (name == null) {
+            throw new IllegalArgumentException("Unknown property '" + nameOrId + "' in database "
+                    + snapshot.getDatabaseId());
+        }
+        return name;
+    }
+
+    /**
+     * Gets the type of a property from the first page that has it, without
+     * decoding any values.
+     *
+     * @param name the property name, as resolved
+     * @return the type, or null if there are no pages
+     */
+    String type(String name) {
+        for (Page row : rows) {
+            String type = row.getLazyProperties().getPropertyType(name);
+            if (type != null) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the decoded values of a property, decoding them on first use.
+     *
+     * @param nameOrId the property name or ID
+     * @return the column
+     */
+    Column column(String nameOrId) {
+        return columns.computeIfAbsent(resolve(nameOrId), name -> Column.ofProperty(name, rows));
+    }
+
+    /**
+     * Gets the values of a page timestamp.
+     *
+     * @param timestamp {@code created_time} or {@code last_edited_time}
+     * @return the column
+     */
+    Column timestamp(String timestamp) {
+        return columns.computeIfAbsent("\0" + timestamp, key -> Column.ofTimestamp(timestamp, rows));
+    }
+
+    /**
+     * Plans a filter against the columns and indexes of this snapshot.
+     *
+     * @param filter the filter
+     * @param clock the clock for relative dates
+     * @return the planned filter
+     * @throws IllegalArgumentException if a property is unknown or of another type
+     */
+    RowFilter plan(Filter filter, Clock clock) {
+        return filter.accept(new Filter.Visitor<>() {
+            @Override
+            public RowFilter visitProperty(String property, String type, String operator, Object value) {
+                Column column = column(property);
+                return RowFilter.condition(column, type, operator, value,
+                        hashIndexes.get(column.getName()), sortedIndexes.get(column.getName()), clock);
+            }
+
+            @Override
+            public RowFilter visitTimestamp(String timestamp, String operator, Object value) {
+                return RowFilter.condition(timestamp(timestamp), timestamp, operator, value, null, null, clock);
+            }
+
+            @Override
+            public RowFilter visitCompound(String operator, List<Filter> filters) {
+                List<RowFilter> planned = new ArrayList<>(filters.size());
+                for (Filter child : filters) {
+                    planned.add(child.accept(this));
+                }
+                return operator.equals("and") ? RowFilter.and(planned) : RowFilter.or(planned);
+            }
+        });
+    }
+
+    /**
+     * Finds the rows matching a planned filter, testing only the candidates
+     * its indexes allow.
+     *
+     * @param filter the planned filter, or null for all rows
+     * @return the matching rows, in snapshot order
+     */
+    int[] select(RowFilter filter) {
+        if (filter == null) {
+            int[] all = new int[rows.length];
+            Arrays.setAll(all, i -> i);
+            return all;
+        }
+        BitSet candidates = filter.candidates();
+        int[] matches = new int[candidates != null ? candidates.cardinality() : rows.length];
+        int count = 0;
+        if (candidates != null) {
+            for (int row = candidates.nextSetBit(0); row >= 0; row = candidates.nextSetBit(row + 1)) {
+                if (filter.test(row)) {
+                    matches[count++] = row;
+                }
+            }
+        } else {
+            for (int row = 0; row < rows.length; row++) {
+                if (filter.test(row)) {
+                    matches[count++] = row;
+                }
+            }
+        }
+        return Arrays.copyOf(matches, count);
+    }
+
+    /**
+     * Sorts rows. Empty values sort last in either direction, and ties keep
+     * snapshot order.
+     *
+     * @param matches the rows
+     * @param sorts the sorts, applied in order
+     * @return the sorted rows
+     */
+    int[] sort(int[] matches, List<Sort> sorts) {
+        Comparator<Integer> comparator = null;
+        for (Sort sort : sorts) {
+            Column column = sort.getProperty() != null ? column(sort.getProperty()) : timestamp(sort.getTimestamp());
+            boolean descending = sort.getDirection() == Sort.Direction.DESCENDING;
+            Comparator<Integer> next = (a, b) -> compare(column.get(a), column.get(b), descending);
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        if (comparator == null) {
+            return matches;
+        }
+        Integer[] boxed = Arrays.stream(matches).boxed().toArray(Integer[]::new);
+        Arrays.sort(boxed, comparator);
+        return Arrays.stream(boxed).mapToInt(Integer::intValue).toArray();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compare(Object a, Object b, boolean descending) {
+        if (a == null || b == null) {
+            return a == null ? (b == null ? 0 : 1) : -1;
+        }
+        if (a instanceof List<?> list) {
+            a = String.join(", ", (List<String>) list);
+            b = String.join(", ", (List<String>) b);
+        }
+        int comparison = ((Comparable) a).compareTo(b);
+        return descending ? -comparison : comparison;
+    }
+}
@@ -0,0 +1,220 @@
+package dev.danvega.notion.replica;
+
+import dev.danvega.notion.model.database.DatabaseQuery;
+import dev.danvega.notion.model.database.Filter;
+import dev.danvega.notion.model.database.Sort;
+import dev.danvega.notion.model.page.Page;
+import dev.danvega.notion.model.response.PaginatedResponse;
+import dev.danvega.notion.service.NotionDatabaseService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * In-memory replica of the pages of a Notion database.
+ * <p>
+ * The first {@link #sync()} loads every page through paginated queries. Later
+ * syncs ask only for pages whose {@code last_edited_time} is on or after the
+ * latest one seen so far, sorted oldest first, and apply them to a copy of the
+ * current pages: archived pages are removed, all others replace their previous
+ * version. Because Notion rounds {@code last_edited_time} to the minute, pages
+ * at the watermark are fetched again on every sync; those equal to the version
+ * already held are not counted as changes. A page edited while a sync is
+ * paging moves to the end of the order and is picked up by the same or the
+ * next sync.
+ * <p>
+ * Readers get the current {@link ReplicaSnapshot} without locking. Each sync
+ * that finds changes publishes a new snapshot in one step, so readers never
+ * see a partially applied sync, and a failed sync leaves the previous snapshot
+ * in place. Pages deleted outright rather than archived do not show up in
+ * incremental results; {@link #reload()} replaces the snapshot with a full
+ * load to drop them.
+ * <p>
+ * With a {@link ReplicaStore}, the replica starts from the stored snapshot,
+ * so the first sync is incremental, and stores every new snapshot.
+ */
+public class NotionDatabaseReplica implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(NotionDatabaseReplica.class);
+
+    static final int PAGE_SIZE = 100;
+
+    private final NotionDatabaseService databaseService;
+    private final String databaseId;
+    private final ReplicaStore store;
+    private volatile ReplicaSnapshot snapshot;
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Constructs a new NotionDatabaseReplica. Nothing is loaded until the
+     * first sync.
+     *
+     * @param databaseService the database service used to query the database
+     * @param databaseId the database ID
+     */
+    public NotionDatabaseReplica(NotionDatabaseService databaseService, String databaseId) {
+        this(databaseService, databaseId, null);
+    }
+
+    /**
+     * Constructs a new NotionDatabaseReplica that starts from the snapshot in
+     * a store, if there is one, and stores every snapshot it publishes.
+     *
+     * @param databaseService the database service used to query the database
+     * @param databaseId the database ID
+     * @param store the store for snapshots, or null
+     */
+    public NotionDatabaseReplica(NotionDatabaseService databaseService, String databaseId, ReplicaStore store) {
+        this.databaseService = databaseService;
+        this.databaseId = databaseId;
+        this.store = store;
+        ReplicaSnapshot stored = store != null ? store.load(databaseId) : null;
+        this.snapshot = stored != null ? stored : ReplicaSnapshot.empty(databaseId);
+    }
+
+    public String getDatabaseId() {
+        return databaseId;
+    }
+
+    /**
+     * Gets the current snapshot. Never blocks, even while a sync is running.
+     *
+     * @return the current snapshot, empty before the first load
+     */
+    public ReplicaSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Brings the replica up to date: a full load the first time, an
+     * incremental sync afterwards.
+     *
+     * @return the current snapshot
+     */
+    public synchronized ReplicaSnapshot sync() {
+        ReplicaSnapshot current = snapshot;
+        if (!current.isLoaded() || current.getWatermark() == null) {
+            return reload();
+        }
+        Map<String, Page> pages = new LinkedHashMap<>(current.pages());
+        ZonedDateTime[] watermark = {current.getWatermark()};
+        int[] changed = {0};
+        fetch(Filter.lastEditedTime().onOrAfter(current.getWatermark()), page -> {
+            if (apply(pages, page)) {
+                changed[0]++;
+            }
+            watermark[0] = later(watermark[0], page.getLastEditedTime());
+        });
+        if (changed[0] == 0) {
+            return current;
+        }
+        return publish(current, pages, watermark[0]);
+    }
+
+    /**
+     * Loads every page of the database and replaces the snapshot, dropping
+     * pages that have been deleted since the last load.
+     *
+     * @return the new snapshot
+     */
+    public synchronized ReplicaSnapshot reload() {
+        Map<String, Page> pages = new LinkedHashMap<>();
+        ZonedDateTime[] watermark = {null};
+        fetch(null, page -> {
+            apply(pages, page);
+            watermark[0] = later(watermark[0], page.getLastEditedTime());
+        });
+        return publish(snapshot, pages, watermark[0]);
+    }
+
+    /**
+     * Syncs the replica in the background with a fixed delay between syncs.
+     * A failed sync is logged and retried at the next interval.
+     *
+     * @param intervalMillis the delay between the end of one sync and the start of the next, in milliseconds
+     * @throws IllegalStateException if the replica has already been started
+     */
+    public synchronized void start(long intervalMillis) {
+        if (scheduler != null) {
+            throw new IllegalStateException("Replica of database " + databaseId + " is already started");
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "notion-replica-" + databaseId);
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::syncQuietly, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops background syncing. The last snapshot stays readable.
+     */
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    private void syncQuietly() {
+        try {
+            sync();
+        } catch (RuntimeException e) {
+            log.warn("Failed to sync replica of database {}: {}", databaseId, e.getMessage());
+        }
+    }
+
+    private void fetch(Filter filter, Consumer<Page> consumer) {
+        DatabaseQuery query = DatabaseQuery.builder()
+                .filter(filter)
+                .sorts(Sort.lastEditedTime(Sort.Direction.ASCENDING))
+                .pageSize(PAGE_SIZE)
+                .build();
+        String cursor = null;
+        do {
+            query.setStartCursor(cursor);
+            PaginatedResponse<Page> response = databaseService.queryDatabase(databaseId, query);
+            List<Page> results = response.getResults() != null ? response.getResults() : List.of();
+            results.forEach(consumer);
+            cursor = response.isHasMore() ? response.getNextCursor() : null;
+        } while (cursor != null);
+    }
+
+    private static boolean apply(Map<String, Page> pages, Page page) {
+        String key = ReplicaSnapshot.key(page.getId());
+        if (Boolean.TRUE.equals(page.getArchived())) {
+            return pages.remove(key) != null;
+        }
+        Page previous = pages.put(key, page);
+        return !page.equals(previous);
+    }
+
+    private ReplicaSnapshot publish(ReplicaSnapshot previous, Map<String, Page> pages, ZonedDateTime watermark) {
+        ReplicaSnapshot next = new ReplicaSnapshot(databaseId, pages, watermark,
+                previous.getVersion() + 1, Instant.now());
+        snapshot = next;
+        if (store != null) {
+            store.save(next);
+        }
+        log.debug("Replica of database {} at version {} with {} page(s)", databaseId, next.getVersion(),
+                next.size());
+        return next;
+    }
+
+    private static ZonedDateTime later(ZonedDateTime a, ZonedDateTime b) {
+        if (a == null) {
+            return b;
+        }
+        return b != null && b.isAfter(a) ? b : a;
+    }
+}
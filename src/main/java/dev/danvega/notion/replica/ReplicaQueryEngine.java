@@ -0,0 +1,207 @@
+package dev.danvega.notion.replica;
+
+import dev.danvega.notion.model.database.DatabaseQuery;
+import dev.danvega.notion.model.database.Filter;
+import dev.danvega.notion.model.database.Sort;
+import dev.danvega.notion.model.page.Page;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Evaluates database queries against the snapshots of a
+ * {@link NotionDatabaseReplica} instead of the Notion API.
+ * <p>
+ * Filters and sorts are the same {@link Filter} and {@link Sort} objects, or
+ * raw maps, that {@link DatabaseQuery} sends to the API, with the same
+ * meaning: empty values never match a comparison, {@code does_not_equal}
+ * and {@code does_not_contain} match empty values, date-only values cover
+ * their whole day in UTC, and empty values sort last. Text comparisons are
+ * case-sensitive.
+ * <p>
+ * Properties used in equality and range conditions can be indexed. A hash
+ * index answers {@code equals} on text, number, checkbox, select and status
+ * properties, and {@code contains} on multi-select, people and relation
+ * properties; a sorted index answers range and equality conditions on
+ * number, date and text properties. For conditions combined with {@code and},
+ * the planner counts the matches of each index and takes the rows of the most
+ * selective one; {@code or} groups use indexes only when all of their
+ * conditions are indexed. The candidate rows are then tested in full.
+ * {@link #explain(Filter)} shows which conditions use an index.
+ * <p>
+ * Property values and indexes are built once per snapshot, on the first query
+ * after a sync. Queries are thread-safe.
+ */
+public class ReplicaQueryEngine {
+
+    private final Supplier<ReplicaSnapshot> snapshots;
+    private final Clock clock;
+    private final Set<String> hashIndexed = new LinkedHashSet<>();
+    private final Set<String> sortedIndexed = new LinkedHashSet<>();
+    private volatile IndexedSnapshot indexed;
+
+    /**
+     * Constructs a new ReplicaQueryEngine over the snapshots of a replica.
+     *
+     * @param replica the replica
+     */
+    public ReplicaQueryEngine(NotionDatabaseReplica replica) {
+        this(replica::getSnapshot);
+    }
+
+    /**
+     * Constructs a new ReplicaQueryEngine over a source of snapshots.
+     *
+     * @param snapshots supplies the snapshot to query
+     */
+    public ReplicaQueryEngine(Supplier<ReplicaSnapshot> snapshots) {
+        this(snapshots, Clock.systemUTC());
+    }
+
+    ReplicaQueryEngine(Supplier<ReplicaSnapshot> snapshots, Clock clock) {
+        this.snapshots = snapshots;
+        this.clock = clock;
+    }
+
+    /**
+     * Adds a hash index on a property.
+     *
+     * @param property the property name or ID
+     * @return this engine
+     */
+    public synchronized ReplicaQueryEngine hashIndex(String property) {
+        hashIndexed.add(property);
+        indexed = null;
+        return this;
+    }
+
+    /**
+     * Adds a sorted index on a property.
+     *
+     * @param property the property name or ID
+     * @return this engine
+     */
+    public synchronized ReplicaQueryEngine sortedIndex(String property) {
+        sortedIndexed.add(property);
+        indexed = null;
+        return this;
+    }
+
+    /**
+     * Finds the pages matching a filter.
+     *
+     * @param filter the filter, or null for all pages
+     * @param sorts the sorts, applied in order
+     * @return the matching pages
+     * @throws IllegalArgumentException if a property is unknown or of another type
+     */
+    public List<Page> query(Filter filter, Sort... sorts) {
+        return query(filter, List.of(sorts), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Runs a database query. Typed and raw filters and sorts are both
+     * supported, and the page size limits the number of pages returned; the
+     * start cursor is ignored.
+     *
+     * @param query the query
+     * @return the matching pages
+     * @throws IllegalArgumentException if a property is unknown or of another type
+     */
+    public List<Page> query(DatabaseQuery query) {
+        Filter filter = query.getTypedFilter() != null ? query.getTypedFilter()
+                : query.getFilter() != null ? Filter.of(query.getFilter()) : null;
+        List<Sort> sorts = query.getTypedSorts();
+        if (sorts == null && query.getSorts() != null) {
+            sorts = new ArrayList<>();
+            for (Map<String, Object> sort : query.getSorts()) {
+                sorts.add(Sort.of(sort));
+            }
+        }
+        int limit = query.getPageSize() != null ? query.getPageSize() : Integer.MAX_VALUE;
+        return query(filter, sorts != null ? sorts : List.of(), limit);
+    }
+
+    /**
+     * Counts the pages matching a filter.
+     *
+     * @param filter the filter, or null for all pages
+     * @return the number of matching pages
+     */
+    public int count(Filter filter) {
+        IndexedSnapshot current = current();
+        return current.select(filter != null ? current.plan(filter, clock) : null).length;
+    }
+
+    /**
+     * Stores the number, date, checkbox, select and status properties of the
+     * pages matching a filter in a {@link ColumnarTable} for aggregation.
+     *
+     * @param filter the filter, or null for all pages
+     * @param properties the properties to store
+     * @return the table
+     * @throws IllegalArgumentException if a property is unknown or cannot be stored
+     */
+    public ColumnarTable aggregate(Filter filter, String... properties) {
+        IndexedSnapshot current = current();
+        int[] matches = current.select(filter != null ? current.plan(filter, clock) : null);
+        List<Page> pages = new ArrayList<>(matches.length);
+        for (int row : matches) {
+            pages.add(current.row(row));
+        }
+        return ColumnarTable.of(pages, ColumnarTable.SEGMENT_ROWS, current, properties);
+    }
+
+    /**
+     * Describes how a filter is answered against the current snapshot, for
+     * example {@code and[hash(Status equals Done), scan(Name contains milk)]}.
+     *
+     * @param filter the filter
+     * @return the plan
+     */
+    public String explain(Filter filter) {
+        return current().plan(filter, clock).describe();
+    }
+
+    /**
+     * Gets the snapshot that queries currently run against.
+     *
+     * @return the snapshot
+     */
+    public ReplicaSnapshot getSnapshot() {
+        return current().getSnapshot();
+    }
+
+    private List<Page> query(Filter filter, List<Sort> sorts, int limit) {
+        IndexedSnapshot current = current();
+        int[] matches = current.select(filter != null ? current.plan(filter, clock) : null);
+        matches = current.sort(matches, sorts);
+        int size = Math.min(matches.length, limit);
+        List<Page> pages = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            pages.add(current.row(matches[i]));
+        }
+        return pages;
+    }
+
+    private IndexedSnapshot current() {
+        ReplicaSnapshot snapshot = snapshots.get();
+        IndexedSnapshot current = indexed;
+        if (current != null && current.getSnapshot() == snapshot) {
+            return current;
+        }
+        synchronized (this) {
+            current = indexed;
+            if (current == null || current.getSnapshot() != snapshot) {
+                current = new IndexedSnapshot(snapshot, hashIndexed, sortedIndexed);
+                indexed = current;
+            }
+            return current;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package dev.danvega.notion.replica;
+
+import dev.danvega.notion.model.common.NotionId;
+import dev.danvega.notion.model.page.Page;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Immutable view of the pages of a replicated database at one point in time.
+ * <p>
+ * A snapshot is never changed once published; every sync that finds changes
+ * publishes a new one. Readers can hold on to a snapshot for as long as they
+ * need a consistent view. The pages themselves are shared between snapshots
+ * and must not be modified.
+ */
+public final class ReplicaSnapshot {
+
+    private final String databaseId;
+    private final Map<String, Page> pages;
+    private final ZonedDateTime watermark;
+    private final long version;
+    private final Instant syncedAt;
+
+    ReplicaSnapshot(String databaseId, Map<String, Page> pages, ZonedDateTime watermark,
+                    long version, Instant syncedAt) {
+        this.databaseId = databaseId;
+        this.pages = Collections.unmodifiableMap(pages);
+        this.watermark = watermark;
+        this.version = version;
+        this.syncedAt = syncedAt;
+    }
+
+    static ReplicaSnapshot empty(String databaseId) {
+        return new ReplicaSnapshot(databaseId, new LinkedHashMap<>(), null, 0, null);
+    }
+
+    /**
+     * Creates a snapshot of pages obtained elsewhere, for example from a
+     * previous run or a test fixture. Archived pages are left out.
+     *
+     * @param databaseId the database ID
+     * @param pages the pages
+     * @return the snapshot, at version 1
+     */
+    public static ReplicaSnapshot of(String databaseId, Collection<Page> pages) {
+        Map<String, Page> byId = new LinkedHashMap<>();
+        ZonedDateTime watermark = null;
+        for (Page page : pages) {
+            if (!Boolean.TRUE.equals(page.getArchived())) {
+                byId.put(key(page.getId()), page);
+            }
+            ZonedDateTime edited = page.getLastEditedTime();
+            if (edited != null && (watermark == null || edited.isAfter(watermark))) {
+                watermark = edited;
+            }
+        }
+        return new ReplicaSnapshot(databaseId, byId, watermark, 1, Instant.now());
+    }
+
+    public String getDatabaseId() {
+        return databaseId;
+    }
+
+    /**
+     * Gets a page by ID. Dashed and undashed forms of an ID find the same page.
+     *
+     * @param pageId the page ID
+     * @return the page, or null if it is not part of the snapshot
+     */
+    public Page getPage(String pageId) {
+        return pages.get(key(pageId));
+    }
+
+    /**
+     * Gets all pages, in the order they were first loaded.
+     *
+     * @return the pages
+     */
+    public Collection<Page> getPages() {
+        return pages.values();
+    }
+
+    /**
+     * Gets the pages that match a predicate.
+     *
+     * @param predicate the predicate
+     * @return the matching pages
+     */
+    public List<Page> find(Predicate<Page> predicate) {
+        return pages.values().stream().filter(predicate).toList();
+    }
+
+    public Stream<Page> stream() {
+        return pages.values().stream();
+    }
+
+    public int size() {
+        return pages.size();
+    }
+
+    /**
+     * Checks whether the database has been loaded.
+     *
+     * @return false for the empty snapshot published before the first load
+     */
+    public boolean isLoaded() {
+        return version > 0;
+    }
+
+    /**
+     * Gets the latest {@code last_edited_time} seen, from which the next
+     * incremental sync starts.
+     *
+     * @return the watermark, or null if no page has been seen
+     */
+    public ZonedDateTime getWatermark() {
+        return watermark;
+    }
+
+    /**
+     * Gets the version, which grows by one with every published snapshot.
+     *
+     * @return the version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Gets the time of the sync that produced this snapshot.
+     *
+     * @return the sync time, or null before the first load
+     */
+    public Instant getSyncedAt() {
+        return syncedAt;
+    }
+
+    Map<String, Page> pages() {
+        return pages;
+    }
+
+    static String key(String pageId) {
+        NotionId id = NotionId.tryParse(pageId);
+        return id != null ? id.toString() : pageId;
+    }
+
+    @Override
+    public String toString() {
+        return "ReplicaSnapshot{" +
+               "databaseId='" + databaseId + '\'' +
+               ", size=" + pages.size() +
+               ", watermark=" + watermark +
+               ", version=" + version +
+               ", syncedAt=" + syncedAt +
+               '}';
+    }
+}
@@ -0,0 +1,87 @@
+package dev.danvega.notion.replica;
+
+import dev.danvega.notion.cache.CacheEncoding;
+import dev.danvega.notion.cache.CachedResponse;
+import dev.danvega.notion.cache.NotionCache;
+import dev.danvega.notion.model.page.Page;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Keeps replica snapshots in a {@link NotionCache}, typically a
+ * {@link dev.danvega.notion.cache.PersistentNotionCache}, so that a restarted
+ * replica starts from its last snapshot and catches up with an incremental
+ * sync instead of loading the whole database again.
+ * <p>
+ * Snapshots are stored in the cache's encoding; with
+ * {@link dev.danvega.notion.cache.CacheEncoding#SMILE} they are read back
+ * straight from Smile. Snapshots are stored under their own keys, which invalidating the database
+ * does not touch, and are loaded whether or not their time to live has passed:
+ * the incremental sync after a restart revalidates every page against
+ * {@code last_edited_time}.
+ */
+public class ReplicaStore {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaStore.class);
+
+    private final NotionCache cache;
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper smileMapper;
+
+    /**
+     * Constructs a new ReplicaStore.
+     *
+     * @param cache the cache holding the snapshots
+     * @param objectMapper the ObjectMapper used to encode pages
+     */
+    public ReplicaStore(NotionCache cache, ObjectMapper objectMapper) {
+        this.cache = cache;
+        this.objectMapper = objectMapper;
+        this.smileMapper = objectMapper.copyWith(CacheEncoding.smileFactory());
+    }
+
+    /**
+     * Stores the pages of a snapshot, replacing the previous ones.
+     *
+     * @param snapshot the snapshot
+     */
+    public void save(ReplicaSnapshot snapshot) {
+        try {
+            cache.put(key(snapshot.getDatabaseId()), objectMapper.writeValueAsString(snapshot.getPages()));
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to store replica of database {}: {}", snapshot.getDatabaseId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Loads the last stored snapshot of a database.
+     *
+     * @param databaseId the database ID
+     * @return the snapshot, or null if none is stored or it cannot be read
+     */
+    public ReplicaSnapshot load(String databaseId) {
+        TypeReference<List<Page>> type = new TypeReference<>() {};
+        try {
+            byte[] smile = cache.getSmile(key(databaseId));
+            if (smile != null) {
+                return ReplicaSnapshot.of(databaseId, smileMapper.readValue(smile, type));
+            }
+            CachedResponse stored = cache.getStored(key(databaseId));
+            String pages = stored != null ? stored.getValue() : cache.get(key(databaseId));
+            return pages != null ? ReplicaSnapshot.of(databaseId, objectMapper.readValue(pages, type)) : null;
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable stored replica of database {}: {}", databaseId, e.getMessage());
+            return null;
+        }
+    }
+
+    static String key(String databaseId) {
+        return "replica:" + ReplicaSnapshot.key(databaseId);
+    }
+}
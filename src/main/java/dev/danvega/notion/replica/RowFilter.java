@@ -0,0 +1,432 @@
+package dev.danvega.notion.replica;
+
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * A {@link dev.danvega.notion.model.database.Filter} planned against an
+ * {@link IndexedSnapshot}: it tests single rows, and narrows the rows worth
+ * testing through the indexes of the snapshot where it can.
+ */
+abstract class RowFilter {
+
+    private static final long DAY_MILLIS = 86_400_000L;
+
+    /**
+     * Tests a row.
+     *
+     * @param row the row
+     * @return true if the row matches
+     */
+    abstract boolean test(int row);
+
+    /**
+     * Gets a superset of the matching rows from the indexes.
+     *
+     * @return the candidate rows, or null if every row has to be tested
+     */
+    abstract BitSet candidates();
+
+    /**
+     * Estimates the number of candidate rows without collecting them.
+     *
+     * @return the number of candidates, or {@link Integer#MAX_VALUE} if every row has to be tested
+     */
+    abstract int estimate();
+
+    /**
+     * Describes how the filter is answered, for {@code explain}.
+     */
+    abstract String describe();
+
+    /**
+     * Plans a condition on a column.
+     *
+     * @param column the column
+     * @param type the type named by the filter
+     * @param operator the operator
+     * @param value the compared value, null for relative dates
+     * @param hashIndex the hash index of the column, or null
+     * @param sortedIndex the sorted index of the column, or null
+     * @param clock the clock for relative dates
+     * @return the planned condition
+     * @throws IllegalArgumentException if the column is of another type or the operator is unknown
+     */
+    static RowFilter condition(Column column, String type, String operator, Object value,
+                               HashIndex hashIndex, SortedIndex sortedIndex, Clock clock) {
+        if (column.getType() != null && !column.getType().equals(type)) {
+            throw new IllegalArgumentException("Property '" + column.getName() + "' is of type "
+                    + column.getType() + ", not " + type);
+        }
+        Condition condition = new Condition(column, operator, value);
+        if (operator.equals("is_empty")) {
+            condition.predicate = RowFilter::isEmpty;
+            return condition;
+        }
+        if (operator.equals("is_not_empty")) {
+            condition.predicate = v -> !isEmpty(v);
+            return condition;
+        }
+        switch (type) {
+            case "number" -> number(condition, ((Number) value).doubleValue());
+            case "checkbox" -> checkbox(condition, (Boolean) value);
+            case "select", "status" -> option(condition, (String) value);
+            case "multi_select", "people", "relation", "files" -> list(condition,
+                    type.equals("people") || type.equals("relation") ? Column.normalizeId((String) value) : (String) value);
+            case "date", "created_time", "last_edited_time" -> date(condition, value, clock);
+            default -> {
+                if (!Column.TEXT_TYPES.contains(type)) {
+                    throw new IllegalArgumentException("Unsupported property type '" + type + "'");
+                }
+                text(condition, (String) value);
+            }
+        }
+        if (condition.hashKey != null && hashIndex != null) {
+            condition.hashIndex = hashIndex;
+        } else if (condition.ranged && sortedIndex != null) {
+            condition.sortedIndex = sortedIndex;
+        }
+        return condition;
+    }
+
+    static RowFilter and(List<RowFilter> filters) {
+        return new And(filters);
+    }
+
+    static RowFilter or(List<RowFilter> filters) {
+        return new Or(filters);
+    }
+
+    private static void text(Condition condition, String expected) {
+        switch (condition.operator) {
+            case "equals" -> {
+                condition.predicate = expected::equals;
+                condition.hashKey = expected;
+                condition.range(expected, true, expected, true);
+            }
+            case "does_not_equal" -> condition.predicate = v -> !expected.equals(v);
+            case "contains" -> condition.predicate = v -> v != null && ((String) v).contains(expected);
+            case "does_not_contain" -> condition.predicate = v -> v == null || !((String) v).contains(expected);
+            case "starts_with" -> {
+                condition.predicate = v -> v != null && ((String) v).startsWith(expected);
+                condition.range(expected, true, expected + Character.MAX_VALUE, false);
+            }
+            case "ends_with" -> condition.predicate = v -> v != null && ((String) v).endsWith(expected);
+            default -> throw unknownOperator(condition);
+        }
+    }
+
+    private static void number(Condition condition, double expected) {
+        Double key = expected;
+        switch (condition.operator) {
+            case "equals" -> {
+                condition.predicate = key::equals;
+                condition.hashKey = key;
+                condition.range(key, true, key, true);
+            }
+            case "does_not_equal" -> condition.predicate = v -> !key.equals(v);
+            case "greater_than" -> condition.range(key, false, null, false);
+            case "greater_than_or_equal_to" -> condition.range(key, true, null, false);
+            case "less_than" -> condition.range(null, false, key, false);
+            case "less_than_or_equal_to" -> condition.range(null, false, key, true);
+            default -> throw unknownOperator(condition);
+        }
+    }
+
+    private static void checkbox(Condition condition, boolean expected) {
+        switch (condition.operator) {
+            case "equals" -> {
+                condition.predicate = v -> Boolean.valueOf(expected).equals(v);
+                condition.hashKey = expected;
+            }
+            case "does_not_equal" -> condition.predicate = v -> !Boolean.valueOf(expected).equals(v);
+            default -> throw unknownOperator(condition);
+        }
+    }
+
+    private static void option(Condition condition, String expected) {
+        switch (condition.operator) {
+            case "equals" -> {
+                condition.predicate = expected::equals;
+                condition.hashKey = expected;
+            }
+            case "does_not_equal" -> condition.predicate = v -> !expected.equals(v);
+            default -> throw unknownOperator(condition);
+        }
+    }
+
+    private static void list(Condition condition, String expected) {
+        switch (condition.operator) {
+            case "contains" -> {
+                condition.predicate = v -> v != null && ((List<?>) v).contains(expected);
+                condition.hashKey = expected;
+            }
+            case "does_not_contain" -> condition.predicate = v -> v == null || !((List<?>) v).contains(expected);
+            default -> throw unknownOperator(condition);
+        }
+    }
+
+    /**
+     * Dates compare as half-open ranges: a date-only value covers its whole
+     * day in UTC, a date-time value a single millisecond.
+     */
+    private static void date(Condition condition, Object value, Clock clock) {
+        if (value == null) {
+            long[] range = relativeRange(condition.operator, ZonedDateTime.now(clock.withZone(ZoneOffset.UTC)));
+            condition.range(range[0], true, range[1], false);
+            return;
+        }
+        String text = (String) value;
+        long start = Column.toMillis(text);
+        long end = text.length() == 10 ? start + DAY_MILLIS : start + 1;
+        switch (condition.operator) {
+            case "equals" -> condition.range(start, true, end, false);
+            case "before" -> condition.range(null, false, start, false);
+            case "after" -> condition.range(end, true, null, false);
+            case "on_or_before" -> condition.range(null, false, end, false);
+            case "on_or_after" -> condition.range(start, true, null, false);
+            default -> throw unknownOperator(condition);
+        }
+    }
+
+    private static long[] relativeRange(String range, ZonedDateTime now) {
+        ZonedDateTime from;
+        ZonedDateTime to;
+        switch (range) {
+            case "past_week" -> {
+                from = now.minusWeeks(1);
+                to = now;
+            }
+            case "past_month" -> {
+                from = now.minusMonths(1);
+                to = now;
+            }
+            case "past_year" -> {
+                from = now.minusYears(1);
+                to = now;
+            }
+            case "this_week" -> {
+                from = now.toLocalDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))
+                        .atStartOfDay(ZoneOffset.UTC);
+                to = from.plusWeeks(1).minusNanos(1_000_000);
+            }
+            case "next_week" -> {
+                from = now;
+                to = now.plusWeeks(1);
+            }
+            case "next_month" -> {
+                from = now;
+                to = now.plusMonths(1);
+            }
+            case "next_year" -> {
+                from = now;
+                to = now.plusYears(1);
+            }
+            default -> throw new IllegalArgumentException("Unknown relative date range: " + range);
+        }
+        return new long[] {from.toInstant().toEpochMilli(), to.toInstant().toEpochMilli() + 1};
+    }
+
+    private static boolean isEmpty(Object value) {
+        return value == null || (value instanceof List<?> list && list.isEmpty());
+    }
+
+    private static IllegalArgumentException unknownOperator(Condition condition) {
+        return new IllegalArgumentException("Unsupported operator '" + condition.operator + "' for property '"
+                + condition.column.getName() + "' of type " + condition.column.getType());
+    }
+
+    /**
+     * A condition on one column.
+     */
+    private static final class Condition extends RowFilter {
+
+        private final Column column;
+        private final String operator;
+        private final Object value;
+        private Predicate<Object> predicate;
+        private Object hashKey;
+        private boolean ranged;
+        private Comparable<?> low;
+        private boolean lowInclusive;
+        private Comparable<?> high;
+        private boolean highInclusive;
+        private HashIndex hashIndex;
+        private SortedIndex sortedIndex;
+
+        private Condition(Column column, String operator, Object value) {
+            this.column = column;
+            this.operator = operator;
+            this.value = value;
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private void range(Comparable<?> low, boolean lowInclusive, Comparable<?> high, boolean highInclusive) {
+            this.ranged = true;
+            this.low = low;
+            this.lowInclusive = lowInclusive;
+            this.high = high;
+            this.highInclusive = highInclusive;
+            if (predicate == null) {
+                predicate = v -> {
+                    if (v == null) {
+                        return false;
+                    }
+                    Comparable c = (Comparable) v;
+                    if (low != null) {
+                        int comparison = c.compareTo(low);
+                        if (comparison < 0 || (comparison == 0 && !lowInclusive)) {
+                            return false;
+                        }
+                    }
+                    if (high != null) {
+                        int comparison = c.compareTo(high);
+                        return comparison < 0 || (comparison == 0 && highInclusive);
+                    }
+                    return true;
+                };
+            }
+        }
+
+        @Override
+        boolean test(int row) {
+            return predicate.test(column.get(row));
+        }
+
+        @Override
+        BitSet candidates() {
+            if (hashIndex != null) {
+                return hashIndex.lookup(hashKey);
+            }
+            if (sortedIndex != null) {
+                return sortedIndex.range(low, lowInclusive, high, highInclusive);
+            }
+            return null;
+        }
+
+        @Override
+        int estimate() {
+            if (hashIndex != null) {
+                return hashIndex.count(hashKey);
+            }
+            if (sortedIndex != null) {
+                return sortedIndex.count(low, lowInclusive, high, highInclusive);
+            }
+            return Integer.MAX_VALUE;
+        }
+
+        @Override
+        String describe() {
+            String access = hashIndex != null ? "hash" : sortedIndex != null ? "sorted" : "scan";
+            return access + "(" + column.getName() + " " + operator + (value != null ? " " + value : "") + ")";
+        }
+    }
+
+    /**
+     * Rows matching all filters. The candidates are those of the most
+     * selective child; the other conditions are tested row by row, which is
+     * cheaper than collecting their candidates.
+     */
+    private static final class And extends RowFilter {
+
+        private final List<RowFilter> filters;
+
+        private And(List<RowFilter> filters) {
+            this.filters = filters;
+        }
+
+        @Override
+        boolean test(int row) {
+            for (RowFilter filter : filters) {
+                if (!filter.test(row)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        BitSet candidates() {
+            RowFilter best = null;
+            int fewest = Integer.MAX_VALUE;
+            for (RowFilter filter : filters) {
+                int estimate = filter.estimate();
+                if (estimate < fewest) {
+                    best = filter;
+                    fewest = estimate;
+                }
+            }
+            return best != null ? best.candidates() : null;
+        }
+
+        @Override
+        int estimate() {
+            int fewest = Integer.MAX_VALUE;
+            for (RowFilter filter : filters) {
+                fewest = Math.min(fewest, filter.estimate());
+            }
+            return fewest;
+        }
+
+        @Override
+        String describe() {
+            return "and" + filters.stream().map(RowFilter::describe).toList();
+        }
+    }
+
+    /**
+     * Rows matching any filter. Candidates are only available when every
+     * child has them.
+     */
+    private static final class Or extends RowFilter {
+
+        private final List<RowFilter> filters;
+
+        private Or(List<RowFilter> filters) {
+            this.filters = filters;
+        }
+
+        @Override
+        boolean test(int row) {
+            for (RowFilter filter : filters) {
+                if (filter.test(row)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        BitSet candidates() {
+            BitSet result = new BitSet();
+            for (RowFilter filter : filters) {
+                BitSet candidates = filter.candidates();
+                if (candidates == null) {
+                    return null;
+                }
+                result.or(candidates);
+            }
+            return result;
+        }
+
+        @Override
+        int estimate() {
+            long total = 0;
+            for (RowFilter filter : filters) {
+                total += filter.estimate();
+            }
+            return (int) Math.min(total, Integer.MAX_VALUE);
+        }
+
+        @Override
+        String describe() {
+            return "or" + filters.stream().map(RowFilter::describe).toList();
+        }
+    }
+}
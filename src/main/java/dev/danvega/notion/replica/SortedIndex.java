@@ -0,0 +1,97 @@
+package dev.danvega.notion.replica;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+
+/**
+ * Index of the rows of a scalar column in value order, answering range
+ * conditions with two binary searches. Rows with an empty value are not
+ * indexed.
+ */
+final class SortedIndex {
+
+    private final Column column;
+    private final Comparable<Object>[] keys;
+    private final int[] rows;
+
+    @SuppressWarnings("unchecked")
+    SortedIndex(Column column) {
+        if (column.isList()) {
+            throw new IllegalArgumentException("Property '" + column.getName() + "' of type "
+                    + column.getType() + " cannot have a sorted index");
+        }
+        this.column = column;
+        Integer[] order = new Integer[column.size()];
+        int count = 0;
+        for (int row = 0; row < column.size(); row++) {
+            if (column.get(row) != null) {
+                order[count++] = row;
+            }
+        }
+        Arrays.sort(order, 0, count, Comparator.comparing(row -> (Comparable<Object>) column.get(row)));
+        this.keys = new Comparable[count];
+        this.rows = new int[count];
+        for (int i = 0; i < count; i++) {
+            rows[i] = order[i];
+            keys[i] = (Comparable<Object>) column.get(order[i]);
+        }
+    }
+
+    Column getColumn() {
+        return column;
+    }
+
+    /**
+     * Gets the rows whose value lies in a range.
+     *
+     * @param low the lower bound, or null for none
+     * @param lowInclusive whether the lower bound is part of the range
+     * @param high the upper bound, or null for none
+     * @param highInclusive whether the upper bound is part of the range
+     * @return the rows
+     */
+    BitSet range(Object low, boolean lowInclusive, Object high, boolean highInclusive) {
+        int from = low == null ? 0 : search(low, !lowInclusive);
+        int to = high == null ? keys.length : search(high, highInclusive);
+        BitSet result = new BitSet(column.size());
+        for (int i = from; i < to; i++) {
+            result.set(rows[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Counts the rows whose value lies in a range, without collecting them.
+     *
+     * @param low the lower bound, or null for none
+     * @param lowInclusive whether the lower bound is part of the range
+     * @param high the upper bound, or null for none
+     * @param highInclusive whether the upper bound is part of the range
+     * @return the number of rows
+     */
+    int count(Object low, boolean lowInclusive, Object high, boolean highInclusive) {
+        int from = low == null ? 0 : search(low, !lowInclusive);
+        int to = high == null ? keys.length : search(high, highInclusive);
+        return Math.max(0, to - from);
+    }
+
+    /**
+     * Finds the first position whose key is greater than the given one, or
+     * greater than or equal to it when {@code after} is false.
+     */
+    private int search(Object key, boolean after) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int comparison = keys[mid].compareTo(key);
+            if (comparison < 0 || (after && comparison == 0)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,249 @@
+package dev.danvega.notion.service;
+
+import dev.danvega.notion.cache.NotionCache;
+import dev.danvega.notion.client.NotionClient;
+import dev.danvega.notion.model.common.NotionId;
+import dev.danvega.notion.model.database.Database;
+import dev.danvega.notion.model.database.DatabaseQuery;
+import dev.danvega.notion.model.database.DatabaseSchema;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Cache of database schemas, keyed by database ID.
+ * <p>
+ * A schema is fetched the first time it is needed. Once it is older than the
+ * maximum age, the database is retrieved again; the cached instance is kept
+ * if its {@code last_edited_time} has not changed, so queries compiled
+ * against it stay valid, and replaced otherwise. Retrieving a database through
+ * {@link NotionDatabaseService} updates the cache the same way.
+ * <p>
+ * When a request fails validation against a schema that has not been checked
+ * for {@value #RECHECK_INTERVAL_MILLIS} ms, the schema is refreshed once and
+ * the request checked again, so newly added properties and options are not
+ * rejected. Dashed and undashed forms of a database ID share one entry.
+ */
+public class DatabaseSchemaCache {
+
+    static final long RECHECK_INTERVAL_MILLIS = 10000;
+
+    private static final long DEFAULT_MAX_AGE = 300000;
+
+    private final NotionClient notionClient;
+    private final long maxAgeNanos;
+    private final boolean validate;
+    private final boolean allowNewOptions;
+    private final Map<String, Entry> schemas = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new DatabaseSchemaCache that validates requests, checks
+     * schemas for changes every five minutes and rejects unknown options.
+     *
+     * @param notionClient the Notion client used to fetch schemas
+     */
+    public DatabaseSchemaCache(NotionClient notionClient) {
+        this(notionClient, DEFAULT_MAX_AGE, true, false);
+    }
+
+    /**
+     * Constructs a new DatabaseSchemaCache.
+     *
+     * @param notionClient the Notion client used to fetch schemas
+     * @param maxAge time in milliseconds after which a cached schema is checked for changes
+     * @param validate whether queries and page writes are validated
+     * @param allowNewOptions whether unknown select and multi-select option names are accepted in page writes
+     */
+    public DatabaseSchemaCache(NotionClient notionClient, long maxAge, boolean validate, boolean allowNewOptions) {
+        this.notionClient = notionClient;
+        this.maxAgeNanos = TimeUnit.MILLISECONDS.toNanos(maxAge);
+        this.validate = validate;
+        this.allowNewOptions = allowNewOptions;
+    }
+
+    /**
+     * Gets the schema of a database, fetching it if it is not cached or has
+     * reached its maximum age.
+     *
+     * @param databaseId the database ID
+     * @return the schema
+     */
+    public DatabaseSchema getSchema(String databaseId) {
+        Entry entry = schemas.get(key(databaseId));
+        if (entry != null && System.nanoTime() - entry.checkedAt < maxAgeNanos) {
+            return entry.schema;
+        }
+        return refresh(databaseId);
+    }
+
+    /**
+     * Fetches the schema of a database, keeping the cached instance if the
+     * database has not been edited since. The cached response for the
+     * database is evicted first, so the schema is read from the API.
+     *
+     * @param databaseId the database ID
+     * @return the current schema
+     */
+    public DatabaseSchema refresh(String databaseId) {
+        NotionCache cache = notionClient.getCache();
+        if (cache != null) {
+            cache.invalidate(databaseId);
+        }
+        Database database = notionClient.get("/databases/" + databaseId, Database.class);
+        return store(key(databaseId), database);
+    }
+
+    /**
+     * Stores the schema of a retrieved database.
+     *
+     * @param database the database
+     * @return the stored schema
+     */
+    public DatabaseSchema update(Database database) {
+        if (database.getId() == null) {
+            return DatabaseSchema.of(database);
+        }
+        return store(key(database.getId()), database);
+    }
+
+    /**
+     * Removes the cached schema of a database.
+     *
+     * @param databaseId the database ID
+     */
+    public void invalidate(String databaseId) {
+        schemas.remove(key(databaseId));
+    }
+
+    /**
+     * Checks whether requests are validated against the cached schemas.
+     *
+     * @return true if validation is enabled
+     */
+    public boolean isValidationEnabled() {
+        return validate;
+    }
+
+    /**
+     * Resolves property names, or IDs, to the property IDs of a database.
+     *
+     * @param databaseId the database ID
+     * @param namesOrIds the property names or IDs
+     * @return the property IDs, in the given order
+     * @throws IllegalArgumentException if a property is not part of the database
+     */
+    public List<String> resolvePropertyIds(String databaseId, Collection<String> namesOrIds) {
+        return withSchema(databaseId, schema -> schema.resolvePropertyIds(namesOrIds));
+    }
+
+    /**
+     * Applies a function that may reject a request to the schema of a database.
+     * If it fails with an {@link IllegalArgumentException} and the schema has
+     * not been checked recently, the schema is refreshed and the function
+     * applied once more.
+     *
+     * @param databaseId the database ID
+     * @param function the function
+     * @param <T> the result type
+     * @return the result of the function
+     * @throws IllegalArgumentException if the request does not match the current schema
+     */
+    public <T> T withSchema(String databaseId, Function<DatabaseSchema, T> function) {
+        DatabaseSchema schema = getSchema(databaseId);
+        try {
+            return function.apply(schema);
+        } catch (IllegalArgumentException e) {
+            Entry entry = schemas.get(key(databaseId));
+            long recheckNanos = TimeUnit.MILLISECONDS.toNanos(RECHECK_INTERVAL_MILLIS);
+            if (entry != null && System.nanoTime() - entry.checkedAt < recheckNanos) {
+                throw e;
+            }
+            DatabaseSchema refreshed = refresh(databaseId);
+            if (refreshed == schema) {
+                throw e;
+            }
+            return function.apply(refreshed);
+        }
+    }
+
+    /**
+     * Validates the raw filter and sorts of a query, if validation is enabled.
+     *
+     * @param databaseId the database ID
+     * @param query the query
+     * @throws IllegalArgumentException if the query does not match the schema
+     */
+    public void validateQuery(String databaseId, DatabaseQuery query) {
+        if (!validate || query == null || (query.getFilter() == null && query.getSorts() == null)) {
+            return;
+        }
+        withSchema(databaseId, schema -> {
+            schema.validateFilter(query.getFilter());
+            schema.validateSorts(query.getSorts());
+            return null;
+        });
+    }
+
+    /**
+     * Validates property values written to a database page, if validation is enabled.
+     *
+     * @param databaseId the database ID
+     * @param properties the property values
+     * @throws IllegalArgumentException if a value does not match the schema
+     */
+    public void validatePageProperties(String databaseId, Map<String, Object> properties) {
+        if (!validate || properties == null || properties.isEmpty()) {
+            return;
+        }
+        withSchema(databaseId, schema -> {
+            schema.validatePageProperties(properties, allowNewOptions);
+            return null;
+        });
+    }
+
+    /**
+     * Builds the {@code filter_properties} query parameter for property IDs.
+     * The IDs are kept as the API returns them, percent-encoded, and sent
+     * without being encoded again.
+     *
+     * @param propertyIds the property IDs as returned by the API
+     * @return the query parameters
+     */
+    static Map<String, Object> filterProperties(List<String> propertyIds) {
+        return Map.of("filter_properties", propertyIds);
+    }
+
+    private DatabaseSchema store(String key, Database database) {
+        DatabaseSchema schema = DatabaseSchema.of(database);
+        Entry previous = schemas.get(key);
+        if (previous != null && schema.getLastEditedTime() != null
+                && Objects.equals(previous.schema.getLastEditedTime(), schema.getLastEditedTime())) {
+            schema = previous.schema;
+        }
+        schemas.put(key, new Entry(schema, System.nanoTime()));
+        return schema;
+    }
+
+    private static String key(String databaseId) {
+        NotionId id = NotionId.tryParse(databaseId);
+        return id != null ? id.toString() : databaseId;
+    }
+
+    /**
+     * A cached schema and the time it was last checked against the API.
+     */
+    private static final class Entry {
+        private final DatabaseSchema schema;
+        private final long checkedAt;
+
+        private Entry(DatabaseSchema schema, long checkedAt) {
+            this.schema = schema;
+            this.checkedAt = checkedAt;
+        }
+    }
+}
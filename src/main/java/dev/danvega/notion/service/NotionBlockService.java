@@ -70,9 +70,21 @@ public class NotionBlockService {
      * @return a paginated response with child blocks
      */
     public PaginatedResponse<Block> getBlockChildren(String blockId) {
+        return getBlockChildren(blockId, null);
+    }
+
+    /**
+     * Retrieves a page of a block's children.
+     *
+     * @param blockId the block ID
+     * @param startCursor the pagination cursor, or null for the first page
+     * @return a paginated response with child blocks
+     */
+    public PaginatedResponse<Block> getBlockChildren(String blockId, String startCursor) {
         return notionClient.get(
             "/blocks/" + blockId + "/children",
-            new TypeReference<PaginatedResponse<Block>>() {}
+            new TypeReference<PaginatedResponse<Block>>() {},
+            startCursor != null ? Map.of("start_cursor", startCursor) : null
         );
     }
 
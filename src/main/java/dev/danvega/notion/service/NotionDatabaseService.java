@@ -3,8 +3,12 @@ package dev.danvega.notion.service;
 import dev.danvega.notion.client.NotionClient;
 import dev.danvega.notion.model.common.Parent;
 import dev.danvega.notion.model.common.RichText;
+import dev.danvega.notion.model.database.CompiledQuery;
 import dev.danvega.notion.model.database.Database;
 import dev.danvega.notion.model.database.DatabaseQuery;
+import dev.danvega.notion.model.database.DatabaseSchema;
+import dev.danvega.notion.model.database.Filter;
+import dev.danvega.notion.model.database.Sort;
 import dev.danvega.notion.model.page.Page;
 import dev.danvega.notion.model.response.PaginatedResponse;
 import com.fasterxml.jackson.core.type.TypeReference;
@@ -19,6 +23,7 @@ import java.util.Map;
 public class NotionDatabaseService {
 
     private final NotionClient notionClient;
+    private final DatabaseSchemaCache schemaCache;
 
     /**
      * Constructs a new NotionDatabaseService.
@@ -26,7 +31,18 @@ public class NotionDatabaseService {
      * @param notionClient the Notion client
      */
     public NotionDatabaseService(NotionClient notionClient) {
+        this(notionClient, new DatabaseSchemaCache(notionClient));
+    }
+
+    /**
+     * Constructs a new NotionDatabaseService sharing a schema cache.
+     *
+     * @param notionClient the Notion client
+     * @param schemaCache the database schema cache
+     */
+    public NotionDatabaseService(NotionClient notionClient, DatabaseSchemaCache schemaCache) {
         this.notionClient = notionClient;
+        this.schemaCache = schemaCache;
     }
 
     /**
@@ -36,7 +52,19 @@ public class NotionDatabaseService {
      * @return the database
      */
     public Database getDatabase(String databaseId) {
-        return notionClient.get("/databases/" + databaseId, Database.class);
+        Database database = notionClient.get("/databases/" + databaseId, Database.class);
+        schemaCache.update(database);
+        return database;
+    }
+
+    /**
+     * Gets the schema of a database, from the cache when possible.
+     *
+     * @param databaseId the database ID
+     * @return the schema
+     */
+    public DatabaseSchema getSchema(String databaseId) {
+        return schemaCache.getSchema(databaseId);
     }
 
     /**
@@ -79,21 +107,61 @@ public class NotionDatabaseService {
             requestBody.put("properties", properties);
         }
 
-        return notionClient.patch("/databases/" + databaseId, requestBody, Database.class);
+        Database database = notionClient.patch("/databases/" + databaseId, requestBody, Database.class);
+        if (database != null) {
+            schemaCache.update(database);
+        }
+        return database;
     }
 
     /**
-     * Queries a database.
+     * Queries a database. When the query names {@code filterProperties}, they
+     * are resolved to property IDs through the cached schema and only those
+     * properties are returned. Queries with a typed {@link Filter} or
+     * {@link Sort} are compiled against the cached schema first; raw filters
+     * and sorts are validated against it when validation is enabled.
      *
      * @param databaseId the database ID
      * @param query the query
      * @return a paginated response with pages
+     * @throws IllegalArgumentException if a property is not part of the database or of another type
      */
     public PaginatedResponse<Page> queryDatabase(String databaseId, DatabaseQuery query) {
+        if (query != null && query.isTyped()) {
+            return queryDatabase(databaseId, schemaCache.withSchema(databaseId, query::compile),
+                query.getStartCursor());
+        }
+        schemaCache.validateQuery(databaseId, query);
+        Map<String, Object> queryParams = null;
+        if (query != null && query.getFilterProperties() != null && !query.getFilterProperties().isEmpty()) {
+            queryParams = DatabaseSchemaCache.filterProperties(
+                schemaCache.resolvePropertyIds(databaseId, query.getFilterProperties()));
+        }
         return notionClient.post(
             "/databases/" + databaseId + "/query",
             query,
-            new TypeReference<PaginatedResponse<Page>>() {}
+            new TypeReference<PaginatedResponse<Page>>() {},
+            queryParams
+        );
+    }
+
+    /**
+     * Queries a database with a compiled query. The stored request body is
+     * sent as is, with only the cursor appended.
+     *
+     * @param databaseId the database ID
+     * @param query the compiled query
+     * @param startCursor the pagination cursor, or null for the first page
+     * @return a paginated response with pages
+     */
+    public PaginatedResponse<Page> queryDatabase(String databaseId, CompiledQuery query, String startCursor) {
+        Map<String, Object> queryParams = query.getFilterProperties().isEmpty()
+            ? null : DatabaseSchemaCache.filterProperties(query.getFilterProperties());
+        return notionClient.post(
+            "/databases/" + databaseId + "/query",
+            query.body(startCursor),
+            new TypeReference<PaginatedResponse<Page>>() {},
+            queryParams
         );
     }
 }
\ No newline at end of file
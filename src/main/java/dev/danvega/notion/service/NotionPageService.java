@@ -16,6 +16,7 @@ import java.util.Map;
 public class NotionPageService {
 
     private final NotionClient notionClient;
+    private final DatabaseSchemaCache schemaCache;
 
     /**
      * Constructs a new NotionPageService.
@@ -23,7 +24,18 @@ public class NotionPageService {
      * @param notionClient the Notion client
      */
     public NotionPageService(NotionClient notionClient) {
+        this(notionClient, new DatabaseSchemaCache(notionClient));
+    }
+
+    /**
+     * Constructs a new NotionPageService sharing a schema cache.
+     *
+     * @param notionClient the Notion client
+     * @param schemaCache the database schema cache
+     */
+    public NotionPageService(NotionClient notionClient, DatabaseSchemaCache schemaCache) {
         this.notionClient = notionClient;
+        this.schemaCache = schemaCache;
     }
 
     /**
@@ -36,6 +48,37 @@ public class NotionPageService {
         return notionClient.get("/pages/" + pageId, Page.class);
     }
 
+    /**
+     * Retrieves a page by ID with only the given properties.
+     *
+     * @param pageId the page ID
+     * @param propertyIds the IDs of the properties to return
+     * @return the page
+     */
+    public Page getPage(String pageId, List<String> propertyIds) {
+        if (propertyIds == null || propertyIds.isEmpty()) {
+            return getPage(pageId);
+        }
+        return notionClient.get("/pages/" + pageId, Page.class, DatabaseSchemaCache.filterProperties(propertyIds));
+    }
+
+    /**
+     * Retrieves a database page by ID with only the named properties. The
+     * names are resolved to property IDs through the cached database schema.
+     *
+     * @param pageId the page ID
+     * @param databaseId the ID of the database the page belongs to
+     * @param propertyNames the names, or IDs, of the properties to return
+     * @return the page
+     * @throws IllegalArgumentException if a property is not part of the database
+     */
+    public Page getPage(String pageId, String databaseId, List<String> propertyNames) {
+        if (propertyNames == null || propertyNames.isEmpty()) {
+            return getPage(pageId);
+        }
+        return getPage(pageId, schemaCache.resolvePropertyIds(databaseId, propertyNames));
+    }
+
     /**
      * Creates a new page.
      *
@@ -48,14 +91,19 @@ public class NotionPageService {
     }
 
     /**
-     * Creates a new page with content.
+     * Creates a new page with content. Properties of a page created in a
+     * database are validated against the cached database schema first.
      *
      * @param parent the parent of the page
      * @param properties the page properties
      * @param children the content blocks
      * @return the created page
+     * @throws IllegalArgumentException if a property does not match the database schema
      */
     public Page createPage(Parent parent, Map<String, Object> properties, List<Block> children) {
+        if (parent != null && parent.getDatabaseId() != null) {
+            schemaCache.validatePageProperties(parent.getDatabaseId(), properties);
+        }
         Map<String, Object> requestBody = new HashMap<>();
         requestBody.put("parent", parent);
         requestBody.put("properties", properties);
@@ -81,6 +129,22 @@ public class NotionPageService {
         return notionClient.patch("/pages/" + pageId, requestBody, Page.class);
     }
 
+    /**
+     * Updates a database page, validating the properties against the cached
+     * database schema first. The API does not say which database a page
+     * belongs to without fetching it, so the database ID is passed in.
+     *
+     * @param pageId the page ID
+     * @param databaseId the ID of the database the page belongs to
+     * @param properties the updated properties
+     * @return the updated page
+     * @throws IllegalArgumentException if a property does not match the database schema
+     */
+    public Page updatePage(String pageId, String databaseId, Map<String, Object> properties) {
+        schemaCache.validatePageProperties(databaseId, properties);
+        return updatePage(pageId, properties);
+    }
+
     /**
      * Archives a page.
      *
@@ -49,7 +49,7 @@ public class NotionService {
      *
      * @param query the search query
      * @param filter the filter for object types
-     * @param sortDirection the direction to sort results
+     * @param sortDirection the direction to sort results by last edited time
      * @param startCursor the pagination cursor
      * @param pageSize the number of results per page
      * @return a paginated response with search results
@@ -73,6 +73,7 @@ public class NotionService {
         if (sortDirection != null) {
             Map<String, String> sort = new HashMap<>();
             sort.put("direction", sortDirection);
+            sort.put("timestamp", "last_edited_time");
             requestBody.put("sort", sort);
         }
 
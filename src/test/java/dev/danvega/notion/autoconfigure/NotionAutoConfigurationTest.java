@@ -1,14 +1,27 @@
 package dev.danvega.notion.autoconfigure;
 
+import dev.danvega.notion.cache.InMemoryNotionCache;
+import dev.danvega.notion.cache.NotionCache;
+import dev.danvega.notion.cache.OffHeapNotionCache;
+import dev.danvega.notion.cache.PersistentNotionCache;
+import dev.danvega.notion.cache.ReplicatedNotionCache;
+import dev.danvega.notion.cache.TcpInvalidationBus;
+import dev.danvega.notion.change.NotionChangeFeed;
 import dev.danvega.notion.client.NotionClient;
+import dev.danvega.notion.cluster.ShardedSyncCoordinator;
+import dev.danvega.notion.queue.NotionWriteQueue;
+import dev.danvega.notion.client.NotionWarmup;
 import dev.danvega.notion.service.NotionBlockService;
 import dev.danvega.notion.service.NotionDatabaseService;
 import dev.danvega.notion.service.NotionPageService;
 import dev.danvega.notion.service.NotionService;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.boot.autoconfigure.AutoConfigurations;
 import org.springframework.boot.test.context.runner.ApplicationContextRunner;
 
+import java.nio.file.Path;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 class NotionAutoConfigurationTest {
@@ -57,4 +70,87 @@ class NotionAutoConfigurationTest {
                     assertThat(context).hasSingleBean(NotionBlockService.class);
                 });
     }
-}
\ No newline at end of file
+
+    @Test
+    void autoConfigurationShouldProvideWarmupOnlyWhenEnabled() {
+        contextRunner
+                .withPropertyValues("notion.api.key=test-key")
+                .run(context -> assertThat(context).doesNotHaveBean(NotionWarmup.class));
+
+        contextRunner
+                .withPropertyValues("notion.api.key=test-key", "notion.api.warmup.enabled=true")
+                .run(context -> assertThat(context).hasSingleBean(NotionWarmup.class));
+    }
+
+    @Test
+    void autoConfigurationShouldProvidePersistentCacheWhenDirectoryIsSet(@TempDir Path directory) {
+        contextRunner
+                .withPropertyValues("notion.api.key=test-key", "notion.api.cache.enabled=true")
+                .run(context -> assertThat(context).getBean(NotionCache.class).isInstanceOf(InMemoryNotionCache.class));
+
+        contextRunner
+                .withPropertyValues("notion.api.key=test-key", "notion.api.cache.enabled=true",
+                        "notion.api.cache.directory=" + directory)
+                .run(context -> assertThat(context.getBean(NotionClient.class).getCache())
+                        .isInstanceOf(PersistentNotionCache.class));
+    }
+
+    @Test
+    void autoConfigurationShouldProvideOffHeapCacheWhenEnabled() {
+        contextRunner
+                .withPropertyValues("notion.api.key=test-key", "notion.api.cache.enabled=true",
+                        "notion.api.cache.off-heap.enabled=true", "notion.api.cache.off-heap.max-size=1048576",
+                        "notion.api.cache.off-heap.slab-size=65536")
+                .run(context -> assertThat(context.getBean(NotionClient.class).getCache())
+                        .isInstanceOf(OffHeapNotionCache.class));
+    }
+
+    @Test
+    void autoConfigurationShouldProvideChangeFeedWhenEnabled() {
+        contextRunner
+                .withPropertyValues("notion.api.key=test-key")
+                .run(context -> assertThat(context).doesNotHaveBean(NotionChangeFeed.class));
+
+        contextRunner
+                .withPropertyValues("notion.api.key=test-key", "notion.api.changes.enabled=true",
+                        "notion.api.changes.databases=5a9a8a5e-4e2c-4b1e-9f6e-0d2f1c3b4a5d")
+                .run(context -> assertThat(context).hasSingleBean(NotionChangeFeed.class));
+    }
+
+    @Test
+    void autoConfigurationShouldShareInvalidationsWhenBusIsEnabled() {
+        contextRunner
+                .withPropertyValues("notion.api.key=test-key", "notion.api.cache.enabled=true",
+                        "notion.api.cache.bus.enabled=true", "notion.api.cache.bus.port=0",
+                        "notion.api.cache.bus.peers=localhost:7450")
+                .run(context -> {
+                    assertThat(context).hasSingleBean(TcpInvalidationBus.class);
+                    assertThat(context.getBean(NotionClient.class).getCache())
+                            .isInstanceOf(ReplicatedNotionCache.class);
+                });
+    }
+
+    @Test
+    void autoConfigurationShouldProvideShardedSyncWhenEnabled() {
+        contextRunner
+                .withPropertyValues("notion.api.key=test-key", "notion.api.sync.enabled=true",
+                        "notion.api.sync.local-member=a", "notion.api.sync.members=a,b",
+                        "notion.api.sync.databases=5a9a8a5e-4e2c-4b1e-9f6e-0d2f1c3b4a5d")
+                .run(context -> {
+                    ShardedSyncCoordinator coordinator = context.getBean(ShardedSyncCoordinator.class);
+                    assertThat(coordinator.getOwnedKeys()).hasSizeLessThanOrEqualTo(1);
+                });
+    }
+
+    @Test
+    void autoConfigurationShouldProvideWriteQueueWhenEnabled(@TempDir Path directory) {
+        contextRunner
+                .withPropertyValues("notion.api.key=test-key")
+                .run(context -> assertThat(context).doesNotHaveBean(NotionWriteQueue.class));
+
+        contextRunner
+                .withPropertyValues("notion.api.key=test-key", "notion.api.write-queue.enabled=true",
+                        "notion.api.write-queue.journal=" + directory.resolve("writes.journal"))
+                .run(context -> assertThat(context).hasSingleBean(NotionWriteQueue.class));
+    }
+}
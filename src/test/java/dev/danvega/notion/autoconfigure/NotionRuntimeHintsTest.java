@@ -0,0 +1,54 @@
+package dev.danvega.notion.autoconfigure;
+
+import dev.danvega.notion.model.block.Block;
+import dev.danvega.notion.model.block.BlockDeserializer;
+import dev.danvega.notion.model.block.BlockType;
+import dev.danvega.notion.model.block.content.ImageContent;
+import dev.danvega.notion.model.block.content.ParagraphContent;
+import dev.danvega.notion.model.common.RichText;
+import dev.danvega.notion.model.database.DatabaseQuery;
+import dev.danvega.notion.model.page.Page;
+import dev.danvega.notion.model.response.PaginatedResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link NotionRuntimeHints}.
+ */
+class NotionRuntimeHintsTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    @Test
+    void shouldRegisterEveryModelClass() {
+        // When
+        new NotionRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        // Then
+        Set<Class<?>> types = NotionRuntimeHints.modelTypes(getClass().getClassLoader());
+        assertThat(types).contains(Page.class, Block.class, DatabaseQuery.class, PaginatedResponse.class,
+                RichText.Annotations.class, ImageContent.FileObject.class);
+        for (Class<?> type : types) {
+            assertThat(RuntimeHintsPredicates.reflection().onType(type)).as(type.getName()).accepts(hints);
+        }
+    }
+
+    @Test
+    void shouldRegisterBlockContentClassesAndBlockDeserializer() {
+        // When
+        new NotionRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        // Then
+        for (BlockType blockType : BlockType.values()) {
+            assertThat(RuntimeHintsPredicates.reflection().onType(blockType.getContentClass())).accepts(hints);
+        }
+        assertThat(RuntimeHintsPredicates.reflection().onType(BlockDeserializer.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(ParagraphContent.class, "setRichText"))
+                .accepts(hints);
+    }
+}
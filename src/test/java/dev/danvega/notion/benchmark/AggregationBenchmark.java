@@ -0,0 +1,118 @@
+package dev.danvega.notion.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import dev.danvega.notion.model.common.LazyProperties;
+import dev.danvega.notion.model.page.Page;
+import dev.danvega.notion.replica.ColumnStats;
+import dev.danvega.notion.replica.ColumnarTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares summing a number property, and summing it per status, over
+ * 100,000 pages by reading boxed values from each page against the
+ * primitive columns of a {@link ColumnarTable}.
+ * <p>
+ * Run with:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=dev.danvega.notion.benchmark.AggregationBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AggregationBenchmark {
+
+    private static final int PAGES = 100_000;
+
+    private List<Page> pages;
+    private ColumnarTable table;
+
+    @Setup
+    public void setUp() throws IOException {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < PAGES; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("""
+                    {"object": "page", "id": "%08d-0000-4000-8000-000000000000", "archived": false,
+                     "last_edited_time": "2024-03-01T10:00:00.000Z",
+                     "properties": {
+                       "Status": {"id": "s1", "type": "status", "status": {"name": "%s"}},
+                       "Price": {"id": "p1", "type": "number", "number": %d}
+                     }}
+                    """.formatted(i, i % 3 == 0 ? "Done" : "Todo", i));
+        }
+        json.append(']');
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        pages = objectMapper.readValue(json.toString(), new TypeReference<>() {});
+        table = ColumnarTable.of(pages, "Status", "Price");
+    }
+
+    @Benchmark
+    public double boxedSum() {
+        double sum = 0;
+        for (Page page : pages) {
+            Number price = page.getLazyProperties().getNumber("Price");
+            if (price != null) {
+                sum += price.doubleValue();
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double columnarSum() {
+        return table.stats("Price").getSum();
+    }
+
+    @Benchmark
+    public Map<String, Double> boxedGroupBy() {
+        Map<String, Double> sums = new HashMap<>();
+        for (Page page : pages) {
+            LazyProperties properties = page.getLazyProperties();
+            Number price = properties.getNumber("Price");
+            if (price != null) {
+                sums.merge(properties.getText("Status"), price.doubleValue(), Double::sum);
+            }
+        }
+        return sums;
+    }
+
+    @Benchmark
+    public Map<String, ColumnStats> columnarGroupBy() {
+        return table.groupBy("Status", "Price");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AggregationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
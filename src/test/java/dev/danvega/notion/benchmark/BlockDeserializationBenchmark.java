@@ -0,0 +1,184 @@
+package dev.danvega.notion.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import dev.danvega.notion.model.block.Block;
+import dev.danvega.notion.model.block.content.BulletedListItemContent;
+import dev.danvega.notion.model.block.content.CodeContent;
+import dev.danvega.notion.model.block.content.HeadingContent;
+import dev.danvega.notion.model.block.content.ImageContent;
+import dev.danvega.notion.model.block.content.NumberedListItemContent;
+import dev.danvega.notion.model.block.content.ParagraphContent;
+import dev.danvega.notion.model.block.content.ToDoContent;
+import dev.danvega.notion.model.response.PaginatedResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures decoding and encoding of a page of 100 mixed blocks, the shape returned
+ * by the block children endpoint. The {@code annotated} benchmarks bind the same
+ * payload to {@link AnnotatedBlock}, the annotation-driven shape {@link Block} had
+ * before it got its own deserializer, and are the baseline. {@code readTree} is the
+ * floor for any approach that parses the payload once before binding it.
+ * <p>
+ * Run with:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=dev.danvega.notion.benchmark.BlockDeserializationBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BlockDeserializationBenchmark {
+
+    private static final String[] BLOCKS = {
+            """
+            {"object": "block", "id": "%s", "created_time": "2023-01-01T00:00:00.000Z",
+             "last_edited_time": "2023-01-02T00:00:00.000Z", "created_by": {"object": "user", "id": "u1"},
+             "last_edited_by": {"object": "user", "id": "u1"}, "has_children": false, "archived": false,
+             "type": "paragraph", "paragraph": {"rich_text": [{"type": "text", "text": {"content": "Some text"},
+             "annotations": {"bold": false, "italic": false, "strikethrough": false, "underline": false,
+             "code": false, "color": "default"}, "plain_text": "Some text", "href": null}], "color": "default"}}
+            """,
+            """
+            {"object": "block", "id": "%s", "created_time": "2023-01-01T00:00:00.000Z",
+             "last_edited_time": "2023-01-02T00:00:00.000Z", "has_children": false, "archived": false,
+             "type": "heading_2", "heading_2": {"rich_text": [{"type": "text", "text": {"content": "Heading"},
+             "plain_text": "Heading"}], "color": "default", "is_toggleable": false}}
+            """,
+            """
+            {"object": "block", "id": "%s", "created_time": "2023-01-01T00:00:00.000Z",
+             "last_edited_time": "2023-01-02T00:00:00.000Z", "has_children": false, "archived": false,
+             "type": "to_do", "to_do": {"rich_text": [{"type": "text", "text": {"content": "Task"},
+             "plain_text": "Task"}], "checked": true, "color": "default"}}
+            """,
+            """
+            {"object": "block", "id": "%s", "created_time": "2023-01-01T00:00:00.000Z",
+             "last_edited_time": "2023-01-02T00:00:00.000Z", "has_children": false, "archived": false,
+             "type": "divider", "divider": {}}
+            """
+    };
+
+    private byte[] payload;
+    private PaginatedResponse<Block> decoded;
+    private ObjectMapper objectMapper;
+    private ObjectReader blockPageReader;
+    private ObjectWriter blockPageWriter;
+    private PaginatedResponse<AnnotatedBlock> annotatedDecoded;
+    private ObjectReader annotatedPageReader;
+    private ObjectWriter annotatedPageWriter;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        TypeReference<PaginatedResponse<Block>> type = new TypeReference<>() {
+        };
+        blockPageReader = objectMapper.readerFor(type);
+        blockPageWriter = objectMapper.writerFor(type);
+        TypeReference<PaginatedResponse<AnnotatedBlock>> annotatedType = new TypeReference<>() {
+        };
+        annotatedPageReader = objectMapper.readerFor(annotatedType);
+        annotatedPageWriter = objectMapper.writerFor(annotatedType);
+
+        StringBuilder json = new StringBuilder("{\"object\": \"list\", \"has_more\": false, \"results\": [");
+        for (int i = 0; i < 100; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append(BLOCKS[i % BLOCKS.length].formatted("block-" + i));
+        }
+        json.append("]}");
+        payload = json.toString().getBytes(StandardCharsets.UTF_8);
+        decoded = blockPageReader.readValue(payload);
+        annotatedDecoded = annotatedPageReader.readValue(payload);
+    }
+
+    @Benchmark
+    public PaginatedResponse<Block> deserializeBlocks() throws IOException {
+        return blockPageReader.readValue(payload);
+    }
+
+    @Benchmark
+    public PaginatedResponse<AnnotatedBlock> deserializeAnnotatedBlocks() throws IOException {
+        return annotatedPageReader.readValue(payload);
+    }
+
+    @Benchmark
+    public JsonNode readTree() throws IOException {
+        return objectMapper.readTree(payload);
+    }
+
+    @Benchmark
+    public byte[] serializeBlocks() throws IOException {
+        return blockPageWriter.writeValueAsBytes(decoded);
+    }
+
+    @Benchmark
+    public byte[] serializeAnnotatedBlocks() throws IOException {
+        return annotatedPageWriter.writeValueAsBytes(annotatedDecoded);
+    }
+
+    /**
+     * A block bound by annotations alone: one field per content type, filled by
+     * Jackson from the key matching the block type, and timestamps parsed by the
+     * general ISO parser.
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class AnnotatedBlock {
+
+        public String id;
+        @JsonProperty("object")
+        public String objectType;
+        @JsonProperty("created_time")
+        public ZonedDateTime createdTime;
+        @JsonProperty("last_edited_time")
+        public ZonedDateTime lastEditedTime;
+        public Boolean archived;
+        public String type;
+        @JsonProperty("has_children")
+        public Boolean hasChildren;
+        public ParagraphContent paragraph;
+        public HeadingContent heading_1;
+        public HeadingContent heading_2;
+        public HeadingContent heading_3;
+        public BulletedListItemContent bulleted_list_item;
+        public NumberedListItemContent numbered_list_item;
+        public ToDoContent to_do;
+        public CodeContent code;
+        public ImageContent image;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BlockDeserializationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,121 @@
+package dev.danvega.notion.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import dev.danvega.notion.cache.CacheEncoding;
+import dev.danvega.notion.model.block.Block;
+import dev.danvega.notion.model.response.PaginatedResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares holding a cached page of 100 mixed blocks as JSON text against
+ * holding it as Smile: binding each to the models, encoding it, and turning
+ * Smile back into text for callers of {@code NotionCache.get}.
+ * <p>
+ * Run with:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=dev.danvega.notion.benchmark.CacheEncodingBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CacheEncodingBenchmark {
+
+    private static final String[] BLOCKS = {
+            """
+            {"object": "block", "id": "%s", "created_time": "2023-01-01T00:00:00.000Z",
+             "last_edited_time": "2023-01-02T00:00:00.000Z", "created_by": {"object": "user", "id": "u1"},
+             "last_edited_by": {"object": "user", "id": "u1"}, "has_children": false, "archived": false,
+             "type": "paragraph", "paragraph": {"rich_text": [{"type": "text", "text": {"content": "Some text"},
+             "annotations": {"bold": false, "italic": false, "strikethrough": false, "underline": false,
+             "code": false, "color": "default"}, "plain_text": "Some text", "href": null}], "color": "default"}}
+            """,
+            """
+            {"object": "block", "id": "%s", "created_time": "2023-01-01T00:00:00.000Z",
+             "last_edited_time": "2023-01-02T00:00:00.000Z", "has_children": false, "archived": false,
+             "type": "heading_2", "heading_2": {"rich_text": [{"type": "text", "text": {"content": "Heading"},
+             "plain_text": "Heading"}], "color": "default", "is_toggleable": false}}
+            """,
+            """
+            {"object": "block", "id": "%s", "created_time": "2023-01-01T00:00:00.000Z",
+             "last_edited_time": "2023-01-02T00:00:00.000Z", "has_children": false, "archived": false,
+             "type": "to_do", "to_do": {"rich_text": [{"type": "text", "text": {"content": "Task"},
+             "plain_text": "Task"}], "checked": true, "color": "default"}}
+            """
+    };
+
+    private String json;
+    private byte[] smile;
+    private ObjectReader jsonReader;
+    private ObjectReader smileReader;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        TypeReference<PaginatedResponse<Block>> type = new TypeReference<>() {
+        };
+        jsonReader = objectMapper.readerFor(type);
+        smileReader = objectMapper.copyWith(CacheEncoding.smileFactory()).readerFor(type);
+
+        StringBuilder builder = new StringBuilder("{\"object\": \"list\", \"has_more\": false, \"results\": [");
+        for (int i = 0; i < 100; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append(BLOCKS[i % BLOCKS.length].formatted("%08d-0000-4000-8000-000000000000".formatted(i)));
+        }
+        builder.append("]}");
+        json = builder.toString();
+        smile = CacheEncoding.SMILE.encode(json);
+    }
+
+    @Benchmark
+    public PaginatedResponse<Block> bindJsonText() throws IOException {
+        return jsonReader.readValue(json);
+    }
+
+    @Benchmark
+    public PaginatedResponse<Block> bindSmile() throws IOException {
+        return smileReader.readValue(smile);
+    }
+
+    @Benchmark
+    public byte[] encodeSmile() {
+        return CacheEncoding.SMILE.encode(json);
+    }
+
+    @Benchmark
+    public String decodeSmileToText() {
+        return CacheEncoding.SMILE.decode(smile);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CacheEncodingBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,144 @@
+package dev.danvega.notion.benchmark;
+
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import dev.danvega.notion.model.common.LazyProperties;
+import dev.danvega.notion.model.page.Page;
+import dev.danvega.notion.model.response.PaginatedResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares decoding a page of 100 query results with 60 properties each and
+ * reading three of them, once with lazily decoded properties and once with
+ * every property expanded into maps up front. Compare the
+ * {@code gc.alloc.rate.norm} (bytes per operation) column of the benchmarks.
+ * <p>
+ * Run with:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=dev.danvega.notion.benchmark.PropertyDecodingBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PropertyDecodingBenchmark {
+
+    private static final int PAGES = 100;
+    private static final int PROPERTIES = 60;
+
+    private byte[] payload;
+    private ObjectReader lazyReader;
+    private ObjectReader eagerReader;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper lazyMapper = new ObjectMapper();
+        lazyReader = lazyMapper.readerFor(lazyMapper.getTypeFactory()
+                .constructParametricType(PaginatedResponse.class, Page.class));
+        ObjectMapper eagerMapper = new ObjectMapper().addMixIn(Page.class, EagerPage.class);
+        eagerReader = eagerMapper.readerFor(eagerMapper.getTypeFactory()
+                .constructParametricType(PaginatedResponse.class, Page.class));
+
+        StringBuilder json = new StringBuilder("{\"object\": \"list\", \"results\": [");
+        for (int i = 0; i < PAGES; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"object\": \"page\", \"id\": \"page-").append(i).append("\", \"properties\": {");
+            for (int j = 0; j < PROPERTIES; j++) {
+                if (j > 0) {
+                    json.append(',');
+                }
+                json.append(property(i, j));
+            }
+            json.append("}}");
+        }
+        json.append("], \"has_more\": false}");
+        payload = json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String property(int page, int index) {
+        return switch (index % 4) {
+            case 0 -> """
+                    "Text %1$d": {"id": "r%1$d", "type": "rich_text", "rich_text": [{"type": "text",
+                      "text": {"content": "Value %2$d", "link": null},
+                      "annotations": {"bold": false, "italic": false, "strikethrough": false, "underline": false,
+                                      "code": false, "color": "default"},
+                      "plain_text": "Value %2$d", "href": null}]}
+                    """.formatted(index, page);
+            case 1 -> """
+                    "Select %1$d": {"id": "s%1$d", "type": "select",
+                      "select": {"id": "opt", "name": "Option %2$d", "color": "blue"}}
+                    """.formatted(index, page % 5);
+            case 2 -> """
+                    "Number %1$d": {"id": "n%1$d", "type": "number", "number": %2$d}
+                    """.formatted(index, page);
+            default -> """
+                    "Date %1$d": {"id": "d%1$d", "type": "date",
+                      "date": {"start": "2024-03-%2$02d", "end": null, "time_zone": null}}
+                    """.formatted(index, page % 28 + 1);
+        };
+    }
+
+    @Benchmark
+    public void lazyProperties(Blackhole blackhole) throws IOException {
+        PaginatedResponse<Page> response = lazyReader.readValue(payload);
+        for (Page page : response.getResults()) {
+            LazyProperties properties = page.getLazyProperties();
+            blackhole.consume(properties.getText("Text 0"));
+            blackhole.consume(properties.getText("Select 1"));
+            blackhole.consume(properties.getNumber("Number 2"));
+        }
+    }
+
+    @Benchmark
+    public void eagerProperties(Blackhole blackhole) throws IOException {
+        PaginatedResponse<Page> response = eagerReader.readValue(payload);
+        for (Page page : response.getResults()) {
+            Map<String, Object> properties = page.getProperties();
+            blackhole.consume(properties.get("Text 0"));
+            blackhole.consume(properties.get("Select 1"));
+            blackhole.consume(properties.get("Number 2"));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PropertyDecodingBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+
+    /**
+     * Decodes properties into nested maps, as before lazy decoding.
+     */
+    abstract static class EagerPage {
+        @JsonDeserialize(using = JsonDeserializer.None.class)
+        private Map<String, Object> properties;
+    }
+}
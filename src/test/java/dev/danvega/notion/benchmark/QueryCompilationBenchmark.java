@@ -0,0 +1,109 @@
+package dev.danvega.notion.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.danvega.notion.model.database.CompiledQuery;
+import dev.danvega.notion.model.database.Database;
+import dev.danvega.notion.model.database.DatabaseQuery;
+import dev.danvega.notion.model.database.DatabaseSchema;
+import dev.danvega.notion.model.database.Filter;
+import dev.danvega.notion.model.database.Sort;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares producing the request body of a repeated database query from
+ * freshly built filter and sort maps against reusing a compiled query, which
+ * only appends the pagination cursor.
+ * <p>
+ * Run with:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=dev.danvega.notion.benchmark.QueryCompilationBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QueryCompilationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private CompiledQuery compiled;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = new ObjectMapper();
+        DatabaseSchema schema = DatabaseSchema.of(objectMapper.readValue("""
+                {"object": "database", "id": "db-1", "properties": {
+                  "Status": {"id": "s1", "type": "status", "status": {}},
+                  "Price": {"id": "p1", "type": "number", "number": {}},
+                  "Tags": {"id": "t1", "type": "multi_select", "multi_select": {}}
+                }}
+                """, Database.class));
+        compiled = DatabaseQuery.builder()
+                .filter(Filter.and(
+                        Filter.property("Status").status().equalTo("Done"),
+                        Filter.property("Price").number().greaterThan(10),
+                        Filter.property("Tags").multiSelect().contains("urgent")))
+                .sorts(Sort.descending("Price"), Sort.lastEditedTime(Sort.Direction.DESCENDING))
+                .pageSize(100)
+                .build()
+                .compile(schema);
+    }
+
+    @Benchmark
+    public byte[] mapQuery() throws IOException {
+        Map<String, Object> status = new HashMap<>();
+        status.put("property", "Status");
+        status.put("status", Map.of("equals", "Done"));
+        Map<String, Object> price = new HashMap<>();
+        price.put("property", "Price");
+        price.put("number", Map.of("greater_than", 10));
+        Map<String, Object> tags = new HashMap<>();
+        tags.put("property", "Tags");
+        tags.put("multi_select", Map.of("contains", "urgent"));
+        Map<String, Object> filter = new HashMap<>();
+        filter.put("and", List.of(status, price, tags));
+
+        Map<String, Object> body = new HashMap<>();
+        body.put("filter", filter);
+        body.put("sorts", List.of(
+                Map.of("property", "Price", "direction", "descending"),
+                Map.of("timestamp", "last_edited_time", "direction", "descending")));
+        body.put("page_size", 100);
+        body.put("start_cursor", "b2b1f1a4-5c8e-4f0e-9d3a-7f6e5d4c3b2a");
+        return objectMapper.writeValueAsBytes(body);
+    }
+
+    @Benchmark
+    public byte[] compiledQuery() {
+        return compiled.body("b2b1f1a4-5c8e-4f0e-9d3a-7f6e5d4c3b2a");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(QueryCompilationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
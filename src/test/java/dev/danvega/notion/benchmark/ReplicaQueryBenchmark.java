@@ -0,0 +1,116 @@
+package dev.danvega.notion.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import dev.danvega.notion.model.database.Filter;
+import dev.danvega.notion.model.page.Page;
+import dev.danvega.notion.replica.ReplicaQueryEngine;
+import dev.danvega.notion.replica.ReplicaSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares answering equality and range conditions over a 100,000 page
+ * replica by scanning decoded property values against using hash and sorted
+ * indexes.
+ * <p>
+ * Run with:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=dev.danvega.notion.benchmark.ReplicaQueryBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReplicaQueryBenchmark {
+
+    private static final int PAGES = 100_000;
+
+    private static final Filter EQUALITY = Filter.property("Code").richText().equalTo("code-4242");
+    private static final Filter RANGE = Filter.and(
+            Filter.property("Status").status().equalTo("Done"),
+            Filter.property("Price").number().greaterThan(99_900));
+
+    private ReplicaQueryEngine scanning;
+    private ReplicaQueryEngine indexed;
+
+    @Setup
+    public void setUp() throws IOException {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < PAGES; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("""
+                    {"object": "page", "id": "%08d-0000-4000-8000-000000000000", "archived": false,
+                     "last_edited_time": "2024-03-01T10:00:00.000Z",
+                     "properties": {
+                       "Code": {"id": "c1", "type": "rich_text", "rich_text": [{"plain_text": "code-%d"}]},
+                       "Status": {"id": "s1", "type": "status", "status": {"name": "%s"}},
+                       "Price": {"id": "p1", "type": "number", "number": %d}
+                     }}
+                    """.formatted(i, i, i % 3 == 0 ? "Done" : "Todo", i));
+        }
+        json.append(']');
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        List<Page> pages = objectMapper.readValue(json.toString(), new TypeReference<>() {});
+        ReplicaSnapshot snapshot = ReplicaSnapshot.of("db-1", pages);
+
+        scanning = new ReplicaQueryEngine(() -> snapshot);
+        indexed = new ReplicaQueryEngine(() -> snapshot)
+                .hashIndex("Code")
+                .hashIndex("Status")
+                .sortedIndex("Price");
+        scanning.count(EQUALITY);
+        scanning.count(RANGE);
+        indexed.count(EQUALITY);
+    }
+
+    @Benchmark
+    public List<Page> scanEquality() {
+        return scanning.query(EQUALITY);
+    }
+
+    @Benchmark
+    public List<Page> indexedEquality() {
+        return indexed.query(EQUALITY);
+    }
+
+    @Benchmark
+    public List<Page> scanRange() {
+        return scanning.query(RANGE);
+    }
+
+    @Benchmark
+    public List<Page> indexedRange() {
+        return indexed.query(RANGE);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ReplicaQueryBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
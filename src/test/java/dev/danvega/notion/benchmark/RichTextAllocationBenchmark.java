@@ -0,0 +1,120 @@
+package dev.danvega.notion.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import dev.danvega.notion.model.common.RichText;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares allocation when decoding 1,000 rich text runs with shared annotations
+ * and interned strings against plain bean binding, which allocates an
+ * {@code Annotations} object and fresh strings per run. Compare the
+ * {@code gc.alloc.rate.norm} (bytes per operation) column of the two benchmarks.
+ * <p>
+ * Run with:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=dev.danvega.notion.benchmark.RichTextAllocationBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RichTextAllocationBenchmark {
+
+    private static final String[] COLORS = {"default", "default", "default", "gray", "red_background"};
+
+    private byte[] payload;
+    private ObjectReader sharedReader;
+    private ObjectReader plainReader;
+
+    @Setup
+    public void setUp() {
+        TypeReference<List<RichText>> type = new TypeReference<>() {
+        };
+        sharedReader = new ObjectMapper().readerFor(type);
+        plainReader = new ObjectMapper()
+                .addMixIn(RichText.class, PlainRichText.class)
+                .addMixIn(RichText.Annotations.class, PlainAnnotations.class)
+                .readerFor(type);
+
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 1000; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("""
+                    {"type": "text", "text": {"content": "Run %d", "link": null},
+                     "annotations": {"bold": %b, "italic": false, "strikethrough": false, "underline": false,
+                                     "code": false, "color": "%s"},
+                     "plain_text": "Run %d", "href": null}
+                    """.formatted(i, i % 7 == 0, COLORS[i % COLORS.length], i));
+        }
+        json.append(']');
+        payload = json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public List<RichText> sharedAnnotations() throws IOException {
+        return sharedReader.readValue(payload);
+    }
+
+    @Benchmark
+    public List<RichText> plainBinding() throws IOException {
+        return plainReader.readValue(payload);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RichTextAllocationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+
+    /**
+     * Binds the run type as a plain string.
+     */
+    abstract static class PlainRichText {
+        @JsonDeserialize(using = JsonDeserializer.None.class)
+        private String type;
+    }
+
+    /**
+     * Binds each annotations object through its constructor, without sharing.
+     */
+    @JsonDeserialize(using = JsonDeserializer.None.class)
+    abstract static class PlainAnnotations {
+        @JsonCreator
+        PlainAnnotations(@JsonProperty("bold") Boolean bold, @JsonProperty("italic") Boolean italic,
+                         @JsonProperty("strikethrough") Boolean strikethrough,
+                         @JsonProperty("underline") Boolean underline, @JsonProperty("code") Boolean code,
+                         @JsonProperty("color") String color) {
+        }
+    }
+}
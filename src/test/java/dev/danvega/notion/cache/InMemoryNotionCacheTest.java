@@ -0,0 +1,123 @@
+package dev.danvega.notion.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import dev.danvega.notion.client.NotionClient;
+import dev.danvega.notion.config.NotionProperties;
+import dev.danvega.notion.model.page.Page;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.ExpectedCount.once;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+/**
+ * Tests for {@link InMemoryNotionCache}.
+ */
+class InMemoryNotionCacheTest {
+
+    private static final String BASE = "https://api.notion.com/v1";
+    private static final String PAGE_ID = "1a2b3c4d-5e6f-4a8b-9c0d-ef1234567890";
+
+    @Test
+    void shouldInvalidateEntriesOfAnObjectInEitherIdForm() {
+        // Given
+        InMemoryNotionCache cache = new InMemoryNotionCache(100, 60_000);
+        cache.put(BASE + "/pages/" + PAGE_ID, "page");
+        cache.put(BASE + "/blocks/" + PAGE_ID.replace("-", "") + "/children?page_size=100", "children");
+        cache.put(BASE + "/pages/00000000-0000-0000-0000-000000000001", "other");
+
+        // When
+        cache.invalidate(PAGE_ID.replace("-", ""));
+
+        // Then
+        assertThat(cache.get(BASE + "/pages/" + PAGE_ID)).isNull();
+        assertThat(cache.get(BASE + "/blocks/" + PAGE_ID.replace("-", "") + "/children?page_size=100")).isNull();
+        assertThat(cache.get(BASE + "/pages/00000000-0000-0000-0000-000000000001")).isEqualTo("other");
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldInvalidateNonUuidIdsByScanning() {
+        // Given
+        InMemoryNotionCache cache = new InMemoryNotionCache(100, 60_000);
+        cache.put(BASE + "/pages/page-1", "page");
+        cache.put(BASE + "/pages/page-10", "other");
+
+        // When
+        cache.invalidate("page-1");
+
+        // Then
+        assertThat(cache.get(BASE + "/pages/page-1")).isNull();
+        assertThat(cache.get(BASE + "/pages/page-10")).isEqualTo("other");
+    }
+
+    @Test
+    void shouldKeepIndexInStepWithEviction() {
+        // Given
+        InMemoryNotionCache cache = new InMemoryNotionCache(1, 60_000);
+        cache.put(BASE + "/pages/" + PAGE_ID, "page");
+        cache.put(BASE + "/pages/00000000-0000-0000-0000-000000000001", "other");
+
+        // When
+        cache.put(BASE + "/pages/" + PAGE_ID, "page again");
+        cache.invalidate(PAGE_ID);
+
+        // Then
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void shouldBindSmileEncodedResponsesWithoutAnotherRequest() throws Exception {
+        // Given
+        String pageUrl = BASE + "/pages/" + PAGE_ID;
+        String body = """
+                {"object": "page", "id": "%s", "last_edited_time": "2024-03-01T10:00:00.000Z",
+                 "properties": {"Name": {"id": "title", "type": "title",
+                   "title": [{"type": "text", "text": {"content": "Milk"}, "plain_text": "Milk"}]},
+                   "Price": {"id": "p1", "type": "number", "number": 2.5}}}
+                """.formatted(PAGE_ID);
+        InMemoryNotionCache cache = new InMemoryNotionCache(100, 60_000, CacheEncoding.SMILE);
+        NotionProperties properties = new NotionProperties();
+        properties.setKey("test-key");
+        properties.setBaseUrl(BASE);
+        RestClient.Builder builder = RestClient.builder();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(builder).build();
+        NotionClient client = NotionClient.builder()
+                .properties(properties)
+                .objectMapper(new ObjectMapper().registerModule(new JavaTimeModule()))
+                .restClient(builder.build())
+                .cache(cache)
+                .build();
+        server.expect(once(), requestTo(pageUrl)).andRespond(withSuccess(body, MediaType.APPLICATION_JSON));
+
+        // When
+        Page fetched = client.get("/pages/" + PAGE_ID, Page.class);
+        Page cached = client.get("/pages/" + PAGE_ID, Page.class);
+
+        // Then
+        server.verify();
+        assertThat(cache.getSmile(pageUrl)).hasSizeLessThan(new ObjectMapper().readTree(body).toString().length());
+        assertThat(new ObjectMapper().readTree(cache.get(pageUrl))).isEqualTo(new ObjectMapper().readTree(body));
+        assertThat(cached.getLazyProperties().getText("Name")).isEqualTo("Milk");
+        assertThat(cached.getLazyProperties().getNumber("Price").doubleValue()).isEqualTo(2.5);
+        assertThat(cached.getLastEditedTime()).isEqualTo(fetched.getLastEditedTime());
+    }
+
+    @Test
+    void shouldKeepNonJsonBodiesAsText() {
+        // Given
+        InMemoryNotionCache cache = new InMemoryNotionCache(100, 60_000, CacheEncoding.SMILE);
+
+        // When
+        cache.put(BASE + "/pages/page-1", "not json");
+
+        // Then
+        assertThat(cache.get(BASE + "/pages/page-1")).isEqualTo("not json");
+        assertThat(cache.getSmile(BASE + "/pages/page-1")).isNull();
+    }
+}
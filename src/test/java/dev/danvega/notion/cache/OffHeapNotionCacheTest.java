@@ -0,0 +1,87 @@
+package dev.danvega.notion.cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HexFormat;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link OffHeapNotionCache}.
+ */
+class OffHeapNotionCacheTest {
+
+    private static final String BASE = "https://api.notion.com/v1";
+    private static final String PAGE_ID = "1a2b3c4d-5e6f-4a8b-9c0d-ef1234567890";
+
+    @Test
+    void shouldPromoteEntriesReadTwice() {
+        // Given
+        OffHeapNotionCache cache = new OffHeapNotionCache(4096, 1024, 10, 60_000, CacheEncoding.JSON);
+        String children = BASE + "/blocks/" + PAGE_ID + "/children";
+        String body = "{\"object\": \"list\", \"results\": [" + "{\"type\": \"divider\"},".repeat(50) + "{}]}";
+        cache.put(children, body);
+        cache.put(BASE + "/pages/" + PAGE_ID, "{\"object\": \"page\"}");
+
+        // When
+        String cold = cache.get(children);
+        int hotAfterFirstRead = cache.getHotSize();
+        String hot = cache.get(children);
+
+        // Then
+        assertThat(cold).isEqualTo(body);
+        assertThat(hot).isEqualTo(body);
+        assertThat(hotAfterFirstRead).isZero();
+        assertThat(cache.getHotSize()).isEqualTo(1);
+        assertThat(cache.getOffHeapBytes()).isLessThan(body.length());
+
+        cache.invalidate(PAGE_ID.replace("-", ""));
+        assertThat(cache.get(children)).isNull();
+        assertThat(cache.size()).isZero();
+        assertThat(cache.getHotSize()).isZero();
+    }
+
+    @Test
+    void shouldDropTheOldestSlabWhenFull() {
+        // Given
+        OffHeapNotionCache cache = new OffHeapNotionCache(2048, 1024, 10, 60_000, CacheEncoding.JSON);
+        Random random = new Random(42);
+
+        // When
+        for (int i = 0; i < 20; i++) {
+            byte[] noise = new byte[200];
+            random.nextBytes(noise);
+            cache.put(BASE + "/pages/" + i, "\"" + HexFormat.of().formatHex(noise) + "\"");
+        }
+
+        // Then
+        assertThat(cache.getOffHeapBytes()).isLessThanOrEqualTo(2048);
+        assertThat(cache.get(BASE + "/pages/0")).isNull();
+        assertThat(cache.get(BASE + "/pages/19")).isNotNull();
+        assertThat(cache.size()).isLessThan(20);
+    }
+
+    @Test
+    void shouldKeepSmileInAMappedFile(@TempDir Path directory) throws Exception {
+        // Given
+        Path file = directory.resolve("notion-cache");
+        String body = "{\"object\": \"page\", \"id\": \"" + PAGE_ID + "\", \"archived\": false}";
+
+        try (OffHeapNotionCache cache = new OffHeapNotionCache(8192, 4096, 10, 60_000, CacheEncoding.SMILE, file)) {
+            // When
+            cache.put(BASE + "/pages/" + PAGE_ID, body);
+            cache.put(BASE + "/pages/page-1", "not json");
+
+            // Then
+            assertThat(Files.size(file)).isEqualTo(4096);
+            assertThat(CacheEncoding.SMILE.decode(cache.getSmile(BASE + "/pages/" + PAGE_ID)))
+                    .isEqualTo(cache.get(BASE + "/pages/" + PAGE_ID));
+            assertThat(cache.get(BASE + "/pages/page-1")).isEqualTo("not json");
+            assertThat(cache.getSmile(BASE + "/pages/page-1")).isNull();
+        }
+    }
+}
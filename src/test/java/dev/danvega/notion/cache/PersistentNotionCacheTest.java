@@ -0,0 +1,176 @@
+package dev.danvega.notion.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.danvega.notion.client.NotionClient;
+import dev.danvega.notion.config.NotionProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.ExpectedCount.once;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+/**
+ * Tests for {@link PersistentNotionCache}.
+ */
+class PersistentNotionCacheTest {
+
+    private static final String BASE = "https://api.notion.com/v1";
+    private static final String PAGE_ID = "1a2b3c4d-5e6f-4a8b-9c0d-ef1234567890";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldServeEntriesAfterRestart() {
+        // Given
+        String large = "{\"results\": [" + "{\"object\": \"block\"},".repeat(100) + "{}]}";
+        try (PersistentNotionCache cache = new PersistentNotionCache(directory, 100, 60_000)) {
+            cache.put(BASE + "/pages/" + PAGE_ID, "page v1");
+            cache.put(BASE + "/pages/" + PAGE_ID, "page v2");
+            cache.put(BASE + "/blocks/" + PAGE_ID + "/children", large);
+            cache.put(BASE + "/pages/00000000-0000-0000-0000-000000000001", "other");
+            cache.invalidate("00000000000000000000000000000001");
+        }
+
+        // When
+        try (PersistentNotionCache cache = new PersistentNotionCache(directory, 100, 60_000)) {
+
+            // Then
+            assertThat(cache.size()).isEqualTo(2);
+            assertThat(cache.get(BASE + "/pages/" + PAGE_ID)).isEqualTo("page v2");
+            assertThat(cache.get(BASE + "/blocks/" + PAGE_ID + "/children")).isEqualTo(large);
+            assertThat(cache.get(BASE + "/pages/00000000-0000-0000-0000-000000000001")).isNull();
+            assertThat(cache.getDiskSize()).isLessThan(large.length());
+            cache.invalidate(PAGE_ID.replace("-", ""));
+            assertThat(cache.size()).isZero();
+        }
+    }
+
+    @Test
+    void shouldCutOffATornRecord() throws Exception {
+        // Given
+        try (PersistentNotionCache cache = new PersistentNotionCache(directory, 100, 60_000)) {
+            cache.put(BASE + "/pages/1", "first");
+            cache.put(BASE + "/pages/2", "second");
+        }
+        Path segment = segments().get(0);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        // When
+        try (PersistentNotionCache cache = new PersistentNotionCache(directory, 100, 60_000)) {
+            cache.put(BASE + "/pages/3", "third");
+
+            // Then
+            assertThat(cache.get(BASE + "/pages/1")).isEqualTo("first");
+            assertThat(cache.get(BASE + "/pages/2")).isNull();
+            assertThat(cache.get(BASE + "/pages/3")).isEqualTo("third");
+        }
+        try (PersistentNotionCache cache = new PersistentNotionCache(directory, 100, 60_000)) {
+            assertThat(cache.size()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void shouldCompactOverwrittenEntries() throws Exception {
+        // Given
+        try (PersistentNotionCache cache = new PersistentNotionCache(directory, 100, 60_000, 1024, CacheEncoding.JSON)) {
+            for (int i = 0; i < 200; i++) {
+                cache.put(BASE + "/pages/" + (i % 5), "value " + i);
+            }
+
+            // Then
+            assertThat(segments().size()).isLessThanOrEqualTo(4);
+            assertThat(cache.getDiskSize()).isLessThan(4 * 1024);
+            assertThat(cache.get(BASE + "/pages/3")).isEqualTo("value 198");
+        }
+        try (PersistentNotionCache cache = new PersistentNotionCache(directory, 100, 60_000, 1024, CacheEncoding.JSON)) {
+            assertThat(cache.size()).isEqualTo(5);
+            assertThat(cache.get(BASE + "/pages/4")).isEqualTo("value 199");
+        }
+    }
+
+    @Test
+    void shouldReadEntriesWrittenInEitherEncoding() {
+        // Given
+        String json = "{\"object\": \"page\", \"id\": \"" + PAGE_ID + "\", \"archived\": false}";
+        try (PersistentNotionCache cache = new PersistentNotionCache(directory, 100, 60_000,
+                PersistentNotionCache.DEFAULT_SEGMENT_SIZE, CacheEncoding.JSON)) {
+            cache.put(BASE + "/pages/1", json);
+        }
+
+        // When
+        try (PersistentNotionCache cache = new PersistentNotionCache(directory, 100, 60_000,
+                PersistentNotionCache.DEFAULT_SEGMENT_SIZE, CacheEncoding.SMILE)) {
+            cache.put(BASE + "/pages/2", json);
+
+            // Then
+            assertThat(cache.get(BASE + "/pages/1")).isEqualTo(json);
+            assertThat(cache.getSmile(BASE + "/pages/1")).isNull();
+            assertThat(cache.get(BASE + "/pages/2")).isEqualTo(json.replace(": ", ":").replace(", ", ","));
+            assertThat(CacheEncoding.SMILE.decode(cache.getSmile(BASE + "/pages/2"))).isEqualTo(cache.get(BASE + "/pages/2"));
+        }
+    }
+
+    @Test
+    void shouldRevalidateExpiredChildrenAgainstLastEditedTime() throws Exception {
+        // Given
+        String childrenUrl = BASE + "/blocks/" + PAGE_ID + "/children";
+        String blockUrl = BASE + "/blocks/" + PAGE_ID;
+        PersistentNotionCache cache = new PersistentNotionCache(directory, 100, 0);
+        cache.put(childrenUrl, "{\"object\": \"list\", \"results\": [], \"has_more\": false}");
+        NotionProperties properties = new NotionProperties();
+        properties.setKey("test-key");
+        properties.setBaseUrl(BASE);
+        RestClient.Builder builder = RestClient.builder();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(builder).build();
+        NotionClient client = NotionClient.builder()
+                .properties(properties)
+                .objectMapper(new ObjectMapper())
+                .restClient(builder.build())
+                .cache(cache)
+                .build();
+        String edited = Instant.ofEpochMilli(cache.getStored(childrenUrl).getStoredAt()).minusSeconds(120).toString();
+        server.expect(once(), requestTo(blockUrl))
+                .andRespond(withSuccess("{\"object\": \"block\", \"id\": \"" + PAGE_ID
+                        + "\", \"last_edited_time\": \"" + edited + "\"}", MediaType.APPLICATION_JSON));
+        server.expect(once(), requestTo(blockUrl))
+                .andRespond(withSuccess("{\"object\": \"block\", \"id\": \"" + PAGE_ID
+                        + "\", \"last_edited_time\": \"" + Instant.now() + "\"}", MediaType.APPLICATION_JSON));
+        server.expect(once(), requestTo(childrenUrl))
+                .andRespond(withSuccess("{\"object\": \"list\", \"results\": [{}], \"has_more\": false}",
+                        MediaType.APPLICATION_JSON));
+        Thread.sleep(5);
+
+        // When
+        Map<?, ?> unchanged = client.get("/blocks/" + PAGE_ID + "/children", Map.class);
+        Map<?, ?> changed = client.get("/blocks/" + PAGE_ID + "/children", Map.class);
+
+        // Then
+        server.verify();
+        assertThat((List<?>) unchanged.get("results")).isEmpty();
+        assertThat((List<?>) changed.get("results")).hasSize(1);
+        cache.close();
+    }
+
+    private List<Path> segments() throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+}
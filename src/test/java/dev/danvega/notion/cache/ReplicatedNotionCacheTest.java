@@ -0,0 +1,81 @@
+package dev.danvega.notion.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link ReplicatedNotionCache} over the in-JVM and TCP buses.
+ */
+class ReplicatedNotionCacheTest {
+
+    private static final String BASE = "https://api.notion.com/v1";
+    private static final String PAGE_ID = "1a2b3c4d-5e6f-4a8b-9c0d-ef1234567890";
+    private static final String PAGE_URL = BASE + "/pages/" + PAGE_ID;
+
+    @Test
+    void shouldInvalidateOtherNodesInTheSameJvm() {
+        // Given
+        LocalInvalidationBus bus = new LocalInvalidationBus();
+        InMemoryNotionCache localA = new InMemoryNotionCache(100, 60_000);
+        InMemoryNotionCache localB = new InMemoryNotionCache(100, 60_000);
+        ReplicatedNotionCache nodeA = new ReplicatedNotionCache(localA, bus, false);
+        ReplicatedNotionCache nodeB = new ReplicatedNotionCache(localB, bus.join(), false);
+        nodeA.put(PAGE_URL, "{\"object\": \"page\"}");
+        nodeB.put(PAGE_URL, "{\"object\": \"page\"}");
+        nodeB.put(BASE + "/pages/page-1", "{\"object\": \"page\"}");
+
+        // When
+        nodeA.invalidate(PAGE_ID);
+
+        // Then
+        assertThat(nodeA.get(PAGE_URL)).isNull();
+        assertThat(nodeB.get(PAGE_URL)).isNull();
+        assertThat(nodeB.size()).isEqualTo(1);
+        assertThat(localA.size()).isZero();
+    }
+
+    @Test
+    void shouldShareInvalidationsAndFreshBodiesOverTcp() throws Exception {
+        // Given
+        try (TcpInvalidationBus busA = new TcpInvalidationBus(0, List.of());
+             TcpInvalidationBus busB = new TcpInvalidationBus(0, List.of())) {
+            busA.addPeer(TcpInvalidationBus.peer("localhost:" + busB.getPort()));
+            busB.addPeer(TcpInvalidationBus.peer("localhost:" + busB.getPort()));
+            busB.addPeer(new InetSocketAddress("localhost", busA.getPort()));
+            ReplicatedNotionCache nodeA = new ReplicatedNotionCache(new InMemoryNotionCache(100, 60_000), busA, true);
+            ReplicatedNotionCache nodeB = new ReplicatedNotionCache(new InMemoryNotionCache(100, 60_000), busB, true);
+
+            // When
+            nodeA.put(PAGE_URL, "{\"object\": \"page\", \"archived\": false}");
+            await(() -> nodeB.get(PAGE_URL) != null);
+            String replicated = nodeB.get(PAGE_URL);
+            nodeB.invalidate(PAGE_ID.replace("-", ""));
+            await(() -> nodeA.get(PAGE_URL) == null);
+
+            // Then
+            assertThat(replicated).isEqualTo("{\"object\": \"page\", \"archived\": false}");
+            assertThat(nodeA.get(PAGE_URL)).isNull();
+            assertThat(nodeB.get(PAGE_URL)).isNull();
+        }
+    }
+
+    @Test
+    void shouldRejectPeersWithoutAPort() {
+        assertThat(TcpInvalidationBus.peer("node-1:7450").getPort()).isEqualTo(7450);
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> TcpInvalidationBus.peer("node-1"));
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
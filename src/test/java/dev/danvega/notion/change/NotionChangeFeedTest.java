@@ -0,0 +1,306 @@
+package dev.danvega.notion.change;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import dev.danvega.notion.cache.InMemoryNotionCache;
+import dev.danvega.notion.cache.NotionCache;
+import dev.danvega.notion.client.NotionClient;
+import dev.danvega.notion.config.NotionProperties;
+import dev.danvega.notion.service.NotionBlockService;
+import dev.danvega.notion.service.NotionDatabaseService;
+import dev.danvega.notion.service.NotionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.json.JsonCompareMode;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.springframework.test.web.client.ExpectedCount.manyTimes;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.content;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+/**
+ * Tests for {@link NotionChangeFeed} against a mocked Notion API.
+ */
+class NotionChangeFeedTest {
+
+    private static final String BASE_URL = "https://api.notion.com/v1";
+    private static final String SEARCH_URL = BASE_URL + "/search";
+    private static final String DATABASE_ID = "5a9a8a5e-4e2c-4b1e-9f6e-0d2f1c3b4a5d";
+    private static final String PAGE_1 = "11111111-1111-1111-1111-111111111111";
+    private static final String PAGE_2 = "22222222-2222-2222-2222-222222222222";
+    private static final String PAGE_3 = "33333333-3333-3333-3333-333333333333";
+    private static final String BLOCK_1 = "44444444-4444-4444-4444-444444444444";
+    private static final String BLOCK_2 = "55555555-5555-5555-5555-555555555555";
+
+    private final List<Object> events = new CopyOnWriteArrayList<>();
+    private MockRestServiceServer server;
+    private NotionService notionService;
+    private NotionDatabaseService databaseService;
+    private NotionBlockService blockService;
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        NotionProperties properties = new NotionProperties();
+        properties.setKey("test-key");
+        properties.setBaseUrl(BASE_URL);
+
+        RestClient.Builder builder = RestClient.builder();
+        server = MockRestServiceServer.bindTo(builder).build();
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        NotionClient client = new NotionClient(properties, objectMapper, builder.build());
+        notionService = new NotionService(client);
+        databaseService = new NotionDatabaseService(client);
+        blockService = new NotionBlockService(client);
+    }
+
+    @Test
+    void shouldPublishChangesUntilTheWatermark() {
+        // Given
+        NotionChangeFeed feed = new NotionChangeFeed(notionService, databaseService, null, objectMapper,
+                events::add, 1000, 60_000);
+        server.expect(requestTo(SEARCH_URL))
+                .andExpect(content().json("""
+                        {"sort": {"direction": "descending", "timestamp": "last_edited_time"}, "page_size": 100}
+                        """, JsonCompareMode.STRICT))
+                .andRespond(withSuccess(list(true, "cursor-2",
+                        page(PAGE_1, null, "2024-03-01T10:05:00.000Z", "Milk"),
+                        database("2024-03-01T10:00:00.000Z")), MediaType.APPLICATION_JSON));
+        server.expect(requestTo(SEARCH_URL))
+                .andRespond(withSuccess(list(true, "cursor-2",
+                        page(PAGE_2, null, "2024-03-01T10:07:00.000Z", "Eggs"),
+                        page(PAGE_1, null, "2024-03-01T10:05:00.000Z", "Milk"),
+                        page(PAGE_3, null, "2024-03-01T10:01:00.000Z", "Bread")), MediaType.APPLICATION_JSON));
+        server.expect(requestTo(SEARCH_URL))
+                .andRespond(withSuccess(list(false, null,
+                        page(PAGE_1, null, "2024-03-01T10:07:00.000Z", "Oat milk"),
+                        page(PAGE_2, null, "2024-03-01T10:07:00.000Z", "Eggs"),
+                        database("2024-03-01T10:06:00.000Z")), MediaType.APPLICATION_JSON));
+
+        // When
+        int initial = feed.poll();
+        int second = feed.poll();
+        int third = feed.poll();
+
+        // Then
+        server.verify();
+        assertThat(initial).isZero();
+        assertThat(second).isEqualTo(1);
+        assertThat(third).isEqualTo(1);
+        assertThat(events).extracting(event -> ((PageChangedEvent) event).getObjectId())
+                .containsExactly(PAGE_2, PAGE_1);
+        assertThat(((PageChangedEvent) events.get(1)).getPage().getLazyProperties().getText("Name"))
+                .isEqualTo("Oat milk");
+    }
+
+    @Test
+    void shouldQueryWatchedDatabasesAndListChangedBlocks() {
+        // Given
+        NotionChangeFeed feed = new NotionChangeFeed(notionService, databaseService, blockService, objectMapper,
+                events::add, 1000, 60_000);
+        feed.watch(DATABASE_ID.replace("-", ""));
+        String queryUrl = BASE_URL + "/databases/" + DATABASE_ID.replace("-", "") + "/query";
+        server.expect(requestTo(SEARCH_URL))
+                .andRespond(withSuccess(list(false, null,
+                        page(PAGE_1, DATABASE_ID, "2024-03-01T10:05:00.000Z", "Milk"),
+                        page(PAGE_3, null, "2024-03-01T10:00:00.000Z", "Notes")), MediaType.APPLICATION_JSON));
+        server.expect(requestTo(BASE_URL + "/databases/" + DATABASE_ID.replace("-", "")))
+                .andRespond(withSuccess("{\"object\": \"database\", \"id\": \"" + DATABASE_ID
+                        + "\", \"properties\": {}}", MediaType.APPLICATION_JSON));
+        server.expect(requestTo(queryUrl))
+                .andExpect(content().json("""
+                        {"sorts": [{"timestamp": "last_edited_time", "direction": "descending"}], "page_size": 100}
+                        """, JsonCompareMode.STRICT))
+                .andRespond(withSuccess(list(false, null,
+                        page(PAGE_1, DATABASE_ID, "2024-03-01T10:05:00.000Z", "Milk")), MediaType.APPLICATION_JSON));
+        server.expect(requestTo(SEARCH_URL))
+                .andRespond(withSuccess(list(false, null,
+                        page(PAGE_2, DATABASE_ID, "2024-03-01T10:09:00.000Z", "Eggs"),
+                        page(PAGE_3, null, "2024-03-01T10:00:00.000Z", "Notes")), MediaType.APPLICATION_JSON));
+        server.expect(requestTo(queryUrl))
+                .andExpect(content().json("""
+                        {"filter": {"timestamp": "last_edited_time",
+                                    "last_edited_time": {"on_or_after": "2024-03-01T10:05:00Z"}},
+                         "sorts": [{"timestamp": "last_edited_time", "direction": "ascending"}]}
+                        """))
+                .andRespond(withSuccess(list(false, null,
+                        page(PAGE_1, DATABASE_ID, "2024-03-01T10:05:00.000Z", "Milk"),
+                        page(PAGE_2, DATABASE_ID, "2024-03-01T10:09:00.000Z", "Eggs")), MediaType.APPLICATION_JSON));
+        server.expect(requestTo(BASE_URL + "/blocks/" + PAGE_2 + "/children"))
+                .andRespond(withSuccess(list(false, null,
+                        block(BLOCK_1, "2024-03-01T10:09:00.000Z"),
+                        block(BLOCK_2, "2024-03-01T10:02:00.000Z")), MediaType.APPLICATION_JSON));
+
+        // When
+        feed.poll();
+        int published = feed.poll();
+
+        // Then
+        server.verify();
+        assertThat(published).isEqualTo(2);
+        assertThat(events.get(0)).isInstanceOfSatisfying(PageChangedEvent.class, event -> {
+            assertThat(event.getObjectId()).isEqualTo(PAGE_2);
+            assertThat(event.getDatabaseId()).isEqualTo(DATABASE_ID);
+        });
+        assertThat(events.get(1)).isInstanceOfSatisfying(BlockChangedEvent.class, event -> {
+            assertThat(event.getObjectId()).isEqualTo(BLOCK_1);
+            assertThat(event.getPageId()).isEqualTo(PAGE_2);
+        });
+    }
+
+    @Test
+    void shouldKeepChangesOfSourcesThatFailUntilAPollSucceeds() {
+        // Given
+        NotionChangeFeed feed = new NotionChangeFeed(notionService, databaseService, blockService, objectMapper,
+                events::add, 1000, 60_000);
+        feed.watch(DATABASE_ID);
+        String queryUrl = BASE_URL + "/databases/" + DATABASE_ID + "/query";
+        String search = list(false, null, page(PAGE_3, null, "2024-03-01T10:08:00.000Z", "Notes"));
+        server.expect(requestTo(SEARCH_URL))
+                .andRespond(withSuccess(list(false, null,
+                        page(PAGE_3, null, "2024-03-01T10:00:00.000Z", "Notes")), MediaType.APPLICATION_JSON));
+        server.expect(requestTo(BASE_URL + "/databases/" + DATABASE_ID))
+                .andRespond(withSuccess("{\"object\": \"database\", \"id\": \"" + DATABASE_ID
+                        + "\", \"properties\": {}}", MediaType.APPLICATION_JSON));
+        server.expect(requestTo(queryUrl))
+                .andRespond(withSuccess(list(false, null,
+                        page(PAGE_1, DATABASE_ID, "2024-03-01T10:05:00.000Z", "Milk")), MediaType.APPLICATION_JSON));
+        server.expect(requestTo(SEARCH_URL)).andRespond(withSuccess(search, MediaType.APPLICATION_JSON));
+        server.expect(requestTo(BASE_URL + "/blocks/" + PAGE_3 + "/children"))
+                .andRespond(withSuccess(list(false, null,
+                        block(BLOCK_1, "2024-03-01T10:08:00.000Z")), MediaType.APPLICATION_JSON));
+        server.expect(requestTo(queryUrl)).andRespond(withServerError());
+        server.expect(requestTo(SEARCH_URL)).andRespond(withSuccess(search, MediaType.APPLICATION_JSON));
+        server.expect(requestTo(queryUrl))
+                .andRespond(withSuccess(list(false, null,
+                        page(PAGE_2, DATABASE_ID, "2024-03-01T10:09:00.000Z", "Eggs")), MediaType.APPLICATION_JSON));
+        server.expect(requestTo(BASE_URL + "/blocks/" + PAGE_2 + "/children")).andRespond(withServerError());
+        server.expect(requestTo(SEARCH_URL)).andRespond(withSuccess(search, MediaType.APPLICATION_JSON));
+        server.expect(requestTo(queryUrl))
+                .andRespond(withSuccess(list(false, null,
+                        page(PAGE_2, DATABASE_ID, "2024-03-01T10:09:00.000Z", "Eggs")), MediaType.APPLICATION_JSON));
+        server.expect(requestTo(BASE_URL + "/blocks/" + PAGE_2 + "/children"))
+                .andRespond(withSuccess(list(false, null,
+                        block(BLOCK_2, "2024-03-01T10:09:00.000Z")), MediaType.APPLICATION_JSON));
+
+        // When
+        feed.poll();
+        Throwable queryFailure = catchThrowable(feed::poll);
+        int afterQueryFailure = events.size();
+        Throwable blockFailure = catchThrowable(feed::poll);
+        int afterBlockFailure = events.size();
+        int published = feed.poll();
+
+        // Then
+        server.verify();
+        assertThat(queryFailure).isNotNull();
+        assertThat(blockFailure).isNotNull();
+        assertThat(afterQueryFailure).isEqualTo(2);
+        assertThat(afterBlockFailure).isEqualTo(2);
+        assertThat(published).isEqualTo(2);
+        assertThat(events).extracting(event -> ((NotionChangeEvent) event).getObjectId())
+                .containsExactly(PAGE_3, BLOCK_1, PAGE_2, BLOCK_2);
+    }
+
+    @Test
+    void shouldInvalidateCachedResponsesOfChangedPagesBeforeListingTheirBlocks() {
+        // Given
+        NotionProperties properties = new NotionProperties();
+        properties.setKey("test-key");
+        properties.setBaseUrl(BASE_URL);
+        RestClient.Builder builder = RestClient.builder();
+        server = MockRestServiceServer.bindTo(builder).build();
+        NotionCache cache = new InMemoryNotionCache(100, 60_000);
+        NotionClient client = NotionClient.builder().properties(properties).objectMapper(objectMapper)
+                .restClient(builder.build()).cache(cache).build();
+        NotionBlockService cachedBlocks = new NotionBlockService(client);
+        NotionChangeFeed feed = new NotionChangeFeed(new NotionService(client), new NotionDatabaseService(client),
+                cachedBlocks, cache, objectMapper, events::add, 1000, 60_000);
+        server.expect(requestTo(SEARCH_URL))
+                .andRespond(withSuccess(list(false, null,
+                        page(PAGE_3, null, "2024-03-01T10:00:00.000Z", "Notes")), MediaType.APPLICATION_JSON));
+        server.expect(requestTo(BASE_URL + "/blocks/" + PAGE_3 + "/children"))
+                .andRespond(withSuccess(list(false, null,
+                        block(BLOCK_2, "2024-03-01T09:58:00.000Z")), MediaType.APPLICATION_JSON));
+        server.expect(requestTo(SEARCH_URL))
+                .andRespond(withSuccess(list(false, null,
+                        page(PAGE_3, null, "2024-03-01T10:08:00.000Z", "Notes")), MediaType.APPLICATION_JSON));
+        server.expect(requestTo(BASE_URL + "/blocks/" + PAGE_3 + "/children"))
+                .andRespond(withSuccess(list(false, null,
+                        block(BLOCK_1, "2024-03-01T10:08:00.000Z"),
+                        block(BLOCK_2, "2024-03-01T09:58:00.000Z")), MediaType.APPLICATION_JSON));
+
+        // When
+        feed.poll();
+        cachedBlocks.getBlockChildren(PAGE_3);
+        int published = feed.poll();
+
+        // Then
+        server.verify();
+        assertThat(published).isEqualTo(2);
+        assertThat(events.get(1)).isInstanceOfSatisfying(BlockChangedEvent.class,
+                event -> assertThat(event.getObjectId()).isEqualTo(BLOCK_1));
+    }
+
+    @Test
+    void shouldBackOffWhileNothingChanges() throws InterruptedException {
+        // Given
+        server.expect(manyTimes(), requestTo(SEARCH_URL))
+                .andRespond(withSuccess(list(false, null,
+                        page(PAGE_1, null, "2024-03-01T10:05:00.000Z", "Milk")), MediaType.APPLICATION_JSON));
+
+        // When
+        try (NotionChangeFeed feed = new NotionChangeFeed(notionService, databaseService, null, objectMapper,
+                events::add, 5, 40)) {
+            feed.start();
+            long deadline = System.currentTimeMillis() + 5000;
+            while (feed.getInterval() < 40 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+
+            // Then
+            assertThat(feed.getInterval()).isEqualTo(40);
+            assertThat(events).isEmpty();
+        }
+    }
+
+    private static String list(boolean hasMore, String nextCursor, String... results) {
+        return "{\"object\": \"list\", \"has_more\": " + hasMore + ", \"next_cursor\": "
+                + (nextCursor != null ? "\"" + nextCursor + "\"" : "null")
+                + ", \"results\": [" + String.join(",", results) + "]}";
+    }
+
+    private static String page(String id, String databaseId, String lastEditedTime, String name) {
+        String parent = databaseId != null
+                ? "{\"type\": \"database_id\", \"database_id\": \"" + databaseId + "\"}"
+                : "{\"type\": \"workspace\", \"workspace\": true}";
+        return """
+                {"object": "page", "id": "%s", "parent": %s, "last_edited_time": "%s", "archived": false,
+                 "properties": {"Name": {"id": "title", "type": "title",
+                   "title": [{"type": "text", "text": {"content": "%s"}, "plain_text": "%s"}]}}}
+                """.formatted(id, parent, lastEditedTime, name, name);
+    }
+
+    private static String database(String lastEditedTime) {
+        return """
+                {"object": "database", "id": "%s", "last_edited_time": "%s", "archived": false,
+                 "title": [], "properties": {}}
+                """.formatted(DATABASE_ID, lastEditedTime);
+    }
+
+    private static String block(String id, String lastEditedTime) {
+        return """
+                {"object": "block", "id": "%s", "type": "paragraph", "last_edited_time": "%s",
+                 "has_children": false, "paragraph": {"rich_text": []}}
+                """.formatted(id, lastEditedTime);
+    }
+}
@@ -0,0 +1,98 @@
+package dev.danvega.notion.client;
+
+import dev.danvega.notion.exception.NotionApiException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link FairShareScheduler}.
+ */
+class FairShareSchedulerTest {
+
+    @Test
+    void shouldNotLetHeavyTenantStarveOthers() throws Exception {
+        // Given
+        FairShareScheduler scheduler = new FairShareScheduler(1, 5000);
+        List<String> admitted = Collections.synchronizedList(new ArrayList<>());
+        List<Thread> threads = new ArrayList<>();
+        scheduler.acquire("holder");
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            threads.add(enqueue(scheduler, "heavy", admitted));
+        }
+        for (int i = 0; i < 2; i++) {
+            threads.add(enqueue(scheduler, "light", admitted));
+        }
+        scheduler.release();
+        for (Thread thread : threads) {
+            thread.join(5000);
+        }
+
+        // Then
+        assertThat(admitted).hasSize(12);
+        assertThat(admitted.subList(0, 4)).containsExactly("heavy", "light", "heavy", "light");
+        assertThat(scheduler.getInFlight()).isZero();
+    }
+
+    @Test
+    void shouldServeTenantsInProportionToWeight() throws Exception {
+        // Given
+        FairShareScheduler scheduler = new FairShareScheduler(1, 5000);
+        scheduler.register("gold", 2.0);
+        scheduler.register("bronze", 1.0);
+        List<String> admitted = Collections.synchronizedList(new ArrayList<>());
+        List<Thread> threads = new ArrayList<>();
+        scheduler.acquire("holder");
+
+        // When
+        for (int i = 0; i < 6; i++) {
+            threads.add(enqueue(scheduler, "bronze", admitted));
+        }
+        for (int i = 0; i < 6; i++) {
+            threads.add(enqueue(scheduler, "gold", admitted));
+        }
+        scheduler.release();
+        for (Thread thread : threads) {
+            thread.join(5000);
+        }
+
+        // Then
+        List<String> firstSix = admitted.subList(0, 6);
+        assertThat(firstSix.stream().filter("gold"::equals).count()).isEqualTo(4);
+        assertThat(firstSix.stream().filter("bronze"::equals).count()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldTimeOutWhenNoSlotBecomesAvailable() {
+        // Given
+        FairShareScheduler scheduler = new FairShareScheduler(1, 50);
+        scheduler.acquire("a");
+
+        // When/Then
+        assertThatThrownBy(() -> scheduler.acquire("b")).isInstanceOf(NotionApiException.class);
+        assertThat(scheduler.getQueued()).isZero();
+        assertThat(scheduler.getInFlight()).isEqualTo(1);
+    }
+
+    private Thread enqueue(FairShareScheduler scheduler, String tenantId, List<String> admitted)
+            throws InterruptedException {
+        int queuedBefore = scheduler.getQueued();
+        Thread thread = new Thread(() -> {
+            scheduler.acquire(tenantId);
+            admitted.add(tenantId);
+            scheduler.release();
+        });
+        thread.start();
+        while (scheduler.getQueued() == queuedBefore) {
+            Thread.sleep(1);
+        }
+        return thread;
+    }
+}
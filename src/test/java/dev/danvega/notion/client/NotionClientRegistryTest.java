@@ -0,0 +1,102 @@
+package dev.danvega.notion.client;
+
+import dev.danvega.notion.config.NotionProperties;
+import dev.danvega.notion.config.NotionTenantProperties;
+import dev.danvega.notion.exception.NotionApiException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link NotionClientRegistry}.
+ */
+class NotionClientRegistryTest {
+
+    private NotionTenantProperties tenantProperties;
+    private NotionClientRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        NotionProperties defaults = new NotionProperties();
+        defaults.getCache().setEnabled(true);
+
+        tenantProperties = new NotionTenantProperties();
+        tenantProperties.setMaxTenants(2);
+        tenantProperties.getWorkspaces().put("acme", new NotionTenantProperties.Tenant("acme-key", 2.0));
+        tenantProperties.getWorkspaces().put("globex", new NotionTenantProperties.Tenant("globex-key", 1.0));
+        tenantProperties.getWorkspaces().put("initech", new NotionTenantProperties.Tenant("initech-key", 1.0));
+
+        registry = new NotionClientRegistry(defaults, tenantProperties, new ObjectMapper(),
+                tenantId -> tenantProperties.getWorkspaces().get(tenantId));
+    }
+
+    @AfterEach
+    void tearDown() {
+        registry.close();
+    }
+
+    @Test
+    void shouldCreateClientsLazilyAndReuseThem() {
+        // Given
+        assertThat(registry.getActiveTenants()).isEmpty();
+
+        // When
+        NotionClient first = registry.getClient("acme");
+        NotionClient second = registry.getClient("acme");
+
+        // Then
+        assertThat(first).isSameAs(second);
+        assertThat(registry.getActiveTenants()).containsExactly("acme");
+    }
+
+    @Test
+    void shouldIsolateCachesAndRateLimitersPerTenant() {
+        // When
+        NotionClient acme = registry.getClient("acme");
+        NotionClient globex = registry.getClient("globex");
+        acme.getCache().put("https://api.notion.com/v1/pages/p1", "{}");
+
+        // Then
+        assertThat(acme.getCache()).isNotSameAs(globex.getCache());
+        assertThat(acme.getRateLimiter()).isNotSameAs(globex.getRateLimiter());
+        assertThat(globex.getCache().get("https://api.notion.com/v1/pages/p1")).isNull();
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedTenantWhenLimitIsReached() {
+        // Given
+        registry.getClient("acme");
+        registry.getClient("globex");
+        registry.getClient("acme");
+
+        // When
+        registry.getClient("initech");
+
+        // Then
+        assertThat(registry.getActiveTenants()).containsExactlyInAnyOrder("acme", "initech");
+    }
+
+    @Test
+    void shouldEvictIdleTenants() {
+        // Given
+        tenantProperties.setIdleTimeout(0);
+        registry.getClient("acme");
+
+        // When
+        registry.evictIdle();
+
+        // Then
+        assertThat(registry.getActiveTenants()).isEmpty();
+    }
+
+    @Test
+    void shouldRejectUnknownTenant() {
+        assertThatThrownBy(() -> registry.getClient("unknown"))
+                .isInstanceOf(NotionApiException.class)
+                .hasMessageContaining("unknown");
+    }
+}
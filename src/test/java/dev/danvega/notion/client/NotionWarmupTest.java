@@ -0,0 +1,70 @@
+package dev.danvega.notion.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import dev.danvega.notion.config.NotionProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClient;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.head;
+import static com.github.tomakehurst.wiremock.client.WireMock.headRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link NotionWarmup}.
+ */
+class NotionWarmupTest {
+
+    private WireMockServer wireMockServer;
+    private NotionProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        wireMockServer = new WireMockServer(wireMockConfig().dynamicPort());
+        wireMockServer.start();
+
+        properties = new NotionProperties();
+        properties.setBaseUrl("http://localhost:" + wireMockServer.port() + "/v1");
+        properties.getWarmup().setConnections(3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        wireMockServer.stop();
+    }
+
+    @Test
+    void shouldOpenConnectionsAndPrimeModelTypes() {
+        // Given
+        wireMockServer.stubFor(head(urlEqualTo("/v1")).willReturn(aResponse().withStatus(400)));
+        NotionWarmup warmup = new NotionWarmup(properties, new ObjectMapper(), RestClient.create());
+
+        // When
+        NotionWarmup.Result result = warmup.warmUp();
+
+        // Then
+        assertThat(result.getConnections()).isEqualTo(3);
+        assertThat(result.getModelTypes()).isEqualTo(warmup.modelTypes().size());
+        wireMockServer.verify(3, headRequestedFor(urlEqualTo("/v1")));
+    }
+
+    @Test
+    void shouldStopWhenTimeBudgetIsExhausted() {
+        // Given
+        wireMockServer.stubFor(head(urlEqualTo("/v1")).willReturn(aResponse().withFixedDelay(5000)));
+        properties.getWarmup().setTimeBudget(300);
+        NotionWarmup warmup = new NotionWarmup(properties, new ObjectMapper(), RestClient.create());
+
+        // When
+        NotionWarmup.Result result = warmup.warmUp();
+
+        // Then
+        assertThat(result.getConnections()).isZero();
+        assertThat(result.getElapsedMillis()).isLessThan(2000);
+    }
+}
@@ -0,0 +1,100 @@
+package dev.danvega.notion.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link RequestHedger}.
+ */
+class RequestHedgerTest {
+
+    @Test
+    void shouldReturnHedgeWhenPrimaryIsSlow() {
+        // Given
+        try (RequestHedger hedger = new RequestHedger(50, 10, 1.0, 100, null)) {
+            Callable<String> request = slowFirstAttempt(new AtomicInteger());
+
+            // When
+            long start = System.nanoTime();
+            String result = hedger.execute(request);
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+            // Then
+            assertThat(result).isEqualTo("attempt-2");
+            assertThat(elapsedMillis).isLessThan(2000);
+            assertThat(hedger.getHedgesSent()).isEqualTo(1);
+            assertThat(hedger.getHedgeWins()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void shouldNotHedgeWhenBudgetIsExhausted() {
+        // Given
+        try (RequestHedger hedger = new RequestHedger(50, 10, 0.01, 100, null)) {
+            AtomicInteger attempts = new AtomicInteger();
+
+            // When
+            String result = hedger.execute(() -> {
+                Thread.sleep(100);
+                return "attempt-" + attempts.incrementAndGet();
+            });
+
+            // Then
+            assertThat(result).isEqualTo("attempt-1");
+            assertThat(attempts).hasValue(1);
+            assertThat(hedger.getHedgesSent()).isZero();
+        }
+    }
+
+    @Test
+    void shouldNotHedgeWithoutRateLimitPermit() {
+        // Given
+        NotionRateLimiter rateLimiter = new NotionRateLimiter(0.001, 1, 0);
+        rateLimiter.tryAcquire();
+        try (RequestHedger hedger = new RequestHedger(50, 10, 1.0, 100, rateLimiter)) {
+            AtomicInteger attempts = new AtomicInteger();
+
+            // When
+            hedger.execute(() -> {
+                Thread.sleep(100);
+                return attempts.incrementAndGet();
+            });
+
+            // Then
+            assertThat(attempts).hasValue(1);
+            assertThat(hedger.getHedgesSent()).isZero();
+        }
+    }
+
+    @Test
+    void shouldAdaptDelayToObservedLatency() throws Exception {
+        // Given
+        try (RequestHedger hedger = new RequestHedger(90, 1, 0.0, 10, null)) {
+
+            // When
+            for (int i = 0; i < 10; i++) {
+                hedger.execute(() -> {
+                    Thread.sleep(30);
+                    return null;
+                });
+            }
+
+            // Then
+            assertThat(hedger.getDelayMillis()).isGreaterThanOrEqualTo(30);
+        }
+    }
+
+    private Callable<String> slowFirstAttempt(AtomicInteger attempts) {
+        return () -> {
+            int attempt = attempts.incrementAndGet();
+            if (attempt == 1) {
+                Thread.sleep(5000);
+            }
+            return "attempt-" + attempt;
+        };
+    }
+}
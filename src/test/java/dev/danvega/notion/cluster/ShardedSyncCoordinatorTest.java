@@ -0,0 +1,195 @@
+package dev.danvega.notion.cluster;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import dev.danvega.notion.cache.InMemoryNotionCache;
+import dev.danvega.notion.cache.LocalInvalidationBus;
+import dev.danvega.notion.cache.ReplicatedNotionCache;
+import dev.danvega.notion.client.NotionClient;
+import dev.danvega.notion.config.NotionProperties;
+import dev.danvega.notion.replica.ReplicaStore;
+import dev.danvega.notion.service.NotionDatabaseService;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.json.JsonCompareMode;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.ExpectedCount.once;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.content;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+/**
+ * Tests for {@link ShardedSyncCoordinator} over an {@link InMemoryClusterMembership}.
+ */
+class ShardedSyncCoordinatorTest {
+
+    private static final String BASE_URL = "https://api.notion.com/v1";
+    private static final String DATABASE_ID = "5a9a8a5e-4e2c-4b1e-9f6e-0d2f1c3b4a5d";
+    private static final int KEYS = 60;
+
+    @Test
+    void shouldSyncEachKeyOnExactlyOneNode() {
+        // Given
+        InMemoryClusterMembership a = new InMemoryClusterMembership("a");
+        List<ShardedSyncCoordinator> nodes = List.of(coordinator(a), coordinator(a.join("b")),
+                coordinator(a.join("c")));
+        Map<String, AtomicInteger> syncs = watchAll(nodes);
+
+        // When
+        int synced = nodes.stream().mapToInt(ShardedSyncCoordinator::syncOwned).sum();
+
+        // Then
+        assertThat(synced).isEqualTo(KEYS);
+        assertThat(syncs.values()).allSatisfy(count -> assertThat(count).hasValue(1));
+        assertThat(nodes).allSatisfy(node -> assertThat(node.getOwnedKeys()).isNotEmpty());
+    }
+
+    @Test
+    void shouldOnlyMoveTheShardsOfALeavingNode() {
+        // Given
+        InMemoryClusterMembership a = new InMemoryClusterMembership("a");
+        InMemoryClusterMembership c = a.join("c");
+        List<ShardedSyncCoordinator> nodes = List.of(coordinator(a), coordinator(a.join("b")), coordinator(c));
+        Map<String, AtomicInteger> syncs = watchAll(nodes);
+        Map<String, Integer> before = owners(nodes);
+
+        // When
+        c.close();
+        int synced = nodes.get(0).syncOwned() + nodes.get(1).syncOwned();
+
+        // Then
+        Map<String, Integer> after = owners(nodes.subList(0, 2));
+        assertThat(synced).isEqualTo(KEYS);
+        assertThat(syncs.values()).allSatisfy(count -> assertThat(count).hasValue(1));
+        before.forEach((key, owner) -> {
+            if (owner != 2) {
+                assertThat(after.get(key)).isEqualTo(owner);
+            }
+        });
+    }
+
+    @Test
+    void shouldReplicateADatabaseOnlyOnItsOwner() {
+        // Given
+        NotionProperties properties = new NotionProperties();
+        properties.setKey("test-key");
+        properties.setBaseUrl(BASE_URL);
+        RestClient.Builder builder = RestClient.builder();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(builder).build();
+        NotionDatabaseService service = new NotionDatabaseService(new NotionClient(properties,
+                new ObjectMapper().registerModule(new JavaTimeModule()), builder.build()));
+        server.expect(once(), requestTo(BASE_URL + "/databases/" + DATABASE_ID))
+                .andRespond(withSuccess("{\"object\": \"database\", \"id\": \"" + DATABASE_ID
+                        + "\", \"properties\": {}}", MediaType.APPLICATION_JSON));
+        server.expect(once(), requestTo(BASE_URL + "/databases/" + DATABASE_ID + "/query"))
+                .andRespond(withSuccess("{\"object\": \"list\", \"results\": [], \"has_more\": false}",
+                        MediaType.APPLICATION_JSON));
+        InMemoryClusterMembership a = new InMemoryClusterMembership("a");
+        ShardedSyncCoordinator first = new ShardedSyncCoordinator(a, service, null, 60000);
+        ShardedSyncCoordinator second = new ShardedSyncCoordinator(a.join("b"), service, null, 60000);
+
+        // When
+        first.watchDatabase(DATABASE_ID);
+        second.watchDatabase(DATABASE_ID.replace("-", ""));
+        first.syncOwned();
+        second.syncOwned();
+
+        // Then
+        server.verify();
+        ShardedSyncCoordinator owner = first.isOwner(DATABASE_ID) ? first : second;
+        ShardedSyncCoordinator other = owner == first ? second : first;
+        assertThat(other.isOwner(DATABASE_ID)).isFalse();
+        assertThat(other.getReplica(DATABASE_ID)).isNull();
+        assertThat(owner.getReplica(DATABASE_ID).getSnapshot().isLoaded()).isTrue();
+    }
+
+    @Test
+    void shouldHandOverSnapshotsThroughACacheThatReplicatesPuts() {
+        // Given
+        NotionProperties properties = new NotionProperties();
+        properties.setKey("test-key");
+        properties.setBaseUrl(BASE_URL);
+        RestClient.Builder builder = RestClient.builder();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(builder).build();
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        NotionDatabaseService service = new NotionDatabaseService(new NotionClient(properties, objectMapper,
+                builder.build()));
+        String queryUrl = BASE_URL + "/databases/" + DATABASE_ID + "/query";
+        String page = """
+                {"object": "page", "id": "11111111-1111-1111-1111-111111111111",
+                 "last_edited_time": "2024-03-01T10:00:00.000Z", "archived": false, "properties": {}}
+                """;
+        server.expect(once(), requestTo(BASE_URL + "/databases/" + DATABASE_ID))
+                .andRespond(withSuccess("{\"object\": \"database\", \"id\": \"" + DATABASE_ID
+                        + "\", \"properties\": {}}", MediaType.APPLICATION_JSON));
+        server.expect(once(), requestTo(queryUrl))
+                .andRespond(withSuccess("{\"object\": \"list\", \"results\": [" + page + "], \"has_more\": false}",
+                        MediaType.APPLICATION_JSON));
+        server.expect(once(), requestTo(queryUrl))
+                .andExpect(content().json("""
+                        {"filter": {"timestamp": "last_edited_time",
+                                    "last_edited_time": {"on_or_after": "2024-03-01T10:00:00Z"}}}
+                        """, JsonCompareMode.LENIENT))
+                .andRespond(withSuccess("{\"object\": \"list\", \"results\": [], \"has_more\": false}",
+                        MediaType.APPLICATION_JSON));
+        LocalInvalidationBus bus = new LocalInvalidationBus();
+        InMemoryClusterMembership a = new InMemoryClusterMembership("a");
+        InMemoryClusterMembership b = a.join("b");
+        ShardedSyncCoordinator first = new ShardedSyncCoordinator(a, service, store(bus, objectMapper), 60000);
+        ShardedSyncCoordinator second = new ShardedSyncCoordinator(b, service, store(bus.join(), objectMapper),
+                60000);
+        first.watchDatabase(DATABASE_ID);
+        second.watchDatabase(DATABASE_ID);
+        boolean firstOwns = first.isOwner(DATABASE_ID);
+        ShardedSyncCoordinator owner = firstOwns ? first : second;
+        ShardedSyncCoordinator successor = firstOwns ? second : first;
+        owner.syncOwned();
+
+        // When
+        (firstOwns ? a : b).close();
+        successor.syncOwned();
+
+        // Then
+        server.verify();
+        assertThat(successor.isOwner(DATABASE_ID)).isTrue();
+        assertThat(successor.getReplica(DATABASE_ID).getSnapshot().size()).isEqualTo(1);
+    }
+
+    private static ReplicaStore store(LocalInvalidationBus bus, ObjectMapper objectMapper) {
+        return new ReplicaStore(new ReplicatedNotionCache(new InMemoryNotionCache(100, 60_000), bus, true),
+                objectMapper);
+    }
+
+    private static ShardedSyncCoordinator coordinator(ClusterMembership membership) {
+        return new ShardedSyncCoordinator(membership, null, null, 60000);
+    }
+
+    private static Map<String, AtomicInteger> watchAll(List<ShardedSyncCoordinator> nodes) {
+        Map<String, AtomicInteger> syncs = new HashMap<>();
+        for (int i = 0; i < KEYS; i++) {
+            String key = "page-" + i;
+            AtomicInteger count = new AtomicInteger();
+            syncs.put(key, count);
+            nodes.forEach(node -> node.watch(key, count::incrementAndGet));
+        }
+        return syncs;
+    }
+
+    private static Map<String, Integer> owners(List<ShardedSyncCoordinator> nodes) {
+        Map<String, Integer> owners = new HashMap<>();
+        for (int i = 0; i < nodes.size(); i++) {
+            for (String key : nodes.get(i).getOwnedKeys()) {
+                assertThat(owners.put(key, i)).isNull();
+            }
+        }
+        return owners;
+    }
+}
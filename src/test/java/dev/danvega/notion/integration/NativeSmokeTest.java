@@ -0,0 +1,111 @@
+package dev.danvega.notion.integration;
+
+import dev.danvega.notion.model.block.Block;
+import dev.danvega.notion.model.block.content.ParagraphContent;
+import dev.danvega.notion.model.page.Page;
+import dev.danvega.notion.model.response.PaginatedResponse;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Smoke test for running the starter as a GraalVM native image.
+ * <p>
+ * Runs on the JVM with {@code mvn test} and as a native executable with
+ * {@code mvn -Pnative test}. The client talks to a JDK HTTP server stub rather
+ * than WireMock so the test itself is native friendly. Startup time and resident
+ * memory are printed so the two modes can be compared.
+ */
+@SpringBootTest(classes = TestApplication.class)
+@ActiveProfiles("test")
+class NativeSmokeTest {
+
+    private static HttpServer stub;
+
+    @Autowired
+    private NotionTestService notionTestService;
+
+    @DynamicPropertySource
+    static void notionProperties(DynamicPropertyRegistry registry) throws IOException {
+        stub = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        respond("/v1/pages/smoke-page", """
+                {"object": "page", "id": "smoke-page", "archived": false,
+                 "url": "https://www.notion.so/smoke-page", "properties": {}}""");
+        respond("/v1/blocks/smoke-page/children", """
+                {"object": "list", "has_more": false, "next_cursor": null, "results": [
+                  {"object": "block", "id": "b1", "type": "paragraph", "has_children": false,
+                   "paragraph": {"rich_text": [{"type": "text", "plain_text": "Hello",
+                                                "text": {"content": "Hello"}}]}}]}""");
+        stub.start();
+        registry.add("notion.api.baseUrl", () -> "http://localhost:" + stub.getAddress().getPort() + "/v1");
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.stop(0);
+    }
+
+    @Test
+    void shouldBindModelAgainstLocalStub() {
+        // When
+        Page page = notionTestService.getPage("smoke-page");
+        PaginatedResponse<Block> children = notionTestService.getBlockChildren("smoke-page");
+
+        // Then
+        assertThat(page.getId()).isEqualTo("smoke-page");
+        assertThat(children.getResults()).hasSize(1);
+        assertThat(children.getResults().get(0).getContent()).isInstanceOf(ParagraphContent.class);
+        assertThat(children.getResults().get(0).getRichText().get(0).getText().getContent()).isEqualTo("Hello");
+
+        report();
+    }
+
+    private static void respond(String path, String json) {
+        stub.createContext(path, exchange -> {
+            byte[] body = json.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+    }
+
+    private static void report() {
+        String startup = ProcessHandle.current().info().startInstant()
+                .map(start -> Duration.between(start, Instant.now()).toMillis() + " ms")
+                .orElse("unknown");
+        System.out.println("Notion smoke test: time since process start " + startup
+                + ", resident memory " + residentMemory());
+    }
+
+    private static String residentMemory() {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc/self/status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    return line.substring("VmRSS:".length()).trim();
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // Not on Linux, fall back to the heap in use
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return (runtime.totalMemory() - runtime.freeMemory()) / 1024 + " kB heap";
+    }
+}
@@ -0,0 +1,208 @@
+package dev.danvega.notion.integration;
+
+import dev.danvega.notion.cache.NotionCache;
+import dev.danvega.notion.client.NotionClient;
+import dev.danvega.notion.config.NotionProperties;
+import dev.danvega.notion.gateway.NotionGatewayController;
+import dev.danvega.notion.model.page.Page;
+import dev.danvega.notion.service.NotionPageService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration tests for the gateway, with clients of other services pointed
+ * at it and WireMock standing in for the Notion API.
+ */
+@SpringBootTest(classes = TestApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "notion.api.key=secret_upstream",
+                "notion.api.cache.enabled=true",
+                "notion.api.rate-limit.enabled=true",
+                "notion.api.gateway.enabled=true",
+                "notion.api.gateway.token=" + NotionGatewayIntegrationTest.TOKEN
+        })
+class NotionGatewayIntegrationTest {
+
+    static final String TOKEN = "gateway_token";
+    private static final String PAGE_ID = "1a2b3c4d-5e6f-4a8b-9c0d-ef1234567890";
+
+    private static WireMockServer wireMockServer;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private NotionCache cache;
+
+    @BeforeAll
+    static void startServer() {
+        wireMockServer = new WireMockServer(wireMockConfig().dynamicPort());
+        wireMockServer.start();
+    }
+
+    @AfterAll
+    static void stopServer() {
+        wireMockServer.stop();
+    }
+
+    @DynamicPropertySource
+    static void notionApi(DynamicPropertyRegistry registry) {
+        registry.add("notion.api.baseUrl", () -> "http://localhost:" + wireMockServer.port() + "/v1");
+    }
+
+    @BeforeEach
+    void setUp() {
+        wireMockServer.resetAll();
+        cache.clear();
+    }
+
+    @Test
+    void shouldServeRepeatedAndConcurrentReadsWithOneUpstreamRequest() throws Exception {
+        // Given
+        wireMockServer.stubFor(get(urlEqualTo("/v1/pages/" + PAGE_ID))
+                .willReturn(json(page("Milk")).withFixedDelay(300)));
+        NotionPageService pages = new NotionPageService(client(TOKEN));
+
+        // When
+        List<Page> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            List<Future<Page>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                futures.add(executor.submit(() -> pages.getPage(PAGE_ID)));
+            }
+            for (Future<Page> future : futures) {
+                results.add(future.get());
+            }
+        }
+        String source = RestClient.create().get()
+                .uri("http://localhost:" + port + "/notion/v1/pages/" + PAGE_ID)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + TOKEN)
+                .exchange((request, response) -> response.getHeaders().getFirst("X-Notion-Gateway"));
+
+        // Then
+        assertThat(results).allSatisfy(page ->
+                assertThat(page.getLazyProperties().getText("Name")).isEqualTo("Milk"));
+        assertThat(source).isEqualTo("hit");
+        wireMockServer.verify(1, getRequestedFor(urlEqualTo("/v1/pages/" + PAGE_ID))
+                .withHeader(HttpHeaders.AUTHORIZATION, equalTo("Bearer secret_upstream")));
+    }
+
+    @Test
+    void shouldStreamWritesAndInvalidateTheCache() {
+        // Given
+        wireMockServer.stubFor(get(urlEqualTo("/v1/pages/" + PAGE_ID)).willReturn(json(page("Milk"))));
+        wireMockServer.stubFor(patch(urlEqualTo("/v1/pages/" + PAGE_ID)).willReturn(json(page("Oat milk"))));
+        NotionPageService pages = new NotionPageService(client(TOKEN));
+        pages.getPage(PAGE_ID);
+
+        // When
+        Page updated = pages.updatePage(PAGE_ID, Map.of("Name", Map.of("title",
+                List.of(Map.of("text", Map.of("content", "Oat milk"))))));
+        pages.getPage(PAGE_ID);
+
+        // Then
+        assertThat(updated.getLazyProperties().getText("Name")).isEqualTo("Oat milk");
+        wireMockServer.verify(patchRequestedFor(urlEqualTo("/v1/pages/" + PAGE_ID))
+                .withHeader(HttpHeaders.AUTHORIZATION, equalTo("Bearer secret_upstream"))
+                .withRequestBody(matchingJsonPath("$.properties.Name.title[0].text.content", equalTo("Oat milk"))));
+        wireMockServer.verify(2, getRequestedFor(urlEqualTo("/v1/pages/" + PAGE_ID)));
+    }
+
+    @Test
+    void shouldForwardEncodedQueriesWithoutEncodingThemAgain() {
+        // Given
+        String endpoint = "/pages/" + PAGE_ID + "?filter_properties=a%3Bb&filter_properties=hello%20world";
+        wireMockServer.stubFor(get(urlEqualTo("/v1" + endpoint)).willReturn(json(page("Milk"))));
+        NotionPageService pages = new NotionPageService(client(TOKEN));
+
+        // When
+        Page page = pages.getPage(PAGE_ID, List.of("a%3Bb", "hello world"));
+
+        // Then
+        assertThat(page.getLazyProperties().getText("Name")).isEqualTo("Milk");
+        wireMockServer.verify(1, getRequestedFor(urlEqualTo("/v1" + endpoint)));
+        assertThat(cache.get("http://localhost:" + wireMockServer.port() + "/v1" + endpoint)).isNotNull();
+    }
+
+    @Test
+    void shouldRejectServicesWithoutTheGatewayToken() {
+        // Given
+        NotionPageService pages = new NotionPageService(client("secret_upstream"));
+
+        // When / Then
+        assertThatThrownBy(() -> pages.getPage(PAGE_ID)).isInstanceOf(HttpClientErrorException.Unauthorized.class);
+        assertThat(wireMockServer.getAllServeEvents()).isEmpty();
+    }
+
+    @Test
+    void shouldRejectEveryRequestWhenNoTokenIsConfigured() throws Exception {
+        // Given
+        NotionProperties upstream = new NotionProperties();
+        upstream.setKey("secret_upstream");
+        upstream.setBaseUrl("http://localhost:" + wireMockServer.port() + "/v1");
+        NotionGatewayController gateway = new NotionGatewayController(upstream, "/notion/v1", " ",
+                RestClient.create(), null, null);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/notion/v1/pages/" + PAGE_ID);
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer ");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        gateway.proxy(request, response);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(401);
+        assertThat(wireMockServer.getAllServeEvents()).isEmpty();
+    }
+
+    private NotionClient client(String key) {
+        NotionProperties properties = new NotionProperties();
+        properties.setKey(key);
+        properties.setBaseUrl("http://localhost:" + port + "/notion/v1");
+        return new NotionClient(properties, new ObjectMapper().registerModule(new JavaTimeModule()),
+                RestClient.create());
+    }
+
+    private static String page(String name) {
+        return """
+                {"object": "page", "id": "%s", "last_edited_time": "2024-03-01T10:00:00.000Z",
+                 "properties": {"Name": {"id": "title", "type": "title",
+                   "title": [{"type": "text", "text": {"content": "%s"}, "plain_text": "%s"}]}}}
+                """.formatted(PAGE_ID, name, name);
+    }
+
+    private static ResponseDefinitionBuilder json(String body) {
+        return aResponse()
+                .withStatus(200)
+                .withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .withBody(body);
+    }
+}
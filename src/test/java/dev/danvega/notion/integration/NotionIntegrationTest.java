@@ -7,7 +7,8 @@ import dev.danvega.notion.model.page.Page;
 import dev.danvega.notion.model.response.PaginatedResponse;
 import com.github.tomakehurst.wiremock.WireMockServer;
 import com.github.tomakehurst.wiremock.client.WireMock;
-import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -33,13 +34,15 @@ import static org.assertj.core.api.Assertions.assertThat;
 @ActiveProfiles("test")
 public class NotionIntegrationTest {
 
-    private WireMockServer wireMockServer;
+    // One server for the whole class: restarting it between tests leaves stale
+    // pooled connections behind, and POST requests are not retried on them
+    private static WireMockServer wireMockServer;
 
     @Autowired
     private NotionTestService notionTestService;
 
-    @BeforeEach
-    void setUp() {
+    @BeforeAll
+    static void startServer() {
         wireMockServer = new WireMockServer(wireMockConfig()
             .port(8089)
             .withRootDirectory("temp_wm_logs"));
@@ -47,11 +50,16 @@ public class NotionIntegrationTest {
         WireMock.configureFor("localhost", 8089);
     }
 
-    @AfterEach
-    void tearDown() {
+    @AfterAll
+    static void stopServer() {
         wireMockServer.stop();
     }
 
+    @BeforeEach
+    void setUp() {
+        wireMockServer.resetAll();
+    }
+
     @Test
     void shouldGetPage() {
         // Given
@@ -0,0 +1,246 @@
+package dev.danvega.notion.integration;
+
+import dev.danvega.notion.change.BlockChangedEvent;
+import dev.danvega.notion.change.NotionChangeEvent;
+import dev.danvega.notion.change.NotionWebhookController;
+import dev.danvega.notion.change.PageChangedEvent;
+import dev.danvega.notion.model.page.Page;
+import dev.danvega.notion.replica.NotionDatabaseReplica;
+import dev.danvega.notion.service.NotionDatabaseService;
+import dev.danvega.notion.service.NotionPageService;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.client.RestClient;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the webhook endpoint, driven by a local sender that
+ * signs notifications the way Notion does. Uses WireMock for the Notion API.
+ */
+@SpringBootTest(classes = {TestApplication.class, NotionWebhookIntegrationTest.WebhookTestConfiguration.class},
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "notion.api.key=test-api-key",
+                "notion.api.cache.enabled=true",
+                "notion.api.webhook.enabled=true",
+                "notion.api.webhook.verification-token=" + NotionWebhookIntegrationTest.TOKEN
+        })
+class NotionWebhookIntegrationTest {
+
+    static final String TOKEN = "secret_webhook_token";
+    private static final String PAGE_ID = "1a2b3c4d-5e6f-4a8b-9c0d-ef1234567890";
+    private static final String BLOCK_ID = "44444444-4444-4444-4444-444444444444";
+    private static final String DATABASE_ID = "5a9a8a5e-4e2c-4b1e-9f6e-0d2f1c3b4a5d";
+
+    private static WireMockServer wireMockServer;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private NotionPageService pageService;
+
+    @Autowired
+    private EventCollector events;
+
+    private WebhookSender sender;
+
+    @BeforeAll
+    static void startServer() {
+        wireMockServer = new WireMockServer(wireMockConfig().dynamicPort());
+        wireMockServer.start();
+    }
+
+    @AfterAll
+    static void stopServer() {
+        wireMockServer.stop();
+    }
+
+    @DynamicPropertySource
+    static void notionApi(DynamicPropertyRegistry registry) {
+        registry.add("notion.api.baseUrl", () -> "http://localhost:" + wireMockServer.port() + "/v1");
+    }
+
+    @BeforeEach
+    void setUp() {
+        wireMockServer.resetAll();
+        events.received.clear();
+        sender = new WebhookSender("http://localhost:" + port + "/notion/webhook");
+    }
+
+    @Test
+    void shouldInvalidateAndPublishSignedNotifications() throws InterruptedException {
+        // Given
+        stubPage("Milk");
+        assertThat(pageService.getPage(PAGE_ID).getLazyProperties().getText("Name")).isEqualTo("Milk");
+        stubPage("Oat milk");
+        wireMockServer.stubFor(get(urlEqualTo("/v1/blocks/" + BLOCK_ID))
+                .willReturn(json("""
+                        {"object": "block", "id": "%s", "type": "paragraph", "paragraph": {"rich_text": []}}
+                        """.formatted(BLOCK_ID))));
+
+        // When
+        int status = sender.send("""
+                {"id": "event-1", "type": "page.content_updated",
+                 "entity": {"id": "%s", "type": "page"},
+                 "data": {"parent": {"id": "workspace", "type": "space"},
+                          "updated_blocks": [{"id": "%s", "type": "block"}]}}
+                """.formatted(PAGE_ID, BLOCK_ID), TOKEN);
+        await(() -> events.received.size() >= 2);
+
+        // Then
+        assertThat(status).isEqualTo(200);
+        assertThat(events.received.get(0)).isInstanceOfSatisfying(PageChangedEvent.class, event ->
+                assertThat(event.getPage().getLazyProperties().getText("Name")).isEqualTo("Oat milk"));
+        assertThat(events.received.get(1)).isInstanceOfSatisfying(BlockChangedEvent.class, event -> {
+            assertThat(event.getObjectId()).isEqualTo(BLOCK_ID);
+            assertThat(event.getPageId()).isEqualTo(PAGE_ID);
+        });
+        Page page = pageService.getPage(PAGE_ID);
+        assertThat(page.getLazyProperties().getText("Name")).isEqualTo("Oat milk");
+        wireMockServer.verify(2, getRequestedFor(urlEqualTo("/v1/pages/" + PAGE_ID)));
+    }
+
+    @Test
+    void shouldRejectNotificationsWithAWrongSignature() throws InterruptedException {
+        // When
+        int status = sender.send("""
+                {"id": "event-2", "type": "page.deleted", "entity": {"id": "%s", "type": "page"}}
+                """.formatted(PAGE_ID), "not_the_token");
+        Thread.sleep(100);
+
+        // Then
+        assertThat(status).isEqualTo(401);
+        assertThat(events.received).isEmpty();
+        assertThat(wireMockServer.getAllServeEvents()).isEmpty();
+    }
+
+    @Test
+    void shouldSyncReplicasOfTheParentDatabase() throws InterruptedException {
+        // Given
+        wireMockServer.stubFor(get(urlEqualTo("/v1/databases/" + DATABASE_ID))
+                .willReturn(json("""
+                        {"object": "database", "id": "%s", "properties": {}}
+                        """.formatted(DATABASE_ID))));
+        wireMockServer.stubFor(post(urlEqualTo("/v1/databases/" + DATABASE_ID + "/query"))
+                .willReturn(json("{\"object\": \"list\", \"results\": [], \"has_more\": false}")));
+        wireMockServer.stubFor(get(urlEqualTo("/v1/pages/" + PAGE_ID)).willReturn(aResponse().withStatus(404)));
+
+        // When
+        int status = sender.send("""
+                {"id": "event-3", "type": "page.created",
+                 "entity": {"id": "%s", "type": "page"},
+                 "data": {"parent": {"id": "%s", "type": "database"}}}
+                """.formatted(PAGE_ID, DATABASE_ID), TOKEN);
+        await(() -> !wireMockServer.findAll(postRequestedFor(
+                urlEqualTo("/v1/databases/" + DATABASE_ID + "/query"))).isEmpty());
+
+        // Then
+        assertThat(status).isEqualTo(200);
+        wireMockServer.verify(1, postRequestedFor(urlEqualTo("/v1/databases/" + DATABASE_ID + "/query")));
+    }
+
+    @Test
+    void shouldAcceptTheVerificationRequest() {
+        // When
+        int status = sender.send("{\"verification_token\": \"secret_new_token\"}", null);
+
+        // Then
+        assertThat(status).isEqualTo(200);
+    }
+
+    private static void stubPage(String name) {
+        wireMockServer.stubFor(get(urlEqualTo("/v1/pages/" + PAGE_ID))
+                .willReturn(json("""
+                        {"object": "page", "id": "%s", "last_edited_time": "2024-03-01T10:00:00.000Z",
+                         "properties": {"Name": {"id": "title", "type": "title",
+                           "title": [{"type": "text", "text": {"content": "%s"}, "plain_text": "%s"}]}}}
+                        """.formatted(PAGE_ID, name, name))));
+    }
+
+    private static ResponseDefinitionBuilder json(String body) {
+        return aResponse()
+                .withStatus(200)
+                .withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .withBody(body);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Posts notifications signed like Notion's, with an HMAC-SHA256 of the body
+     * keyed with the verification token.
+     */
+    static class WebhookSender {
+
+        private final RestClient restClient = RestClient.create();
+        private final String url;
+
+        WebhookSender(String url) {
+            this.url = url;
+        }
+
+        int send(String body, String token) {
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            RestClient.RequestBodySpec request = restClient.post()
+                    .uri(url)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(bytes);
+            if (token != null) {
+                request.header("X-Notion-Signature", NotionWebhookController.sign(token, bytes));
+            }
+            return request.exchange((req, response) -> response.getStatusCode().value());
+        }
+    }
+
+    static class EventCollector {
+
+        private final List<NotionChangeEvent> received = new CopyOnWriteArrayList<>();
+
+        @EventListener
+        void on(NotionChangeEvent event) {
+            received.add(event);
+        }
+    }
+
+    @TestConfiguration
+    static class WebhookTestConfiguration {
+
+        @Bean
+        EventCollector eventCollector() {
+            return new EventCollector();
+        }
+
+        @Bean
+        NotionDatabaseReplica replica(NotionDatabaseService databaseService) {
+            return new NotionDatabaseReplica(databaseService, DATABASE_ID);
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package dev.danvega.notion.model.block;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.core.type.TypeReference;
+import dev.danvega.notion.model.block.content.CalloutContent;
+import dev.danvega.notion.model.block.content.FileContent;
+import dev.danvega.notion.model.block.content.HeadingContent;
+import dev.danvega.notion.model.block.content.LinkToPageContent;
+import dev.danvega.notion.model.block.content.ParagraphContent;
+import dev.danvega.notion.model.block.content.SyncedBlockContent;
+import dev.danvega.notion.model.block.content.TableContent;
+import dev.danvega.notion.model.block.content.TableRowContent;
+import dev.danvega.notion.model.block.content.ToDoContent;
+import dev.danvega.notion.model.response.PaginatedResponse;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.time.ZonedDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link BlockDeserializer} and {@link BlockSerializer}.
+ */
+class BlockSerializationTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    void shouldDeserializeContentIntoTypedSlot() throws Exception {
+        // Given
+        String json = """
+                {"object": "block", "id": "b1", "created_time": "2023-01-01T00:00:00.000Z",
+                 "last_edited_time": "2023-01-02T00:00:00.000Z", "created_by": {"object": "user", "id": "u1"},
+                 "has_children": false, "archived": false, "type": "to_do",
+                 "to_do": {"rich_text": [{"type": "text", "text": {"content": "Ship it"}}], "checked": true}}
+                """;
+
+        // When
+        Block block = objectMapper.readValue(json, Block.class);
+
+        // Then
+        assertThat(block.getId()).isEqualTo("b1");
+        assertThat(block.getObjectType()).isEqualTo("block");
+        assertThat(block.getCreatedTime()).isEqualTo(ZonedDateTime.parse("2023-01-01T00:00:00.000Z"));
+        assertThat(block.getLastEditedTime()).isEqualTo(ZonedDateTime.parse("2023-01-02T00:00:00.000Z"));
+        assertThat(block.getHasChildren()).isFalse();
+        assertThat(block.getType()).isEqualTo("to_do");
+        assertThat(block.getToDoContent().getChecked()).isTrue();
+        assertThat(block.getRichText().get(0).getText().getContent()).isEqualTo("Ship it");
+    }
+
+    @Test
+    void shouldParseTimestampsLikeTheIsoParser() {
+        for (String text : new String[] {"2023-01-01T00:00:00.000Z", "2024-02-29T23:59:59.999Z",
+                "2023-01-01T00:00:00Z", "2023-01-01T01:00:00.000+01:00"}) {
+            assertThat(BlockDeserializer.parseTime(text)).as(text).isEqualTo(ZonedDateTime.parse(text));
+        }
+    }
+
+    @Test
+    void shouldDeserializeContentThatPrecedesType() throws Exception {
+        // Given
+        String json = """
+                {"heading_2": {"rich_text": [], "is_toggleable": true}, "type": "heading_2", "id": "b2"}
+                """;
+
+        // When
+        Block block = objectMapper.readValue(json, Block.class);
+
+        // Then
+        HeadingContent heading = block.getHeading_2();
+        assertThat(heading).isNotNull();
+        assertThat(heading.getLevel()).isEqualTo(2);
+        assertThat(heading.getIsToggleable()).isTrue();
+        assertThat(block.getHeading_1()).isNull();
+    }
+
+    @Test
+    void shouldPassUnknownBlockTypesThroughVerbatim() throws Exception {
+        // Given
+        String json = """
+                {"object": "block", "id": "b3", "type": "meeting_notes",
+                 "meeting_notes": {"title": [{"type": "text", "text": {"content": "Standup"}}],
+                                   "attendees": ["u1", "u2"], "duration": 15.5, "recorded": true}}
+                """;
+
+        // When
+        Block block = objectMapper.readValue(json, Block.class);
+        JsonNode written = objectMapper.readTree(objectMapper.writeValueAsString(block));
+
+        // Then
+        assertThat(block.getType()).isEqualTo("meeting_notes");
+        assertThat(block.getContent()).isNull();
+        assertThat(block.getRawContent()).isNotNull();
+        assertThat(written).isEqualTo(objectMapper.readTree(json));
+    }
+
+    @Test
+    void shouldPassUnknownContentThatPrecedesTypeThroughVerbatim() throws Exception {
+        // Given
+        String json = """
+                {"parent": {"type": "page_id", "page_id": "p1"}, "breadcrumb": {"depth": 2}, "type": "breadcrumb"}
+                """;
+
+        // When
+        Block block = objectMapper.readValue(json, Block.class);
+        JsonNode written = objectMapper.readTree(objectMapper.writeValueAsString(block));
+
+        // Then
+        assertThat(written.get("type").asText()).isEqualTo("breadcrumb");
+        assertThat(written.get("breadcrumb").get("depth").asInt()).isEqualTo(2);
+        assertThat(written.has("parent")).isFalse();
+    }
+
+    @Test
+    void shouldSerializeContentUnderTypeName() throws Exception {
+        // Given
+        Block block = Block.heading("Title", 1);
+
+        // When
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(block));
+
+        // Then
+        assertThat(json.get("type").asText()).isEqualTo("heading_1");
+        assertThat(json.get("heading_1").get("rich_text").get(0).get("text").get("content").asText())
+                .isEqualTo("Title");
+        assertThat(json.has("level")).isFalse();
+        assertThat(json.get("heading_1").has("level")).isFalse();
+        assertThat(json.has("content")).isFalse();
+        assertThat(json.has("id")).isFalse();
+    }
+
+    @Test
+    void shouldRoundTrip() throws Exception {
+        // Given
+        Block block = Block.paragraph("Hello");
+        block.setId("b4");
+        block.setCreatedTime(ZonedDateTime.parse("2023-01-01T00:00:00Z"));
+
+        // When
+        Block copy = objectMapper.readValue(objectMapper.writeValueAsString(block), Block.class);
+
+        // Then
+        assertThat(copy).isEqualTo(block);
+        assertThat(copy.getContent()).isInstanceOf(ParagraphContent.class);
+    }
+
+    @Test
+    void shouldDecodeEveryBlockTypeIntoItsContentClass() throws Exception {
+        // When
+        List<Block> blocks = readAllBlockTypes();
+
+        // Then
+        Set<BlockType> seen = EnumSet.noneOf(BlockType.class);
+        for (Block block : blocks) {
+            BlockType blockType = BlockType.fromValue(block.getType());
+            assertThat(block.getContent()).as(block.getType()).isInstanceOf(blockType.getContentClass());
+            assertThat(block.getContent().getType()).isEqualTo(blockType);
+            seen.add(blockType);
+        }
+        assertThat(seen).containsExactlyInAnyOrder(BlockType.values());
+
+        assertThat(blocks).filteredOn(b -> b.getContent(CalloutContent.class) != null).singleElement()
+                .satisfies(b -> assertThat(b.getContent(CalloutContent.class).getIcon().getEmoji()).isEqualTo("✨"));
+        assertThat(blocks).filteredOn(b -> b.getContent(LinkToPageContent.class) != null).singleElement()
+                .satisfies(b -> {
+                    assertThat(b.getContent(LinkToPageContent.class).getLinkType()).isEqualTo("page_id");
+                    assertThat(b.getContent(LinkToPageContent.class).getPageId()).isEqualTo("p-linked");
+                });
+        assertThat(blocks).filteredOn(b -> b.getContent(SyncedBlockContent.class) != null).singleElement()
+                .satisfies(b -> assertThat(b.getContent(SyncedBlockContent.class).getSyncedFrom().getBlockId())
+                        .isEqualTo("b-original"));
+        assertThat(blocks).filteredOn(b -> b.getContent(TableContent.class) != null).singleElement()
+                .satisfies(b -> assertThat(b.getContent(TableContent.class).getTableWidth()).isEqualTo(2));
+        assertThat(blocks).filteredOn(b -> b.getContent(TableRowContent.class) != null).singleElement()
+                .satisfies(b -> assertThat(b.getContent(TableRowContent.class).getCells()).hasSize(2));
+        assertThat(blocks).filteredOn(b -> b.getContent(FileContent.class) != null).singleElement()
+                .satisfies(b -> assertThat(b.getContent(FileContent.class).getFile().getUrl())
+                        .isEqualTo("https://files.example.com/report.pdf"));
+    }
+
+    @Test
+    void shouldRoundTripEveryBlockType() throws Exception {
+        // Given
+        List<Block> blocks = readAllBlockTypes();
+
+        // When
+        List<Block> copies = objectMapper.readValue(objectMapper.writeValueAsBytes(blocks),
+                new TypeReference<List<Block>>() {
+                });
+
+        // Then
+        assertThat(copies).isEqualTo(blocks);
+    }
+
+    @Test
+    void shouldBindToDoViaLegacySetter() {
+        // Given
+        Block block = new Block();
+
+        // When
+        block.setTo_do(ToDoContent.of("Task", false));
+
+        // Then
+        assertThat(block.getType()).isEqualTo("to_do");
+        assertThat(block.getToDoContent()).isSameAs(block.getContent());
+    }
+
+    private List<Block> readAllBlockTypes() throws Exception {
+        try (InputStream json = getClass().getResourceAsStream("/blocks/all-block-types.json")) {
+            return objectMapper.readValue(json, new TypeReference<PaginatedResponse<Block>>() {
+            }).getResults();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package dev.danvega.notion.model.common;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.danvega.notion.model.database.Database;
+import dev.danvega.notion.model.page.Page;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link LazyProperties} decoding of page and database properties.
+ */
+class LazyPropertiesTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static final String PAGE = """
+            {"object": "page", "id": "59833787-2cf9-4fdf-8782-e53db20768a5",
+             "properties": {
+               "Name": {"id": "title", "type": "title", "title": [
+                 {"type": "text", "text": {"content": "Buy "}, "plain_text": "Buy "},
+                 {"type": "text", "text": {"content": "milk"}, "plain_text": "milk"}]},
+               "Status": {"id": "a%3Bb", "type": "status", "status": {"id": "1", "name": "Done", "color": "green"}},
+               "Price": {"id": "p1", "type": "number", "number": 2.5},
+               "Done": {"id": "d1", "type": "checkbox", "checkbox": true},
+               "Due": {"id": "d2", "type": "date", "date": {"start": "2024-03-01", "end": null}},
+               "Tags": {"id": "t1", "type": "multi_select", "multi_select": [
+                 {"id": "x", "name": "food", "color": "red"}, {"id": "y", "name": "errand", "color": "blue"}]},
+               "Link": {"id": "u1", "type": "url", "url": null}
+             }}
+            """;
+
+    @Test
+    void shouldKeepPropertiesUndecodedUntilRead() throws Exception {
+        // When
+        Page page = objectMapper.readValue(PAGE, Page.class);
+        LazyProperties properties = page.getLazyProperties();
+
+        // Then
+        assertThat(properties).isSameAs(page.getProperties());
+        assertThat(properties).hasSize(7);
+        assertThat(properties.containsKey("Status")).isTrue();
+        assertThat(properties.isDecoded("Status")).isFalse();
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> status = (Map<String, Object>) properties.get("Status");
+        assertThat(status).containsEntry("type", "status");
+        assertThat(properties.isDecoded("Status")).isTrue();
+        assertThat(properties.isDecoded("Name")).isFalse();
+    }
+
+    @Test
+    void shouldReadTypedValuesWithoutDecoding() throws Exception {
+        // When
+        LazyProperties properties = objectMapper.readValue(PAGE, Page.class).getLazyProperties();
+
+        // Then
+        assertThat(properties.getText("Name")).isEqualTo("Buy milk");
+        assertThat(properties.getText("Status")).isEqualTo("Done");
+        assertThat(properties.getText("Link")).isNull();
+        assertThat(properties.getNumber("Price").doubleValue()).isEqualTo(2.5);
+        assertThat(properties.getCheckbox("Done")).isTrue();
+        assertThat(properties.getDateStart("Due")).isEqualTo("2024-03-01");
+        assertThat(properties.getMultiSelect("Tags")).containsExactly("food", "errand");
+        assertThat(properties.getPropertyId("Status")).isEqualTo("a%3Bb");
+        assertThat(properties.getPropertyType("Tags")).isEqualTo("multi_select");
+        assertThat(properties.getText("Missing")).isNull();
+        assertThat(properties.keySet()).allSatisfy(name -> assertThat(properties.isDecoded(name)).isFalse());
+    }
+
+    @Test
+    void shouldWriteUndecodedAndReplacedPropertiesBack() throws Exception {
+        // Given
+        Page page = objectMapper.readValue(PAGE, Page.class);
+        page.getProperties().get("Price");
+        page.getProperties().put("Done", Map.of("type", "checkbox", "checkbox", false));
+        page.getProperties().remove("Link");
+
+        // When
+        JsonNode written = objectMapper.readTree(objectMapper.writeValueAsString(page)).get("properties");
+
+        // Then
+        JsonNode original = objectMapper.readTree(PAGE).get("properties");
+        assertThat(written.get("Name")).isEqualTo(original.get("Name"));
+        assertThat(written.get("Price")).isEqualTo(original.get("Price"));
+        assertThat(written.get("Done").get("checkbox").booleanValue()).isFalse();
+        assertThat(written.has("Link")).isFalse();
+        assertThat(written.size()).isEqualTo(6);
+    }
+
+    @Test
+    void shouldBehaveLikeAnEagerMap() throws Exception {
+        // Given
+        @SuppressWarnings("unchecked")
+        Map<String, Object> eager = (Map<String, Object>) objectMapper.readValue(PAGE, Map.class).get("properties");
+
+        // When
+        Page page = objectMapper.readValue(PAGE, Page.class);
+        Database database = objectMapper.readValue("""
+                {"object": "database", "properties": {"Name": {"id": "title", "type": "title", "title": {}}}}
+                """, Database.class);
+
+        // Then
+        assertThat(page.getProperties()).isEqualTo(eager);
+        assertThat(List.copyOf(page.getProperties().keySet())).containsExactlyElementsOf(eager.keySet());
+        assertThat(database.getLazyProperties().getPropertyType("Name")).isEqualTo("title");
+        assertThat(LazyProperties.of(eager).getText("Name")).isEqualTo("Buy milk");
+    }
+}
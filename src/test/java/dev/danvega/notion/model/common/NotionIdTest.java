@@ -0,0 +1,67 @@
+package dev.danvega.notion.model.common;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link NotionId}.
+ */
+class NotionIdTest {
+
+    private static final String DASHED = "1a2b3c4d-5e6f-4a8b-9c0d-ef1234567890";
+    private static final String UNDASHED = "1a2b3c4d5e6f4a8b9c0def1234567890";
+
+    @Test
+    void shouldParseDashedAndUndashedFormsToTheSameId() {
+        // When
+        NotionId dashed = NotionId.parse(DASHED);
+        NotionId undashed = NotionId.parse(UNDASHED.toUpperCase());
+
+        // Then
+        assertThat(dashed).isEqualTo(undashed).hasSameHashCodeAs(undashed);
+        assertThat(dashed.toUuid()).isEqualTo(UUID.fromString(DASHED));
+        assertThat(undashed.toString()).isEqualTo(DASHED);
+        assertThat(dashed.toUndashedString()).isEqualTo(UNDASHED);
+    }
+
+    @Test
+    void shouldCreateStringViewOnceAndOnlyOnDemand() {
+        // Given
+        NotionId id = NotionId.of(UUID.fromString(DASHED));
+
+        // When/Then
+        assertThat(id.toString()).isSameAs(id.toString()).isEqualTo(DASHED);
+    }
+
+    @Test
+    void shouldRejectMalformedIds() {
+        assertThat(NotionId.tryParse(null)).isNull();
+        assertThat(NotionId.tryParse("page-1")).isNull();
+        assertThat(NotionId.tryParse("1a2b3c4d-5e6f-4a8b-9c0d-ef123456789g")).isNull();
+        assertThat(NotionId.tryParse("1a2b3c4d5e6f-4a8b-9c0d-ef1234567890-")).isNull();
+        assertThatThrownBy(() -> NotionId.parse("nope")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldOrderLikeUnsignedValues() {
+        NotionId low = NotionId.parse("00000000-0000-0000-0000-000000000001");
+        NotionId high = NotionId.parse("ffffffff-ffff-ffff-ffff-ffffffffffff");
+
+        assertThat(low).isLessThan(high);
+    }
+
+    @Test
+    void shouldBindAsString() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        NotionId id = objectMapper.readValue("\"" + UNDASHED + "\"", NotionId.class);
+
+        assertThat(id).isEqualTo(NotionId.parse(DASHED));
+        assertThat(objectMapper.writeValueAsString(id)).isEqualTo("\"" + DASHED + "\"");
+    }
+}
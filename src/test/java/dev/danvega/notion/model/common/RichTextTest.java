@@ -0,0 +1,86 @@
+package dev.danvega.notion.model.common;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link RichText} decoding and its shared annotations.
+ */
+class RichTextTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static final String RUNS = """
+            [{"type": "text", "text": {"content": "Hello "}, "plain_text": "Hello ",
+              "annotations": {"bold": false, "italic": false, "strikethrough": false, "underline": false,
+                              "code": false, "color": "default"}},
+             {"type": "text", "text": {"content": "world"}, "plain_text": "world",
+              "annotations": {"bold": true, "italic": false, "strikethrough": false, "underline": false,
+                              "code": false, "color": "red_background"}},
+             {"type": "text", "text": {"content": "!"}, "plain_text": "!",
+              "annotations": {"bold": false, "italic": false, "strikethrough": false, "underline": false,
+                              "code": false, "color": "default"}}]
+            """;
+
+    @Test
+    void shouldShareAnnotationsAcrossRuns() throws Exception {
+        // When
+        List<RichText> runs = objectMapper.readValue(RUNS, new TypeReference<>() {
+        });
+
+        // Then
+        assertThat(runs.get(0).getAnnotations()).isSameAs(RichText.Annotations.getDefault());
+        assertThat(runs.get(2).getAnnotations()).isSameAs(runs.get(0).getAnnotations());
+        assertThat(runs.get(1).getAnnotations()).isSameAs(new RichText.Annotations.AnnotationsBuilder()
+                .bold(true).italic(false).strikethrough(false).underline(false).code(false)
+                .color("red_background").build());
+        assertThat(RichText.of("x").getAnnotations()).isSameAs(RichText.Annotations.getDefault());
+    }
+
+    @Test
+    void shouldInternTypeAndColorStrings() throws Exception {
+        // When
+        List<RichText> runs = objectMapper.readValue(RUNS, new TypeReference<>() {
+        });
+
+        // Then
+        assertThat(runs.get(0).getType()).isSameAs(runs.get(1).getType()).isSameAs(StringInterner.intern("text"));
+        assertThat(runs.get(1).getAnnotations().getColor()).isSameAs(StringInterner.intern("red_background"));
+    }
+
+    @Test
+    void shouldKeepNonStandardColors() throws Exception {
+        // Given
+        String json = """
+                {"bold": true, "color": "teal"}
+                """;
+
+        // When
+        RichText.Annotations annotations = objectMapper.readValue(json, RichText.Annotations.class);
+
+        // Then
+        assertThat(annotations.getBold()).isTrue();
+        assertThat(annotations.getItalic()).isNull();
+        assertThat(annotations.getColor()).isEqualTo("teal");
+    }
+
+    @Test
+    void shouldMapPlainTextAndWriteAnnotations() throws Exception {
+        // When
+        List<RichText> runs = objectMapper.readValue(RUNS, new TypeReference<>() {
+        });
+        JsonNode written = objectMapper.readTree(objectMapper.writeValueAsString(runs.get(1)));
+
+        // Then
+        assertThat(runs.get(1).getPlainText()).isEqualTo("world");
+        assertThat(written.get("plain_text").asText()).isEqualTo("world");
+        assertThat(written.get("annotations").get("bold").asBoolean()).isTrue();
+        assertThat(written.get("annotations").get("color").asText()).isEqualTo("red_background");
+    }
+}
@@ -0,0 +1,145 @@
+package dev.danvega.notion.model.database;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for typed {@link DatabaseQuery} filters and sorts and their compiled form.
+ */
+class DatabaseQueryTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private DatabaseSchema schema;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        schema = DatabaseSchema.of(objectMapper.readValue("""
+                {"object": "database", "id": "db-1", "properties": {
+                  "Name": {"id": "title", "type": "title", "title": {}},
+                  "Status": {"id": "s1", "type": "status", "status": {}},
+                  "Price": {"id": "p1", "type": "number", "number": {}},
+                  "Due": {"id": "d1", "type": "date", "date": {}}
+                }}
+                """, Database.class));
+    }
+
+    @Test
+    void shouldCompileTypedFilterAndSorts() throws Exception {
+        // Given
+        DatabaseQuery query = DatabaseQuery.builder()
+                .filter(Filter.and(
+                        Filter.property("Status").status().equalTo("Done"),
+                        Filter.or(
+                                Filter.property("Price").number().greaterThan(10),
+                                Filter.property("Due").date().within("past_week")),
+                        Filter.lastEditedTime().onOrAfter(LocalDate.of(2024, 1, 1))))
+                .sorts(Sort.descending("Price"), Sort.createdTime(Sort.Direction.ASCENDING))
+                .pageSize(50)
+                .build();
+
+        // When
+        JsonNode body = objectMapper.readTree(query.compile(schema).body());
+
+        // Then
+        assertThat(body).isEqualTo(objectMapper.readTree("""
+                {"filter": {"and": [
+                   {"property": "Status", "status": {"equals": "Done"}},
+                   {"or": [
+                     {"property": "Price", "number": {"greater_than": 10}},
+                     {"property": "Due", "date": {"past_week": {}}}]},
+                   {"timestamp": "last_edited_time", "last_edited_time": {"on_or_after": "2024-01-01"}}]},
+                 "sorts": [
+                   {"property": "Price", "direction": "descending"},
+                   {"timestamp": "created_time", "direction": "ascending"}],
+                 "page_size": 50}
+                """));
+    }
+
+    @Test
+    void shouldReuseCompiledQueryAndAppendCursor() throws Exception {
+        // Given
+        DatabaseQuery query = DatabaseQuery.builder()
+                .filter(Filter.property("Name").title().contains("milk"))
+                .filterProperties("Name", "p1")
+                .build();
+
+        // When
+        CompiledQuery compiled = query.compile(schema);
+
+        // Then
+        assertThat(query.compile(schema)).isSameAs(compiled);
+        assertThat(compiled.getFilterProperties()).containsExactly("title", "p1");
+        JsonNode page = objectMapper.readTree(compiled.body("cursor-\"2\""));
+        assertThat(page.get("start_cursor").asText()).isEqualTo("cursor-\"2\"");
+        assertThat(page.get("filter").get("title").get("contains").asText()).isEqualTo("milk");
+
+        query.setPageSize(10);
+        assertThat(query.compile(schema)).isNotSameAs(compiled);
+    }
+
+    @Test
+    void shouldCompileRawMapsAndEmptyQueries() throws Exception {
+        // Given
+        DatabaseQuery raw = DatabaseQuery.builder()
+                .filter(Map.of("property", "Name", "title", Map.of("is_not_empty", true)))
+                .sorts(List.of(Map.of("property", "Name", "direction", "ascending")))
+                .build();
+
+        // When / Then
+        assertThat(objectMapper.readTree(raw.compile(schema).body()).get("filter").get("property").asText())
+                .isEqualTo("Name");
+        CompiledQuery empty = new DatabaseQuery().compile(schema);
+        assertThat(new String(empty.body(), StandardCharsets.UTF_8)).isEqualTo("{}");
+        assertThat(new String(empty.body("abc"), StandardCharsets.UTF_8)).isEqualTo("{\"start_cursor\":\"abc\"}");
+    }
+
+    @Test
+    void shouldRejectQueriesThatDoNotMatchTheSchema() {
+        assertThatThrownBy(() -> DatabaseQuery.builder()
+                .filter(Filter.property("Stauts").status().equalTo("Done")).build().compile(schema))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unknown property 'Stauts'");
+        assertThatThrownBy(() -> DatabaseQuery.builder()
+                .filter(Filter.property("Price").richText().contains("1")).build().compile(schema))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("of type number");
+        assertThatThrownBy(() -> DatabaseQuery.builder()
+                .sorts(Sort.ascending("Missing")).build().compile(schema))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Filter.and(Filter.or(Filter.and(Filter.lastEditedTime().isEmpty()))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldParseRawFiltersIntoTypedFilters() {
+        // Given
+        Map<String, Object> raw = Map.of("or", List.of(
+                Map.of("property", "Price", "number", Map.of("greater_than", 10)),
+                Map.of("property", "Due", "date", Map.of("past_week", Map.of())),
+                Map.of("timestamp", "created_time", "created_time", Map.of("after", "2024-01-01"))));
+
+        // When
+        Filter filter = Filter.of(raw);
+
+        // Then
+        assertThat(filter).isEqualTo(Filter.or(
+                Filter.property("Price").number().greaterThan(10),
+                Filter.property("Due").date().within("past_week"),
+                Filter.createdTime().after("2024-01-01")));
+        assertThat(Sort.of(Map.of("timestamp", "last_edited_time", "direction", "descending")))
+                .isEqualTo(Sort.lastEditedTime(Sort.Direction.DESCENDING));
+        assertThatThrownBy(() -> Filter.of(Map.of("property", "Price", "number", Map.of())))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,83 @@
+package dev.danvega.notion.model.database;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link DatabaseSchema} and its local validation of requests.
+ */
+class DatabaseSchemaTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private DatabaseSchema schema;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        schema = DatabaseSchema.of(objectMapper.readValue("""
+                {"object": "database", "id": "db-1", "last_edited_time": "2024-03-01T10:00:00.000Z",
+                 "properties": {
+                  "Name": {"id": "title", "type": "title", "title": {}},
+                  "Status": {"id": "s1", "type": "status", "status": {"options": [
+                    {"id": "o1", "name": "Todo", "color": "gray"}, {"id": "o2", "name": "Done", "color": "green"}]}},
+                  "Tags": {"id": "t1", "type": "multi_select", "multi_select": {"options": [
+                    {"id": "o3", "name": "food", "color": "red"}]}},
+                  "Price": {"id": "p1", "type": "number", "number": {"format": "dollar"}},
+                  "Total": {"id": "f1", "type": "formula", "formula": {"expression": "1"}}
+                }}
+                """, Database.class));
+    }
+
+    @Test
+    void shouldReadPropertiesAndOptions() {
+        assertThat(schema.getProperties()).containsOnlyKeys("Name", "Status", "Tags", "Price", "Total");
+        assertThat(schema.getProperty("Status").getOptions()).containsEntry("Done", "o2").hasSize(2);
+        assertThat(schema.getPropertyById("p1").getName()).isEqualTo("Price");
+        assertThat(schema.getLastEditedTime()).isNotNull();
+        assertThat(schema.resolvePropertyIds(List.of("Name", "t1"))).containsExactly("title", "t1");
+    }
+
+    @Test
+    void shouldValidateRawFilters() {
+        assertThatCode(() -> schema.validateFilter(Map.of("and", List.of(
+                Map.of("property", "Status", "status", Map.of("equals", "Done")),
+                Map.of("timestamp", "created_time", "created_time", Map.of("past_week", Map.of()))))))
+                .doesNotThrowAnyException();
+        assertThatThrownBy(() -> schema.validateFilter(Map.of("property", "Status", "status", Map.of("equals", "Dnoe"))))
+                .hasMessageContaining("no option 'Dnoe'");
+        assertThatThrownBy(() -> schema.validateFilter(Map.of("property", "Price", "rich_text", Map.of("contains", "1"))))
+                .hasMessageContaining("of type number");
+        assertThatThrownBy(() -> schema.validateSorts(List.of(Map.of("property", "Prize", "direction", "ascending"))))
+                .hasMessageContaining("Unknown property 'Prize'");
+    }
+
+    @Test
+    void shouldValidatePagePropertyValues() {
+        Map<String, Object> valid = Map.of(
+                "Name", Map.of("title", List.of(Map.of("text", Map.of("content", "Milk")))),
+                "Status", Map.of("status", Map.of("name", "Done")),
+                "Tags", Map.of("multi_select", List.of(Map.of("id", "o3"))),
+                "p1", Map.of("type", "number", "number", 3));
+        assertThatCode(() -> schema.validatePageProperties(valid, false)).doesNotThrowAnyException();
+
+        Map<String, Object> newTag = Map.of("Tags", Map.of("multi_select", List.of(Map.of("name", "errand"))));
+        assertThatThrownBy(() -> schema.validatePageProperties(newTag, false)).hasMessageContaining("'errand'");
+        assertThatCode(() -> schema.validatePageProperties(newTag, true)).doesNotThrowAnyException();
+
+        Map<String, Object> newStatus = Map.of("Status", Map.of("status", Map.of("name", "Blocked")));
+        assertThatThrownBy(() -> schema.validatePageProperties(newStatus, true)).hasMessageContaining("'Blocked'");
+        assertThatThrownBy(() -> schema.validatePageProperties(Map.of("Total", Map.of("formula", Map.of())), false))
+                .hasMessageContaining("cannot be written");
+        assertThatThrownBy(() -> schema.validatePageProperties(Map.of("Price", Map.of("rich_text", List.of())), false))
+                .hasMessageContaining("of type number");
+    }
+}
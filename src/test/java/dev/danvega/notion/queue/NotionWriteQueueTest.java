@@ -0,0 +1,239 @@
+package dev.danvega.notion.queue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import dev.danvega.notion.client.NotionClient;
+import dev.danvega.notion.config.NotionProperties;
+import dev.danvega.notion.model.common.Parent;
+import dev.danvega.notion.model.page.Page;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.content;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+/**
+ * Tests for {@link NotionWriteQueue} against a mocked Notion API.
+ */
+class NotionWriteQueueTest {
+
+    private static final String BASE_URL = "https://api.notion.com/v1";
+    private static final String DATABASE_ID = "5a9a8a5e-4e2c-4b1e-9f6e-0d2f1c3b4a5d";
+    private static final String PAGE_ID = "11111111-1111-1111-1111-111111111111";
+    private static final String PAGE_JSON = "{\"object\": \"page\", \"id\": \"" + PAGE_ID + "\"}";
+
+    @TempDir
+    Path dir;
+
+    private MockRestServiceServer server;
+    private NotionClient client;
+    private ObjectMapper objectMapper;
+    private NotionWriteQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        NotionProperties properties = new NotionProperties();
+        properties.setKey("test-key");
+        properties.setBaseUrl(BASE_URL);
+
+        RestClient.Builder builder = RestClient.builder();
+        server = MockRestServiceServer.bindTo(builder).build();
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        client = new NotionClient(properties, objectMapper, builder.build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (queue != null) {
+            queue.close();
+        }
+    }
+
+    @Test
+    void shouldAcknowledgeRightAwayAndSendInOrderPerTarget() throws Exception {
+        // Given
+        server.expect(requestTo(BASE_URL + "/pages/" + PAGE_ID))
+                .andExpect(method(HttpMethod.PATCH))
+                .andExpect(content().json("{\"properties\": {\"Done\": {\"checkbox\": false}}}"))
+                .andRespond(withSuccess(PAGE_JSON, MediaType.APPLICATION_JSON));
+        server.expect(requestTo(BASE_URL + "/pages/" + PAGE_ID))
+                .andExpect(content().json("{\"properties\": {\"Done\": {\"checkbox\": true}}}"))
+                .andRespond(withSuccess(PAGE_JSON, MediaType.APPLICATION_JSON));
+        queue = queue(journal(), 3);
+
+        // When
+        CompletableFuture<Page> first = queue.updatePage(PAGE_ID, Map.of("Done", Map.of("checkbox", false)));
+        CompletableFuture<Page> second = queue.updatePage(PAGE_ID, Map.of("Done", Map.of("checkbox", true)));
+        int pendingBeforeStart = queue.getPendingCount();
+        queue.start();
+
+        // Then
+        assertThat(pendingBeforeStart).isEqualTo(2);
+        assertThat(second.get(5, TimeUnit.SECONDS).getId()).isEqualTo(PAGE_ID);
+        assertThat(first).isCompleted();
+        assertThat(queue.drain(5000)).isTrue();
+        server.verify();
+        assertThat(Files.size(journal())).isZero();
+    }
+
+    @Test
+    void shouldKeepOrderForOneTargetGivenInDashedAndUndashedForm() throws Exception {
+        // Given
+        String undashed = PAGE_ID.replace("-", "");
+        server.expect(requestTo(BASE_URL + "/pages/" + PAGE_ID))
+                .andRespond(withStatus(HttpStatus.SERVICE_UNAVAILABLE));
+        server.expect(requestTo(BASE_URL + "/pages/" + PAGE_ID))
+                .andRespond(withSuccess(PAGE_JSON, MediaType.APPLICATION_JSON));
+        server.expect(requestTo(BASE_URL + "/blocks/" + undashed + "/children"))
+                .andRespond(withSuccess("{\"object\": \"list\", \"results\": [], \"has_more\": false}",
+                        MediaType.APPLICATION_JSON));
+        queue = queue(journal(), 3);
+
+        // When
+        queue.updatePage(PAGE_ID, Map.of("Done", Map.of("checkbox", true)));
+        queue.appendBlockChildren(undashed, List.of());
+        queue.start();
+
+        // Then
+        assertThat(queue.drain(5000)).isTrue();
+        server.verify();
+    }
+
+    @Test
+    void shouldRetryRateLimitedAndFailedRequestsAndGiveUpOnClientErrors() throws Exception {
+        // Given
+        HttpHeaders retryAfter = new HttpHeaders();
+        retryAfter.set("Retry-After", "0");
+        server.expect(requestTo(BASE_URL + "/pages"))
+                .andRespond(withStatus(HttpStatus.TOO_MANY_REQUESTS).headers(retryAfter));
+        server.expect(requestTo(BASE_URL + "/pages"))
+                .andRespond(withStatus(HttpStatus.SERVICE_UNAVAILABLE));
+        server.expect(requestTo(BASE_URL + "/pages"))
+                .andExpect(content().json("{\"parent\": {\"database_id\": \"" + DATABASE_ID + "\"}}"))
+                .andRespond(withSuccess(PAGE_JSON, MediaType.APPLICATION_JSON));
+        server.expect(requestTo(BASE_URL + "/pages"))
+                .andRespond(withStatus(HttpStatus.BAD_REQUEST));
+        queue = queue(journal(), 5);
+        queue.start();
+
+        // When
+        CompletableFuture<Page> created = queue.createPage(Parent.database(DATABASE_ID), Map.of());
+        CompletableFuture<Page> rejected = queue.createPage(Parent.database(DATABASE_ID), Map.of());
+
+        // Then
+        assertThat(created.get(5, TimeUnit.SECONDS).getId()).isEqualTo(PAGE_ID);
+        assertThatThrownBy(() -> rejected.get(5, TimeUnit.SECONDS)).hasMessageContaining("400");
+        assertThat(queue.drain(5000)).isTrue();
+        server.verify();
+    }
+
+    @Test
+    void shouldNotResendAWriteWhoseResponseCannotBeRead() {
+        // Given
+        server.expect(requestTo(BASE_URL + "/pages"))
+                .andRespond(withSuccess("{\"object\": \"page\",", MediaType.APPLICATION_JSON));
+        queue = queue(journal(), 5);
+        queue.start();
+
+        // When
+        CompletableFuture<Page> created = queue.createPage(Parent.database(DATABASE_ID), Map.of());
+
+        // Then
+        assertThatThrownBy(() -> created.get(5, TimeUnit.SECONDS)).hasMessageContaining("deserialize");
+        assertThat(queue.getPendingCount()).isZero();
+        server.verify();
+    }
+
+    @Test
+    void shouldReplayUnfinishedMutationsAfterRestart() throws Exception {
+        // Given
+        NotionWriteQueue stopped = queue(journal(), 3);
+        CompletableFuture<Page> lost = stopped.updatePage(PAGE_ID, Map.of("Done", Map.of("checkbox", true)));
+        stopped.appendBlockChildren(PAGE_ID, List.of());
+        stopped.close();
+        Files.writeString(journal(), "{\"sequence\": 3, \"operat", StandardCharsets.UTF_8,
+                StandardOpenOption.APPEND);
+        server.expect(requestTo(BASE_URL + "/pages/" + PAGE_ID))
+                .andExpect(content().json("{\"properties\": {\"Done\": {\"checkbox\": true}}}"))
+                .andRespond(withSuccess(PAGE_JSON, MediaType.APPLICATION_JSON));
+        server.expect(requestTo(BASE_URL + "/blocks/" + PAGE_ID + "/children"))
+                .andRespond(withSuccess("{\"object\": \"list\", \"results\": [], \"has_more\": false}",
+                        MediaType.APPLICATION_JSON));
+
+        // When
+        queue = queue(journal(), 3);
+        int recovered = queue.getPendingCount();
+        queue.start();
+
+        // Then
+        assertThat(lost).isCompletedExceptionally();
+        assertThat(recovered).isEqualTo(2);
+        assertThat(queue.drain(5000)).isTrue();
+        server.verify();
+    }
+
+    @Test
+    void shouldLetTheMutationInFlightFinishWhenClosedAfterTheDrainTimeout() throws Exception {
+        // Given
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch respond = new CountDownLatch(1);
+        server.expect(requestTo(BASE_URL + "/pages/" + PAGE_ID))
+                .andRespond(request -> {
+                    sending.countDown();
+                    try {
+                        respond.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return withSuccess(PAGE_JSON, MediaType.APPLICATION_JSON).createResponse(request);
+                });
+        NotionWriteQueue closing = new NotionWriteQueue(client, objectMapper, null, journal(), 3, 1, 50);
+        closing.start();
+        CompletableFuture<Page> inFlight = closing.updatePage(PAGE_ID, Map.of("Done", Map.of("checkbox", true)));
+        assertThat(sending.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<?> waiting = closing.appendBlockChildren(DATABASE_ID, List.of());
+
+        // When
+        closing.close();
+        respond.countDown();
+
+        // Then
+        assertThat(inFlight.get(5, TimeUnit.SECONDS).getId()).isEqualTo(PAGE_ID);
+        assertThat(waiting).isCompletedExceptionally();
+        assertThat(closing.getPendingCount()).isEqualTo(1);
+        server.verify();
+        queue = queue(journal(), 3);
+        assertThat(queue.getPendingCount()).isEqualTo(1);
+    }
+
+    private NotionWriteQueue queue(Path journal, int maxAttempts) {
+        return new NotionWriteQueue(client, objectMapper, null, journal, maxAttempts, 1, 0);
+    }
+
+    private Path journal() {
+        return dir.resolve("writes.journal");
+    }
+}
@@ -0,0 +1,141 @@
+package dev.danvega.notion.replica;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import dev.danvega.notion.model.database.Filter;
+import dev.danvega.notion.model.page.Page;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link ColumnarTable}.
+ */
+class ColumnarTableTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    void shouldAggregateNumbersAndDates() throws Exception {
+        // Given
+        List<Page> pages = List.of(
+                page(1, "Todo", 3.5, "2024-03-01", true),
+                page(2, "Done", 2.0, "2024-03-02T18:30:00.000+00:00", false),
+                page(3, "Done", null, null, true),
+                page(4, null, 4.5, "2024-02-28", false));
+
+        // When
+        ColumnarTable table = ColumnarTable.of(pages, "Status", "Price", "Due", "Paid");
+
+        // Then
+        ColumnStats price = table.stats("Price");
+        assertThat(price.getCount()).isEqualTo(3);
+        assertThat(price.getSum()).isEqualTo(10.0);
+        assertThat(price.getMin()).isEqualTo(2.0);
+        assertThat(price.getMax()).isEqualTo(4.5);
+        ColumnStats due = table.stats("Due");
+        assertThat(due.getMinInstant()).isEqualTo(Instant.parse("2024-02-28T00:00:00Z"));
+        assertThat(due.getMaxInstant()).isEqualTo(Instant.parse("2024-03-02T18:30:00Z"));
+        assertThat(table.countChecked("Paid")).isEqualTo(2);
+        assertThat(table.countBy("Status")).containsExactly(
+                new SimpleEntry<>("Todo", 1L), new SimpleEntry<>("Done", 2L), new SimpleEntry<>(null, 1L));
+        Map<String, ColumnStats> byStatus = table.groupBy("Status", "Price");
+        assertThat(byStatus.get("Done").getSum()).isEqualTo(2.0);
+        assertThat(byStatus.get("Done").getCount()).isEqualTo(1);
+        assertThat(byStatus.get(null).getMax()).isEqualTo(4.5);
+        assertThat(table.groupBy("Paid", "Price").get("true").getSum()).isEqualTo(3.5);
+        assertThatThrownBy(() -> table.stats("Status"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("not a number or date");
+        assertThatThrownBy(() -> ColumnarTable.of(pages, "Name"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("cannot be stored");
+    }
+
+    @Test
+    void shouldMergeSegmentsToTheSameResult() throws Exception {
+        // Given
+        List<Page> pages = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            pages.add(page(i, i % 3 == 0 ? "Done" : "Todo", i % 7 == 0 ? null : (double) i, null, i % 2 == 0));
+        }
+
+        // When
+        ColumnarTable single = ColumnarTable.of(pages, "Status", "Price");
+        ColumnarTable segmented = ColumnarTable.of(pages, 64, "Status", "Price");
+
+        // Then
+        assertThat(segmented.stats("Price")).hasToString(single.stats("Price").toString());
+        assertThat(segmented.groupBy("Status", "Price").get("Done"))
+                .hasToString(single.groupBy("Status", "Price").get("Done").toString());
+        assertThat(segmented.countBy("Status")).isEqualTo(single.countBy("Status"));
+    }
+
+    @Test
+    void shouldAggregateQueryResultsOfAReplica() throws Exception {
+        // Given
+        ReplicaSnapshot snapshot = ReplicaSnapshot.of("db-1", List.of(
+                page(1, "Todo", 3.5, null, true),
+                page(2, "Done", 2.0, null, false),
+                page(3, "Done", 6.0, null, true)));
+        ReplicaQueryEngine engine = new ReplicaQueryEngine(() -> snapshot);
+
+        // When
+        ColumnarTable table = engine.aggregate(Filter.property("Status").status().equalTo("Done"), "Price");
+
+        // Then
+        assertThat(table.size()).isEqualTo(2);
+        assertThat(table.stats("Price").getAverage()).isEqualTo(4.0);
+        assertThat(ColumnarTable.of(snapshot, "Price").stats("Price").getSum()).isEqualTo(11.5);
+    }
+
+    @Test
+    void shouldKeepPropertyTypesWhenNoPageMatches() throws Exception {
+        // Given
+        ReplicaSnapshot snapshot = ReplicaSnapshot.of("db-1", List.of(
+                page(1, "Todo", 3.5, null, true),
+                page(2, "Done", 2.0, null, false)));
+        ReplicaQueryEngine engine = new ReplicaQueryEngine(() -> snapshot);
+        Filter nothing = Filter.property("Status").status().equalTo("Archived");
+
+        // When
+        ColumnarTable table = engine.aggregate(nothing, "Status", "p1");
+
+        // Then
+        assertThat(table.size()).isZero();
+        assertThat(table.countBy("Status")).isEmpty();
+        assertThat(table.groupBy("Status", "p1")).isEmpty();
+        assertThat(table.stats("p1").getCount()).isZero();
+        assertThatThrownBy(() -> table.stats("Status"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("not a number or date");
+        assertThatThrownBy(() -> engine.aggregate(nothing, "Prize"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unknown property 'Prize'");
+        assertThatThrownBy(() -> ColumnarTable.of(snapshot.getPages(), "Prize"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unknown property 'Prize'");
+    }
+
+    private Page page(int id, String status, Double price, String due, boolean paid) throws Exception {
+        return objectMapper.readValue("""
+                {"object": "page", "id": "%08d-0000-4000-8000-000000000000", "archived": false,
+                 "last_edited_time": "2024-03-01T10:00:00.000Z",
+                 "properties": {
+                   "Name": {"id": "title", "type": "title", "title": [{"plain_text": "Item %d"}]},
+                   "Status": {"id": "s1", "type": "status", "status": %s},
+                   "Price": {"id": "p1", "type": "number", "number": %s},
+                   "Due": {"id": "d1", "type": "date", "date": %s},
+                   "Paid": {"id": "c1", "type": "checkbox", "checkbox": %s}
+                 }}
+                """.formatted(id, id, status != null ? "{\"name\": \"" + status + "\"}" : "null", price,
+                due != null ? "{\"start\": \"" + due + "\"}" : "null", paid), Page.class);
+    }
+}
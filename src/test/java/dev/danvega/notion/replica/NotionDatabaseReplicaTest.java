@@ -0,0 +1,175 @@
+package dev.danvega.notion.replica;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import dev.danvega.notion.cache.PersistentNotionCache;
+import dev.danvega.notion.client.NotionClient;
+import dev.danvega.notion.config.NotionProperties;
+import dev.danvega.notion.service.NotionDatabaseService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.MediaType;
+import org.springframework.test.json.JsonCompareMode;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+
+import java.nio.file.Path;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.ExpectedCount.once;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.content;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+/**
+ * Tests for {@link NotionDatabaseReplica} against a mocked Notion API.
+ */
+class NotionDatabaseReplicaTest {
+
+    private static final String BASE_URL = "https://api.notion.com/v1";
+    private static final String DATABASE_ID = "5a9a8a5e-4e2c-4b1e-9f6e-0d2f1c3b4a5d";
+    private static final String QUERY_URL = BASE_URL + "/databases/" + DATABASE_ID + "/query";
+    private static final String PAGE_1 = "11111111-1111-1111-1111-111111111111";
+    private static final String PAGE_2 = "22222222-2222-2222-2222-222222222222";
+    private static final String PAGE_3 = "33333333-3333-3333-3333-333333333333";
+
+    private MockRestServiceServer server;
+    private NotionDatabaseService service;
+    private NotionDatabaseReplica replica;
+
+    @BeforeEach
+    void setUp() {
+        NotionProperties properties = new NotionProperties();
+        properties.setKey("test-key");
+        properties.setBaseUrl(BASE_URL);
+
+        RestClient.Builder builder = RestClient.builder();
+        server = MockRestServiceServer.bindTo(builder).build();
+        NotionClient client = new NotionClient(properties,
+                new ObjectMapper().registerModule(new JavaTimeModule()), builder.build());
+        service = new NotionDatabaseService(client);
+        replica = new NotionDatabaseReplica(service, DATABASE_ID);
+    }
+
+    @Test
+    void shouldLoadAllPagesThenApplyIncrementalChanges() {
+        // Given
+        server.expect(once(), requestTo(BASE_URL + "/databases/" + DATABASE_ID))
+                .andRespond(withSuccess("{\"object\": \"database\", \"id\": \"" + DATABASE_ID
+                        + "\", \"properties\": {}}", MediaType.APPLICATION_JSON));
+        server.expect(requestTo(QUERY_URL))
+                .andExpect(content().json("""
+                        {"sorts": [{"timestamp": "last_edited_time", "direction": "ascending"}],
+                         "page_size": 100}
+                        """, JsonCompareMode.STRICT))
+                .andRespond(withSuccess(list(true, "cursor-2",
+                        page(PAGE_1, "2024-03-01T10:00:00.000Z", false, "Milk")), MediaType.APPLICATION_JSON));
+        server.expect(requestTo(QUERY_URL))
+                .andExpect(content().json("{\"start_cursor\": \"cursor-2\"}"))
+                .andRespond(withSuccess(list(false, null,
+                        page(PAGE_2, "2024-03-01T11:00:00.000Z", false, "Eggs")), MediaType.APPLICATION_JSON));
+        server.expect(requestTo(QUERY_URL))
+                .andExpect(content().json("""
+                        {"filter": {"timestamp": "last_edited_time",
+                                    "last_edited_time": {"on_or_after": "2024-03-01T11:00:00Z"}},
+                         "sorts": [{"timestamp": "last_edited_time", "direction": "ascending"}]}
+                        """))
+                .andRespond(withSuccess(list(false, null,
+                        page(PAGE_2, "2024-03-01T11:00:00.000Z", true, "Eggs"),
+                        page(PAGE_3, "2024-03-01T11:05:00.000Z", false, "Bread"),
+                        page(PAGE_1, "2024-03-01T11:07:00.000Z", false, "Oat milk")), MediaType.APPLICATION_JSON));
+
+        // When
+        ReplicaSnapshot loaded = replica.sync();
+        ReplicaSnapshot synced = replica.sync();
+
+        // Then
+        server.verify();
+        assertThat(loaded.getVersion()).isEqualTo(1);
+        assertThat(loaded.size()).isEqualTo(2);
+        assertThat(loaded.getPage(PAGE_2.replace("-", ""))).isNotNull();
+
+        assertThat(synced.getVersion()).isEqualTo(2);
+        assertThat(synced.getPages()).extracting(page -> page.getId()).containsExactly(PAGE_1, PAGE_3);
+        assertThat(synced.getPage(PAGE_1).getLazyProperties().getText("Name")).isEqualTo("Oat milk");
+        assertThat(synced.getWatermark().toInstant()).isEqualTo(Instant.parse("2024-03-01T11:07:00Z"));
+        assertThat(replica.getSnapshot()).isSameAs(synced);
+        assertThat(loaded.getPage(PAGE_1).getLazyProperties().getText("Name")).isEqualTo("Milk");
+    }
+
+    @Test
+    void shouldKeepSnapshotWhenOnlyWatermarkPagesAreReturned() {
+        // Given
+        server.expect(once(), requestTo(BASE_URL + "/databases/" + DATABASE_ID))
+                .andRespond(withSuccess("{\"object\": \"database\", \"id\": \"" + DATABASE_ID
+                        + "\", \"properties\": {}}", MediaType.APPLICATION_JSON));
+        server.expect(requestTo(QUERY_URL))
+                .andRespond(withSuccess(list(false, null,
+                        page(PAGE_1, "2024-03-01T10:00:00.000Z", false, "Milk")), MediaType.APPLICATION_JSON));
+        server.expect(requestTo(QUERY_URL))
+                .andRespond(withSuccess(list(false, null,
+                        page(PAGE_1, "2024-03-01T10:00:00.000Z", false, "Milk")), MediaType.APPLICATION_JSON));
+
+        // When
+        ReplicaSnapshot loaded = replica.sync();
+        ReplicaSnapshot synced = replica.sync();
+
+        // Then
+        server.verify();
+        assertThat(synced).isSameAs(loaded);
+    }
+
+    @Test
+    void shouldResumeFromStoredSnapshot(@TempDir Path directory) {
+        // Given
+        server.expect(once(), requestTo(BASE_URL + "/databases/" + DATABASE_ID))
+                .andRespond(withSuccess("{\"object\": \"database\", \"id\": \"" + DATABASE_ID
+                        + "\", \"properties\": {}}", MediaType.APPLICATION_JSON));
+        server.expect(requestTo(QUERY_URL))
+                .andRespond(withSuccess(list(false, null,
+                        page(PAGE_1, "2024-03-01T10:00:00.000Z", false, "Milk")), MediaType.APPLICATION_JSON));
+        server.expect(requestTo(QUERY_URL))
+                .andExpect(content().json("""
+                        {"filter": {"timestamp": "last_edited_time",
+                                    "last_edited_time": {"on_or_after": "2024-03-01T10:00:00Z"}}}
+                        """))
+                .andRespond(withSuccess(list(false, null,
+                        page(PAGE_2, "2024-03-01T10:30:00.000Z", false, "Eggs")), MediaType.APPLICATION_JSON));
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        try (PersistentNotionCache cache = new PersistentNotionCache(directory, 100, 60_000)) {
+            new NotionDatabaseReplica(service, DATABASE_ID, new ReplicaStore(cache, objectMapper)).sync();
+        }
+
+        // When
+        ReplicaSnapshot restored;
+        ReplicaSnapshot synced;
+        try (PersistentNotionCache cache = new PersistentNotionCache(directory, 100, 60_000)) {
+            NotionDatabaseReplica restarted = new NotionDatabaseReplica(service, DATABASE_ID,
+                    new ReplicaStore(cache, objectMapper));
+            restored = restarted.getSnapshot();
+            synced = restarted.sync();
+        }
+
+        // Then
+        server.verify();
+        assertThat(restored.isLoaded()).isTrue();
+        assertThat(restored.getPage(PAGE_1).getLazyProperties().getText("Name")).isEqualTo("Milk");
+        assertThat(synced.getPages()).extracting(page -> page.getId()).containsExactly(PAGE_1, PAGE_2);
+    }
+
+    private static String list(boolean hasMore, String nextCursor, String... pages) {
+        return "{\"object\": \"list\", \"has_more\": " + hasMore + ", \"next_cursor\": "
+                + (nextCursor != null ? "\"" + nextCursor + "\"" : "null")
+                + ", \"results\": [" + String.join(",", pages) + "]}";
+    }
+
+    private static String page(String id, String lastEditedTime, boolean archived, String name) {
+        return """
+                {"object": "page", "id": "%s", "last_edited_time": "%s", "archived": %s,
+                 "properties": {"Name": {"id": "title", "type": "title",
+                   "title": [{"type": "text", "text": {"content": "%s"}, "plain_text": "%s"}]}}}
+                """.formatted(id, lastEditedTime, archived, name, name);
+    }
+}
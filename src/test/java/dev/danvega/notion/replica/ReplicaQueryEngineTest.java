@@ -0,0 +1,129 @@
+package dev.danvega.notion.replica;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import dev.danvega.notion.model.database.DatabaseQuery;
+import dev.danvega.notion.model.database.Filter;
+import dev.danvega.notion.model.database.Sort;
+import dev.danvega.notion.model.page.Page;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link ReplicaQueryEngine} over an in-memory snapshot.
+ */
+class ReplicaQueryEngineTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private ReplicaQueryEngine engine;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        List<Page> pages = new ArrayList<>();
+        pages.add(page("1", "Milk", "Todo", 3.5, "2024-03-01", "dairy"));
+        pages.add(page("2", "Eggs", "Done", 2.0, "2024-03-02", "dairy,protein"));
+        pages.add(page("3", "Bread", "Done", null, null, "bakery"));
+        pages.add(page("4", "Butter", "Todo", 4.0, "2024-03-02T18:30:00.000+00:00", null));
+        ReplicaSnapshot snapshot = ReplicaSnapshot.of("db-1", pages);
+        Clock clock = Clock.fixed(Instant.parse("2024-03-05T12:00:00Z"), ZoneOffset.UTC);
+        engine = new ReplicaQueryEngine(() -> snapshot, clock);
+    }
+
+    @Test
+    void shouldEvaluateFiltersLikeTheApi() {
+        assertThat(names(engine.query(Filter.property("Status").status().equalTo("Done")))).containsExactly("Eggs", "Bread");
+        assertThat(names(engine.query(Filter.property("Price").number().doesNotEqual(2)))).containsExactly("Milk", "Bread", "Butter");
+        assertThat(names(engine.query(Filter.property("Price").number().isEmpty()))).containsExactly("Bread");
+        assertThat(names(engine.query(Filter.property("Name").title().startsWith("B")))).containsExactly("Bread", "Butter");
+        assertThat(names(engine.query(Filter.property("Tags").multiSelect().contains("dairy")))).containsExactly("Milk", "Eggs");
+        assertThat(names(engine.query(Filter.property("Tags").multiSelect().doesNotContain("dairy")))).containsExactly("Bread", "Butter");
+        assertThat(names(engine.query(Filter.property("Due").date().equalTo(LocalDate.of(2024, 3, 2))))).containsExactly("Eggs", "Butter");
+        assertThat(names(engine.query(Filter.property("Due").date().after("2024-03-01")))).containsExactly("Eggs", "Butter");
+        assertThat(names(engine.query(Filter.property("Due").date().within("past_week")))).containsExactly("Milk", "Eggs", "Butter");
+        assertThat(names(engine.query(Filter.or(
+                Filter.property("Price").number().greaterThan(3),
+                Filter.property("Tags").multiSelect().contains("bakery"))))).containsExactly("Milk", "Bread", "Butter");
+        assertThat(engine.count(Filter.lastEditedTime().onOrAfter("2024-03-01"))).isEqualTo(4);
+        assertThat(engine.count(null)).isEqualTo(4);
+    }
+
+    @Test
+    void shouldSortWithEmptyValuesLast() {
+        assertThat(names(engine.query(null, Sort.descending("Price")))).containsExactly("Butter", "Milk", "Eggs", "Bread");
+        assertThat(names(engine.query(null, Sort.ascending("Status"), Sort.ascending("p1"))))
+                .containsExactly("Eggs", "Bread", "Milk", "Butter");
+    }
+
+    @Test
+    void shouldUseIndexesWithoutChangingResults() {
+        Filter filter = Filter.and(
+                Filter.property("Status").status().equalTo("Todo"),
+                Filter.property("Price").number().greaterThanOrEqualTo(3.5),
+                Filter.property("Name").title().contains("u"));
+        List<String> scanned = names(engine.query(filter));
+        assertThat(engine.explain(filter)).isEqualTo(
+                "and[scan(Status equals Todo), scan(Price greater_than_or_equal_to 3.5), scan(Name contains u)]");
+
+        engine.hashIndex("Status").sortedIndex("p1").hashIndex("Tags");
+
+        assertThat(engine.explain(filter)).isEqualTo(
+                "and[hash(Status equals Todo), sorted(Price greater_than_or_equal_to 3.5), scan(Name contains u)]");
+        assertThat(names(engine.query(filter))).isEqualTo(scanned).containsExactly("Butter");
+        assertThat(names(engine.query(Filter.property("Tags").multiSelect().contains("protein")))).containsExactly("Eggs");
+        assertThat(names(engine.query(Filter.property("Price").number().lessThan(3.5)))).containsExactly("Eggs");
+    }
+
+    @Test
+    void shouldRunRawDatabaseQueries() {
+        DatabaseQuery query = DatabaseQuery.builder()
+                .filter(Map.of("property", "Status", "status", Map.of("equals", "Done")))
+                .sorts(List.of(Map.of("property", "Name", "direction", "ascending")))
+                .pageSize(1)
+                .build();
+
+        assertThat(names(engine.query(query))).containsExactly("Bread");
+        assertThatThrownBy(() -> engine.query(Filter.property("Status").number().equalTo(1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("is of type status");
+        assertThatThrownBy(() -> engine.query(Filter.property("Prize").number().equalTo(1)))
+                .hasMessageContaining("Unknown property 'Prize'");
+    }
+
+    private static List<String> names(List<Page> pages) {
+        return pages.stream().map(page -> page.getLazyProperties().getText("Name")).toList();
+    }
+
+    private Page page(String id, String name, String status, Double price, String due, String tags)
+            throws Exception {
+        StringBuilder options = new StringBuilder();
+        if (tags != null) {
+            for (String tag : tags.split(",")) {
+                options.append(options.isEmpty() ? "" : ",").append("{\"name\": \"").append(tag).append("\"}");
+            }
+        }
+        return objectMapper.readValue("""
+                {"object": "page", "id": "%s", "created_time": "2024-03-01T09:00:00.000Z",
+                 "last_edited_time": "2024-03-0%sT10:00:00.000Z", "archived": false,
+                 "properties": {
+                   "Name": {"id": "title", "type": "title", "title": [{"plain_text": "%s"}]},
+                   "Status": {"id": "s1", "type": "status", "status": {"name": "%s"}},
+                   "Price": {"id": "p1", "type": "number", "number": %s},
+                   "Due": {"id": "d1", "type": "date", "date": %s},
+                   "Tags": {"id": "t1", "type": "multi_select", "multi_select": [%s]}
+                 }}
+                """.formatted(id, id, name, status, price, due != null ? "{\"start\": \"" + due + "\"}" : "null",
+                options), Page.class);
+    }
+}
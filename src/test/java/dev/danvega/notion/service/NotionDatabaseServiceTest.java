@@ -0,0 +1,178 @@
+package dev.danvega.notion.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import dev.danvega.notion.cache.InMemoryNotionCache;
+import dev.danvega.notion.client.NotionClient;
+import dev.danvega.notion.config.NotionProperties;
+import dev.danvega.notion.model.database.DatabaseQuery;
+import dev.danvega.notion.model.database.DatabaseSchema;
+import dev.danvega.notion.model.database.Filter;
+import dev.danvega.notion.model.database.Sort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.json.JsonCompareMode;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.client.ExpectedCount.once;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.content;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+/**
+ * Tests for {@link NotionDatabaseService} against a mocked Notion API.
+ */
+class NotionDatabaseServiceTest {
+
+    private static final String BASE_URL = "https://api.notion.com/v1";
+    private static final String DATABASE_ID = "5a9a8a5e-4e2c-4b1e-9f6e-0d2f1c3b4a5d";
+    private static final String QUERY_URL = BASE_URL + "/databases/" + DATABASE_ID + "/query";
+    private static final String EMPTY_LIST = "{\"object\": \"list\", \"results\": []}";
+
+    private static final String DATABASE = """
+            {"object": "database", "id": "5a9a8a5e-4e2c-4b1e-9f6e-0d2f1c3b4a5d",
+             "last_edited_time": "2024-03-01T10:00:00.000Z",
+             "properties": {
+               "Name": {"id": "title", "name": "Name", "type": "title", "title": {}},
+               "Price": {"id": "p1", "name": "Price", "type": "number", "number": {}}
+             }}
+            """;
+
+    private MockRestServiceServer server;
+    private NotionClient client;
+    private NotionDatabaseService databaseService;
+
+    @BeforeEach
+    void setUp() {
+        NotionProperties properties = new NotionProperties();
+        properties.setKey("test-key");
+        properties.setBaseUrl(BASE_URL);
+
+        RestClient.Builder builder = RestClient.builder();
+        server = MockRestServiceServer.bindTo(builder).build();
+        client = new NotionClient(properties, new ObjectMapper().registerModule(new JavaTimeModule()), builder.build());
+        databaseService = new NotionDatabaseService(client);
+    }
+
+    @Test
+    void shouldSendCompiledTypedQuery() {
+        // Given
+        server.expect(once(), requestTo(BASE_URL + "/databases/" + DATABASE_ID))
+                .andRespond(withSuccess(DATABASE, MediaType.APPLICATION_JSON));
+        String body = """
+                {"filter": {"property": "Price", "number": {"greater_than": 10}},
+                 "sorts": [{"property": "Name", "direction": "ascending"}]}
+                """;
+        server.expect(requestTo(QUERY_URL))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(content().json(body, JsonCompareMode.STRICT))
+                .andRespond(withSuccess(EMPTY_LIST, MediaType.APPLICATION_JSON));
+        server.expect(requestTo(QUERY_URL))
+                .andExpect(content().json("""
+                        {"filter": {"property": "Price", "number": {"greater_than": 10}},
+                         "sorts": [{"property": "Name", "direction": "ascending"}],
+                         "start_cursor": "next"}
+                        """, JsonCompareMode.STRICT))
+                .andRespond(withSuccess(EMPTY_LIST, MediaType.APPLICATION_JSON));
+
+        DatabaseQuery query = DatabaseQuery.builder()
+                .filter(Filter.property("Price").number().greaterThan(10))
+                .sorts(Sort.ascending("Name"))
+                .build();
+
+        // When
+        databaseService.queryDatabase(DATABASE_ID, query);
+        query.setStartCursor("next");
+        databaseService.queryDatabase(DATABASE_ID, query);
+
+        // Then
+        server.verify();
+    }
+
+    @Test
+    void shouldRejectMalformedRawQueryWithoutSendingIt() {
+        // Given
+        server.expect(once(), requestTo(BASE_URL + "/databases/" + DATABASE_ID))
+                .andRespond(withSuccess(DATABASE, MediaType.APPLICATION_JSON));
+        DatabaseQuery query = DatabaseQuery.builder()
+                .filter(Map.of("property", "Prize", "number", Map.of("greater_than", 10)))
+                .build();
+
+        // When / Then
+        assertThatThrownBy(() -> databaseService.queryDatabase(DATABASE_ID, query))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unknown property 'Prize'");
+        server.verify();
+    }
+
+    @Test
+    void shouldKeepSchemaUntilLastEditedTimeChanges() {
+        // Given
+        DatabaseSchemaCache schemaCache = new DatabaseSchemaCache(client, 0, true, false);
+        server.expect(requestTo(BASE_URL + "/databases/" + DATABASE_ID))
+                .andRespond(withSuccess(DATABASE, MediaType.APPLICATION_JSON));
+        server.expect(requestTo(BASE_URL + "/databases/" + DATABASE_ID.replace("-", "")))
+                .andRespond(withSuccess(DATABASE, MediaType.APPLICATION_JSON));
+        server.expect(requestTo(BASE_URL + "/databases/" + DATABASE_ID))
+                .andRespond(withSuccess(DATABASE.replace("2024-03-01T10:00", "2024-03-02T09:30")
+                        .replace("\"Price\"", "\"Cost\""), MediaType.APPLICATION_JSON));
+
+        // When
+        DatabaseSchema first = schemaCache.getSchema(DATABASE_ID);
+        DatabaseSchema unchanged = schemaCache.getSchema(DATABASE_ID.replace("-", ""));
+        DatabaseSchema changed = schemaCache.getSchema(DATABASE_ID);
+
+        // Then
+        server.verify();
+        assertThat(unchanged).isSameAs(first);
+        assertThat(changed).isNotSameAs(first);
+        assertThat(changed.getProperty("Cost")).isNotNull();
+    }
+
+    @Test
+    void shouldReadRefreshedSchemaPastTheResponseCache() {
+        // Given
+        RestClient.Builder builder = RestClient.builder();
+        MockRestServiceServer cachedServer = MockRestServiceServer.bindTo(builder).build();
+        NotionProperties properties = new NotionProperties();
+        properties.setKey("test-key");
+        properties.setBaseUrl(BASE_URL);
+        NotionClient cachedClient = NotionClient.builder()
+                .properties(properties)
+                .objectMapper(new ObjectMapper().registerModule(new JavaTimeModule()))
+                .restClient(builder.build())
+                .cache(new InMemoryNotionCache(100, 60_000))
+                .build();
+        DatabaseSchemaCache schemaCache = new DatabaseSchemaCache(cachedClient, 0, true, false);
+        String database = """
+                {"object": "database", "id": "5a9a8a5e-4e2c-4b1e-9f6e-0d2f1c3b4a5d",
+                 "last_edited_time": "2024-03-01T10:00:00.000Z",
+                 "properties": {
+                   "Tags": {"id": "t1", "name": "Tags", "type": "multi_select", "multi_select": {"options": [
+                     {"id": "o1", "name": "food", "color": "red"}]}}
+                 }}
+                """;
+        cachedServer.expect(once(), requestTo(BASE_URL + "/databases/" + DATABASE_ID))
+                .andRespond(withSuccess(database, MediaType.APPLICATION_JSON));
+        cachedServer.expect(once(), requestTo(BASE_URL + "/databases/" + DATABASE_ID))
+                .andRespond(withSuccess(database.replace("2024-03-01T10:00", "2024-03-02T09:30")
+                        .replace("}]}}", "}, {\"id\": \"o2\", \"name\": \"errand\", \"color\": \"blue\"}]}}"),
+                        MediaType.APPLICATION_JSON));
+        Map<String, Object> newTag = Map.of("Tags", Map.of("multi_select", List.of(Map.of("name", "errand"))));
+        schemaCache.getSchema(DATABASE_ID);
+
+        // When / Then
+        assertThatCode(() -> schemaCache.validatePageProperties(DATABASE_ID, newTag)).doesNotThrowAnyException();
+        cachedServer.verify();
+    }
+}
@@ -0,0 +1,75 @@
+package dev.danvega.notion.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.danvega.notion.client.NotionClient;
+import dev.danvega.notion.config.NotionProperties;
+import dev.danvega.notion.model.common.Parent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.client.ExpectedCount.once;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+/**
+ * Tests for {@link NotionPageService} validation of page writes.
+ */
+class NotionPageServiceTest {
+
+    private static final String BASE_URL = "https://api.notion.com/v1";
+    private static final String DATABASE_ID = "5a9a8a5e-4e2c-4b1e-9f6e-0d2f1c3b4a5d";
+
+    private static final String DATABASE = """
+            {"object": "database", "id": "5a9a8a5e-4e2c-4b1e-9f6e-0d2f1c3b4a5d",
+             "properties": {
+               "Name": {"id": "title", "name": "Name", "type": "title", "title": {}},
+               "Status": {"id": "s1", "name": "Status", "type": "status", "status": {"options": [
+                 {"id": "o1", "name": "Todo"}, {"id": "o2", "name": "Done"}]}}
+             }}
+            """;
+
+    private MockRestServiceServer server;
+    private NotionPageService pageService;
+
+    @BeforeEach
+    void setUp() {
+        NotionProperties properties = new NotionProperties();
+        properties.setKey("test-key");
+        properties.setBaseUrl(BASE_URL);
+
+        RestClient.Builder builder = RestClient.builder();
+        server = MockRestServiceServer.bindTo(builder).build();
+        pageService = new NotionPageService(new NotionClient(properties, new ObjectMapper(), builder.build()));
+    }
+
+    @Test
+    void shouldValidateDatabasePageWritesLocally() {
+        // Given
+        server.expect(once(), requestTo(BASE_URL + "/databases/" + DATABASE_ID))
+                .andRespond(withSuccess(DATABASE, MediaType.APPLICATION_JSON));
+        server.expect(once(), requestTo(BASE_URL + "/pages/page-1"))
+                .andExpect(method(HttpMethod.PATCH))
+                .andRespond(withSuccess("{\"object\": \"page\", \"id\": \"page-1\"}", MediaType.APPLICATION_JSON));
+
+        // When / Then
+        assertThatThrownBy(() -> pageService.createPage(Parent.database(DATABASE_ID),
+                Map.of("Status", Map.of("status", Map.of("name", "Dnoe")))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("no option 'Dnoe'");
+        assertThatThrownBy(() -> pageService.updatePage("page-1", DATABASE_ID,
+                Map.of("Titel", Map.of("title", List.of()))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unknown property 'Titel'");
+        pageService.updatePage("page-1", DATABASE_ID, Map.of("Status", Map.of("status", Map.of("name", "Done"))));
+        server.verify();
+    }
+}
@@ -0,0 +1,131 @@
+package dev.danvega.notion.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.danvega.notion.client.NotionClient;
+import dev.danvega.notion.config.NotionProperties;
+import dev.danvega.notion.model.database.DatabaseQuery;
+import dev.danvega.notion.model.page.Page;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.client.ExpectedCount.once;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+/**
+ * Tests for {@code filter_properties} projection in the page and database services.
+ */
+class PropertyProjectionTest {
+
+    private static final String BASE_URL = "https://api.notion.com/v1";
+    private static final String DATABASE_ID = "5a9a8a5e-4e2c-4b1e-9f6e-0d2f1c3b4a5d";
+
+    private static final String DATABASE = """
+            {"object": "database", "id": "5a9a8a5e-4e2c-4b1e-9f6e-0d2f1c3b4a5d",
+             "properties": {
+               "Name": {"id": "title", "name": "Name", "type": "title", "title": {}},
+               "Status": {"id": "a%3Bb", "name": "Status", "type": "status", "status": {}},
+               "Price": {"id": "p1", "name": "Price", "type": "number", "number": {}}
+             }}
+            """;
+
+    private MockRestServiceServer server;
+    private NotionPageService pageService;
+    private NotionDatabaseService databaseService;
+
+    @BeforeEach
+    void setUp() {
+        NotionProperties properties = new NotionProperties();
+        properties.setKey("test-key");
+        properties.setBaseUrl(BASE_URL);
+
+        RestClient.Builder builder = RestClient.builder();
+        server = MockRestServiceServer.bindTo(builder).build();
+        NotionClient client = new NotionClient(properties, new ObjectMapper(), builder.build());
+
+        DatabaseSchemaCache schemaCache = new DatabaseSchemaCache(client);
+        pageService = new NotionPageService(client, schemaCache);
+        databaseService = new NotionDatabaseService(client, schemaCache);
+    }
+
+    @Test
+    void shouldResolveQueryProjectionThroughCachedSchema() {
+        // Given
+        server.expect(once(), requestTo(BASE_URL + "/databases/" + DATABASE_ID))
+                .andRespond(withSuccess(DATABASE, MediaType.APPLICATION_JSON));
+        // "a%3Bb" is sent as returned, so it is not encoded twice
+        server.expect(requestTo(BASE_URL + "/databases/" + DATABASE_ID
+                        + "/query?filter_properties=title&filter_properties=a%3Bb"))
+                .andExpect(method(HttpMethod.POST))
+                .andRespond(withSuccess("{\"object\": \"list\", \"results\": []}", MediaType.APPLICATION_JSON));
+        server.expect(requestTo(BASE_URL + "/databases/" + DATABASE_ID + "/query?filter_properties=p1"))
+                .andRespond(withSuccess("{\"object\": \"list\", \"results\": []}", MediaType.APPLICATION_JSON));
+
+        // When
+        databaseService.queryDatabase(DATABASE_ID, DatabaseQuery.builder().filterProperties("Name", "Status").build());
+        databaseService.queryDatabase(DATABASE_ID, DatabaseQuery.builder().filterProperties("p1").build());
+
+        // Then
+        server.verify();
+    }
+
+    @Test
+    void shouldProjectPagePropertiesByName() {
+        // Given
+        server.expect(requestTo(BASE_URL + "/databases/" + DATABASE_ID))
+                .andRespond(withSuccess(DATABASE, MediaType.APPLICATION_JSON));
+        server.expect(requestTo(BASE_URL + "/pages/page-1?filter_properties=p1"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess("""
+                        {"object": "page", "id": "page-1",
+                         "properties": {"Price": {"id": "p1", "type": "number", "number": 3}}}
+                        """, MediaType.APPLICATION_JSON));
+
+        // When
+        Page page = pageService.getPage("page-1", DATABASE_ID, List.of("Price"));
+
+        // Then
+        server.verify();
+        assertThat(page.getProperties()).containsOnlyKeys("Price");
+        assertThat(page.getLazyProperties().getNumber("Price").intValue()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldSendEncodedPropertyIdsAsReturned() {
+        // Given
+        server.expect(requestTo(BASE_URL + "/pages/page-1"
+                        + "?filter_properties=%7Ba%7D&filter_properties=x%26y&filter_properties=z%23w"))
+                .andRespond(withSuccess("{\"object\": \"page\", \"id\": \"page-1\", \"properties\": {}}",
+                        MediaType.APPLICATION_JSON));
+
+        // When
+        Page page = pageService.getPage("page-1", List.of("%7Ba%7D", "x%26y", "z%23w"));
+
+        // Then
+        server.verify();
+        assertThat(page.getId()).isEqualTo("page-1");
+    }
+
+    @Test
+    void shouldRejectUnknownPropertyBeforeQuerying() {
+        // Given
+        server.expect(requestTo(BASE_URL + "/databases/" + DATABASE_ID))
+                .andRespond(withSuccess(DATABASE, MediaType.APPLICATION_JSON));
+
+        // When / Then
+        assertThatThrownBy(() -> databaseService.queryDatabase(DATABASE_ID,
+                DatabaseQuery.builder().filterProperties("Nmae").build()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Nmae");
+        server.verify();
+    }
+}